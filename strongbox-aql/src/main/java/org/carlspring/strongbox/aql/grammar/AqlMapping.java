@@ -10,7 +10,9 @@ public enum AqlMapping
     TAG("tagSet.name"),
     FROM("lastUpdated"),
     TO("lastUpdated"),
-    AGE("lastUpdated");
+    AGE("lastUpdated"),
+    CLASS("ArtifactArchiveEntry[artifactEntry].className"),
+    FILE("ArtifactArchiveEntry[artifactEntry].fileName");
 
     private String property;
 
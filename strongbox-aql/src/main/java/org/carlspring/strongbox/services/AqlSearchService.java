@@ -1,9 +1,12 @@
 package org.carlspring.strongbox.services;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.support.AqlQueryPlan;
+import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 public interface AqlSearchService
@@ -12,4 +15,48 @@ public interface AqlSearchService
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException;
 
+    /**
+     * Streams the results of the query page to the handler, fetching them from the database in chunks, so that only
+     * one chunk is held in memory at a time.
+     *
+     * @param selector the query, with the requested page
+     * @param snippets whether the dependency snippets should be generated for the results
+     * @param handler  receives every result as soon as it is ready
+     */
+    public void search(Selector<ArtifactEntry> selector,
+                       boolean snippets,
+                       SearchResultHandler handler)
+        throws IOException;
+
+    /**
+     * Same as {@link #search(Selector, boolean, SearchResultHandler)}, for a query which was already compiled.
+     *
+     * @see org.carlspring.strongbox.services.support.AqlQueryPlanCache
+     */
+    public void search(AqlQueryPlan plan,
+                       boolean snippets,
+                       SearchResultHandler handler)
+        throws IOException;
+
+    /**
+     * Same as {@link #search(AqlQueryPlan, boolean, SearchResultHandler)}, rendering only the requested dependency
+     * snippet formats.
+     *
+     * @param snippetFormats the aliases of the snippet formats to include, {@code null} to include all the formats of
+     *                       the layout, or an empty set to include none
+     */
+    public void search(AqlQueryPlan plan,
+                       Set<String> snippetFormats,
+                       SearchResultHandler handler)
+        throws IOException;
+
+    @FunctionalInterface
+    public interface SearchResultHandler
+    {
+
+        void handle(SearchResult searchResult)
+            throws IOException;
+
+    }
+
 }
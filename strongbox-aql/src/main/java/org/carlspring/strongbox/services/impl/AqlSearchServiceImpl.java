@@ -2,7 +2,9 @@ package org.carlspring.strongbox.services.impl;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -11,7 +13,7 @@ import javax.transaction.Transactional;
 
 import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
-import org.carlspring.strongbox.data.criteria.QueryTemplate;
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
 import org.carlspring.strongbox.dependency.snippet.SnippetGenerator;
@@ -20,9 +22,11 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.AqlSearchService;
+import org.carlspring.strongbox.services.support.AqlQueryPlan;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.search.SearchResult;
 import org.carlspring.strongbox.storage.search.SearchResults;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -30,6 +34,8 @@ import org.springframework.stereotype.Component;
 public class AqlSearchServiceImpl implements AqlSearchService
 {
 
+    private static final String RECORD_ORDER = "@rid";
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -39,37 +45,116 @@ public class AqlSearchServiceImpl implements AqlSearchService
     @Inject
     private SnippetGenerator snippetGenerator;
 
+    @Value("${strongbox.aql.fetchSize:100}")
+    private int fetchSize;
+
     public SearchResults search(Selector<ArtifactEntry> selector)
         throws IOException
     {
         SearchResults result = new SearchResults();
 
-        QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
+        search(selector, true, r -> result.getResults().add(r));
+
+        return result;
+    }
+
+    @Override
+    public void search(Selector<ArtifactEntry> selector,
+                       boolean snippets,
+                       SearchResultHandler handler)
+        throws IOException
+    {
+        search(new AqlQueryPlan(selector), snippets, handler);
+    }
+
+    @Override
+    public void search(AqlQueryPlan plan,
+                       boolean snippets,
+                       SearchResultHandler handler)
+        throws IOException
+    {
+        search(plan, snippets ? null : Collections.<String>emptySet(), handler);
+    }
+
+    @Override
+    public void search(AqlQueryPlan plan,
+                       Set<String> snippetFormats,
+                       SearchResultHandler handler)
+        throws IOException
+    {
+        DetachQueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
                 new OQueryTemplate<>(entityManager));
-        for (ArtifactEntry artifactEntry : queryTemplate.select(selector))
+
+        Paginator paginator = plan.getPaginator();
+        int skip = paginator.getSkip();
+        int remaining = paginator.getLimit();
+        while (remaining > 0)
         {
-            SearchResult r = new SearchResult();
-            result.getResults().add(r);
+            // The chunks need a stable order to neither skip nor repeat results, the record order is used by default.
+            Paginator chunk = new Paginator();
+            chunk.setProperty(paginator.getProperty() == null ? RECORD_ORDER : paginator.getProperty());
+            chunk.setOrder(paginator.getOrder());
+            chunk.setSkip(skip);
+            chunk.setLimit(Math.min(fetchSize, remaining));
+
+            List<ArtifactEntry> artifactEntries = queryTemplate.select(plan.getQuery(chunk), plan.getParameterMap());
+            for (ArtifactEntry artifactEntry : artifactEntries)
+            {
+                if (remaining-- <= 0)
+                {
+                    break;
+                }
+
+                handler.handle(toSearchResult(artifactEntry, snippetFormats));
+            }
+
+            if (artifactEntries.size() < chunk.getLimit())
+            {
+                break;
+            }
+
+            skip += artifactEntries.size();
+        }
+    }
 
-            r.setStorageId(artifactEntry.getStorageId());
-            r.setRepositoryId(artifactEntry.getRepositoryId());
-            r.setArtifactCoordinates(artifactEntry.getArtifactCoordinates());
+    public int getFetchSize()
+    {
+        return fetchSize;
+    }
 
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(artifactEntry.getStorageId(),
-                                                                           artifactEntry.getRepositoryId(),
-                                                                           artifactEntry.getArtifactPath());
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
 
-            Repository repository = repositoryPath.getRepository();
+    private SearchResult toSearchResult(ArtifactEntry artifactEntry,
+                                        Set<String> snippetFormats)
+        throws IOException
+    {
+        SearchResult r = new SearchResult();
+
+        r.setStorageId(artifactEntry.getStorageId());
+        r.setRepositoryId(artifactEntry.getRepositoryId());
+        r.setArtifactCoordinates(artifactEntry.getArtifactCoordinates());
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(artifactEntry.getStorageId(),
+                                                                       artifactEntry.getRepositoryId(),
+                                                                       artifactEntry.getArtifactPath());
 
-            URL artifactResource = RepositoryFiles.readResourceUrl(repositoryPath);
-            r.setUrl(artifactResource.toString());
+        Repository repository = repositoryPath.getRepository();
 
-            List<CodeSnippet> snippets = snippetGenerator.generateSnippets(repository.getLayout(),
-                                                                             artifactEntry.getArtifactCoordinates());
-            r.setSnippets(snippets);
+        URL artifactResource = RepositoryFiles.readResourceUrl(repositoryPath);
+        r.setUrl(artifactResource.toString());
+
+        if (snippetFormats == null || !snippetFormats.isEmpty())
+        {
+            List<CodeSnippet> codeSnippets = snippetGenerator.generateSnippets(repository.getLayout(),
+                                                                               artifactEntry.getArtifactCoordinates(),
+                                                                               snippetFormats);
+            r.setSnippets(codeSnippets);
         }
 
-        return result;
+        return r;
     }
 
 }
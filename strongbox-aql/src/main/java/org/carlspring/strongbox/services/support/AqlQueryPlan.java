@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.carlspring.strongbox.data.criteria.OQueryTemplate;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+/**
+ * Compiled form of an AQL query: the parsed predicate tree along with the generated parameterized OrientDB SQL and
+ * its parameter values. Plans are shared between requests, so they are immutable.
+ *
+ * @see AqlQueryPlanCache
+ */
+public class AqlQueryPlan
+{
+
+    private final Predicate predicate;
+
+    private final String selectQuery;
+
+    private final Map<String, Object> parameterMap;
+
+    private final Paginator paginator;
+
+    private final boolean fetch;
+
+    public AqlQueryPlan(Selector<ArtifactEntry> selector)
+    {
+        OQueryTemplate<Object, ArtifactEntry> queryTemplate = new OQueryTemplate<>();
+
+        this.predicate = selector.getPredicate();
+        this.selectQuery = queryTemplate.calculateSelectString(selector);
+        this.parameterMap = Collections.unmodifiableMap(new HashMap<>(queryTemplate.exposeParameterMap(predicate)));
+        this.paginator = copy(selector.getPaginator());
+        this.fetch = selector.isFetch();
+    }
+
+    public Predicate getPredicate()
+    {
+        return predicate;
+    }
+
+    public Map<String, Object> getParameterMap()
+    {
+        return parameterMap;
+    }
+
+    /**
+     * @return a copy of the page requested by the query
+     */
+    public Paginator getPaginator()
+    {
+        return copy(paginator);
+    }
+
+    /**
+     * @return the SQL query for the given page of results
+     */
+    public String getQuery(Paginator page)
+    {
+        return selectQuery + new OQueryTemplate<>().calculatePagingString(page, fetch);
+    }
+
+    private static Paginator copy(Paginator source)
+    {
+        Paginator result = new Paginator();
+        result.setSkip(source.getSkip());
+        result.setLimit(source.getLimit());
+        result.setProperty(source.getProperty());
+        result.setOrder(source.getOrder());
+
+        return result;
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the compiled {@link AqlQueryPlan}s by normalized AQL text, so that repeated queries skip lexing, parsing and
+ * SQL generation. The least recently used plans are evicted once {@code strongbox.aql.planCache.maxSize} is reached.
+ * <p>
+ * The literal values are part of the key: the AQL visitors interpret them while building the predicate tree (for
+ * example, a wildcard turns an equality into a LIKE expression), so they can't be bound after parsing. Only the
+ * whitespace outside of the quoted literals is normalized.
+ * <p>
+ * The hits, the misses and the size of the cache are exposed as {@link StrongboxMetrics} gauges.
+ */
+@Component
+public class AqlQueryPlanCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AqlQueryPlanCache.class);
+
+    private final int maxSize;
+
+    private final Map<String, AqlQueryPlan> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public AqlQueryPlanCache(@Value("${strongbox.aql.planCache.maxSize:1000}") int maxSize)
+    {
+        this.maxSize = maxSize;
+        this.plans = new LinkedHashMap<String, AqlQueryPlan>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AqlQueryPlan> eldest)
+            {
+                return size() > AqlQueryPlanCache.this.maxSize;
+            }
+        };
+
+        StrongboxMetrics.registry().gauge(StrongboxMetrics.AQL_PLAN_CACHE_HITS, this, AqlQueryPlanCache::getHitCount);
+        StrongboxMetrics.registry().gauge(StrongboxMetrics.AQL_PLAN_CACHE_MISSES, this, AqlQueryPlanCache::getMissCount);
+        StrongboxMetrics.registry().gauge(StrongboxMetrics.AQL_PLAN_CACHE_SIZE, this, AqlQueryPlanCache::size);
+    }
+
+    /**
+     * Returns the plan of the query, compiling it on a cache miss.
+     *
+     * @throws org.carlspring.strongbox.data.criteria.QueryParserException if the query is not valid, invalid queries
+     *                                                                      are not cached
+     */
+    public AqlQueryPlan get(String query)
+    {
+        String key = normalize(query);
+
+        AqlQueryPlan plan;
+        synchronized (plans)
+        {
+            plan = plans.get(key);
+        }
+        if (plan != null)
+        {
+            hits.incrementAndGet();
+
+            return plan;
+        }
+
+        misses.incrementAndGet();
+        plan = new AqlQueryPlan(new AqlQueryParser(query).parseQuery());
+
+        logger.debug("Compiled AQL query [{}].", key);
+
+        synchronized (plans)
+        {
+            plans.put(key, plan);
+        }
+
+        return plan;
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    public int size()
+    {
+        synchronized (plans)
+        {
+            return plans.size();
+        }
+    }
+
+    public void clear()
+    {
+        synchronized (plans)
+        {
+            plans.clear();
+        }
+    }
+
+    /**
+     * Collapses the runs of spaces (the only whitespace the AQL grammar skips) outside of the quoted literals, and
+     * drops the leading and the trailing ones. The literals can't contain quotes, so every quote opens or closes one.
+     */
+    static String normalize(String query)
+    {
+        StringBuilder sb = new StringBuilder(query.length());
+        boolean quoted = false;
+        for (char c : query.toCharArray())
+        {
+            if (c == '"' || c == '\'')
+            {
+                quoted = !quoted;
+            }
+            else if (c == ' ' && !quoted && (sb.length() == 0 || sb.charAt(sb.length() - 1) == ' '))
+            {
+                continue;
+            }
+
+            sb.append(c);
+        }
+
+        if (!quoted && sb.length() > 0 && sb.charAt(sb.length() - 1) == ' ')
+        {
+            sb.setLength(sb.length() - 1);
+        }
+
+        return sb.toString();
+    }
+
+}
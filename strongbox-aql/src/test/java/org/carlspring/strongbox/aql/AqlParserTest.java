@@ -197,6 +197,33 @@ public class AqlParserTest
                 );
     }
 
+    @Test
+    public void testArchiveEntryKeywords()
+    {
+        String query = "class:org.carlspring.Foo +file:*.xml";
+
+        AqlQueryParser aqlParser = new AqlQueryParser(query);
+
+        Selector<ArtifactEntry> selector = aqlParser.parseQuery();
+
+        logger.debug("Query [{}] parse tree:\n[{}]", query, aqlParser);
+
+        assertThat(aqlParser.hasErrors()).isFalse();
+
+        OQueryTemplate<Object, ArtifactEntry> queryTemplate = new OQueryTemplate<>(null);
+
+        String sqlQuery = queryTemplate.calculateQueryString(selector);
+
+        logger.debug("Query [{}] parse result:\n[{}]", query, sqlQuery);
+
+        assertThat(sqlQuery).contains("@rid IN (SELECT artifactEntry FROM ArtifactArchiveEntry WHERE className = :className_")
+                            .contains("@rid IN (SELECT artifactEntry FROM ArtifactArchiveEntry WHERE fileName LIKE :fileName_");
+
+        Map<String, Object> parameterMap = queryTemplate.exposeParameterMap(selector.getPredicate());
+
+        assertThat(parameterMap.values()).contains("org.carlspring.Foo", "%.xml");
+    }
+
     @Test
     public void testInvalidQuery()
     {
@@ -0,0 +1,84 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.data.criteria.QueryParserException;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AqlQueryPlanCacheTest
+{
+
+    @Test
+    public void testWhitespaceOutsideOfLiteralsIsNormalized()
+    {
+        assertThat(AqlQueryPlanCache.normalize("  storage:storage0   +repository:releases ")).isEqualTo(
+                "storage:storage0 +repository:releases");
+        assertThat(AqlQueryPlanCache.normalize("artifactId:'some  strange   group'  asc: version")).isEqualTo(
+                "artifactId:'some  strange   group' asc: version");
+        assertThat(AqlQueryPlanCache.normalize("artifactId:\" a \"   +groupId:' b '")).isEqualTo(
+                "artifactId:\" a \" +groupId:' b '");
+    }
+
+    @Test
+    public void testQuotedLiteralsDontCollide()
+    {
+        AqlQueryPlanCache cache = new AqlQueryPlanCache(10);
+
+        AqlQueryPlan plan1 = cache.get("artifactId:'some strange group'");
+        AqlQueryPlan plan2 = cache.get("artifactId:'some  strange group'");
+
+        assertThat(plan2).isNotSameAs(plan1);
+        assertThat(plan2.getParameterMap()).isNotEqualTo(plan1.getParameterMap());
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        AqlQueryPlanCache cache = new AqlQueryPlanCache(10);
+
+        AqlQueryPlan plan = cache.get("storage:storage0 +repository:releases");
+
+        assertThat(cache.get("storage:storage0   +repository:releases ")).isSameAs(plan);
+        assertThat(cache.get("storage:storage0 +repository:releases")).isSameAs(plan);
+        assertThat(cache.get("storage:storage0 +repository:snapshots")).isNotSameAs(plan);
+
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidQueriesAreNotCached()
+    {
+        AqlQueryPlanCache cache = new AqlQueryPlanCache(10);
+
+        assertThatThrownBy(() -> cache.get("storage:storage0 +unknownId:releases")).isInstanceOf(
+                QueryParserException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPlansAreEvicted()
+    {
+        AqlQueryPlanCache cache = new AqlQueryPlanCache(2);
+
+        AqlQueryPlan plan1 = cache.get("repository:releases1");
+        AqlQueryPlan plan2 = cache.get("repository:releases2");
+
+        // Makes the second plan the eldest one.
+        assertThat(cache.get("repository:releases1")).isSameAs(plan1);
+
+        cache.get("repository:releases3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("repository:releases1")).isSameAs(plan1);
+        assertThat(cache.get("repository:releases2")).isNotSameAs(plan2);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+}
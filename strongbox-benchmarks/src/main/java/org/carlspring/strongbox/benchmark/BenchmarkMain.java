@@ -0,0 +1,38 @@
+package org.carlspring.strongbox.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks with the JMH command line, writing the results in JSON format to {@link #DEFAULT_RESULT_FILE}
+ * by default, so that they can be compared across commits (for example, with the JMH Visualizer).
+ */
+public class BenchmarkMain
+{
+
+    public static final String DEFAULT_RESULT_FORMAT = "json";
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf"))
+        {
+            jmhArgs.add("-rf");
+            jmhArgs.add(DEFAULT_RESULT_FORMAT);
+        }
+        if (!jmhArgs.contains("-rff"))
+        {
+            jmhArgs.add("-rff");
+            jmhArgs.add(DEFAULT_RESULT_FILE);
+        }
+
+        Main.main(jmhArgs.toArray(new String[0]));
+    }
+
+}
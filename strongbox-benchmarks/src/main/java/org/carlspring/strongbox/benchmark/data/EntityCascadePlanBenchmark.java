@@ -0,0 +1,181 @@
+package org.carlspring.strongbox.benchmark.data;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.data.service.support.EntityCascadePlan;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactTagEntry;
+
+import javax.persistence.CascadeType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Compares the per save cascade cost of the {@link ArtifactEntry} entity: the former reflective field scan against
+ * the precomputed {@link EntityCascadePlan}.
+ * <p>
+ * The cascade function only consumes the related entities, so the results reflect the metadata lookup and field
+ * access overhead of a save, not the database round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCascadePlanBenchmark
+{
+
+    @Param({ "NONE", "COORDINATES", "COORDINATES_AND_TAGS" })
+    private String relations;
+
+    private ArtifactEntry artifactEntry;
+
+    private EntityCascadePlan cascadePlan;
+
+    @Setup
+    public void setup()
+    {
+        artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId("storage0");
+        artifactEntry.setRepositoryId("releases");
+
+        if (!"NONE".equals(relations))
+        {
+            artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates("org/carlspring/strongbox/foo-1.0.jar"));
+        }
+        if ("COORDINATES_AND_TAGS".equals(relations))
+        {
+            ArtifactTagEntry lastVersionTag = new ArtifactTagEntry();
+            lastVersionTag.setName(ArtifactTag.LAST_VERSION);
+            artifactEntry.getTagSet().add(lastVersionTag);
+        }
+
+        cascadePlan = EntityCascadePlan.of(ArtifactEntry.class);
+    }
+
+    @Benchmark
+    public void reflectiveCascade(Blackhole blackhole)
+    {
+        reflectiveCascade(artifactEntry, consumer(blackhole));
+    }
+
+    @Benchmark
+    public void plannedCascade(Blackhole blackhole)
+    {
+        cascadePlan.cascade(artifactEntry, consumer(blackhole));
+    }
+
+    private static UnaryOperator<Object> consumer(Blackhole blackhole)
+    {
+        return e -> {
+            blackhole.consume(e);
+            return e;
+        };
+    }
+
+    /**
+     * The cascade field scan which used to run on every {@code CommonCrudService.cascadeEntitySave()} call.
+     */
+    private static void reflectiveCascade(Object entity,
+                                          UnaryOperator<Object> cascadeFunction)
+    {
+        ReflectionUtils.doWithFields(ArtifactEntry.class, (field) -> {
+            ReflectionUtils.makeAccessible(field);
+
+            Set<CascadeType> cascadeTypeSet = Arrays.stream(field.getAnnotations())
+                                                    .map(a -> exposeCascadeType(a))
+                                                    .reduce((c1,
+                                                             c2) -> {
+                                                        c1.addAll(c2);
+                                                        return c1;
+                                                    })
+                                                    .orElse(Collections.emptySet());
+
+            if (!cascadeTypeSet.stream().anyMatch(c -> CascadeType.ALL.equals(c) || CascadeType.MERGE.equals(c)
+                    || CascadeType.PERSIST.equals(c)))
+            {
+                return;
+            }
+
+            Object fieldValue = ReflectionUtils.getField(field, entity);
+            if (fieldValue == null)
+            {
+                return;
+            }
+
+            if (Collection.class.isAssignableFrom(field.getType()))
+            {
+                Collection<Object> collection = (Collection<Object>) fieldValue;
+                List<Object> replaceCollection = new LinkedList<>();
+                collection.removeIf(a -> {
+                    Object b = cascadeFunction.apply(a);
+                    if (b != a)
+                    {
+                        replaceCollection.add(b);
+                        return true;
+                    }
+                    return false;
+                });
+                collection.addAll(replaceCollection);
+            }
+            else
+            {
+                Object newFieldValue = cascadeFunction.apply(fieldValue);
+                if (newFieldValue != fieldValue)
+                {
+                    ReflectionUtils.setField(field, entity, newFieldValue);
+                }
+            }
+        });
+    }
+
+    private static Set<CascadeType> exposeCascadeType(Annotation a)
+    {
+        Set<CascadeType> result = new HashSet<>();
+        if (a instanceof OneToMany)
+        {
+            result.addAll(Arrays.asList(((OneToMany) a).cascade()));
+        }
+        else if (a instanceof OneToOne)
+        {
+            result.addAll(Arrays.asList(((OneToOne) a).cascade()));
+        }
+        else if (a instanceof ManyToMany)
+        {
+            result.addAll(Arrays.asList(((ManyToMany) a).cascade()));
+        }
+        else if (a instanceof ManyToOne)
+        {
+            result.addAll(Arrays.asList(((ManyToOne) a).cascade()));
+        }
+        return result;
+    }
+
+}
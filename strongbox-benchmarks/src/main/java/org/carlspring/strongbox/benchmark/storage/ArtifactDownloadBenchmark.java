@@ -0,0 +1,91 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.services.ArtifactResolutionService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures an artifact download from a hosted repository: the path resolution, the read lock and the streaming of
+ * the artifact content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ArtifactDownloadBenchmark
+{
+
+    private static final String REPOSITORY_RELEASES = "download-releases";
+
+    @Param({ "4096", "1048576" })
+    private int bytesSize;
+
+    private StorageBenchmarkContext context;
+
+    private ArtifactResolutionService artifactResolutionService;
+
+    private String artifactPath;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        artifactResolutionService = context.getBean(ArtifactResolutionService.class);
+
+        Repository repository = context.createRepository(REPOSITORY_RELEASES, Maven2LayoutProvider.ALIAS);
+
+        Path fixturesDirectory = context.getFixturesDirectory();
+        Path artifact = new MavenArtifactGenerator(fixturesDirectory).generateArtifact(
+                "org.carlspring.strongbox.benchmark:download", "1.0", bytesSize);
+        artifactPath = fixturesDirectory.relativize(artifact).toString();
+
+        context.deploy(repository, artifactPath, artifact);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long download()
+            throws Exception
+    {
+        RepositoryPath repositoryPath = artifactResolutionService.resolvePath(StorageBenchmarkContext.STORAGE_ID,
+                                                                              REPOSITORY_RELEASES,
+                                                                              artifactPath);
+        try (RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath))
+        {
+            return IOUtils.copyLarge(is, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures an artifact upload: the validation, the store of the artifact file with its checksums, and the commit of
+ * its {@code ArtifactEntry}. The same artifact is redeployed on every invocation, so the database doesn't grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArtifactUploadBenchmark
+{
+
+    private static final String REPOSITORY_RELEASES = "upload-releases";
+
+    @Param({ "4096", "1048576" })
+    private int bytesSize;
+
+    private StorageBenchmarkContext context;
+
+    private ArtifactManagementService artifactManagementService;
+
+    private RepositoryPath repositoryPath;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        artifactManagementService = context.getBean(ArtifactManagementService.class);
+
+        Repository repository = context.createRepository(REPOSITORY_RELEASES, Maven2LayoutProvider.ALIAS);
+
+        Path fixturesDirectory = context.getFixturesDirectory();
+        Path artifactPath = new MavenArtifactGenerator(fixturesDirectory).generateArtifact(
+                "org.carlspring.strongbox.benchmark:upload", "1.0", bytesSize);
+        content = Files.readAllBytes(artifactPath);
+
+        repositoryPath = context.getBean(RepositoryPathResolver.class)
+                                .resolve(repository, fixturesDirectory.relativize(artifactPath).toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long upload()
+            throws Exception
+    {
+        return artifactManagementService.validateAndStore(repositoryPath, new ByteArrayInputStream(content));
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.io.LayoutOutputStream;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the checksum computation of the {@link LayoutOutputStream}, with the digest algorithms of the Maven
+ * layout. The content is held in memory, so the results don't include any disk access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChecksumBenchmark
+{
+
+    private static final String REPOSITORY_RELEASES = "checksum-releases";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Param({ "4096", "1048576", "16777216" })
+    private int bytesSize;
+
+    private StorageBenchmarkContext context;
+
+    private LayoutFileSystemProvider fileSystemProvider;
+
+    private RepositoryPath repositoryPath;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+
+        Repository repository = context.createRepository(REPOSITORY_RELEASES, Maven2LayoutProvider.ALIAS);
+        repositoryPath = context.getBean(RepositoryPathResolver.class)
+                                .resolve(repository, "org/carlspring/strongbox/benchmark/checksum/1.0/checksum-1.0.jar");
+        fileSystemProvider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+
+        content = new byte[bytesSize];
+        new Random(bytesSize).nextBytes(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, String> digest()
+            throws Exception
+    {
+        try (LayoutOutputStream os = fileSystemProvider.newDigestOutputStream(repositoryPath))
+        {
+            for (int offset = 0; offset < content.length; offset += BUFFER_SIZE)
+            {
+                os.write(content, offset, Math.min(BUFFER_SIZE, content.length - offset));
+            }
+
+            return os.getDigestMap();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of an artifact through a group repository, where the artifact is only found in the last
+ * member of the group, so that every member is visited.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GroupResolutionBenchmark
+{
+
+    private static final String REPOSITORY_GROUP = "group-resolution";
+
+    @Param({ "1", "5", "20" })
+    private int groupSize;
+
+    private StorageBenchmarkContext context;
+
+    private RepositoryProvider groupRepositoryProvider;
+
+    private RepositoryPath repositoryPath;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+
+        Path fixturesDirectory = context.getFixturesDirectory();
+        Path artifact = new MavenArtifactGenerator(fixturesDirectory).generateArtifact(
+                "org.carlspring.strongbox.benchmark:group-resolution", "1.0", 4096);
+        String artifactPath = fixturesDirectory.relativize(artifact).toString();
+
+        String[] groupRepositories = new String[groupSize];
+        for (int i = 0; i < groupSize; i++)
+        {
+            groupRepositories[i] = String.format("%s-member-%s", REPOSITORY_GROUP, i);
+
+            Repository repository = context.createRepository(groupRepositories[i], Maven2LayoutProvider.ALIAS);
+            if (i == groupSize - 1)
+            {
+                context.deploy(repository, artifactPath, artifact);
+            }
+        }
+
+        Repository groupRepository = context.createGroupRepository(REPOSITORY_GROUP,
+                                                                   Maven2LayoutProvider.ALIAS,
+                                                                   groupRepositories);
+
+        groupRepositoryProvider = context.getBean(RepositoryProviderRegistry.class)
+                                         .getProvider(RepositoryTypeEnum.GROUP.getType());
+        repositoryPath = context.getBean(RepositoryPathResolver.class).resolve(groupRepository, artifactPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public Path resolve()
+            throws Exception
+    {
+        return groupRepositoryProvider.fetchPath(repositoryPath);
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
+import org.carlspring.strongbox.storage.metadata.MetadataType;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the merge of the artifact level {@code maven-metadata.xml}, as it's done for the group repositories: the
+ * stored metadata is read, merged with the metadata of another repository, sorted and written back under the lock.
+ * <p>
+ * Half of the merged versions are already in the stored metadata, the other half are older versions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MavenMetadataMergeBenchmark
+{
+
+    private static final String REPOSITORY_RELEASES = "metadata-merge-releases";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.benchmark";
+
+    private static final String ARTIFACT_ID = "metadata-merge";
+
+    @Param({ "10", "100", "1000" })
+    private int versionCount;
+
+    private StorageBenchmarkContext context;
+
+    private MavenMetadataManager mavenMetadataManager;
+
+    private RepositoryPath metadataBasePath;
+
+    private Metadata mergeMetadata;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        mavenMetadataManager = context.getBean(MavenMetadataManager.class);
+
+        Repository repository = context.createRepository(REPOSITORY_RELEASES, Maven2LayoutProvider.ALIAS);
+        metadataBasePath = context.getBean(RepositoryPathResolver.class)
+                                  .resolve(repository, String.format("%s/%s", GROUP_ID.replace('.', '/'), ARTIFACT_ID));
+        Files.createDirectories(metadataBasePath);
+
+        mavenMetadataManager.storeMetadata(metadataBasePath,
+                                           null,
+                                           createMetadata(versionCount / 2, versionCount),
+                                           MetadataType.ARTIFACT_ROOT_LEVEL);
+
+        mergeMetadata = createMetadata(0, versionCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public void merge()
+            throws Exception
+    {
+        mavenMetadataManager.mergeAndStore(metadataBasePath, mergeMetadata);
+    }
+
+    private static Metadata createMetadata(int fromVersion,
+                                           int toVersion)
+    {
+        Versioning versioning = new Versioning();
+        for (int i = fromVersion; i < toVersion; i++)
+        {
+            versioning.addVersion(String.format("1.%s", i));
+        }
+        versioning.setLatest(String.format("1.%s", toVersion - 1));
+        versioning.setRelease(versioning.getLatest());
+        versioning.updateTimestamp();
+
+        Metadata metadata = new Metadata();
+        metadata.setGroupId(GROUP_ID);
+        metadata.setArtifactId(ARTIFACT_ID);
+        metadata.setVersioning(versioning);
+
+        return metadata;
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.artifact.generator.NpmArtifactGenerator;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.npm.metadata.DistTags;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.npm.metadata.PackageVersion;
+import org.carlspring.strongbox.npm.metadata.Time;
+import org.carlspring.strongbox.npm.metadata.Versions;
+import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
+import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
+import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of an npm packument (the package feed with all the versions of a package), with the same
+ * steps as {@code NpmArtifactController.viewPackageFeedWithScope()}: the search of the package versions, the
+ * resolution of their descriptors and the JSON serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NpmPackumentBenchmark
+{
+
+    private static final String REPOSITORY_RELEASES = "packument-releases";
+
+    private static final String PACKAGE_NAME = "benchmark-packument";
+
+    @Param({ "10", "100" })
+    private int versionCount;
+
+    private StorageBenchmarkContext context;
+
+    private Repository repository;
+
+    private RepositoryProvider repositoryProvider;
+
+    private NpmPackageSupplier npmPackageSupplier;
+
+    private ObjectMapper npmJacksonMapper;
+
+    @Setup(Level.Trial)
+    public void setup()
+            throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        npmPackageSupplier = context.getBean(NpmPackageSupplier.class);
+        npmJacksonMapper = context.getBean("npmJacksonMapper", ObjectMapper.class);
+
+        repository = context.createRepository(REPOSITORY_RELEASES, NpmLayoutProvider.ALIAS);
+        repositoryProvider = context.getBean(RepositoryProviderRegistry.class).getProvider(repository.getType());
+
+        NpmArtifactGenerator generator = new NpmArtifactGenerator(context.getFixturesDirectory());
+        for (int i = 0; i < versionCount; i++)
+        {
+            NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(PACKAGE_NAME, String.format("1.0.%s", i));
+            Path packagePath = generator.generateArtifact(coordinates, 1024);
+
+            context.deploy(repository, coordinates.toPath(), packagePath);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] renderPackument()
+            throws Exception
+    {
+        PackageFeed packageFeed = new PackageFeed();
+        packageFeed.setName(PACKAGE_NAME);
+        packageFeed.setAdditionalProperty("_id", PACKAGE_NAME);
+
+        Predicate predicate = Predicate.empty();
+        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
+        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.name", PACKAGE_NAME)));
+
+        Paginator paginator = new Paginator();
+        paginator.setProperty("version");
+
+        List<Path> searchResult = repositoryProvider.search(repository.getStorage().getId(),
+                                                            repository.getId(),
+                                                            predicate,
+                                                            paginator);
+
+        Versions versions = new Versions();
+        packageFeed.setVersions(versions);
+
+        Time npmTime = new Time();
+        packageFeed.setTime(npmTime);
+
+        DistTags distTags = new DistTags();
+        packageFeed.setDistTags(distTags);
+
+        for (Path path : searchResult)
+        {
+            NpmPackageDesc packageDesc = npmPackageSupplier.apply(path);
+            PackageVersion npmPackage = packageDesc.getNpmPackage();
+
+            versions.setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+            npmTime.setAdditionalProperty(npmPackage.getVersion(), packageDesc.getReleaseDate());
+            if (packageDesc.isLastVersion())
+            {
+                distTags.setLatest(npmPackage.getVersion());
+            }
+        }
+
+        return npmJacksonMapper.writeValueAsBytes(packageFeed);
+    }
+
+}
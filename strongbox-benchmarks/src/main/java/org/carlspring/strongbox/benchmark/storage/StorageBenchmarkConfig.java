@@ -0,0 +1,19 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The storage context of the benchmarks: the Maven test context (with the configuration file writes and the remote
+ * repositories mocked), along with the npm layout.
+ */
+@Configuration
+@Import({ Maven2LayoutProviderTestConfig.class,
+          NpmLayoutProviderConfig.class })
+public class StorageBenchmarkConfig
+{
+
+}
@@ -0,0 +1,185 @@
+package org.carlspring.strongbox.benchmark.storage;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.config.orientdb.OrientDbProfile;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.repository.RepositoryManagementStrategyException;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.services.StorageManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The storage of a benchmark: a Spring context built from {@link StorageBenchmarkConfig}, backed by an in-memory
+ * OrientDB database (unless another profile is set with {@code -Dstrongbox.orientdb.profile}) and a temporary
+ * directory, which is removed once the context is closed.
+ * <p>
+ * The repositories are created in the same way as the {@code @TestRepository} ones of the tests.
+ */
+public class StorageBenchmarkContext
+        implements AutoCloseable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageBenchmarkContext.class);
+
+    public static final String STORAGE_ID = "storage-benchmarks";
+
+    private final Path basedir;
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    private StorageBenchmarkContext(Path basedir,
+                                    ConfigurableApplicationContext applicationContext)
+    {
+        this.basedir = basedir;
+        this.applicationContext = applicationContext;
+    }
+
+    public static StorageBenchmarkContext start()
+            throws IOException
+    {
+        if (System.getProperty(OrientDbProfile.PROPERTY_PROFILE) == null)
+        {
+            System.setProperty(OrientDbProfile.PROPERTY_PROFILE, OrientDbProfile.PROFILE_MEMORY);
+        }
+
+        Path basedir = Files.createTempDirectory("strongbox-benchmarks");
+        logger.info("Starting the benchmark storage in [{}].", basedir);
+
+        ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(StorageBenchmarkConfig.class)
+                                                                    .web(WebApplicationType.NONE)
+                                                                    .bannerMode(Banner.Mode.OFF)
+                                                                    .properties("strongbox.basedir=" + basedir)
+                                                                    .run();
+
+        return new StorageBenchmarkContext(basedir, applicationContext);
+    }
+
+    public <T> T getBean(Class<T> type)
+    {
+        return applicationContext.getBean(type);
+    }
+
+    public <T> T getBean(String name,
+                         Class<T> type)
+    {
+        return applicationContext.getBean(name, type);
+    }
+
+    /**
+     * @return the directory where the fixtures can be generated, outside of the storage
+     */
+    public Path getFixturesDirectory()
+            throws IOException
+    {
+        return Files.createDirectories(basedir.resolve("fixtures"));
+    }
+
+    public Repository createRepository(String repositoryId,
+                                       String layout)
+            throws IOException,
+                   RepositoryManagementStrategyException
+    {
+        return createRepository(repositoryId, layout, r -> {});
+    }
+
+    public Repository createGroupRepository(String repositoryId,
+                                            String layout,
+                                            String... groupRepositories)
+            throws IOException,
+                   RepositoryManagementStrategyException
+    {
+        return createRepository(repositoryId, layout, r -> {
+            r.setType(RepositoryTypeEnum.GROUP.getType());
+            r.getGroupRepositories().addAll(Arrays.asList(groupRepositories));
+        });
+    }
+
+    public Repository createRepository(String repositoryId,
+                                       String layout,
+                                       Consumer<RepositoryDto> setup)
+            throws IOException,
+                   RepositoryManagementStrategyException
+    {
+        ConfigurationManagementService configurationManagementService = getBean(ConfigurationManagementService.class);
+
+        Storage storage = configurationManagementService.getConfiguration().getStorage(STORAGE_ID);
+        if (storage == null)
+        {
+            storage = createStorage();
+        }
+
+        RepositoryDto repository = new RepositoryDto(repositoryId);
+        repository.setLayout(layout);
+        repository.setBasedir(String.format("%s/%s", storage.getBasedir(), repositoryId));
+        setup.accept(repository);
+
+        configurationManagementService.saveRepository(STORAGE_ID, repository);
+        getBean(RepositoryManagementService.class).createRepository(STORAGE_ID, repositoryId);
+
+        return configurationManagementService.getConfiguration().getRepository(STORAGE_ID, repositoryId);
+    }
+
+    private Storage createStorage()
+            throws IOException
+    {
+        ConfigurationManagementService configurationManagementService = getBean(ConfigurationManagementService.class);
+
+        StorageDto storage = new StorageDto(STORAGE_ID);
+        storage.setBasedir(String.format("%s/%s",
+                                         getBean(PropertiesBooter.class).getStorageBooterBasedir(),
+                                         STORAGE_ID));
+        configurationManagementService.addStorageIfNotExists(storage);
+
+        getBean(StorageManagementService.class).saveStorage(storage);
+
+        return configurationManagementService.getConfiguration().getStorage(STORAGE_ID);
+    }
+
+    /**
+     * Stores the file into the repository, the same way as a deployment does.
+     */
+    public RepositoryPath deploy(Repository repository,
+                                 String path,
+                                 Path source)
+            throws Exception
+    {
+        RepositoryPath repositoryPath = getBean(RepositoryPathResolver.class).resolve(repository, path);
+        try (InputStream is = Files.newInputStream(source))
+        {
+            getBean(ArtifactManagementService.class).validateAndStore(repositoryPath, is);
+        }
+
+        return repositoryPath;
+    }
+
+    @Override
+    public void close()
+    {
+        applicationContext.close();
+
+        FileUtils.deleteQuietly(basedir.toFile());
+    }
+
+}
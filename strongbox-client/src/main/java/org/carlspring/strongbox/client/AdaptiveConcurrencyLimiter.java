@@ -0,0 +1,102 @@
+package org.carlspring.strongbox.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Limits the number of the concurrent requests toward a remote, with an additive increase / multiplicative decrease
+ * of the limit: each successful request raises the limit by {@code 1/limit} (about one request per round of
+ * requests), each overloaded or failed request halves it.
+ * <p>
+ * The requests over the limit are queued, instead of blocking the calling thread, and started once the in-flight
+ * requests complete.
+ */
+public class AdaptiveConcurrencyLimiter
+{
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+
+    private double limit;
+
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit,
+                                      int minLimit,
+                                      int maxLimit)
+    {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Starts the request now if the limit allows it, or once the in-flight requests complete. Every started
+     * request must be followed with {@link #release(boolean)}.
+     */
+    public void execute(Runnable request)
+    {
+        synchronized (this)
+        {
+            if (inFlight >= (int) limit)
+            {
+                queue.add(request);
+
+                return;
+            }
+            inFlight++;
+        }
+
+        request.run();
+    }
+
+    /**
+     * @param overloaded whether the request has failed because of the remote (connection failure, timeout,
+     *                   {@code 429} or {@code 5xx} response)
+     */
+    public void release(boolean overloaded)
+    {
+        List<Runnable> requests = new ArrayList<>();
+        synchronized (this)
+        {
+            inFlight--;
+            if (overloaded)
+            {
+                limit = Math.max(minLimit, limit / 2);
+            }
+            else
+            {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+
+            while (inFlight < (int) limit && !queue.isEmpty())
+            {
+                inFlight++;
+                requests.add(queue.poll());
+            }
+        }
+
+        requests.forEach(Runnable::run);
+    }
+
+    public synchronized int getLimit()
+    {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight()
+    {
+        return inFlight;
+    }
+
+    public synchronized int getQueued()
+    {
+        return queue.size();
+    }
+
+}
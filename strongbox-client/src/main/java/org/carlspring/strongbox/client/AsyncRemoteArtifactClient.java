@@ -0,0 +1,274 @@
+package org.carlspring.strongbox.client;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Non-blocking alternative to the {@link RestArtifactResolver} for the remote artifact downloads, based on the Jetty
+ * asynchronous {@link HttpClient}: the response body is written into the target channel as it arrives, without a
+ * thread waiting for the remote during the transfer.
+ * <p>
+ * With {@code strongbox.proxy.async.http2} the requests toward a remote are multiplexed over HTTP/2 connections
+ * (TLS remotes need ALPN support from the JVM). The concurrent requests toward each remote are limited with an
+ * {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * The client is only started with {@code strongbox.proxy.async.enabled}.
+ */
+@Component
+public class AsyncRemoteArtifactClient
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRemoteArtifactClient.class);
+
+    @Value("${strongbox.proxy.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.async.http2:false}")
+    private boolean http2;
+
+    @Value("${strongbox.proxy.async.idleTimeoutSeconds:60}")
+    private int idleTimeoutSeconds;
+
+    @Value("${strongbox.proxy.async.initialConcurrency:16}")
+    private int initialConcurrency;
+
+    @Value("${strongbox.proxy.async.maxConcurrency:512}")
+    private int maxConcurrency;
+
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    private HttpClient httpClient;
+
+    public AsyncRemoteArtifactClient()
+    {
+    }
+
+    AsyncRemoteArtifactClient(boolean enabled,
+                              boolean http2,
+                              int idleTimeoutSeconds,
+                              int initialConcurrency,
+                              int maxConcurrency)
+    {
+        this.enabled = enabled;
+        this.http2 = http2;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.initialConcurrency = initialConcurrency;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @PostConstruct
+    public void init()
+            throws Exception
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        HttpClientTransport transport = http2 ?
+                                        new HttpClientTransportOverHTTP2(new HTTP2Client()) :
+                                        new HttpClientTransportOverHTTP();
+
+        httpClient = new HttpClient(transport, new SslContextFactory.Client());
+        httpClient.setFollowRedirects(true);
+        httpClient.setIdleTimeout(TimeUnit.SECONDS.toMillis(idleTimeoutSeconds));
+        httpClient.setMaxConnectionsPerDestination(maxConcurrency);
+        httpClient.start();
+
+        logger.info("Started the asynchronous remote artifact client (HTTP/2 [{}]).", http2);
+    }
+
+    @PreDestroy
+    public void destroy()
+            throws Exception
+    {
+        if (httpClient != null)
+        {
+            httpClient.stop();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Downloads the remote resource into the target channel.
+     *
+     * @return the number of the downloaded bytes; the future fails with a {@link ResponseException} if the remote
+     * responds with an unexpected status
+     */
+    public CompletableFuture<Long> download(String url,
+                                            long offset,
+                                            String username,
+                                            String password,
+                                            WritableByteChannel target)
+    {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        if (httpClient == null)
+        {
+            result.completeExceptionally(new IllegalStateException("The asynchronous remote client is disabled."));
+
+            return result;
+        }
+
+        URI uri = URI.create(url);
+        AdaptiveConcurrencyLimiter limiter = getLimiter(uri);
+        limiter.execute(() -> {
+            try
+            {
+                Request request = httpClient.newRequest(uri).method(HttpMethod.GET);
+                if (offset > 0)
+                {
+                    request.header(HttpHeader.RANGE, "bytes=" + offset + "-");
+                }
+                if (username != null && password != null)
+                {
+                    String credentials = String.format("%s:%s", username, password);
+                    request.header(HttpHeader.AUTHORIZATION,
+                                   "Basic " + Base64.getEncoder()
+                                                    .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+                }
+
+                logger.debug("Getting [{}]...", uri);
+
+                request.send(new DownloadListener(uri, offset, target, limiter, result));
+            }
+            catch (RuntimeException e)
+            {
+                limiter.release(false);
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter(URI uri)
+    {
+        String destination = String.format("%s://%s:%s", uri.getScheme(), uri.getHost(), uri.getPort());
+
+        return limiters.computeIfAbsent(destination,
+                                        d -> new AdaptiveConcurrencyLimiter(initialConcurrency, 1, maxConcurrency));
+    }
+
+    private static boolean isOverloaded(int status)
+    {
+        return status == 429 || status >= 500;
+    }
+
+    private static class DownloadListener
+            extends Response.Listener.Adapter
+    {
+
+        private final URI uri;
+
+        private final long offset;
+
+        private final WritableByteChannel target;
+
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        private final CompletableFuture<Long> result;
+
+        private long bytes;
+
+        private boolean targetFailed;
+
+        DownloadListener(URI uri,
+                         long offset,
+                         WritableByteChannel target,
+                         AdaptiveConcurrencyLimiter limiter,
+                         CompletableFuture<Long> result)
+        {
+            this.uri = uri;
+            this.offset = offset;
+            this.target = target;
+            this.limiter = limiter;
+            this.result = result;
+        }
+
+        @Override
+        public void onHeaders(Response response)
+        {
+            int expectedStatus = offset > 0 ? 206 : 200;
+            if (response.getStatus() != expectedStatus)
+            {
+                response.abort(new ResponseException(String.format("Unreadable response for %s. Response status is %s",
+                                                                   uri, response.getStatus()),
+                                                     response.getStatus()));
+            }
+        }
+
+        @Override
+        public void onContent(Response response,
+                              ByteBuffer content,
+                              Callback callback)
+        {
+            try
+            {
+                while (content.hasRemaining())
+                {
+                    bytes += target.write(content);
+                }
+                callback.succeeded();
+            }
+            catch (IOException e)
+            {
+                targetFailed = true;
+                callback.failed(e);
+            }
+        }
+
+        @Override
+        public void onComplete(Result completed)
+        {
+            if (!completed.isFailed())
+            {
+                limiter.release(false);
+                result.complete(bytes);
+
+                return;
+            }
+
+            Throwable failure = completed.getFailure();
+            boolean overloaded = failure instanceof ResponseException ?
+                                 isOverloaded(((ResponseException) failure).getStatusCode()) :
+                                 !targetFailed;
+            limiter.release(overloaded);
+
+            logger.debug("Failed to get [{}].", uri, failure);
+            result.completeExceptionally(failure);
+        }
+
+    }
+
+}
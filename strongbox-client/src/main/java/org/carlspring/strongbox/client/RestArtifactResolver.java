@@ -9,6 +9,7 @@ import java.io.Closeable;
 
 import org.apache.http.client.config.RequestConfig;
 import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +26,7 @@ public class RestArtifactResolver
     private final Client client;
     private Feature authentication;
     private RemoteRepositoryRetryArtifactDownloadConfiguration configuration;
+    private int timeoutMillis;
 
     public RestArtifactResolver(Client client,
                                 String repositoryBaseUrl,
@@ -54,6 +56,19 @@ public class RestArtifactResolver
         return true;
     }
 
+    public int getTimeoutMillis()
+    {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param timeoutMillis the connect and read timeout of the requests, or {@code 0} to use the ones of the client
+     */
+    public void setTimeoutMillis(int timeoutMillis)
+    {
+        this.timeoutMillis = timeoutMillis;
+    }
+
     @Override
     public void close()
     {
@@ -144,6 +159,11 @@ public class RestArtifactResolver
         {
             target.property(ApacheClientProperties.REQUEST_CONFIG,
                             RequestConfig.custom().setCircularRedirectsAllowed(true).build());
+            if (timeoutMillis > 0)
+            {
+                target.property(ClientProperties.CONNECT_TIMEOUT, timeoutMillis);
+                target.property(ClientProperties.READ_TIMEOUT, timeoutMillis);
+            }
             return this;
         }
 
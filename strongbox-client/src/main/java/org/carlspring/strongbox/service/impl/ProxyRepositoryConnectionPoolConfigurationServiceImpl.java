@@ -48,6 +48,8 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     private int defaultMaxPerRoute;
     @Value("${pool.idleConnectionsTimeoutInSeconds:60}")
     private int idleConnectionsTimeoutInSeconds;
+    @Value("${pool.payloadLogging:false}")
+    private boolean payloadLogging;
 
     @PostConstruct
     public void init()
@@ -78,16 +80,20 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
         // property to prevent closing connection manager when client is closed
         config.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
 
-        java.util.logging.Logger logger = java.util.logging.Logger.getLogger("org.carlspring.strongbox.RestClient");
-
         // TODO set basic authentication here instead of setting it always in client?
         /* CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
         config.property(ApacheClientProperties.CREDENTIALS_PROVIDER, credentialsProvider); */
 
-        return ClientBuilder.newBuilder()
-                            .register(new LoggingFeature(logger, Verbosity.PAYLOAD_TEXT))
-                            .withConfig(config)
+        ClientBuilder clientBuilder = ClientBuilder.newBuilder();
+        // The payload logging buffers the entities, so it's only enabled on demand.
+        if (payloadLogging)
+        {
+            java.util.logging.Logger logger = java.util.logging.Logger.getLogger("org.carlspring.strongbox.RestClient");
+            clientBuilder.register(new LoggingFeature(logger, Verbosity.PAYLOAD_TEXT));
+        }
+
+        return clientBuilder.withConfig(config)
                             .build();
     }
 
@@ -0,0 +1,58 @@
+package org.carlspring.strongbox.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest
+{
+
+    @Test
+    public void testRequestsOverTheLimitAreQueued()
+    {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        List<Integer> started = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++)
+        {
+            int request = i;
+            limiter.execute(() -> started.add(request));
+        }
+
+        assertThat(started).containsExactly(0, 1);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(2);
+
+        limiter.release(false);
+
+        assertThat(started).containsExactly(0, 1, 2);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLimitAdaptation()
+    {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10);
+
+        limiter.execute(() -> {});
+        limiter.release(true);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 20; i++)
+        {
+            limiter.execute(() -> {});
+            limiter.release(false);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+
+        for (int i = 0; i < 10; i++)
+        {
+            limiter.execute(() -> {});
+            limiter.release(true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.carlspring.strongbox.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+public class AsyncRemoteArtifactClientTest
+{
+
+    private static final int INITIAL_CONCURRENCY = 16;
+
+    private static final byte[] CONTENT = new byte[100000];
+
+    static
+    {
+        Arrays.fill(CONTENT, (byte) 'a');
+    }
+
+    private HttpServer server;
+
+    private AsyncRemoteArtifactClient client;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/artifact.jar", exchange -> {
+            exchange.sendResponseHeaders(200, CONTENT.length);
+            try (OutputStream os = exchange.getResponseBody())
+            {
+                os.write(CONTENT);
+            }
+        });
+        server.createContext("/missing.jar", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/unavailable.jar", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+
+        client = new AsyncRemoteArtifactClient(true, false, 10, INITIAL_CONCURRENCY, 64);
+        client.init();
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws Exception
+    {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    public void testBodyIsWrittenIntoTheChannel()
+            throws Exception
+    {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        long bytes = client.download(url("/artifact.jar"), 0, null, null, Channels.newChannel(target))
+                           .get(10, TimeUnit.SECONDS);
+
+        assertThat(bytes).isEqualTo(CONTENT.length);
+        assertThat(target.toByteArray()).isEqualTo(CONTENT);
+        assertThat(client.getLimiter(URI.create(url("/artifact.jar"))).getInFlight()).isZero();
+    }
+
+    @Test
+    public void testMissingArtifactDoesNotLowerTheLimit()
+    {
+        CompletableFuture<Long> download = client.download(url("/missing.jar"),
+                                                           0,
+                                                           null,
+                                                           null,
+                                                           Channels.newChannel(new ByteArrayOutputStream()));
+
+        Throwable failure = catchThrowableOfType(() -> download.get(10, TimeUnit.SECONDS),
+                                                 ExecutionException.class).getCause();
+        assertThat(failure).isInstanceOf(ResponseException.class);
+        assertThat(((ResponseException) failure).getStatusCode()).isEqualTo(404);
+
+        AdaptiveConcurrencyLimiter limiter = client.getLimiter(URI.create(url("/missing.jar")));
+        assertThat(limiter.getLimit()).isEqualTo(INITIAL_CONCURRENCY);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testOverloadedRemoteHalvesTheLimit()
+    {
+        CompletableFuture<Long> download = client.download(url("/unavailable.jar"),
+                                                           0,
+                                                           null,
+                                                           null,
+                                                           Channels.newChannel(new ByteArrayOutputStream()));
+
+        assertThatThrownBy(() -> download.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ResponseException.class);
+
+        AdaptiveConcurrencyLimiter limiter = client.getLimiter(URI.create(url("/unavailable.jar")));
+        assertThat(limiter.getLimit()).isEqualTo(INITIAL_CONCURRENCY / 2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void testTargetFailureFailsTheDownload()
+    {
+        OutputStream brokenTarget = new OutputStream()
+        {
+            @Override
+            public void write(int b)
+                    throws IOException
+            {
+                throw new IOException("No space left on device.");
+            }
+        };
+
+        CompletableFuture<Long> download = client.download(url("/artifact.jar"),
+                                                           0,
+                                                           null,
+                                                           null,
+                                                           Channels.newChannel(brokenTarget));
+
+        assertThatThrownBy(() -> download.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+
+        // The remote isn't to blame.
+        AdaptiveConcurrencyLimiter limiter = client.getLimiter(URI.create(url("/artifact.jar")));
+        assertThat(limiter.getLimit()).isEqualTo(INITIAL_CONCURRENCY);
+    }
+
+    @Test
+    public void testDisabledClientFails()
+            throws Exception
+    {
+        AsyncRemoteArtifactClient disabledClient = new AsyncRemoteArtifactClient(false, false, 10, 1, 1);
+        disabledClient.init();
+
+        CompletableFuture<Long> download = disabledClient.download(url("/artifact.jar"),
+                                                                   0,
+                                                                   null,
+                                                                   null,
+                                                                   Channels.newChannel(new ByteArrayOutputStream()));
+
+        assertThat(disabledClient.isEnabled()).isFalse();
+        assertThatThrownBy(() -> download.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private String url(String path)
+    {
+        return String.format("http://localhost:%s%s", server.getAddress().getPort(), path);
+    }
+
+}
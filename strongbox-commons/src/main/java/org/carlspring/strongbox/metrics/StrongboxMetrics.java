@@ -0,0 +1,95 @@
+package org.carlspring.strongbox.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * The names and the tags of the meters of the storage hot paths.
+ * <p>
+ * The meters are registered into the Micrometer global registry, so that they can be recorded from the code which
+ * isn't managed by Spring (file system providers, streams, locks); Spring Boot adds its registries (for example the
+ * Prometheus one, exposed on {@code /api/monitoring/prometheus}) to the global registry. Without any registry, the
+ * meters are no-ops.
+ */
+public final class StrongboxMetrics
+{
+
+    public static final String PREFIX = "strongbox";
+
+    public static final String LOCK_WAIT = PREFIX + ".lock.wait";
+
+    public static final String LOCK_HOLD = PREFIX + ".lock.hold";
+
+    public static final String DB_QUERY = PREFIX + ".db.query";
+
+    public static final String DB_SERVICE = PREFIX + ".db.service";
+
+    public static final String PROXY_FETCH = PREFIX + ".proxy.fetch";
+
+    public static final String PROXY_FETCH_BYTES = PREFIX + ".proxy.fetch.bytes";
+
+    public static final String GROUP_HOPS = PREFIX + ".group.hops";
+
+    public static final String DIGEST = PREFIX + ".digest";
+
+    public static final String DIGEST_BYTES = PREFIX + ".digest.bytes";
+
+    public static final String EVENTS_PENDING = PREFIX + ".events.pending";
+
+    public static final String CHECKSUM_CACHE_SIZE = PREFIX + ".checksum.cache.size";
+
+    public static final String CHECKSUM_CACHE_BYTES = PREFIX + ".checksum.cache.bytes";
+
+    public static final String CRON_JOB = PREFIX + ".cron.job";
+
+    public static final String AQL_PLAN_CACHE_HITS = PREFIX + ".aql.plan.cache.hits";
+
+    public static final String AQL_PLAN_CACHE_MISSES = PREFIX + ".aql.plan.cache.misses";
+
+    public static final String AQL_PLAN_CACHE_SIZE = PREFIX + ".aql.plan.cache.size";
+
+    public static final String TAG_STORAGE = "storage";
+
+    public static final String TAG_REPOSITORY = "repository";
+
+    public static final String TAG_LAYOUT = "layout";
+
+    public static final String TAG_OUTCOME = "outcome";
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    public static final String OUTCOME_FAILURE = "failure";
+
+    public static final String UNKNOWN = "unknown";
+
+    private StrongboxMetrics()
+    {
+    }
+
+    public static MeterRegistry registry()
+    {
+        return Metrics.globalRegistry;
+    }
+
+    public static Tags repositoryTags(String storageId,
+                                      String repositoryId,
+                                      String layout)
+    {
+        return Tags.of(Tag.of(TAG_STORAGE, valueOf(storageId)),
+                       Tag.of(TAG_REPOSITORY, valueOf(repositoryId)),
+                       Tag.of(TAG_LAYOUT, valueOf(layout)));
+    }
+
+    public static String outcome(boolean success)
+    {
+        return success ? OUTCOME_SUCCESS : OUTCOME_FAILURE;
+    }
+
+    private static String valueOf(String tagValue)
+    {
+        return tagValue == null ? UNKNOWN : tagValue;
+    }
+
+}
@@ -5,12 +5,15 @@ import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.services.CronTaskConfigurationService;
 import org.carlspring.strongbox.cron.services.JobManager;
 import org.carlspring.strongbox.event.cron.CronTaskEventListenerRegistry;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 
 import javax.inject.Inject;
 import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.InterruptableJob;
 import org.quartz.JobExecutionContext;
@@ -19,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.scheduling.quartz.QuartzJobBean;
+import org.springframework.util.ClassUtils;
 
 /**
  * @author carlspring
@@ -80,15 +84,19 @@ public abstract class AbstractCronJob
         setStatus(CronJobStatusEnum.EXECUTING.getStatus());
         cronTaskEventListenerRegistry.dispatchCronTaskExecutingEvent(configuration.getUuid());
 
+        Timer.Sample sample = Timer.start(StrongboxMetrics.registry());
+        boolean success = false;
         try
         {
             executeTask(configuration);
+            success = true;
             logger.info("Cron job task [{}] execution completed.", configuration.getName());
         }
         catch (Throwable e)
         {
             logger.error("Failed to execute cron job task [{}].", configuration.getName(), e);
         }
+        sample.stop(StrongboxMetrics.registry().timer(StrongboxMetrics.CRON_JOB, metricsTags(configuration, success)));
         manager.addExecutedJob(configuration.getUuid().toString(), true);
 
         cronTaskEventListenerRegistry.dispatchCronTaskExecutedEvent(configuration.getUuid());
@@ -96,6 +104,20 @@ public abstract class AbstractCronJob
 
     }
 
+    private Tags metricsTags(CronTaskConfigurationDto configuration,
+                             boolean success)
+    {
+        return Tags.of("job", ClassUtils.getUserClass(getClass()).getSimpleName(),
+                       StrongboxMetrics.TAG_STORAGE, metricsTagValue(configuration.getProperty("storageId")),
+                       StrongboxMetrics.TAG_REPOSITORY, metricsTagValue(configuration.getProperty("repositoryId")),
+                       StrongboxMetrics.TAG_OUTCOME, StrongboxMetrics.outcome(success));
+    }
+
+    private static String metricsTagValue(String value)
+    {
+        return value == null ? "all" : value;
+    }
+
     @Override
     public void interrupt()
     {
@@ -0,0 +1,122 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.*;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryQuotaEvictor;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryEvictionPolicy;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+public class EnforceProxyRepositoryQuotaCronJob
+        extends JavaCronJob
+{
+
+    private static final String PROPERTY_STORAGE_ID = "storageId";
+
+    private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
+
+    private static final String PROPERTY_MAX_SIZE_IN_MEGABYTES = "maxSizeInMegabytes";
+
+    private static final String PROPERTY_LOW_WATERMARK_PERCENTAGE = "lowWatermarkPercentage";
+
+    private static final String PROPERTY_EVICTION_POLICY = "evictionPolicy";
+
+    private static final String PROPERTY_BATCH_SIZE = "batchSize";
+
+    private static final long BYTES_IN_MEGABYTE = 1024L * 1024L;
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+            new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
+            new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
+            new CronJobIntegerTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_MAX_SIZE_IN_MEGABYTES))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_LOW_WATERMARK_PERCENTAGE))),
+            new CronJobStringTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_EVICTION_POLICY))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BATCH_SIZE))));
+
+    @Inject
+    private LocalStorageProxyRepositoryQuotaEvictor localStorageProxyRepositoryQuotaEvictor;
+
+    @Override
+    public void executeTask(final CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        final String storageId = config.getRequiredProperty(PROPERTY_STORAGE_ID);
+        final String repositoryId = config.getRequiredProperty(PROPERTY_REPOSITORY_ID);
+        final String maxSizeInMegabytesText = config.getRequiredProperty(PROPERTY_MAX_SIZE_IN_MEGABYTES);
+        final String lowWatermarkPercentageText = config.getProperty(PROPERTY_LOW_WATERMARK_PERCENTAGE);
+        final String evictionPolicyText = config.getProperty(PROPERTY_EVICTION_POLICY);
+        final String batchSizeText = config.getProperty(PROPERTY_BATCH_SIZE);
+
+        final long maxSizeInMegabytes;
+        int lowWatermarkPercentage = LocalStorageProxyRepositoryQuotaEvictor.DEFAULT_LOW_WATERMARK_PERCENTAGE;
+        int batchSize = LocalStorageProxyRepositoryQuotaEvictor.DEFAULT_BATCH_SIZE;
+        try
+        {
+            maxSizeInMegabytes = Long.parseLong(maxSizeInMegabytesText);
+            if (lowWatermarkPercentageText != null)
+            {
+                lowWatermarkPercentage = Integer.parseInt(lowWatermarkPercentageText);
+            }
+            if (batchSizeText != null)
+            {
+                batchSize = Integer.parseInt(batchSizeText);
+            }
+        }
+        catch (NumberFormatException ex)
+        {
+            logger.error("Invalid integer value of '{}', '{}' or '{}' property. Cron job won't be fired.",
+                         PROPERTY_MAX_SIZE_IN_MEGABYTES, PROPERTY_LOW_WATERMARK_PERCENTAGE, PROPERTY_BATCH_SIZE, ex);
+            return;
+        }
+
+        if (maxSizeInMegabytes <= 0 || lowWatermarkPercentage <= 0 || lowWatermarkPercentage > 100 || batchSize <= 0)
+        {
+            logger.error("Invalid quota [{}MB], low watermark [{}%] or batch size [{}]. Cron job won't be fired.",
+                         maxSizeInMegabytes, lowWatermarkPercentage, batchSize);
+            return;
+        }
+
+        ProxyRepositoryEvictionPolicy evictionPolicy = ProxyRepositoryEvictionPolicy.LRU;
+        if (evictionPolicyText != null)
+        {
+            try
+            {
+                evictionPolicy = ProxyRepositoryEvictionPolicy.valueOf(evictionPolicyText.trim().toUpperCase());
+            }
+            catch (IllegalArgumentException ex)
+            {
+                logger.error("Invalid value [{}] of '{}' property. Cron job won't be fired.",
+                             evictionPolicyText, PROPERTY_EVICTION_POLICY, ex);
+                return;
+            }
+        }
+
+        localStorageProxyRepositoryQuotaEvictor.evict(storageId,
+                                                      repositoryId,
+                                                      maxSizeInMegabytes * BYTES_IN_MEGABYTE,
+                                                      lowWatermarkPercentage,
+                                                      evictionPolicy,
+                                                      batchSize);
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(EnforceProxyRepositoryQuotaCronJob.class.getName())
+                                .name("Enforce Proxy Repository Quota Cron Job")
+                                .description("Evicts cached artifacts from a proxy repository which exceeds its quota")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
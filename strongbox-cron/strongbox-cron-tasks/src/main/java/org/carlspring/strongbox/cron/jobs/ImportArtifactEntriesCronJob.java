@@ -0,0 +1,78 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.*;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.importer.ArtifactEntryImporter;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+public class ImportArtifactEntriesCronJob
+        extends JavaCronJob
+{
+
+    private static final String PROPERTY_STORAGE_ID = "storageId";
+
+    private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
+
+    private static final String PROPERTY_BASE_PATH = "basePath";
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+            new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
+            new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
+            new CronJobStringTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))));
+
+    @Inject
+    private ArtifactEntryImporter artifactEntryImporter;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Override
+    public void executeTask(CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        String storageId = config.getRequiredProperty(PROPERTY_STORAGE_ID);
+        String repositoryId = config.getRequiredProperty(PROPERTY_REPOSITORY_ID);
+        String basePath = config.getProperty(PROPERTY_BASE_PATH);
+
+        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
+        Repository repository = storage != null ? storage.getRepository(repositoryId) : null;
+        if (repository == null)
+        {
+            logger.error("Repository [{}:{}] not found. Cron job won't be fired.", storageId, repositoryId);
+            return;
+        }
+
+        RepositoryPath repositoryBasePath = basePath != null ?
+                                            repositoryPathResolver.resolve(repository, basePath) :
+                                            repositoryPathResolver.resolve(repository);
+
+        artifactEntryImporter.importArtifactEntries(repositoryBasePath);
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(ImportArtifactEntriesCronJob.class.getName())
+                                .name("Import Artifact Entries Cron Job")
+                                .description("Indexes the artifacts which are already in the repository storage")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
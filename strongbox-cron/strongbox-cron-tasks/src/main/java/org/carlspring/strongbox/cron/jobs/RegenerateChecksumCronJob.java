@@ -29,6 +29,8 @@ public class RegenerateChecksumCronJob
 
     private static final String PROPERTY_FORCE_REGENERATION = "forceRegeneration";
 
+    private static final String PROPERTY_SKIP_UNCHANGED = "skipUnchanged";
+
     private static final Set<CronJobField> FIELDS = ImmutableSet.of(
             new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
@@ -36,6 +38,8 @@ public class RegenerateChecksumCronJob
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
             new CronJobBooleanTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_FORCE_REGENERATION))),
+            new CronJobBooleanTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_SKIP_UNCHANGED))),
             new CronJobStringTypeField(
                     new CronJobOptionalField(new CronJobNamedField(PROPERTY_BASE_PATH))));
 
@@ -60,21 +64,27 @@ public class RegenerateChecksumCronJob
          */
         boolean forceRegeneration = Boolean.valueOf(config.getProperty(PROPERTY_FORCE_REGENERATION));
 
+        /**
+         * When set, files which were not modified since their checksums were last generated are skipped,
+         * which also allows an interrupted regeneration to be resumed.
+         */
+        boolean skipUnchanged = Boolean.valueOf(config.getProperty(PROPERTY_SKIP_UNCHANGED));
+
         if (storageId == null)
         {
             Map<String, Storage> storages = getStorages();
             for (String storage : storages.keySet())
             {
-                regenerateRepositoriesChecksum(storage, forceRegeneration);
+                regenerateRepositoriesChecksum(storage, forceRegeneration, skipUnchanged);
             }
         }
         else if (repositoryId == null)
         {
-            regenerateRepositoriesChecksum(storageId, forceRegeneration);
+            regenerateRepositoriesChecksum(storageId, forceRegeneration, skipUnchanged);
         }
         else
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration);
+            checksumService.regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration, skipUnchanged);
         }
     }
 
@@ -95,17 +105,19 @@ public class RegenerateChecksumCronJob
      * @param storageId         path of storage
      * @param forceRegeneration true - to re-write existing checksum and to regenerate missing checksum,
      *                          false - to regenerate missing checksum only
+     * @param skipUnchanged     true - to skip the files which were not changed since the last regeneration
      * @throws IOException
      */
     private void regenerateRepositoriesChecksum(String storageId,
-                                                boolean forceRegeneration)
+                                                boolean forceRegeneration,
+                                                boolean skipUnchanged)
             throws IOException
     {
         Map<String, ? extends Repository> repositories = getRepositories(storageId);
 
         for (String repositoryId : repositories.keySet())
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration);
+            checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration, skipUnchanged);
         }
     }
 
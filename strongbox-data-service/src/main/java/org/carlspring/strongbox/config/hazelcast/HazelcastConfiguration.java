@@ -63,6 +63,60 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.tags.evictionPolicy:LFU}")
     public EvictionPolicy tagsEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.tags.nearCache.size:1000}")
+    public int tagsNearCacheSize;
+
+    @Value("${cacheManagerConfiguration.caches.tags.nearCache.timeToLiveSeconds:0}")
+    public int tagsNearCacheTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.maxSizeLimit:10000}")
+    public int artifactEntriesMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy artifactEntriesMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.evictionPolicy:LRU}")
+    public EvictionPolicy artifactEntriesEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.timeToLiveSeconds:600}")
+    public int artifactEntriesTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.nearCache.size:10000}")
+    public int artifactEntriesNearCacheSize;
+
+    @Value("${cacheManagerConfiguration.caches.artifactEntries.nearCache.timeToLiveSeconds:60}")
+    public int artifactEntriesNearCacheTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.maxSizeLimit:10000}")
+    public int artifactCoordinatesMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy artifactCoordinatesMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.evictionPolicy:LRU}")
+    public EvictionPolicy artifactCoordinatesEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.timeToLiveSeconds:3600}")
+    public int artifactCoordinatesTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.nearCache.size:10000}")
+    public int artifactCoordinatesNearCacheSize;
+
+    @Value("${cacheManagerConfiguration.caches.artifactCoordinates.nearCache.timeToLiveSeconds:0}")
+    public int artifactCoordinatesNearCacheTimeToLiveSeconds;
+
+    @Value("${cacheManagerConfiguration.caches.artifactChecksums.maxSizeLimit:100000}")
+    public int artifactChecksumsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.artifactChecksums.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy artifactChecksumsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactChecksums.evictionPolicy:LRU}")
+    public EvictionPolicy artifactChecksumsEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.artifactChecksums.timeToLiveSeconds:360}")
+    public int artifactChecksumsTimeToLiveSeconds;
+
     public static MapConfig newDefaultMapConfig(String name,
                                                 int maxSize,
                                                 MaxSizeConfig.MaxSizePolicy maxSizePolicy,
@@ -73,6 +127,37 @@ public class HazelcastConfiguration
                               .setEvictionPolicy(evictionPolicy);
     }
 
+    /**
+     * A near cache keeps the entries a node has read on that node, so that reading them again doesn't go to the
+     * member which owns them. The near caches are invalidated whenever an entry changes on any member.
+     */
+    public static NearCacheConfig newDefaultNearCacheConfig(int size,
+                                                            int timeToLiveSeconds)
+    {
+        return new NearCacheConfig().setCacheLocalEntries(true)
+                                    .setInvalidateOnChange(true)
+                                    .setTimeToLiveSeconds(timeToLiveSeconds)
+                                    .setEvictionConfig(new EvictionConfig().setEvictionPolicy(EvictionPolicy.LRU)
+                                                                           .setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                           .setSize(size));
+    }
+
+    /**
+     * The second level cache of the entities, with a near cache on each node.
+     */
+    public static MapConfig newEntityMapConfig(String name,
+                                               int maxSize,
+                                               MaxSizeConfig.MaxSizePolicy maxSizePolicy,
+                                               EvictionPolicy evictionPolicy,
+                                               int timeToLiveSeconds,
+                                               int nearCacheSize,
+                                               int nearCacheTimeToLiveSeconds)
+    {
+        return newDefaultMapConfig(name, maxSize, maxSizePolicy, evictionPolicy).setTimeToLiveSeconds(timeToLiveSeconds)
+                                                                                .setNearCacheConfig(newDefaultNearCacheConfig(nearCacheSize,
+                                                                                                                              nearCacheTimeToLiveSeconds));
+    }
+
     @Bean
     public HazelcastInstance hazelcastInstance(Config config)
     {
@@ -126,7 +211,28 @@ public class HazelcastConfiguration
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS,
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
-                                                                            tagsEvictionPolicy))
+                                                                            tagsEvictionPolicy)
+                                                                .setNearCacheConfig(newDefaultNearCacheConfig(tagsNearCacheSize,
+                                                                                                              tagsNearCacheTimeToLiveSeconds)))
+                                          .addMapConfig(newEntityMapConfig(CacheName.Artifact.ARTIFACT_ENTRIES,
+                                                                           artifactEntriesMaxSizeLimit,
+                                                                           artifactEntriesMaxSizePolicy,
+                                                                           artifactEntriesEvictionPolicy,
+                                                                           artifactEntriesTimeToLiveSeconds,
+                                                                           artifactEntriesNearCacheSize,
+                                                                           artifactEntriesNearCacheTimeToLiveSeconds))
+                                          .addMapConfig(newEntityMapConfig(CacheName.Artifact.ARTIFACT_COORDINATES,
+                                                                           artifactCoordinatesMaxSizeLimit,
+                                                                           artifactCoordinatesMaxSizePolicy,
+                                                                           artifactCoordinatesEvictionPolicy,
+                                                                           artifactCoordinatesTimeToLiveSeconds,
+                                                                           artifactCoordinatesNearCacheSize,
+                                                                           artifactCoordinatesNearCacheTimeToLiveSeconds))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Artifact.ARTIFACT_CHECKSUMS,
+                                                                            artifactChecksumsMaxSizeLimit,
+                                                                            artifactChecksumsMaxSizePolicy,
+                                                                            artifactChecksumsEvictionPolicy)
+                                                                .setTimeToLiveSeconds(artifactChecksumsTimeToLiveSeconds))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig(groupConfigName, groupConfigPassword));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(enableMulticastConfig);
@@ -15,6 +15,12 @@ public final class CacheName
 
         public static final String TAGS = "tags";
 
+        public static final String ARTIFACT_ENTRIES = "artifactEntries";
+
+        public static final String ARTIFACT_COORDINATES = "artifactCoordinates";
+
+        public static final String ARTIFACT_CHECKSUMS = "artifactChecksums";
+
     }
 
     public static final class Repository
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.data.criteria;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,6 +38,12 @@ public class DetachQueryTemplate<R, T extends GenericEntity> implements QueryTem
         return (R) unproxy(target.select(s));
     }
 
+    public R select(String sQuery,
+                    Map<String, Object> parameterMap)
+    {
+        return (R) unproxy(target.select(sQuery, parameterMap));
+    }
+
     public Object unproxy(Object result)
     {
         if (result == null)
@@ -2,18 +2,23 @@ package org.carlspring.strongbox.data.criteria;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.persistence.EntityManager;
 
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.domain.GenericEntity;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * {@link QueryTemplate} implementation for OrientDB engine.
@@ -25,6 +30,13 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 {
     private static final Logger logger = LoggerFactory.getLogger(OQueryTemplate.class);
 
+    /**
+     * A property like {@code ArtifactArchiveEntry[artifactEntry].className} matches the records which are linked by
+     * the {@code artifactEntry} of the {@code ArtifactArchiveEntry}s matching the {@code className} expression, so that
+     * the lookup is done with the indexes of the linking class.
+     */
+    private static final Pattern LINKED_PROPERTY = Pattern.compile("^(\\w+)\\[(\\w+)\\]\\.(.+)$");
+
     protected EntityManager entityManager;
 
     public OQueryTemplate()
@@ -45,10 +57,17 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 
     public R select(Selector<T> s)
     {
-        String sQuery = calculateQueryString(s);
+        return select(calculateQueryString(s), exposeParameterMap(s.getPredicate()));
+    }
 
+    /**
+     * Executes the query which was previously calculated with {@link #calculateQueryString(Selector)} and
+     * {@link #exposeParameterMap(Predicate)}.
+     */
+    public R select(String sQuery,
+                    Map<String, Object> parameterMap)
+    {
         OSQLSynchQuery<T> oQuery = new OSQLSynchQuery<>(sQuery);
-        Map<String, Object> parameterMap = exposeParameterMap(s.getPredicate());
 
         logger.debug("Executing SQL query:\n" +
                      "\t[{}]\n" +
@@ -56,8 +75,18 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
                      "\t[{}]",
                      sQuery, parameterMap);
 
-        Object result = getEmDelegate().command(oQuery)
-                                       .execute(parameterMap);
+        Timer.Sample sample = Timer.start(StrongboxMetrics.registry());
+        Object result;
+        try
+        {
+            result = getEmDelegate().command(oQuery)
+                                    .execute(parameterMap);
+        }
+        finally
+        {
+            sample.stop(StrongboxMetrics.registry().timer(StrongboxMetrics.DB_QUERY, "target", queryTarget(sQuery)));
+        }
+
         if (result instanceof Collection && !((Collection) result).isEmpty()
                 && ((Collection) result).iterator().next() instanceof ODocument)
         {
@@ -71,6 +100,25 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         }
     }
 
+    /**
+     * @return the class which the query selects from, to tag the query metrics
+     */
+    private static String queryTarget(String sQuery)
+    {
+        String[] tokens = sQuery.trim().split("\\s+");
+        for (int i = 0; i < tokens.length - 1; i++)
+        {
+            if ("FROM".equals(tokens[i].toUpperCase(Locale.ENGLISH)))
+            {
+                String target = tokens[i + 1];
+
+                return target.startsWith("(") ? "subquery" : target;
+            }
+        }
+
+        return StrongboxMetrics.UNKNOWN;
+    }
+
     public OObjectDatabaseTx getEmDelegate()
     {
         return (OObjectDatabaseTx) entityManager.getDelegate();
@@ -100,6 +148,20 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
     }
 
     public String calculateQueryString(Selector<T> selector)
+    {
+        String sQuery = calculateSelectString(selector);
+        if (selector.getPredicate().isEmpty())
+        {
+            return sQuery;
+        }
+
+        return sQuery + calculatePagingString(selector.getPaginator(), selector.isFetch());
+    }
+
+    /**
+     * @return the query without the ORDER BY, SKIP, LIMIT and FETCHPLAN clauses
+     */
+    public String calculateSelectString(Selector<T> selector)
     {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT ").append(selector.getProjection());
@@ -114,7 +176,16 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         sb.append(" WHERE ");
         sb.append(predicateToken(p, 0));
 
-        Paginator paginator = selector.getPaginator();
+        return sb.toString();
+    }
+
+    /**
+     * @return the ORDER BY, SKIP, LIMIT and FETCHPLAN clauses of the query
+     */
+    public String calculatePagingString(Paginator paginator,
+                                        boolean fetch)
+    {
+        StringBuilder sb = new StringBuilder();
         if (paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty())
         {
             sb.append(String.format(" ORDER BY %s %s", paginator.getProperty(), paginator.getOrder()));
@@ -129,7 +200,7 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
             sb.append(String.format(" LIMIT %s", paginator.getLimit()));
         }
 
-        if (selector.isFetch())
+        if (fetch)
         {
             sb.append(" FETCHPLAN *:-1");
         }
@@ -180,6 +251,17 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         String operator = expressionOperatorToken(e);
         String expressionRight = expressionRightToken(e, n);
 
+        Matcher matcher = LINKED_PROPERTY.matcher(experssionLeft);
+        if (matcher.matches())
+        {
+            return String.format("@rid IN (SELECT %s FROM %s WHERE %s%s%s)",
+                                 matcher.group(2),
+                                 matcher.group(1),
+                                 matcher.group(3),
+                                 operator,
+                                 expressionRight);
+        }
+
         return new StringBuffer().append(experssionLeft)
                                  .append(operator)
                                  .append(expressionRight)
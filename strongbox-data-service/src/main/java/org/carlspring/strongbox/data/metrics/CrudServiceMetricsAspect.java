@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.data.metrics;
+
+import org.carlspring.strongbox.data.service.CrudService;
+import org.carlspring.strongbox.data.tx.OEntityUnproxyAspect;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records the latency of the public {@link CrudService} methods ({@link StrongboxMetrics#DB_SERVICE}), tagged with
+ * the service class and the method name.
+ * <p>
+ * The aspect is ordered before the {@link OEntityUnproxyAspect} and the transaction interceptor, so that the
+ * transaction commit and the result unproxy are included in the latency.
+ */
+@Aspect
+@Component
+@Order(CrudServiceMetricsAspect.ORDER)
+public class CrudServiceMetricsAspect
+{
+
+    public static final int ORDER = 90;
+
+    @Around("execution(public * org.carlspring.strongbox.data.service.CrudService+.*(..))")
+    public Object timed(ProceedingJoinPoint jp)
+        throws Throwable
+    {
+        Timer.Sample sample = Timer.start(StrongboxMetrics.registry());
+        boolean success = false;
+        try
+        {
+            Object result = jp.proceed();
+            success = true;
+
+            return result;
+        }
+        finally
+        {
+            sample.stop(StrongboxMetrics.registry()
+                                        .timer(StrongboxMetrics.DB_SERVICE,
+                                               "service", ClassUtils.getUserClass(jp.getTarget()).getSimpleName(),
+                                               "method", jp.getSignature().getName(),
+                                               StrongboxMetrics.TAG_OUTCOME, StrongboxMetrics.outcome(success)));
+        }
+    }
+
+}
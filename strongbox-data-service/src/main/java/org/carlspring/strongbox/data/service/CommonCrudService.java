@@ -2,20 +2,16 @@ package org.carlspring.strongbox.data.service;
 
 import org.carlspring.strongbox.data.domain.GenericEntity;
 import org.carlspring.strongbox.data.service.impl.EntityServiceRegistry;
+import org.carlspring.strongbox.data.service.support.EntityCascadePlan;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
-import javax.persistence.CascadeType;
 import javax.persistence.EntityManager;
-import javax.persistence.ManyToMany;
-import javax.persistence.ManyToOne;
-import javax.persistence.OneToMany;
-import javax.persistence.OneToOne;
 import javax.persistence.PersistenceContext;
 
-import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import com.orientechnologies.orient.core.id.ORecordId;
@@ -25,8 +21,11 @@ import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Transactional
 public abstract class CommonCrudService<T extends GenericEntity>
@@ -41,90 +40,132 @@ public abstract class CommonCrudService<T extends GenericEntity>
     @Inject
     private EntityServiceRegistry entityServiceRegistry;
 
+    @Inject
+    private CacheManager cacheManager;
+
+    private volatile EntityCascadePlan cascadePlan;
+
     @PostConstruct
     public void postConstruct()
     {
         entityServiceRegistry.register(this.getEntityClass(), this);
+        cascadePlan = EntityCascadePlan.of(this.getEntityClass());
     }
 
     protected <S extends T> S cascadeEntitySave(T entity)
+    {
+        return cascadeEntitySave(entity, this::tryToCascadeEntitySave);
+    }
+
+    /**
+     * Saves the entity, its cascaded entities are saved with the cascade function, which returns the ones it leaves
+     * as they are.
+     */
+    protected <S extends T> S cascadeEntitySave(T entity,
+                                                UnaryOperator<Object> cascadeFunction)
     {
         identifyEntity(entity);
-        
-        ReflectionUtils.doWithFields(getEntityClass(), (field) -> {
-            ReflectionUtils.makeAccessible(field);
-
-            Set<CascadeType> cascadeTypeSet = Arrays.stream(field.getAnnotations())
-                                                    .map(a -> exposeCascadeType(a))
-                                                    .reduce((c1,
-                                                             c2) -> {
-                                                        c1.addAll(c2);
-                                                        return c1;
-                                                    })
-                                                    .orElse(Collections.emptySet());
-            
-            if (!cascadeTypeSet.stream().anyMatch(c -> CascadeType.ALL.equals(c) || CascadeType.MERGE.equals(c)
-                    || CascadeType.PERSIST.equals(c)))
-            {
-                return;
-            }
-            
-            Class<?> fieldType = field.getType();
-            Object fieldValue = ReflectionUtils.getField(field, entity);
+        Object entityCacheKey = getEntityCacheKey(entity);
 
-            if (fieldValue == null)
-            {
-                return;
-            }
+        getCascadePlan().cascade(entity, cascadeFunction);
 
-            if (Collection.class.isAssignableFrom(fieldType))
-            {
-                Collection<Object> collection = (Collection<Object>) fieldValue;
-                List<Object> replaceCollection = new LinkedList<>();
-                collection.removeIf(a -> {
-                    Object b = tryToCascadeEntitySave(a);
-                    if (b != a)
-                    {
-                        replaceCollection.add(b);
-                        return true;
-                    }
-                    return false;
-                });
-                collection.addAll(replaceCollection);
-            }
-            else
-            {
-                Object newFieldValue = tryToCascadeEntitySave(fieldValue);
-                if (newFieldValue != fieldValue)
-                {
-                    ReflectionUtils.setField(field, entity, newFieldValue);
-                }
-            }
+        S result = getDelegate().save(entity);
 
-        });
+        // The key changes with the entity, when it's derived from the properties which were updated.
+        if (entityCacheKey != null && !entityCacheKey.equals(getEntityCacheKey(entity)))
+        {
+            evictEntityCacheKey(entityCacheKey);
+        }
+        onEntitySaved(entity);
+
+        return result;
+    }
 
-        return getDelegate().save(entity);
+    protected void onEntitySaved(T entity)
+    {
+        evictEntity(entity);
+    }
+
+    /**
+     * @return the name of the cache which holds the entities of this service, if any, its entries are evicted when
+     *         the entities are saved or deleted
+     */
+    protected String getEntityCacheName()
+    {
+        return null;
+    }
+
+    /**
+     * @return the key of the entity in the {@link #getEntityCacheName()} cache, or {@code null} if the entity can't
+     *         be cached by key, in which case there's nothing to evict
+     */
+    protected Object getEntityCacheKey(T entity)
+    {
+        return null;
     }
 
-    private Set<CascadeType> exposeCascadeType(Annotation a)
+    protected Cache getEntityCache()
     {
-        Set<CascadeType> result = new HashSet<>();
-        if (a instanceof OneToMany)
+        String cacheName = getEntityCacheName();
+
+        return cacheName == null ? null : cacheManager.getCache(cacheName);
+    }
+
+    /**
+     * Evicts the entity from the {@link #getEntityCacheName()} cache.
+     *
+     * @see #evictEntityCacheKey(Object)
+     */
+    protected void evictEntity(T entity)
+    {
+        evictEntityCacheKey(entity != null ? getEntityCacheKey(entity) : null);
+    }
+
+    /**
+     * Evicts the key from the {@link #getEntityCacheName()} cache, a {@code null} key is skipped. The cache is
+     * distributed, so this also invalidates the near caches of the other nodes. The key is evicted again once the
+     * current transaction completes, so that neither a concurrent read of the entity as it was before the
+     * transaction, nor a read of the changes of a transaction which is rolled back, stays cached.
+     */
+    protected void evictEntityCacheKey(Object key)
+    {
+        Cache cache = getEntityCache();
+        if (cache == null)
         {
-            result.addAll(Arrays.asList(((OneToMany) a).cascade()));
+            return;
         }
-        else if (a instanceof OneToOne)
+
+        if (key == null)
         {
-            result.addAll(Arrays.asList(((OneToOne) a).cascade()));
+            logger.debug("Skip the eviction of an entity without a key from [{}].", getEntityCacheName());
+
+            return;
         }
-        else if (a instanceof ManyToMany)
+
+        Runnable eviction = () -> cache.evict(key);
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
         {
-            result.addAll(Arrays.asList(((ManyToMany) a).cascade()));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    eviction.run();
+                }
+            });
         }
-        else if (a instanceof ManyToOne)
+    }
+
+    protected EntityCascadePlan getCascadePlan()
+    {
+        EntityCascadePlan result = cascadePlan;
+        if (result == null)
         {
-            result.addAll(Arrays.asList(((ManyToOne) a).cascade()));
+            result = cascadePlan = EntityCascadePlan.of(getEntityClass());
         }
+
         return result;
     }
 
@@ -245,6 +286,11 @@ public abstract class CommonCrudService<T extends GenericEntity>
     @Override
     public void delete(String id)
     {
+        if (getEntityCacheName() != null)
+        {
+            findOne(id).ifPresent(this::evictEntity);
+        }
+
         getDelegate().delete(new ORecordId(id));
     }
 
@@ -252,6 +298,7 @@ public abstract class CommonCrudService<T extends GenericEntity>
     public void delete(T entity)
     {
         entityManager.remove(entity);
+        evictEntity(entity);
     }
 
     @Override
@@ -269,7 +316,10 @@ public abstract class CommonCrudService<T extends GenericEntity>
         parameterMap.put("uuids", entityList.stream().map(GenericEntity::getUuid).collect(Collectors.toList()));
 
         OCommandSQL oCommandSQL = new OCommandSQL(sb.toString());
-        return getDelegate().command(oCommandSQL).execute(parameterMap);
+        int result = getDelegate().command(oCommandSQL).execute(parameterMap);
+        entityList.forEach(this::evictEntity);
+
+        return result;
     }
     
     @Override
@@ -0,0 +1,230 @@
+package org.carlspring.strongbox.data.service.support;
+
+import javax.persistence.CascadeType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Cascade metadata of an entity class: the fields which are mapped with a relation that cascades
+ * {@link CascadeType#PERSIST} or {@link CascadeType#MERGE}, along with their accessor handles.
+ * <p>
+ * The plan is resolved once per entity class, so that cascading a save doesn't have to scan the class fields and
+ * their annotations again.
+ *
+ * @see org.carlspring.strongbox.data.service.CommonCrudService
+ */
+public class EntityCascadePlan
+{
+
+    private static final Map<Class<?>, EntityCascadePlan> PLANS = new ConcurrentHashMap<>();
+
+    private static final Set<CascadeType> SAVE_CASCADE_TYPES = EnumSet.of(CascadeType.ALL,
+                                                                          CascadeType.MERGE,
+                                                                          CascadeType.PERSIST);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> entityClass;
+
+    private final CascadeField[] cascadeFields;
+
+    private EntityCascadePlan(Class<?> entityClass,
+                              List<CascadeField> cascadeFields)
+    {
+        this.entityClass = entityClass;
+        this.cascadeFields = cascadeFields.toArray(new CascadeField[0]);
+    }
+
+    public static EntityCascadePlan of(Class<?> entityClass)
+    {
+        return PLANS.computeIfAbsent(entityClass, EntityCascadePlan::resolve);
+    }
+
+    public Class<?> getEntityClass()
+    {
+        return entityClass;
+    }
+
+    public boolean isEmpty()
+    {
+        return cascadeFields.length == 0;
+    }
+
+    /**
+     * Applies the cascade function to every value of the cascaded fields of the entity. Values which are replaced by
+     * the function (for example with their persisted instance) are put back into the entity.
+     */
+    public void cascade(Object entity,
+                        UnaryOperator<Object> cascadeFunction)
+    {
+        for (CascadeField cascadeField : cascadeFields)
+        {
+            Object fieldValue = cascadeField.get(entity);
+            if (fieldValue == null)
+            {
+                continue;
+            }
+
+            if (cascadeField.collection)
+            {
+                Collection<Object> collection = (Collection<Object>) fieldValue;
+                List<Object> replaceCollection = new LinkedList<>();
+                collection.removeIf(a -> {
+                    Object b = cascadeFunction.apply(a);
+                    if (b != a)
+                    {
+                        replaceCollection.add(b);
+                        return true;
+                    }
+                    return false;
+                });
+                collection.addAll(replaceCollection);
+            }
+            else
+            {
+                Object newFieldValue = cascadeFunction.apply(fieldValue);
+                if (newFieldValue != fieldValue)
+                {
+                    cascadeField.set(entity, newFieldValue);
+                }
+            }
+        }
+    }
+
+    private static EntityCascadePlan resolve(Class<?> entityClass)
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<CascadeField> cascadeFields = new ArrayList<>();
+
+        ReflectionUtils.doWithFields(entityClass, (field) -> {
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                return;
+            }
+
+            boolean cascadeSave = Arrays.stream(field.getAnnotations())
+                                        .map(EntityCascadePlan::exposeCascadeType)
+                                        .flatMap(Collection::stream)
+                                        .anyMatch(SAVE_CASCADE_TYPES::contains);
+            if (!cascadeSave)
+            {
+                return;
+            }
+
+            cascadeFields.add(new CascadeField(field, lookup));
+        });
+
+        return new EntityCascadePlan(entityClass, cascadeFields);
+    }
+
+    private static Collection<CascadeType> exposeCascadeType(Annotation a)
+    {
+        if (a instanceof OneToMany)
+        {
+            return Arrays.asList(((OneToMany) a).cascade());
+        }
+        else if (a instanceof OneToOne)
+        {
+            return Arrays.asList(((OneToOne) a).cascade());
+        }
+        else if (a instanceof ManyToMany)
+        {
+            return Arrays.asList(((ManyToMany) a).cascade());
+        }
+        else if (a instanceof ManyToOne)
+        {
+            return Arrays.asList(((ManyToOne) a).cascade());
+        }
+        return Collections.emptyList();
+    }
+
+    private static class CascadeField
+    {
+
+        private final String name;
+
+        private final boolean collection;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private CascadeField(Field field,
+                             MethodHandles.Lookup lookup)
+        {
+            ReflectionUtils.makeAccessible(field);
+
+            this.name = field.getName();
+            this.collection = Collection.class.isAssignableFrom(field.getType());
+            try
+            {
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = Modifier.isFinal(field.getModifiers()) ? null :
+                              lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException(String.format("Failed to access [%s] field of [%s].",
+                                                              field.getName(),
+                                                              field.getDeclaringClass().getName()),
+                                                e);
+            }
+        }
+
+        private Object get(Object entity)
+        {
+            try
+            {
+                return (Object) getter.invokeExact(entity);
+            }
+            catch (Throwable e)
+            {
+                ReflectionUtils.rethrowRuntimeException(e);
+                return null;
+            }
+        }
+
+        private void set(Object entity,
+                         Object value)
+        {
+            if (setter == null)
+            {
+                throw new IllegalStateException(String.format("Can't replace the value of final [%s] field.", name));
+            }
+
+            try
+            {
+                setter.invokeExact(entity, value);
+            }
+            catch (Throwable e)
+            {
+                ReflectionUtils.rethrowRuntimeException(e);
+            }
+        }
+
+    }
+
+}
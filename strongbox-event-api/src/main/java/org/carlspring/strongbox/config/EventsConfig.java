@@ -4,6 +4,7 @@ import javax.servlet.ServletContext;
 
 import org.carlspring.strongbox.event.EventExecutorFactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -16,9 +17,11 @@ public class EventsConfig
 {
 
     @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                                      @Value("${strongbox.events.executor.poolSize:8}") int poolSize,
+                                                      @Value("${strongbox.events.executor.queueCapacity:10000}") int queueCapacity)
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new EventExecutorFactoryBean(servletContext, poolSize, queueCapacity);
     }
 
 }
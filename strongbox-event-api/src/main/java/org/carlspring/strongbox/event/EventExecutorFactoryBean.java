@@ -2,60 +2,96 @@ package org.carlspring.strongbox.event;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import javax.servlet.ServletContext;
-import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-public class EventExecutorFactoryBean implements FactoryBean<Executor>
+/**
+ * Provides the Async events {@link Executor}.
+ * <p>
+ * Within Jetty, the events are handled by a dedicated and bounded pool, rather than by the Jetty threads, so that bulk
+ * operations (which emit one event per file) can't starve the requests. Once its queue is full, an event is handled by
+ * the thread which published it, which slows down the bulk operation until the pool catches up.
+ * Otherwise (in tests for example), the events are handled synchronously.
+ */
+public class EventExecutorFactoryBean implements FactoryBean<Executor>, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(EventExecutorFactoryBean.class);
 
     private final ServletContext servletContext;
 
-    public EventExecutorFactoryBean(ServletContext servletContext)
+    private final int poolSize;
+
+    private final int queueCapacity;
+
+    private ThreadPoolExecutor threadPoolExecutor;
+
+    public EventExecutorFactoryBean(ServletContext servletContext,
+                                    int poolSize,
+                                    int queueCapacity)
     {
         super();
         this.servletContext = servletContext;
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
     }
 
     @Override
-    public Executor getObject()
+    public synchronized Executor getObject()
         throws Exception
     {
-        Executor executor = Optional.ofNullable(servletContext)
-                                    .flatMap(c -> Optional.ofNullable(lookupExecutor()))
-                                    .orElse(new SyncTaskExecutor());
+        Executor executor = isServletContainer() ? createThreadPoolExecutor() : new SyncTaskExecutor();
         
         logger.info("Using [{}] executor for Async events.", executor.getClass());
         
-        return executor;
+        return new MeteredEventExecutor(executor);
     }
 
-    private Executor lookupExecutor()
+    private boolean isServletContainer()
     {
-        Executor result;
-        if ((result = lookupJettyExecutor()) != null)
+        if (servletContext == null || servletContext.getAttribute("org.eclipse.jetty.server.Executor") == null)
         {
-            return result;
+            return false;
         }
-        return null;
+
+        logger.info("Jetty environment detected.");
+
+        return true;
     }
 
-    private Executor lookupJettyExecutor()
+    private Executor createThreadPoolExecutor()
     {
-        Executor executor = (Executor) servletContext.getAttribute("org.eclipse.jetty.server.Executor");
-        if (executor == null)
+        if (threadPoolExecutor == null)
         {
-            return null;
+            threadPoolExecutor = new ThreadPoolExecutor(poolSize,
+                                                        poolSize,
+                                                        60L,
+                                                        TimeUnit.SECONDS,
+                                                        new ArrayBlockingQueue<>(queueCapacity),
+                                                        new CustomizableThreadFactory("strongbox-event-"),
+                                                        new ThreadPoolExecutor.CallerRunsPolicy());
+
+            logger.info("Handling Async events with [{}] threads and a queue of [{}] events.", poolSize, queueCapacity);
         }
 
-        logger.info("Jetty environment detected.");
+        return threadPoolExecutor;
+    }
 
-        return executor;
+    @Override
+    public synchronized void destroy()
+    {
+        if (threadPoolExecutor != null)
+        {
+            threadPoolExecutor.shutdown();
+        }
     }
 
     @Override
@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorates the Async events {@link Executor} to expose the {@link StrongboxMetrics#EVENTS_PENDING} gauge: the
+ * number of the event tasks which have been submitted and haven't completed yet, that is the tasks waiting in the
+ * executor queue along with the running ones.
+ */
+public class MeteredEventExecutor
+        implements Executor
+{
+
+    /**
+     * The gauge is registered once: the registry keeps the value of the first registration, so the counter of any
+     * other executor (of another application context, in tests) would never be reported.
+     */
+    private static final AtomicInteger PENDING = StrongboxMetrics.registry().gauge(StrongboxMetrics.EVENTS_PENDING,
+                                                                                    new AtomicInteger());
+
+    private final Executor target;
+
+    private final AtomicInteger pending = PENDING;
+
+    public MeteredEventExecutor(Executor target)
+    {
+        this.target = target;
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        AtomicBoolean completed = new AtomicBoolean();
+        pending.incrementAndGet();
+        try
+        {
+            target.execute(() -> {
+                try
+                {
+                    command.run();
+                }
+                finally
+                {
+                    complete(completed);
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // The task has been rejected, or it has failed within a synchronous executor.
+            complete(completed);
+
+            throw e;
+        }
+    }
+
+    private void complete(AtomicBoolean completed)
+    {
+        if (completed.compareAndSet(false, true))
+        {
+            pending.decrementAndGet();
+        }
+    }
+
+    public Executor getTarget()
+    {
+        return target;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[%s]", getClass().getSimpleName(), target);
+    }
+
+}
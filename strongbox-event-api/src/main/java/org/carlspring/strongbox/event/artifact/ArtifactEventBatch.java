@@ -0,0 +1,62 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.event.Event;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link ArtifactEvent}s of one type and one repository which have been published within the same batching window,
+ * with at most one event per path (the last one).
+ * <p>
+ * Listeners which don't need to react to each event separately (for example, those scheduling a repository wide task)
+ * can listen to these batches instead, so that bulk operations don't invoke them once per file.
+ */
+public class ArtifactEventBatch<T extends Path> extends Event
+{
+
+    private final String storageId;
+
+    private final String repositoryId;
+
+    private final List<ArtifactEvent<T>> events;
+
+    public ArtifactEventBatch(int type,
+                              String storageId,
+                              String repositoryId,
+                              List<ArtifactEvent<T>> events)
+    {
+        super(type);
+        this.storageId = storageId;
+        this.repositoryId = repositoryId;
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
+    public List<ArtifactEvent<T>> getEvents()
+    {
+        return events;
+    }
+
+    public List<T> getPaths()
+    {
+        return events.stream().map(ArtifactEvent::getPath).collect(Collectors.toList());
+    }
+
+    public int size()
+    {
+        return events.size();
+    }
+
+}
@@ -12,6 +12,8 @@ import org.carlspring.strongbox.services.ArtifactEntryService;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Lock;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
@@ -61,13 +63,11 @@ public abstract class AsyncArtifactEntryHandler
             return;
         }
 
-        // TODO: this is needed just as workadound to have new transaction
-        // within this async event (expected to be replaced with
-        // just Propagation.REQUIRES_NEW after SB-1200)
-        Thread threadWithNewTransactionContext = new Thread(() -> {
+        Runnable handler = () -> {
             try
             {
                 handleLocked(repositoryPath);
+                afterHandleEvent(repositoryPath);
             }
             catch (Exception e)
             {
@@ -75,12 +75,43 @@ public abstract class AsyncArtifactEntryHandler
                              AsyncArtifactEntryHandler.this.getClass().getSimpleName(),
                              e);
             }
-        });
+        };
+
+        Executor executor = getExecutor();
+        if (executor != null)
+        {
+            try
+            {
+                executor.execute(handler);
+
+                return;
+            }
+            catch (RejectedExecutionException e)
+            {
+                logger.debug("The executor of [{}] is full, handling [{}] on the event thread.",
+                             getClass().getSimpleName(),
+                             repositoryPath);
+            }
+        }
+
+        // TODO: this is needed just as workadound to have new transaction
+        // within this async event (expected to be replaced with
+        // just Propagation.REQUIRES_NEW after SB-1200)
+        Thread threadWithNewTransactionContext = new Thread(handler);
 
         threadWithNewTransactionContext.start();
         threadWithNewTransactionContext.join();
     }
 
+    /**
+     * @return the executor which the events are handled with, instead of the event thread, or {@code null} to handle
+     *         them on the event thread; once the executor rejects an event, it's handled on the event thread too
+     */
+    protected Executor getExecutor()
+    {
+        return null;
+    }
+
     private void handleLocked(RepositoryPath repositoryPath)
         throws IOException,
         InterruptedException
@@ -176,4 +207,14 @@ public abstract class AsyncArtifactEntryHandler
     protected abstract ArtifactEntry handleEvent(RepositoryPath repositoryPath)
         throws IOException;
 
+    /**
+     * Called once the {@link ArtifactEntry} returned by {@link #handleEvent(RepositoryPath)} has been committed and the
+     * path lock released.
+     *
+     * @param repositoryPath
+     */
+    protected void afterHandleEvent(RepositoryPath repositoryPath)
+    {
+    }
+
 }
@@ -15,15 +15,31 @@ import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.carlspring.strongbox.util.ThrowingConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Initializes the storages and the repositories at startup.
+ * <p>
+ * The hosted and proxy repositories are initialized in parallel, by {@code strongbox.storage.booter.threads} threads,
+ * and the group repositories are initialized after them, in the order of their hierarchy. With
+ * {@code strongbox.storage.booter.async} enabled, the startup doesn't wait for the repositories: they are initialized
+ * in the background, and {@link #isReady()} tells when they all are.
+ *
  * @author mtodorov
  */
 public class StorageBooter
@@ -49,6 +65,20 @@ public class StorageBooter
     @Inject
     private HazelcastInstance hazelcastInstance;
 
+    @Value("${strongbox.storage.booter.threads:8}")
+    private int threads;
+
+    @Value("${strongbox.storage.booter.async:false}")
+    private boolean async;
+
+    private final AtomicInteger initializedRepositories = new AtomicInteger();
+
+    private volatile int totalRepositories;
+
+    private volatile boolean ready;
+
+    private volatile Throwable failure;
+
     public StorageBooter()
     {
     }
@@ -56,6 +86,74 @@ public class StorageBooter
     @PostConstruct
     public void initialize()
             throws IOException, RepositoryManagementStrategyException
+    {
+        if (!async)
+        {
+            runInitialization();
+
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            try
+            {
+                runInitialization();
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to initialize the repositories.", e);
+            }
+        }, "storage-booter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return {@code true} once all the repositories have been initialized (or were initialized by another node)
+     */
+    public boolean isReady()
+    {
+        return ready;
+    }
+
+    /**
+     * @return the cause of the failed initialization, if it failed
+     */
+    public Throwable getFailure()
+    {
+        return failure;
+    }
+
+    /**
+     * @return the number of repositories which have been initialized, or skipped for an unknown layout
+     */
+    public int getInitializedRepositories()
+    {
+        return initializedRepositories.get();
+    }
+
+    public int getTotalRepositories()
+    {
+        return totalRepositories;
+    }
+
+    private void runInitialization()
+            throws IOException, RepositoryManagementStrategyException
+    {
+        try
+        {
+            initializeInLock();
+        }
+        catch (IOException | RepositoryManagementStrategyException | RuntimeException e)
+        {
+            failure = e;
+
+            throw e;
+        }
+    }
+
+    private void initializeInLock()
+            throws IOException, RepositoryManagementStrategyException
     {
         ILock lock = hazelcastInstance.getLock("StorageBooterLock");
 
@@ -68,13 +166,27 @@ public class StorageBooter
                 initializeStorages(configuration.getStorages());
 
                 Collection<Repository> repositories = getRepositoriesHierarchy(configuration.getStorages());
+                totalRepositories = repositories.size();
 
                 if (!repositories.isEmpty())
                 {
                     logger.info(" -> Initializing repositories...");
                 }
 
-                repositories.forEach(ThrowingConsumer.unchecked(this::initializeRepository));
+                long startTime = System.currentTimeMillis();
+
+                // The groups are initialized once all of their members are, in the order of the hierarchy.
+                initializeInParallel(repositories.stream()
+                                                 .filter(r -> !r.isGroupRepository())
+                                                 .collect(Collectors.toList()));
+
+                repositories.stream()
+                            .filter(Repository::isGroupRepository)
+                            .forEach(ThrowingConsumer.unchecked(this::initializeRepository));
+
+                logger.info(" -> Initialized [{}] repositories in [{}] ms.",
+                            repositories.size(),
+                            System.currentTimeMillis() - startTime);
             }
             finally
             {
@@ -85,6 +197,8 @@ public class StorageBooter
         {
             logger.debug("Failed to initialize the repositories. Another JVM may have already done this.");
         }
+
+        ready = true;
     }
 
 
@@ -107,6 +221,76 @@ public class StorageBooter
         logger.info("  * Initializing {}...", storage.getId());
     }
 
+    private void initializeInParallel(List<Repository> repositories)
+            throws IOException, RepositoryManagementStrategyException
+    {
+        if (repositories.isEmpty())
+        {
+            return;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, repositories.size())), r -> {
+            Thread thread = new Thread(r, "storage-booter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Repository repository : repositories)
+            {
+                futures.add(executor.submit(() -> {
+                    initializeRepository(repository);
+
+                    return null;
+                }));
+            }
+
+            // Waits for all of them, so that a failure doesn't leave some repositories being initialized.
+            Throwable cause = null;
+            for (Future<?> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    if (cause == null)
+                    {
+                        cause = e.getCause();
+                    }
+                }
+            }
+
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RepositoryManagementStrategyException)
+            {
+                throw (RepositoryManagementStrategyException) cause;
+            }
+            if (cause != null)
+            {
+                throw new RuntimeException(cause);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException("Interrupted while initializing the repositories.", e);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     private void initializeRepository(Repository repository)
             throws IOException, RepositoryManagementStrategyException
     {
@@ -117,6 +301,10 @@ public class StorageBooter
             logger.error("Failed to resolve layout [{}] for repository [{}].",
                          repository.getLayout(),
                          repository.getId());
+
+            // Still counted, so that the progress reaches the total.
+            initializedRepositories.incrementAndGet();
+
             return;
         }
 
@@ -126,6 +314,8 @@ public class StorageBooter
         {
             repositoryManagementService.putInService(repository.getStorage().getId(), repository.getId());
         }
+
+        initializedRepositories.incrementAndGet();
     }
 
     private Collection<Repository> getRepositoriesHierarchy(final Map<String, Storage> storages)
@@ -168,4 +358,14 @@ public class StorageBooter
         this.repositoryManagementService = repositoryManagementService;
     }
 
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public void setAsync(boolean async)
+    {
+        this.async = async;
+    }
+
 }
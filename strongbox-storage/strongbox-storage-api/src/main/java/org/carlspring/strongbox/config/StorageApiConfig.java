@@ -8,6 +8,8 @@ import javax.inject.Inject;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import com.hazelcast.core.HazelcastInstance;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -33,12 +35,22 @@ public class StorageApiConfig
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
-    @Bean
-    ChecksumCacheManager checksumCacheManager()
+    @Bean(destroyMethod = "stopMonitor")
+    ChecksumCacheManager checksumCacheManager(HazelcastInstance hazelcastInstance,
+                                              @Value("${strongbox.checksum.cache.expiredCheckIntervalMillis:300000}") long expiredCheckInterval,
+                                              @Value("${strongbox.checksum.cache.lifetimeMillis:60000}") long lifetime,
+                                              @Value("${strongbox.checksum.cache.maxSize:100000}") long maxSize,
+                                              @Value("${strongbox.checksum.cache.clustered:false}") boolean clustered)
     {
         ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
-        checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
-        checksumCacheManager.setCachedChecksumLifetime(60000);
+        checksumCacheManager.setCachedChecksumExpiredCheckInterval(expiredCheckInterval);
+        checksumCacheManager.setCachedChecksumLifetime(lifetime);
+        checksumCacheManager.setMaxSize(maxSize);
+        if (clustered)
+        {
+            checksumCacheManager.setHazelcastInstance(hazelcastInstance);
+        }
+        checksumCacheManager.startMonitor();
 
         return checksumCacheManager;
     }
@@ -4,11 +4,22 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Renders the dependency snippets of the artifacts with the {@link DependencySynonymFormatter}s of their layout.
+ * <p>
+ * The snippets only depend on the coordinates, so they are rendered on the first request and cached per coordinates
+ * and format. The least recently used snippets are evicted once {@code strongbox.snippets.cache.maxSize} is reached.
+ */
 @Component
 public class SnippetGenerator
 {
@@ -16,35 +27,122 @@ public class SnippetGenerator
     @Inject
     private CompatibleDependencyFormatRegistry compatibleDependencyFormatRegistry;
 
+    private final int maxSize;
+
+    private final Map<String, String> snippetCache;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public SnippetGenerator(@Value("${strongbox.snippets.cache.maxSize:10000}") int maxSize)
+    {
+        this.maxSize = maxSize;
+        this.snippetCache = new LinkedHashMap<String, String>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+            {
+                return size() > SnippetGenerator.this.maxSize;
+            }
+        };
+    }
+
     public List<CodeSnippet> generateSnippets(String layout,
                                               ArtifactCoordinates coordinates)
+    {
+        return generateSnippets(layout, coordinates, null);
+    }
+
+    /**
+     * @param formats the aliases of the formats to render, or {@code null} to render all the formats of the layout
+     */
+    public List<CodeSnippet> generateSnippets(String layout,
+                                              ArtifactCoordinates coordinates,
+                                              Set<String> formats)
     {
         Map<String, DependencySynonymFormatter> implementations = compatibleDependencyFormatRegistry.getProviderImplementations(layout);
+        if (implementations == null || implementations.isEmpty())
+        {
+            return Collections.emptyList();
+        }
 
         List<CodeSnippet> snippets = new ArrayList<>();
 
         // Get the snippet for the default provider and make sure it's first in the list
         DependencySynonymFormatter defaultFormatter = implementations.get(layout);
-        CodeSnippet defaultSnippet = new CodeSnippet(layout,
-                                                     defaultFormatter.getDependencySnippet(coordinates));
-        snippets.add(defaultSnippet);
+        if (defaultFormatter != null && (formats == null || formats.contains(layout)))
+        {
+            snippets.add(new CodeSnippet(layout, getSnippet(layout, defaultFormatter, coordinates)));
+        }
 
         // Add the rest of the synonyms
-        for (String compatibleDependencyFormat : implementations.keySet())
+        for (Map.Entry<String, DependencySynonymFormatter> entry : implementations.entrySet())
         {
+            String compatibleDependencyFormat = entry.getKey();
             if (compatibleDependencyFormat.equals(layout))
             {
                 // We've already added this, before this loop.
                 continue;
             }
+            if (formats != null && !formats.contains(compatibleDependencyFormat))
+            {
+                continue;
+            }
 
-            DependencySynonymFormatter formatter = implementations.get(compatibleDependencyFormat);
-
-            CodeSnippet snippet = new CodeSnippet(compatibleDependencyFormat, formatter.getDependencySnippet(coordinates));
-            snippets.add(snippet);
+            snippets.add(new CodeSnippet(compatibleDependencyFormat,
+                                         getSnippet(layout, entry.getValue(), coordinates)));
         }
 
         return snippets;
     }
 
+    private String getSnippet(String layout,
+                              DependencySynonymFormatter formatter,
+                              ArtifactCoordinates coordinates)
+    {
+        // The formatters may render coordinates which aren't part of the path, such as a missing extension.
+        String key = layout + ":" + formatter.getFormatAlias() + ":" + coordinates.getCoordinates();
+
+        String snippet;
+        synchronized (snippetCache)
+        {
+            snippet = snippetCache.get(key);
+        }
+        if (snippet != null)
+        {
+            hits.incrementAndGet();
+
+            return snippet;
+        }
+
+        misses.incrementAndGet();
+        snippet = formatter.getDependencySnippet(coordinates);
+
+        synchronized (snippetCache)
+        {
+            snippetCache.put(key, snippet);
+        }
+
+        return snippet;
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    public void clear()
+    {
+        synchronized (snippetCache)
+        {
+            snippetCache.clear();
+        }
+    }
+
 }
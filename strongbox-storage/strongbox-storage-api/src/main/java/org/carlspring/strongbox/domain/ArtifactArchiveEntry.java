@@ -0,0 +1,98 @@
+package org.carlspring.strongbox.domain;
+
+import org.carlspring.strongbox.data.domain.GenericEntity;
+
+import javax.persistence.Entity;
+
+/**
+ * A file within the archive of an {@link ArtifactEntry}, which is indexed by its {@link #getFileName()} and, for the
+ * classes, by its {@link #getClassName()}, so that the artifacts containing a given file or class can be looked up
+ * without reading the {@link ArtifactArchiveListing} of every artifact.
+ */
+@Entity
+public class ArtifactArchiveEntry
+        extends GenericEntity
+{
+
+    private String storageId;
+
+    private String repositoryId;
+
+    /**
+     * The path of the file within the archive, e.g. {@code org/carlspring/Foo.class}.
+     */
+    private String name;
+
+    /**
+     * The last segment of the {@link #name}, e.g. {@code Foo.class}.
+     */
+    private String fileName;
+
+    /**
+     * The fully qualified name of the class, e.g. {@code org.carlspring.Foo}, if the file is a class.
+     */
+    private String className;
+
+    private ArtifactEntry artifactEntry;
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public void setStorageId(String storageId)
+    {
+        this.storageId = storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
+    public void setRepositoryId(String repositoryId)
+    {
+        this.repositoryId = repositoryId;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+    public String getFileName()
+    {
+        return fileName;
+    }
+
+    public void setFileName(String fileName)
+    {
+        this.fileName = fileName;
+    }
+
+    public String getClassName()
+    {
+        return className;
+    }
+
+    public void setClassName(String className)
+    {
+        this.className = className;
+    }
+
+    public ArtifactEntry getArtifactEntry()
+    {
+        return artifactEntry;
+    }
+
+    public void setArtifactEntry(ArtifactEntry artifactEntry)
+    {
+        this.artifactEntry = artifactEntry;
+    }
+
+}
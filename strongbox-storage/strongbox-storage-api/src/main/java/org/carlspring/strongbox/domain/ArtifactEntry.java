@@ -45,6 +45,12 @@ public class ArtifactEntry
     @Embedded
     private ArtifactArchiveListing artifactArchiveListing;
 
+    /**
+     * Layout specific metadata extracted from the artifact when it's stored (for example the RPM header), so that the
+     * repository indexes can be rebuilt without reading the artifacts again.
+     */
+    private Map<String, String> layoutMetadata;
+
     private Long sizeInBytes;
 
     private Date lastUpdated;
@@ -109,6 +115,16 @@ public class ArtifactEntry
         this.checksums = checksums;
     }
 
+    public Map<String, String> getLayoutMetadata()
+    {
+        return layoutMetadata = Optional.ofNullable(layoutMetadata).orElse(new HashMap<>());
+    }
+
+    protected void setLayoutMetadata(Map<String, String> layoutMetadata)
+    {
+        this.layoutMetadata = layoutMetadata;
+    }
+
     public Long getSizeInBytes()
     {
         return sizeInBytes;
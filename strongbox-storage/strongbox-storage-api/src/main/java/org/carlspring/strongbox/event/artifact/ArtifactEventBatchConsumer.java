@@ -0,0 +1,19 @@
+package org.carlspring.strongbox.event.artifact;
+
+import java.util.Set;
+
+/**
+ * A listener of the {@link ArtifactEventBatch}es of a layout. The {@link ArtifactEventBatcher} only batches the events
+ * which one of the consumers is interested in.
+ */
+public interface ArtifactEventBatchConsumer
+{
+
+    String getLayout();
+
+    /**
+     * @return the {@link ArtifactEventTypeEnum} types of the events which are batched for this consumer
+     */
+    Set<Integer> getEventTypes();
+
+}
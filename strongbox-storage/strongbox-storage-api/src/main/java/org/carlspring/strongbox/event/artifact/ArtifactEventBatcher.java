@@ -0,0 +1,232 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Coalesces the committed {@link ArtifactEvent}s per event type and repository into {@link ArtifactEventBatch}es.
+ * Only the event types and layouts which an {@link ArtifactEventBatchConsumer} is interested in are batched, the other
+ * events are left alone.
+ * <p>
+ * A batch is published once {@code strongbox.events.batch.windowMillis} have passed since its first event, or as soon
+ * as it holds {@code strongbox.events.batch.maxSize} paths. With a window of {@code 0}, every event is published
+ * right away as a batch of its own.
+ */
+@Component
+public class ArtifactEventBatcher
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEventBatcher.class);
+
+    @Inject
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${strongbox.events.batch.windowMillis:500}")
+    private long windowMillis;
+
+    @Value("${strongbox.events.batch.maxSize:1000}")
+    private int maxSize;
+
+    private final Map<String, Set<Integer>> consumedEventTypes = new HashMap<>();
+
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public ArtifactEventBatcher()
+    {
+    }
+
+    ArtifactEventBatcher(ApplicationEventPublisher eventPublisher,
+                         List<ArtifactEventBatchConsumer> consumers,
+                         long windowMillis,
+                         int maxSize)
+    {
+        this.eventPublisher = eventPublisher;
+        this.windowMillis = windowMillis;
+        this.maxSize = maxSize;
+
+        setConsumers(consumers);
+    }
+
+    @Autowired(required = false)
+    public void setConsumers(List<ArtifactEventBatchConsumer> consumers)
+    {
+        consumers.forEach(c -> consumedEventTypes.computeIfAbsent(c.getLayout(), l -> new HashSet<>())
+                                                 .addAll(c.getEventTypes()));
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "artifact-event-batcher");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        flush();
+        executor.shutdownNow();
+    }
+
+    // TransactionalEventListener.fallbackExecution() needed only for test environment
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        Repository repository = event.getPath().getRepository();
+        if (!consumedEventTypes.getOrDefault(repository.getLayout(), Collections.emptySet()).contains(event.getType()))
+        {
+            return;
+        }
+
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        if (windowMillis <= 0)
+        {
+            List<ArtifactEvent<RepositoryPath>> events = new ArrayList<>();
+            events.add(event);
+
+            publish(new ArtifactEventBatch<>(event.getType(), storageId, repositoryId, events));
+
+            return;
+        }
+
+        String key = event.getType() + ":" + storageId + ":" + repositoryId;
+        PendingBatch full = null;
+
+        synchronized (pendingBatches)
+        {
+            PendingBatch pendingBatch = pendingBatches.get(key);
+            if (pendingBatch == null)
+            {
+                pendingBatch = new PendingBatch(event.getType(), storageId, repositoryId);
+                pendingBatches.put(key, pendingBatch);
+
+                PendingBatch scheduledBatch = pendingBatch;
+                executor.schedule(() -> flush(key, scheduledBatch), windowMillis, TimeUnit.MILLISECONDS);
+            }
+
+            pendingBatch.events.put(event.getPath().toString(), event);
+            if (pendingBatch.events.size() >= maxSize)
+            {
+                full = pendingBatches.remove(key);
+            }
+        }
+
+        if (full != null)
+        {
+            publish(full.toBatch());
+        }
+    }
+
+    /**
+     * Publishes all the pending batches right away.
+     */
+    public void flush()
+    {
+        List<PendingBatch> batches;
+        synchronized (pendingBatches)
+        {
+            batches = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+
+        batches.forEach(b -> publish(b.toBatch()));
+    }
+
+    private void flush(String key,
+                       PendingBatch pendingBatch)
+    {
+        boolean removed;
+        synchronized (pendingBatches)
+        {
+            removed = pendingBatches.remove(key, pendingBatch);
+        }
+
+        // The batch may have been published already, once it got full, and a newer one may have taken its key.
+        if (removed)
+        {
+            publish(pendingBatch.toBatch());
+        }
+    }
+
+    private void publish(ArtifactEventBatch<RepositoryPath> batch)
+    {
+        logger.debug("Publishing a batch of [{}] events of type [{}] for [{}:{}].",
+                     batch.size(),
+                     batch.getType(),
+                     batch.getStorageId(),
+                     batch.getRepositoryId());
+
+        try
+        {
+            eventPublisher.publishEvent(batch);
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to handle a batch of events of type [{}] for [{}:{}].",
+                         batch.getType(),
+                         batch.getStorageId(),
+                         batch.getRepositoryId(),
+                         e);
+        }
+    }
+
+    private static class PendingBatch
+    {
+
+        private final int type;
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final Map<String, ArtifactEvent<RepositoryPath>> events = new LinkedHashMap<>();
+
+        private PendingBatch(int type,
+                             String storageId,
+                             String repositoryId)
+        {
+            this.type = type;
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+        }
+
+        private ArtifactEventBatch<RepositoryPath> toBatch()
+        {
+            return new ArtifactEventBatch<>(type, storageId, repositoryId, new ArrayList<>(events.values()));
+        }
+
+    }
+
+}
@@ -4,8 +4,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -233,6 +235,54 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
     }
 
+    /**
+     * Unlike a write through the stream, which leaves an existing entry as it is, the size and the checksums of an
+     * existing entry are updated, as the file might have been replaced with another one.
+     */
+    @Override
+    public void storeArtifactEntry(Path path,
+                                   Map<String, String> checksums)
+        throws IOException
+    {
+        Assert.isInstanceOf(RepositoryPath.class, path);
+        RepositoryPath repositoryPath = (RepositoryPath) path;
+
+        Repository repository = repositoryPath.getRepository();
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        ArtifactEntry artifactEntry = provideArtifactEntry(repositoryPath);
+        boolean store = shouldStoreArtifactEntry(artifactEntry);
+
+        Date now = new Date();
+        if (store)
+        {
+            artifactEntry.setStorageId(storageId);
+            artifactEntry.setRepositoryId(repositoryId);
+            artifactEntry.setArtifactCoordinates(RepositoryFiles.readCoordinates(repositoryPath));
+            artifactEntry.setCreated(now);
+            artifactEntry.setLastUsed(now);
+        }
+        artifactEntry.setLastUpdated(now);
+        artifactEntry.setSizeInBytes(Files.size(repositoryPath));
+
+        artifactEntry.getChecksums().clear();
+        artifactEntry.getChecksums().putAll(checksums);
+
+        if (!store)
+        {
+            artifactEntryService.save(artifactEntry);
+
+            return;
+        }
+
+        ArtifactCoordinates coordinates = artifactEntry.getArtifactCoordinates();
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                        repositoryId,
+                                                                                                        coordinates.getId());
+        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
+    }
+
     protected ArtifactEntry provideArtifactEntry(RepositoryPath repositoryPath) throws IOException
     {
         return Optional.ofNullable(repositoryPath.getArtifactEntry())
@@ -112,6 +112,21 @@ public abstract class LayoutFileSystem
         return new RepositoryPath(getTarget().getPath(first, more), this);
     }
 
-    public abstract Set<String> getDigestAlgorithmSet();
+    /**
+     * @return the digest algorithms of the {@link Repository#getDigestAlgorithms()}, or the layout specific ones if
+     *         the repository doesn't define any
+     */
+    public Set<String> getDigestAlgorithmSet()
+    {
+        Set<String> digestAlgorithms = repository.getDigestAlgorithms();
+        if (digestAlgorithms != null && !digestAlgorithms.isEmpty())
+        {
+            return digestAlgorithms;
+        }
+
+        return getDefaultDigestAlgorithmSet();
+    }
+
+    protected abstract Set<String> getDefaultDigestAlgorithmSet();
 
 }
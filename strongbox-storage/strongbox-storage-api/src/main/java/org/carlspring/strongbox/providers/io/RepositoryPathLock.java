@@ -3,19 +3,24 @@ package org.carlspring.strongbox.providers.io;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.metrics.RepositoryMetrics;
+import org.carlspring.strongbox.providers.io.TimedReadWriteLock.LockTimers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.Tags;
 
 import ca.thoughtwire.lock.DistributedLockService;
 
@@ -30,6 +35,11 @@ public class RepositoryPathLock
 
     private DistributedLockService lockService;
 
+    /**
+     * The lock timers by the repository tags.
+     */
+    private final Map<Tags, LockTimers> lockTimers = new ConcurrentHashMap<>();
+
     @Inject
     public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
     {
@@ -50,7 +60,9 @@ public class RepositoryPathLock
                                   .orElseGet(() -> lock.toString());
         logger.debug("Get lock for [{}]", lock);
         
-        return lockService.getReentrantReadWriteLock(lockName);
+        return new TimedReadWriteLock(lockService.getReentrantReadWriteLock(lockName),
+                                      lockTimers.computeIfAbsent(RepositoryMetrics.tags(repositoryPath.getRepository()),
+                                                                 LockTimers::new));
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
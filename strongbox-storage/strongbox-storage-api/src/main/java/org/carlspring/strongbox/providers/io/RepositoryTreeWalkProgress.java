@@ -0,0 +1,78 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the state of a single {@link RepositoryTreeWalker} run over a repository.
+ */
+public abstract class RepositoryTreeWalkProgress
+{
+
+    private final String storageId;
+
+    private final String repositoryId;
+
+    private final long startedAt = System.nanoTime();
+
+    private volatile long finishedAt;
+
+    private final AtomicLong filesFailed = new AtomicLong();
+
+    protected RepositoryTreeWalkProgress(String storageId,
+                                         String repositoryId)
+    {
+        this.storageId = storageId;
+        this.repositoryId = repositoryId;
+    }
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
+    public long getFilesFailed()
+    {
+        return filesFailed.get();
+    }
+
+    public boolean isFinished()
+    {
+        return finishedAt > 0;
+    }
+
+    public long getElapsedMillis()
+    {
+        long end = isFinished() ? finishedAt : System.nanoTime();
+
+        return TimeUnit.NANOSECONDS.toMillis(end - startedAt);
+    }
+
+    public double getFilesPerSecond()
+    {
+        long elapsed = Math.max(getElapsedMillis(), 1);
+
+        return getFilesVisited() * 1000d / elapsed;
+    }
+
+    /**
+     * @return the number of files which have been visited so far, whatever the outcome
+     */
+    protected abstract long getFilesVisited();
+
+    public void failed()
+    {
+        filesFailed.incrementAndGet();
+    }
+
+    public void finish()
+    {
+        finishedAt = System.nanoTime();
+    }
+
+}
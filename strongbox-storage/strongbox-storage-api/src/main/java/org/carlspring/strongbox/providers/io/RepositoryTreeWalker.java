@@ -0,0 +1,134 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Walks a repository tree in parallel (one fork/join task per directory) on its own pool of workers, and hands every
+ * file over to a visitor on the worker which listed it. Directories which start with a dot (like, for example,
+ * {@code .index} or {@code .trash}) are skipped.
+ * <p>
+ * The visitor is expected to handle its own failures; directories which can't be listed are logged and counted as
+ * failed in the {@link RepositoryTreeWalkProgress} of the run.
+ */
+public class RepositoryTreeWalker
+        implements AutoCloseable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryTreeWalker.class);
+
+    private final ForkJoinPool pool;
+
+    public RepositoryTreeWalker(int workers)
+    {
+        this.pool = new ForkJoinPool(workers);
+    }
+
+    /**
+     * Walks the tree and waits for all the files to be visited.
+     *
+     * @param basePath the directory (or file) to walk
+     */
+    public void walk(RepositoryPath basePath,
+                     Consumer<RepositoryPath> visitor,
+                     RepositoryTreeWalkProgress progress)
+    {
+        submit(basePath, visitor, progress).join();
+    }
+
+    /**
+     * Starts walking the tree without waiting for it, so that the calling thread can consume the results meanwhile.
+     *
+     * @param basePath the directory (or file) to walk
+     */
+    public ForkJoinTask<?> submit(RepositoryPath basePath,
+                                  Consumer<RepositoryPath> visitor,
+                                  RepositoryTreeWalkProgress progress)
+    {
+        if (Files.isDirectory(basePath))
+        {
+            return pool.submit(new DirectoryTask(basePath, visitor, progress));
+        }
+
+        return pool.submit(ForkJoinTask.adapt(() -> {
+            if (Files.exists(basePath))
+            {
+                visitor.accept(basePath);
+            }
+        }));
+    }
+
+    @Override
+    public void close()
+    {
+        pool.shutdownNow();
+    }
+
+    private static class DirectoryTask
+            extends RecursiveAction
+    {
+
+        private final RepositoryPath directory;
+
+        private final Consumer<RepositoryPath> visitor;
+
+        private final RepositoryTreeWalkProgress progress;
+
+        private DirectoryTask(RepositoryPath directory,
+                              Consumer<RepositoryPath> visitor,
+                              RepositoryTreeWalkProgress progress)
+        {
+            this.directory = directory;
+            this.visitor = visitor;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute()
+        {
+            List<DirectoryTask> subtasks = new ArrayList<>();
+            List<RepositoryPath> files = new ArrayList<>();
+            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory))
+            {
+                for (Path path : directoryStream)
+                {
+                    if (Files.isDirectory(path))
+                    {
+                        // Skip directories which start with a dot (like, for example: .index)
+                        if (!path.getFileName().toString().startsWith("."))
+                        {
+                            subtasks.add(new DirectoryTask((RepositoryPath) path, visitor, progress));
+                        }
+                    }
+                    else
+                    {
+                        files.add((RepositoryPath) path);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                progress.failed();
+                logger.error("Failed to list [{}]", directory, e);
+            }
+
+            // Let the idle workers steal sub-directories while this one visits its own files.
+            subtasks.forEach(ForkJoinTask::fork);
+            files.forEach(visitor);
+            subtasks.forEach(ForkJoinTask::join);
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -380,6 +381,52 @@ public abstract class StorageFileSystemProvider
         return path;
     }
 
+    /**
+     * Copies a file of another repository to the target path, without going through the layout streams. The file is
+     * hard linked if {@code link} is set and the storage supports it, otherwise its bytes are copied.
+     * <p>
+     * Like a stored file, the copy is made in the temporary directory and then moved in place, so a hard linked file
+     * is never written to in place, neither in the source nor in the target repository.
+     *
+     * @return whether the file was hard linked
+     */
+    public boolean copyFrom(RepositoryPath source,
+                            RepositoryPath target,
+                            boolean link)
+        throws IOException
+    {
+        TempRepositoryPath tempPath = RepositoryFiles.temporary(target);
+        Files.deleteIfExists(tempPath.getTarget());
+
+        boolean linked = link && createLink(tempPath.getTarget(), source.getTarget());
+        if (!linked)
+        {
+            Files.copy(source.getTarget(), tempPath.getTarget());
+        }
+
+        moveFromTemporaryDirectory(tempPath);
+
+        return linked;
+    }
+
+    private static boolean createLink(Path link,
+                                      Path existing)
+    {
+        try
+        {
+            Files.createLink(link, existing);
+
+            return true;
+        }
+        catch (UnsupportedOperationException | ProviderMismatchException | IOException e)
+        {
+            // Different file stores or file systems, or no hard link support.
+            logger.debug("Failed to link [{}] to [{}], copying it instead.", link, existing, e);
+
+            return false;
+        }
+    }
+
     public void deleteTrash(RepositoryPath path)
         throws IOException
     {
@@ -0,0 +1,179 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A {@link ReadWriteLock} which records the time spent waiting for its locks ({@link StrongboxMetrics#LOCK_WAIT})
+ * and the time they are held ({@link StrongboxMetrics#LOCK_HOLD}).
+ * <p>
+ * The locks are reentrant, so the acquisition times are stacked and each unlock releases the latest one.
+ */
+class TimedReadWriteLock
+        implements ReadWriteLock
+{
+
+    private static final String TAG_MODE = "mode";
+
+    private final Lock readLock;
+
+    private final Lock writeLock;
+
+    TimedReadWriteLock(ReadWriteLock target,
+                       Tags tags)
+    {
+        this(target, new LockTimers(tags));
+    }
+
+    TimedReadWriteLock(ReadWriteLock target,
+                       LockTimers timers)
+    {
+        this.readLock = new TimedLock(target.readLock(), timers.readWaitTimer, timers.readHoldTimer);
+        this.writeLock = new TimedLock(target.writeLock(), timers.writeWaitTimer, timers.writeHoldTimer);
+    }
+
+    @Override
+    public Lock readLock()
+    {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return writeLock;
+    }
+
+    private static class TimedLock
+            implements Lock
+    {
+
+        private final Lock target;
+
+        private final Timer waitTimer;
+
+        private final Timer holdTimer;
+
+        private final Deque<Long> acquisitions = new ConcurrentLinkedDeque<>();
+
+        TimedLock(Lock target,
+                  Timer waitTimer,
+                  Timer holdTimer)
+        {
+            this.target = target;
+            this.waitTimer = waitTimer;
+            this.holdTimer = holdTimer;
+        }
+
+        @Override
+        public void lock()
+        {
+            long start = System.nanoTime();
+            target.lock();
+            acquired(start);
+        }
+
+        @Override
+        public void lockInterruptibly()
+                throws InterruptedException
+        {
+            long start = System.nanoTime();
+            target.lockInterruptibly();
+            acquired(start);
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock())
+            {
+                return false;
+            }
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+                throws InterruptedException
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock(time, unit))
+            {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                return false;
+            }
+            acquired(start);
+
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+            target.unlock();
+
+            Long acquiredAt = acquisitions.pollLast();
+            if (acquiredAt != null)
+            {
+                holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            return target.newCondition();
+        }
+
+        private void acquired(long start)
+        {
+            long acquiredAt = System.nanoTime();
+            waitTimer.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+            acquisitions.addLast(acquiredAt);
+        }
+
+    }
+
+    /**
+     * The timers of the locks of one repository, which are looked up in the registry once rather than for every
+     * lock, as a {@link TimedReadWriteLock} is created for every locked path.
+     */
+    static class LockTimers
+    {
+
+        private final Timer readWaitTimer;
+
+        private final Timer readHoldTimer;
+
+        private final Timer writeWaitTimer;
+
+        private final Timer writeHoldTimer;
+
+        LockTimers(Tags tags)
+        {
+            Tags readTags = tags.and(TAG_MODE, "read");
+            Tags writeTags = tags.and(TAG_MODE, "write");
+
+            this.readWaitTimer = StrongboxMetrics.registry().timer(StrongboxMetrics.LOCK_WAIT, readTags);
+            this.readHoldTimer = StrongboxMetrics.registry().timer(StrongboxMetrics.LOCK_HOLD, readTags);
+            this.writeWaitTimer = StrongboxMetrics.registry().timer(StrongboxMetrics.LOCK_WAIT, writeTags);
+            this.writeHoldTimer = StrongboxMetrics.registry().timer(StrongboxMetrics.LOCK_HOLD, writeTags);
+        }
+
+    }
+
+}
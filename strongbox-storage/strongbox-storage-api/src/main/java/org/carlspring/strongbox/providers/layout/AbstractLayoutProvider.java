@@ -80,12 +80,21 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
 
     public boolean isChecksum(RepositoryPath repositoryPath)
     {
-        return isChecksum(repositoryPath.getFileName().toString());
+        String fileName = repositoryPath.getFileName().toString();
+
+        // The repository may define its own digest algorithms besides the layout specific ones.
+        return isChecksum(fileName) || isChecksum(fileName, repositoryPath.getFileSystem().getDigestAlgorithmSet());
     }
 
     protected boolean isChecksum(String fileName)
     {
-        for (String e : getDigestAlgorithmSet())
+        return isChecksum(fileName, getDigestAlgorithmSet());
+    }
+
+    private static boolean isChecksum(String fileName,
+                                      Set<String> digestAlgorithms)
+    {
+        for (String e : digestAlgorithms)
         {
             if (fileName.toString().endsWith("." + e.replaceAll("-", "").toLowerCase()))
             {
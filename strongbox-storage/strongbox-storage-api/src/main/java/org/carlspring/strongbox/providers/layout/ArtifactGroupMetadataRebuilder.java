@@ -0,0 +1,27 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+
+/**
+ * Layout specific regeneration of the repository metadata of an artifact group, used once the artifacts are copied
+ * into a repository without being deployed, so that the metadata is regenerated once per artifact group instead of
+ * once per file.
+ */
+public interface ArtifactGroupMetadataRebuilder
+{
+
+    String getLayout();
+
+    /**
+     * @param artifactPath the path of an artifact
+     * @return the base path of the metadata which lists the artifact, or {@code null} if there's none
+     */
+    RepositoryPath getMetadataBasePath(RepositoryPath artifactPath)
+        throws IOException;
+
+    void rebuildMetadata(RepositoryPath metadataBasePath)
+        throws IOException;
+
+}
@@ -12,6 +12,7 @@ import org.carlspring.strongbox.io.LazyInputStream;
 import org.carlspring.strongbox.io.LazyOutputStream;
 import org.carlspring.strongbox.io.LazyOutputStream.OutputStreamSupplier;
 import org.carlspring.strongbox.io.StreamUtils;
+import org.carlspring.strongbox.metrics.RepositoryMetrics;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -19,6 +20,7 @@ import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.storage.ArtifactResolutionException;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.checksum.DigestExecutor;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
@@ -35,6 +37,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.apache.commons.io.output.NullOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +63,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private DigestExecutor digestExecutor;
+
 
     public LayoutFileSystemProvider(FileSystemProvider storageFileSystemProvider)
     {
@@ -171,9 +177,29 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                   logger.error("Digest algorithm not supported: alg-[{}]", e, t);
                               }
                           });
+        digestExecutor.configure(result.getDigestEngine());
+        result.setMetricsTags(RepositoryMetrics.tags(path.getRepository()));
+
         return result;
     }
-    
+
+    /**
+     * Creates a {@link LayoutOutputStream} which only calculates the layout specific digests of the bytes written,
+     * without storing them. Used to index files which are already in place.
+     */
+    public LayoutOutputStream newDigestOutputStream(RepositoryPath path)
+            throws IOException
+    {
+        try
+        {
+            return decorateStream(path, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
     public void storeChecksum(RepositoryPath basePath,
                               boolean forceRegeneration)
             throws IOException
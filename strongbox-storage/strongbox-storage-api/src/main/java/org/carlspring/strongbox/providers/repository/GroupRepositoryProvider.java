@@ -26,6 +26,8 @@ import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.QueryTemplate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.metrics.RepositoryMetrics;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -102,6 +104,7 @@ public class GroupRepositoryProvider
         Repository groupRepository = repositoryPath.getRepository();
         Storage storage = groupRepository.getStorage();
 
+        int hops = 0;
         // Iterate over the `repositories` collection.
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
         {
@@ -116,6 +119,7 @@ public class GroupRepositoryProvider
                 continue;
             }
 
+            hops++;
             subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath);
             if (subRepositoryPath == null)
             {
@@ -123,13 +127,30 @@ public class GroupRepositoryProvider
             }
 
             logger.debug("Located artifact: [{}]", subRepositoryPath);
+            recordHops(groupRepository, hops, true);
 
             return subRepositoryPath;
         }
 
+        recordHops(groupRepository, hops, false);
+
         return null;
     }
 
+    /**
+     * Records the number of the group members which have been visited to resolve a path, nested groups record
+     * their own hops.
+     */
+    private void recordHops(Repository groupRepository,
+                            int hops,
+                            boolean found)
+    {
+        StrongboxMetrics.registry()
+                        .summary(StrongboxMetrics.GROUP_HOPS,
+                                 RepositoryMetrics.tags(groupRepository).and("found", String.valueOf(found)))
+                        .record(hops);
+    }
+
     private boolean isRepositoryResolvable(Repository groupRepository,
                                            Repository subRepository,
                                            RepositoryPath repositoryPath)
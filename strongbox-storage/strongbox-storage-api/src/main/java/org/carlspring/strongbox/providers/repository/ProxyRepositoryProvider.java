@@ -12,6 +12,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPrefetcher;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -43,6 +44,9 @@ public class ProxyRepositoryProvider
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
+    @Inject
+    private ProxyRepositoryPrefetcher proxyRepositoryPrefetcher;
+
     @Inject
     private HostedRepositoryProvider hostedRepositoryProvider;
 
@@ -98,7 +102,13 @@ public class ProxyRepositoryProvider
                 return targetPath;
 
             }
-            return proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath);
+            targetPath = proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath);
+            if (targetPath != null)
+            {
+                proxyRepositoryPrefetcher.prefetch(targetPath, this::fetchPath);
+            }
+
+            return targetPath;
         }
         catch (IOException e)
         {
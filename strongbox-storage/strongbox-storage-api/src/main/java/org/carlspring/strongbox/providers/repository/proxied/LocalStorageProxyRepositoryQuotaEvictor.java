@@ -0,0 +1,281 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria.Builder.anArtifactEntrySearchCriteria;
+
+/**
+ * Keeps the local cache of a proxy repository within a size quota.
+ * <p>
+ * Once the total size of the cached artifacts exceeds the quota, artifacts are evicted in the order defined by the
+ * {@link ProxyRepositoryEvictionPolicy} until the size drops below the low watermark. Candidates are read page by page
+ * and every page is deleted within its own transaction, so the cleanup cost does not depend on the repository size.
+ * <p>
+ * An artifact which fails to be evicted is retried on the next runs, up to
+ * {@code strongbox.proxy.quota.maxEvictionAttempts} times, and then left in place and reported. An entry whose file
+ * is already gone (for example, deleted by a transaction which was rolled back afterwards) is just removed.
+ *
+ * @see LocalStorageProxyRepositoryExpiredArtifactsCleaner
+ */
+@Component
+public class LocalStorageProxyRepositoryQuotaEvictor
+{
+
+    public static final int DEFAULT_LOW_WATERMARK_PERCENTAGE = 90;
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(LocalStorageProxyRepositoryQuotaEvictor.class);
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RemoteRepositoryAlivenessService remoteRepositoryAlivenessCacheManager;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.proxy.quota.maxEvictionAttempts:3}")
+    private int maxEvictionAttempts;
+
+    /**
+     * Key:     storageId:repositoryId:artifactPath
+     * Value:   the number of failed eviction attempts.
+     */
+    private final Map<String, Integer> failedEvictions = new ConcurrentHashMap<>();
+
+    /**
+     * @param storageId              the storage of the proxy repository
+     * @param repositoryId           the proxy repository
+     * @param maxSizeInBytes         the quota (high watermark), eviction starts once it is exceeded
+     * @param lowWatermarkPercentage the percentage of the quota to evict down to
+     * @param policy                 the order in which the artifacts are evicted
+     * @param batchSize              the number of artifacts fetched and deleted within one transaction
+     * @return the number of bytes evicted
+     */
+    public long evict(String storageId,
+                      String repositoryId,
+                      long maxSizeInBytes,
+                      int lowWatermarkPercentage,
+                      ProxyRepositoryEvictionPolicy policy,
+                      int batchSize)
+    {
+        Repository repository = getRepository(storageId, repositoryId);
+        if (!isEvictable(repository))
+        {
+            return 0L;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long sizeInBytes = transactionTemplate.execute(t -> artifactEntryService.calculateSizeInBytes(storageId,
+                                                                                                      repositoryId));
+        if (sizeInBytes <= maxSizeInBytes)
+        {
+            logger.debug("Proxy repository [{}:{}] is within its quota: [{}] of [{}] bytes used.",
+                         storageId, repositoryId, sizeInBytes, maxSizeInBytes);
+
+            return 0L;
+        }
+
+        long targetSizeInBytes = maxSizeInBytes / 100 * lowWatermarkPercentage;
+        ArtifactEntrySearchCriteria searchCriteria = anArtifactEntrySearchCriteria().withStorageId(storageId)
+                                                                                   .withRepositoryId(repositoryId)
+                                                                                   .build();
+
+        logger.info("Proxy repository [{}:{}] exceeds its quota: [{}] of [{}] bytes used, evicting down to [{}] bytes with [{}] policy.",
+                    storageId, repositoryId, sizeInBytes, maxSizeInBytes, targetSizeInBytes, policy);
+
+        EvictionState state = new EvictionState(sizeInBytes);
+        while (state.sizeInBytes > targetSizeInBytes)
+        {
+            // Evicted entries disappear from the result, so the page offset only has to skip the retained ones.
+            PagingCriteria pagingCriteria = new PagingCriteria(state.retained, batchSize, policy.getSort());
+            int candidates = transactionTemplate.execute(t -> evictBatch(repository,
+                                                                         searchCriteria,
+                                                                         pagingCriteria,
+                                                                         targetSizeInBytes,
+                                                                         state));
+            if (candidates < batchSize)
+            {
+                break;
+            }
+        }
+
+        logger.info("Evicted [{}] artifacts ([{}] bytes) from proxy repository [{}:{}], [{}] bytes used.",
+                    state.evicted, state.evictedBytes, storageId, repositoryId, state.sizeInBytes);
+        if (state.failed > 0 || state.givenUp > 0)
+        {
+            logger.warn("Failed to evict [{}] artifacts from proxy repository [{}:{}], [{}] more were given up on after [{}] attempts.",
+                        state.failed, storageId, repositoryId, state.givenUp, maxEvictionAttempts);
+        }
+
+        return state.evictedBytes;
+    }
+
+    private int evictBatch(Repository repository,
+                           ArtifactEntrySearchCriteria searchCriteria,
+                           PagingCriteria pagingCriteria,
+                           long targetSizeInBytes,
+                           EvictionState state)
+    {
+        List<ArtifactEntry> artifactEntries = artifactEntryService.findMatching(searchCriteria, pagingCriteria);
+        for (ArtifactEntry artifactEntry : artifactEntries)
+        {
+            if (state.sizeInBytes <= targetSizeInBytes)
+            {
+                break;
+            }
+
+            String evictionKey = String.format("%s:%s:%s",
+                                               repository.getStorage().getId(),
+                                               repository.getId(),
+                                               artifactEntry.getArtifactPath());
+            if (failedEvictions.getOrDefault(evictionKey, 0) >= maxEvictionAttempts)
+            {
+                state.retained++;
+                state.givenUp++;
+
+                continue;
+            }
+
+            long artifactSize = artifactEntry.getSizeInBytes() == null ? 0L : artifactEntry.getSizeInBytes();
+            try
+            {
+                RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
+                if (Files.exists(repositoryPath))
+                {
+                    artifactManagementService.delete(repositoryPath, true);
+                }
+                else
+                {
+                    logger.warn("Artifact [{}] of proxy repository [{}:{}] is missing, removing its entry.",
+                                artifactEntry.getArtifactPath(), repository.getStorage().getId(), repository.getId());
+                    artifactEntryService.delete(artifactEntry);
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                int attempts = failedEvictions.merge(evictionKey, 1, Integer::sum);
+                logger.error("Failed to evict [{}] from proxy repository [{}:{}], attempt [{}] of [{}].",
+                             artifactEntry.getArtifactPath(), repository.getStorage().getId(), repository.getId(),
+                             attempts, maxEvictionAttempts, e);
+                state.retained++;
+                state.failed++;
+
+                continue;
+            }
+
+            failedEvictions.remove(evictionKey);
+
+            state.evicted++;
+            state.evictedBytes += artifactSize;
+            state.sizeInBytes -= artifactSize;
+        }
+
+        return artifactEntries.size();
+    }
+
+    private boolean isEvictable(Repository repository)
+    {
+        if (repository == null || !repository.isProxyRepository())
+        {
+            logger.warn("Quota eviction is only supported for proxy repositories.");
+
+            return false;
+        }
+
+        RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (remoteRepository == null)
+        {
+            logger.warn("Repository {} is not associated with remote repository", repository.getId());
+
+            return false;
+        }
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.warn("Remote repository {} is down. Artifacts won't be evicted.", remoteRepository.getUrl());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the number of artifacts of the repository which have failed to be evicted, including the ones which have
+     * been given up on
+     */
+    public long getFailedEvictions(String storageId,
+                                   String repositoryId)
+    {
+        String prefix = String.format("%s:%s:", storageId, repositoryId);
+
+        return failedEvictions.keySet().stream().filter(k -> k.startsWith(prefix)).count();
+    }
+
+    private Repository getRepository(String storageId,
+                                     String repositoryId)
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
+
+        return storage == null ? null : storage.getRepository(repositoryId);
+    }
+
+    private static class EvictionState
+    {
+
+        private long sizeInBytes;
+
+        private long evictedBytes;
+
+        private int evicted;
+
+        private int retained;
+
+        private int failed;
+
+        private int givenUp;
+
+        private EvictionState(long sizeInBytes)
+        {
+            this.sizeInBytes = sizeInBytes;
+        }
+
+    }
+
+}
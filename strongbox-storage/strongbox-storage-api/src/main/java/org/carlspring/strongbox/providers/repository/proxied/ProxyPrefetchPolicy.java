@@ -0,0 +1,24 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Layout specific guess of the files a client is going to request from a proxy repository after a given one, so that
+ * they can be fetched from the remote repository in the background, see {@link ProxyRepositoryPrefetcher}.
+ */
+public interface ProxyPrefetchPolicy
+{
+
+    String getLayout();
+
+    /**
+     * @param fetchedPath the path which was just fetched from the remote repository
+     * @return the paths which are likely to be requested next, empty if none
+     */
+    List<RepositoryPath> getPrefetchPaths(RepositoryPath fetchedPath)
+        throws IOException;
+
+}
@@ -3,23 +3,53 @@ package org.carlspring.strongbox.providers.repository.proxied;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.client.AsyncRemoteArtifactClient;
+import org.carlspring.strongbox.client.ResponseException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.io.LayoutOutputStream;
+import org.carlspring.strongbox.metrics.RepositoryMetrics;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.io.input.CountingInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -33,6 +63,9 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private RemoteRepositoryAlivenessService remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry circuitBreakerRegistry;
+
     @Inject
     private ArtifactEventListenerRegistry artifactEventListenerRegistry;
 
@@ -45,16 +78,62 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private AsyncRemoteArtifactClient asyncRemoteArtifactClient;
+
+    @Value("${strongbox.proxy.async.storeThreads:4}")
+    private int storeThreads;
+
+    private final ConcurrentMap<URI, CompletableFuture<RepositoryPath>> downloads = new ConcurrentHashMap<>();
+
+    private ExecutorService storeExecutor;
+
+    @PostConstruct
+    public void init()
+    {
+        if (!asyncRemoteArtifactClient.isEnabled())
+        {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        storeExecutor = Executors.newFixedThreadPool(storeThreads, r -> {
+            Thread thread = new Thread(r, "proxy-store-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (storeExecutor != null)
+        {
+            storeExecutor.shutdownNow();
+        }
+    }
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
      * It should not contain any local / cache existence checks.
      *
      * Update this method carefully.
+     * <p>
+     * With {@code strongbox.proxy.async.enabled} the transfer is made by the {@link AsyncRemoteArtifactClient}. The
+     * calling thread still waits for the stored result, only the transfer itself doesn't hold a thread: the paths are
+     * resolved synchronously by the repository providers up to the controllers, so the request thread can't be
+     * released before the result is stored.
      */
     public RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath)
         throws IOException
     {
+        if (asyncRemoteArtifactClient.isEnabled())
+        {
+            return awaitFetch(download(repositoryPath));
+        }
+
         Repository repository = repositoryPath.getFileSystem().getRepository();
         final RemoteRepository remoteRepository = repository.getRemoteRepository();
         if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
@@ -70,9 +149,158 @@ public class ProxyRepositoryArtifactResolver
         Lock lock = lockSource.writeLock();
         lock.lock();
 
-        try (InputStream is = new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath)))
+        Tags tags = RepositoryMetrics.tags(repository);
+        Timer.Sample sample = Timer.start(StrongboxMetrics.registry());
+        boolean success = false;
+        try (CountingInputStream cis = new CountingInputStream(new ProxyRepositoryInputStream(client, repositoryPath));
+             InputStream is = new BufferedInputStream(cis))
+        {
+            RepositoryPath result = doFetch(repositoryPath, is);
+            success = true;
+
+            StrongboxMetrics.registry().summary(StrongboxMetrics.PROXY_FETCH_BYTES, tags).record(cis.getByteCount());
+
+            return result;
+        }
+        finally
+        {
+            lock.unlock();
+
+            sample.stop(StrongboxMetrics.registry().timer(StrongboxMetrics.PROXY_FETCH,
+                                                          tags.and(StrongboxMetrics.TAG_OUTCOME,
+                                                                   StrongboxMetrics.outcome(success))));
+        }
+    }
+
+    /**
+     * Downloads the remote resource with the {@link AsyncRemoteArtifactClient}, which writes the response body straight
+     * into the {@link RepositoryFiles#temporary(RepositoryPath)} file of the path as it arrives, calculating the layout
+     * digests on the way. The file is then moved in place with
+     * {@link ArtifactManagementService#storeTemporary(TempRepositoryPath, Map)}, on the store executor rather than on
+     * the client threads, so the body is written and read once.
+     * <p>
+     * The concurrent fetches of a path share the same download, as they would write the same temporary file.
+     */
+    private CompletableFuture<RepositoryPath> download(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = repository.getRemoteRepository();
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.debug("Remote repository '{}' is down.", remoteRepository.getUrl());
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        TempRepositoryPath tempPath = RepositoryFiles.temporary(repositoryPath);
+        URI key = tempPath.toUri();
+
+        CompletableFuture<RepositoryPath> result = new CompletableFuture<>();
+        CompletableFuture<RepositoryPath> download = downloads.putIfAbsent(key, result);
+        if (download != null)
+        {
+            return download;
+        }
+        result.whenComplete((path, failure) -> downloads.remove(key, result));
+
+        // The blocking fetch reports to the circuit breaker through the RestArtifactResolver.
+        if (!circuitBreakerRegistry.tryAcquirePermission(remoteRepository.getUrl()))
+        {
+            logger.debug("Remote repository '{}' circuit breaker is open.", remoteRepository.getUrl());
+
+            result.complete(null);
+
+            return result;
+        }
+
+        String url = getRemoteUrl(remoteRepository, repositoryPath);
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+        DigestingByteChannel channel;
+        try
+        {
+            LayoutOutputStream digestStream = provider.newDigestOutputStream(repositoryPath);
+            channel = new DigestingByteChannel(Files.newByteChannel(tempPath.getTarget(),
+                                                                    StandardOpenOption.CREATE,
+                                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                                    StandardOpenOption.WRITE),
+                                               digestStream);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            result.completeExceptionally(e);
+
+            throw e;
+        }
+
+        Tags tags = RepositoryMetrics.tags(repository);
+        Timer.Sample sample = Timer.start(StrongboxMetrics.registry());
+        asyncRemoteArtifactClient.download(url,
+                                           0,
+                                           remoteRepository.getUsername(),
+                                           remoteRepository.getPassword(),
+                                           channel)
+                                 .whenCompleteAsync((bytes, failure) -> {
+                                     boolean success = false;
+                                     try
+                                     {
+                                         channel.close();
+                                         if (failure != null)
+                                         {
+                                             IOException e = toIOException(url, failure);
+                                             reportOutcome(remoteRepository, e);
+
+                                             throw e;
+                                         }
+                                         reportOutcome(remoteRepository, null);
+
+                                         result.complete(storeDownload(tempPath, channel.getDigestMap()));
+                                         success = true;
+
+                                         StrongboxMetrics.registry()
+                                                         .summary(StrongboxMetrics.PROXY_FETCH_BYTES, tags)
+                                                         .record(bytes);
+                                     }
+                                     catch (IOException | RuntimeException e)
+                                     {
+                                         result.completeExceptionally(e);
+                                     }
+                                     finally
+                                     {
+                                         deleteDownload(tempPath);
+
+                                         sample.stop(StrongboxMetrics.registry()
+                                                                     .timer(StrongboxMetrics.PROXY_FETCH,
+                                                                            tags.and(StrongboxMetrics.TAG_OUTCOME,
+                                                                                     StrongboxMetrics.outcome(success))));
+                                     }
+                                 }, storeExecutor);
+
+        return result;
+    }
+
+    private RepositoryPath storeDownload(TempRepositoryPath tempPath,
+                                         Map<String, String> digestMap)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = tempPath.getTempTarget();
+
+        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+        Lock lock = lockSource.writeLock();
+        lock.lock();
+
+        try
         {
-            return doFetch(repositoryPath, is);
+            artifactManagementService.storeTemporary(tempPath, digestMap);
+
+            RepositoryFileAttributes artifactFileAttributes = Files.readAttributes(repositoryPath,
+                                                                                   RepositoryFileAttributes.class);
+            if (artifactFileAttributes.isArtifact())
+            {
+                artifactEventListenerRegistry.dispatchArtifactFetchedFromRemoteEvent(repositoryPath);
+            }
+
+            return repositoryPath;
         }
         finally
         {
@@ -80,6 +308,84 @@ public class ProxyRepositoryArtifactResolver
         }
     }
 
+    private void deleteDownload(TempRepositoryPath tempPath)
+    {
+        try
+        {
+            Files.deleteIfExists(tempPath.getTarget());
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to delete the remote download [{}].", tempPath, e);
+        }
+    }
+
+    private RepositoryPath awaitFetch(CompletableFuture<RepositoryPath> fetch)
+        throws IOException
+    {
+        try
+        {
+            return fetch.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(e.getMessage());
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * A missing artifact means that the remote repository is responsive.
+     */
+    private void reportOutcome(RemoteRepository remoteRepository,
+                               IOException failure)
+    {
+        if (failure == null || failure instanceof ArtifactNotFoundException)
+        {
+            circuitBreakerRegistry.onSuccess(remoteRepository.getUrl(), -1);
+        }
+        else
+        {
+            circuitBreakerRegistry.onFailure(remoteRepository.getUrl());
+        }
+    }
+
+    private static IOException toIOException(String url,
+                                             Throwable failure)
+    {
+        if (failure instanceof ResponseException && ((ResponseException) failure).getStatusCode() == 404)
+        {
+            return new ArtifactNotFoundException(URI.create(url));
+        }
+        if (failure instanceof IOException)
+        {
+            return (IOException) failure;
+        }
+
+        return new IOException(String.format("Failed to fetch [%s].", url), failure);
+    }
+
+    private static String getRemoteUrl(RemoteRepository remoteRepository,
+                                       RepositoryPath repositoryPath)
+        throws IOException
+    {
+        String baseUrl = remoteRepository.getUrl();
+        String resource = RepositoryFiles.resolveResource(repositoryPath).toString();
+
+        return (baseUrl.endsWith("/") ? baseUrl : baseUrl + "/") +
+               (resource.startsWith("/") ? resource.substring(1) : resource);
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
@@ -115,4 +421,72 @@ public class ProxyRepositoryArtifactResolver
         return repositoryPath;
     }
 
+    /**
+     * Writes the downloaded bytes into the target channel, passing them to the layout digests as well, so that the
+     * downloaded file doesn't have to be read once more to calculate its checksums.
+     */
+    private static class DigestingByteChannel
+            implements WritableByteChannel
+    {
+
+        private final WritableByteChannel target;
+
+        private final LayoutOutputStream digestStream;
+
+        DigestingByteChannel(WritableByteChannel target,
+                             LayoutOutputStream digestStream)
+        {
+            this.target = target;
+            this.digestStream = digestStream;
+        }
+
+        @Override
+        public int write(ByteBuffer src)
+            throws IOException
+        {
+            ByteBuffer written = src.duplicate();
+            int result = target.write(src);
+            written.limit(written.position() + result);
+
+            if (written.hasArray())
+            {
+                digestStream.write(written.array(), written.arrayOffset() + written.position(), result);
+            }
+            else
+            {
+                byte[] bytes = new byte[result];
+                written.get(bytes);
+                digestStream.write(bytes);
+            }
+
+            return result;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return target.isOpen();
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            try
+            {
+                target.close();
+            }
+            finally
+            {
+                digestStream.close();
+            }
+        }
+
+        Map<String, String> getDigestMap()
+        {
+            return digestStream.getDigestMap();
+        }
+
+    }
+
 }
@@ -0,0 +1,41 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.data.service.support.search.Sort.Order;
+
+/**
+ * Defines the order in which cached artifacts of a proxy repository are evicted when the repository exceeds its quota.
+ *
+ * @see LocalStorageProxyRepositoryQuotaEvictor
+ */
+public enum ProxyRepositoryEvictionPolicy
+{
+
+    /**
+     * Least recently used artifacts first.
+     */
+    LRU(Sort.by(Order.asc("lastUsed"), Order.asc("uuid"))),
+
+    /**
+     * Least frequently downloaded artifacts first, least recently used among equals.
+     */
+    LFU(Sort.by(Order.asc("downloadCount"), Order.asc("lastUsed"), Order.asc("uuid"))),
+
+    /**
+     * Largest artifacts first, least recently used among equals. Reaches the quota with the fewest deletions.
+     */
+    SIZE(Sort.by(Order.desc("sizeInBytes"), Order.asc("lastUsed"), Order.asc("uuid")));
+
+    private final Sort sort;
+
+    ProxyRepositoryEvictionPolicy(Sort sort)
+    {
+        this.sort = sort;
+    }
+
+    public Sort getSort()
+    {
+        return sort;
+    }
+
+}
@@ -0,0 +1,265 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches the files which are likely to be requested next from a proxy repository in the background, once a file is
+ * fetched from its remote repository, see {@link ProxyPrefetchPolicy}.
+ * <p>
+ * The prefetches run on a pool of {@code strongbox.proxy.prefetch.threads} threads with a bounded queue, and at most
+ * {@code strongbox.proxy.prefetch.maxInFlightPerRemote} of them run at the same time for a remote repository. They
+ * are best effort: the ones which don't fit are dropped. A path which is already scheduled is not scheduled again, and
+ * a path which is being fetched for a client is not fetched twice, as both fetches take the same path lock and check
+ * the local storage first.
+ * <p>
+ * It's disabled by default ({@code strongbox.proxy.prefetch.enabled}).
+ */
+@Component
+public class ProxyRepositoryPrefetcher
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryPrefetcher.class);
+
+    /**
+     * The fetches of the prefetch threads don't trigger other prefetches.
+     */
+    private static final ThreadLocal<Boolean> PREFETCHING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    @Value("${strongbox.proxy.prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.prefetch.threads:4}")
+    private int threads;
+
+    @Value("${strongbox.proxy.prefetch.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${strongbox.proxy.prefetch.maxInFlightPerRemote:4}")
+    private int maxInFlightPerRemote;
+
+    private final Map<String, ProxyPrefetchPolicy> policies = new HashMap<>();
+
+    private final Set<String> scheduledPaths = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Semaphore> remoteBudgets = new ConcurrentHashMap<>();
+
+    private final AtomicLong prefetchedCount = new AtomicLong();
+
+    private final AtomicLong missedCount = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    @Autowired(required = false)
+    public void setPolicies(List<ProxyPrefetchPolicy> policies)
+    {
+        policies.forEach(p -> this.policies.put(p.getLayout(), p));
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          0L,
+                                          TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(queueCapacity),
+                                          r -> {
+                                              Thread thread = new Thread(r, "proxy-prefetch-" +
+                                                                            threadNumber.incrementAndGet());
+                                              thread.setDaemon(true);
+
+                                              return thread;
+                                          },
+                                          new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Proxy repository prefetch enabled for the [{}] layouts.", policies.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules the prefetch of the files which are likely to be requested after the fetched one.
+     *
+     * @param fetchedPath the path which was just fetched from the remote repository
+     * @param fetcher     fetches a path the same way as a client request
+     */
+    public void prefetch(RepositoryPath fetchedPath,
+                         PathFetcher fetcher)
+    {
+        if (executor == null || PREFETCHING.get())
+        {
+            return;
+        }
+
+        Repository repository = fetchedPath.getRepository();
+        ProxyPrefetchPolicy policy = policies.get(repository.getLayout());
+        if (policy == null || repository.getRemoteRepository() == null)
+        {
+            return;
+        }
+
+        List<RepositoryPath> prefetchPaths;
+        try
+        {
+            prefetchPaths = policy.getPrefetchPaths(fetchedPath);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.debug("Failed to resolve the prefetch paths of [{}].", fetchedPath, e);
+
+            return;
+        }
+
+        Semaphore budget = remoteBudgets.computeIfAbsent(repository.getRemoteRepository().getUrl(),
+                                                         u -> new Semaphore(maxInFlightPerRemote));
+        for (RepositoryPath prefetchPath : prefetchPaths)
+        {
+            schedule(prefetchPath, fetcher, budget);
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return executor != null;
+    }
+
+    public int getScheduledCount()
+    {
+        return scheduledPaths.size();
+    }
+
+    /**
+     * @return the number of the paths which were prefetched
+     */
+    public long getPrefetchedCount()
+    {
+        return prefetchedCount.get();
+    }
+
+    /**
+     * @return the number of the paths which the remote repository didn't have, or which it couldn't serve
+     */
+    public long getMissedCount()
+    {
+        return missedCount.get();
+    }
+
+    private void schedule(RepositoryPath path,
+                          PathFetcher fetcher,
+                          Semaphore budget)
+    {
+        String key = path.toUri().toString();
+        if (Files.exists(path) || !scheduledPaths.add(key))
+        {
+            return;
+        }
+        if (!budget.tryAcquire())
+        {
+            logger.debug("Skip the prefetch of [{}], the remote repository budget is exhausted.", path);
+            scheduledPaths.remove(key);
+
+            return;
+        }
+
+        try
+        {
+            executor.execute(() -> {
+                PREFETCHING.set(Boolean.TRUE);
+                try
+                {
+                    // The guessed paths don't always exist in the remote repository.
+                    if (fetcher.fetch(path) != null)
+                    {
+                        prefetchedCount.incrementAndGet();
+
+                        logger.debug("Prefetched [{}].", path);
+                    }
+                    else
+                    {
+                        missed(path);
+                    }
+                }
+                catch (FileNotFoundException e)
+                {
+                    missed(path);
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    logger.debug("Failed to prefetch [{}].", path, e);
+                }
+                finally
+                {
+                    PREFETCHING.remove();
+                    scheduledPaths.remove(key);
+                    budget.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            logger.debug("Skip the prefetch of [{}], the queue is full.", path);
+
+            scheduledPaths.remove(key);
+            budget.release();
+        }
+    }
+
+    private void missed(RepositoryPath path)
+    {
+        missedCount.incrementAndGet();
+
+        logger.debug("Skip the prefetch of [{}], it's not found in the remote repository.", path);
+    }
+
+    @FunctionalInterface
+    public interface PathFetcher
+    {
+
+        /**
+         * @return the fetched path, or {@code null} if it's not found
+         */
+        RepositoryPath fetch(RepositoryPath path)
+            throws IOException;
+
+    }
+
+}
@@ -1,15 +1,20 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
+import javax.ws.rs.ProcessingException;
 
+import org.carlspring.strongbox.client.CloseableRestResponse;
 import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessService;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +34,9 @@ public class RestArtifactResolverFactory
     @Inject
     private RemoteRepositoryAlivenessService remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry circuitBreakerRegistry;
+
     public RestArtifactResolver newInstance(RemoteRepository repository)
     {
         Objects.requireNonNull(repository);
@@ -43,9 +51,10 @@ public class RestArtifactResolverFactory
         
         final HttpAuthenticationFeature authenticationFeature = (username != null && password != null) ? HttpAuthenticationFeature.basic(username, password) : null;
                 
-        return new RestArtifactResolver(proxyRepositoryConnectionPoolConfigurationService.getRestClient(), url,
-                                        configuration,
-                                        authenticationFeature)
+        RestArtifactResolver result = new RestArtifactResolver(proxyRepositoryConnectionPoolConfigurationService.getRestClient(),
+                                                               url,
+                                                               configuration,
+                                                               authenticationFeature)
                                 {
                         
                                     @Override
@@ -53,8 +62,61 @@ public class RestArtifactResolverFactory
                                     {
                                         return remoteRepositoryAlivenessCacheManager.isAlive(repository);
                                     }
+
+                                    @Override
+                                    public CloseableRestResponse get(String path,
+                                                                     long offset)
+                                    {
+                                        return call(url, () -> super.get(path, offset));
+                                    }
+
+                                    @Override
+                                    public CloseableRestResponse head(String path)
+                                    {
+                                        return call(url, () -> super.head(path));
+                                    }
                         
                                 };
+        result.setTimeoutMillis(circuitBreakerRegistry.getTimeoutMillis(url));
+
+        return result;
+    }
+
+    /**
+     * Reports the outcome of the request to the circuit breaker of the remote repository, the server errors and the
+     * connection failures count as failures.
+     */
+    private CloseableRestResponse call(String url,
+                                       Supplier<CloseableRestResponse> request)
+    {
+        if (!circuitBreakerRegistry.tryAcquirePermission(url))
+        {
+            throw new ProcessingException(String.format("Remote repository [%s] circuit breaker is open.", url));
+        }
+
+        long start = System.nanoTime();
+        CloseableRestResponse response;
+        try
+        {
+            response = request.get();
+        }
+        catch (RuntimeException e)
+        {
+            circuitBreakerRegistry.onFailure(url);
+
+            throw e;
+        }
+
+        if (response.getResponse().getStatus() >= 500)
+        {
+            circuitBreakerRegistry.onFailure(url);
+        }
+        else
+        {
+            circuitBreakerRegistry.onSuccess(url, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        return response;
     }
 
 }
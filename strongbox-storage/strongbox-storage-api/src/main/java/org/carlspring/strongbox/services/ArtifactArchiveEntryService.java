@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.data.service.CrudService;
+import org.carlspring.strongbox.domain.ArtifactArchiveEntry;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the indexed {@link ArtifactArchiveEntry}s of the artifacts, so that the artifacts containing a given class or
+ * file can be found without reading their archives.
+ */
+public interface ArtifactArchiveEntryService
+        extends CrudService<ArtifactArchiveEntry, String>
+{
+
+    /**
+     * Replaces the archive entries of the (already persisted) artifact with the provided archive listing.
+     *
+     * @return the number of archive entries stored
+     */
+    int index(ArtifactEntry artifactEntry,
+              Collection<String> filenames);
+
+    /**
+     * Deletes the archive entries of the artifacts.
+     *
+     * @return the number of archive entries deleted
+     */
+    int deleteByArtifactEntries(Collection<ArtifactEntry> artifactEntries);
+
+    /**
+     * @param className the fully qualified name of the class, e.g. {@code org.carlspring.Foo}
+     */
+    List<ArtifactEntry> findArtifactsByClassName(String className);
+
+    /**
+     * @param fileName the name of the file, without its path within the archive, e.g. {@code plugin.xml}
+     */
+    List<ArtifactEntry> findArtifactsByFileName(String fileName);
+
+}
@@ -53,9 +53,22 @@ public interface ArtifactEntryService
                                          String orderBy,
                                          boolean strict);
 
+    /**
+     * Returns the artifacts stored under any of the given paths, looked up with a single query.
+     */
+    List<ArtifactEntry> findArtifacts(String storageId,
+                                      String repositoryId,
+                                      Collection<String> paths);
+
     List<ArtifactEntry> findMatching(ArtifactEntrySearchCriteria searchCriteria,
                                      PagingCriteria pagingCriteria);
 
+    /**
+     * Returns the total {@link ArtifactEntry#getSizeInBytes()} of all the artifacts stored in the repository.
+     */
+    long calculateSizeInBytes(String storageId,
+                              String repositoryId);
+
     Long countCoordinates(Collection<Pair<String, String>> storageRepositoryPairList,
                           Map<String, String> coordinates,
                           boolean strict);
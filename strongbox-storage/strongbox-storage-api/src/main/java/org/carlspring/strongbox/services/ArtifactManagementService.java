@@ -7,28 +7,42 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.io.LayoutInputStream;
 import org.carlspring.strongbox.io.LayoutOutputStream;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
+import org.carlspring.strongbox.providers.layout.ArtifactGroupMetadataRebuilder;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.checksum.ArtifactChecksum;
@@ -41,9 +55,10 @@ import org.carlspring.strongbox.storage.validation.artifact.version.VersionValid
 import org.carlspring.strongbox.storage.validation.resource.ArtifactOperationsValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.FileSystemUtils;
 
 /**
  * @author mtodorov
@@ -79,6 +94,23 @@ public class ArtifactManagementService
 
     @Inject
     protected RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    protected RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    protected RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Value("${strongbox.copy.links.enabled:false}")
+    private boolean copyLinksEnabled;
+
+    private final Map<String, ArtifactGroupMetadataRebuilder> metadataRebuilders = new HashMap<>();
+
+    @Autowired(required = false)
+    public void setMetadataRebuilders(List<ArtifactGroupMetadataRebuilder> metadataRebuilders)
+    {
+        metadataRebuilders.forEach(r -> this.metadataRebuilders.put(r.getLayout(), r));
+    }
     
     @Transactional
     public long validateAndStore(RepositoryPath repositoryPath,
@@ -126,6 +158,77 @@ public class ArtifactManagementService
             throw new ArtifactStorageException(e);
         }
 
+        dispatchStoredEvents(repositoryPath, updatedArtifactFile);
+        
+        return result;
+    }
+
+    /**
+     * Stores a file which has already been written into the temporary directory of its target (for example, by a
+     * remote download) by moving it in place, instead of streaming it once more. Like
+     * {@link #store(RepositoryPath, InputStream)}, the checksum files are written, the {@link ArtifactEntry} is created
+     * or updated, and the same events are dispatched.
+     *
+     * @param digestMap the layout digests of the file, calculated while it was written, or {@code null} to read the
+     *                  file once more to calculate them
+     */
+    @Transactional
+    public long storeTemporary(TempRepositoryPath tempPath,
+                               Map<String, String> digestMap)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = tempPath.getTempTarget();
+
+        boolean updatedArtifactFile = false;
+        if (RepositoryFiles.artifactExists(repositoryPath))
+        {
+            updatedArtifactFile = RepositoryFiles.isArtifact(repositoryPath);
+        }
+
+        boolean artifact = RepositoryFiles.isArtifact(repositoryPath);
+        boolean checksum = Boolean.TRUE.equals(RepositoryFiles.isChecksum(repositoryPath));
+
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+        Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
+        lock.lock();
+        try
+        {
+            provider.moveFromTemporaryDirectory(tempPath);
+
+            URI repositoryPathId = repositoryPath.toUri();
+            if (checksum)
+            {
+                validateUploadedChecksumAgainstCache(Files.readAllBytes(repositoryPath), repositoryPathId);
+            }
+            else
+            {
+                if (digestMap == null)
+                {
+                    digestMap = calculateChecksums(repositoryPath);
+                }
+                addChecksumsToCacheManager(digestMap, repositoryPathId);
+                writeChecksums(repositoryPath, digestMap);
+
+                if (artifact)
+                {
+                    storeArtifactEntry(repositoryPath, digestMap);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        dispatchStoredEvents(repositoryPath, updatedArtifactFile);
+
+        return Files.size(repositoryPath);
+    }
+
+    private void dispatchStoredEvents(RepositoryPath repositoryPath,
+                                      boolean updatedArtifactFile)
+            throws IOException
+    {
         if (updatedArtifactFile)
         {
             artifactEventListenerRegistry.dispatchArtifactUpdatedEvent(repositoryPath);
@@ -139,9 +242,6 @@ public class ArtifactManagementService
         {
             artifactEventListenerRegistry.dispatchArtifactMetadataStoredEvent(repositoryPath);
         }
-
-        
-        return result;
     }
 
     private long writeArtifact(RepositoryPath repositoryPath,
@@ -351,18 +451,156 @@ public class ArtifactManagementService
         }
     }
 
+    /**
+     * Copies a path, a file or a directory, from one repository to another.
+     * <p>
+     * The files aren't streamed through the layout, but hard linked if {@code strongbox.copy.links.enabled} is set and
+     * both repositories are on the same file store, or copied as they are otherwise. The {@link ArtifactEntry}
+     * checksums of the copied artifacts are taken from the source ones instead of being recalculated, the checksum
+     * files are written for them as they are when the files are stored, and the repository metadata is regenerated
+     * once per copied artifact group, see {@link ArtifactGroupMetadataRebuilder}.
+     */
+    @Transactional
     public void copy(RepositoryPath srcPath, RepositoryPath destPath)
             throws IOException
     {
         artifactOperationsValidator.validate(srcPath);
 
+        Set<RepositoryPath> metadataBasePaths = new LinkedHashSet<>();
         if (Files.isDirectory(srcPath))
         {
-            FileSystemUtils.copyRecursively(srcPath, destPath);
+            try (Stream<Path> paths = Files.walk(srcPath))
+            {
+                for (Iterator<Path> i = paths.iterator(); i.hasNext(); )
+                {
+                    RepositoryPath path = (RepositoryPath) i.next();
+                    RepositoryPath targetPath = destPath.resolve(srcPath.relativize(path));
+                    if (Files.isDirectory(path))
+                    {
+                        Files.createDirectories(targetPath);
+                    }
+                    // The checksum files are written along with the files they're calculated for.
+                    else if (!Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
+                    {
+                        copyFile(path, targetPath, metadataBasePaths);
+                    }
+                }
+            }
         }
         else
         {
-            Files.copy(srcPath, destPath);
+            copyFile(srcPath, destPath, metadataBasePaths);
+        }
+
+        ArtifactGroupMetadataRebuilder metadataRebuilder = metadataRebuilders.get(destPath.getRepository().getLayout());
+        for (RepositoryPath metadataBasePath : metadataBasePaths)
+        {
+            logger.debug("Rebuilding the metadata of [{}].", metadataBasePath);
+
+            metadataRebuilder.rebuildMetadata(metadataBasePath);
+        }
+    }
+
+    private void copyFile(RepositoryPath srcPath,
+                          RepositoryPath destPath,
+                          Set<RepositoryPath> metadataBasePaths)
+            throws IOException
+    {
+        boolean updatedArtifactFile = false;
+        if (RepositoryFiles.artifactExists(destPath))
+        {
+            updatedArtifactFile = RepositoryFiles.isArtifact(destPath);
+        }
+
+        boolean artifact = RepositoryFiles.isArtifact(destPath);
+        boolean checksum = Boolean.TRUE.equals(RepositoryFiles.isChecksum(destPath));
+        ArtifactEntry srcArtifactEntry = artifact ? srcPath.getArtifactEntry() : null;
+
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) destPath.getFileSystem().provider();
+        Lock lock = repositoryPathLock.lock(destPath).writeLock();
+        lock.lock();
+        try
+        {
+            // A linked checksum file would be rewritten through the link when its file is copied.
+            boolean linked = provider.copyFrom(srcPath, destPath, copyLinksEnabled && !checksum);
+            logger.debug("Copied [{}] to [{}], linked [{}].", srcPath, destPath, linked);
+
+            if (!checksum)
+            {
+                Map<String, String> digestMap = artifact ? getChecksums(srcArtifactEntry, destPath) :
+                                                calculateChecksums(destPath);
+                writeChecksums(destPath, digestMap);
+
+                if (artifact)
+                {
+                    storeArtifactEntry(destPath, digestMap);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        dispatchStoredEvents(destPath, updatedArtifactFile);
+
+        ArtifactGroupMetadataRebuilder metadataRebuilder = metadataRebuilders.get(destPath.getRepository().getLayout());
+        if (artifact && metadataRebuilder != null)
+        {
+            Optional.ofNullable(metadataRebuilder.getMetadataBasePath(destPath)).ifPresent(metadataBasePaths::add);
+        }
+    }
+
+    /**
+     * The entry is stored by the repository provider, so that it's the one of the repository type (for example, a
+     * cached entry of a proxy repository).
+     */
+    private void storeArtifactEntry(RepositoryPath destPath,
+                                    Map<String, String> checksums)
+            throws IOException
+    {
+        Repository repository = destPath.getRepository();
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        repositoryProvider.storeArtifactEntry(destPath, checksums);
+    }
+
+    /**
+     * Takes the checksums of the copied artifact from its source {@link ArtifactEntry}, and only calculates them if
+     * the source one misses some of the target repository digest algorithms.
+     */
+    private Map<String, String> getChecksums(ArtifactEntry srcArtifactEntry,
+                                             RepositoryPath destPath)
+            throws IOException
+    {
+        Set<String> digestAlgorithms = destPath.getFileSystem().getDigestAlgorithmSet();
+        if (srcArtifactEntry != null && srcArtifactEntry.getChecksums().keySet().containsAll(digestAlgorithms))
+        {
+            return srcArtifactEntry.getChecksums()
+                                   .entrySet()
+                                   .stream()
+                                   .filter(e -> digestAlgorithms.contains(e.getKey()))
+                                   .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        return calculateChecksums(destPath);
+    }
+
+    private Map<String, String> calculateChecksums(RepositoryPath destPath)
+            throws IOException
+    {
+        Set<String> digestAlgorithms = destPath.getFileSystem().getDigestAlgorithmSet();
+
+        logger.debug("Calculating the checksums of [{}].", destPath);
+
+        try (InputStream is = Files.newInputStream(destPath))
+        {
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            LayoutInputStream lis = StreamUtils.findSource(LayoutInputStream.class, is);
+
+            return digestAlgorithms.stream()
+                                   .collect(Collectors.toMap(a -> a, lis::getMessageDigestAsHexadecimalString));
         }
     }
 
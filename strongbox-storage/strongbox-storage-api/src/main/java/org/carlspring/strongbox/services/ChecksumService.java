@@ -1,6 +1,9 @@
 package org.carlspring.strongbox.services;
 
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerationProgress;
+
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * @author Kate Novik.
@@ -22,4 +25,29 @@ public interface ChecksumService
                             boolean forceRegeneration)
             throws IOException;
 
+    /**
+     * Regenerate checksum for artifact using artifactPath (string)
+     *
+     * @param storageId         String
+     * @param repositoryId      String
+     * @param basePath          String
+     * @param forceRegeneration boolean
+     * @param skipUnchanged     skip the files which were not changed since their checksums were last generated
+     */
+    void regenerateChecksum(String storageId,
+                            String repositoryId,
+                            String basePath,
+                            boolean forceRegeneration,
+                            boolean skipUnchanged)
+            throws IOException;
+
+    /**
+     * Returns the progress of the checksum regeneration currently running for the repository, if any.
+     *
+     * @param storageId    String
+     * @param repositoryId String
+     */
+    Optional<ChecksumRegenerationProgress> getRegenerationProgress(String storageId,
+                                                                   String repositoryId);
+
 }
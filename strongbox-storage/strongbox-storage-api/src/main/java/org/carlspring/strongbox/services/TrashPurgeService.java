@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.services.support.TrashPurgeTask;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Empties the trash of the repositories in the background.
+ * <p>
+ * The files are deleted in parallel, at a limited rate, so that purging a large trash doesn't saturate the disk for
+ * the other operations. The tasks are only kept in memory, so they're lost on restart, and nothing of a purge which
+ * has failed, or which has been interrupted, is recorded; submitting it again starts a new purge of what's left in
+ * the trash.
+ */
+public interface TrashPurgeService
+{
+
+    /**
+     * Schedules the purge of the trash of the repository, unless one is already scheduled or running, in which case
+     * that one is returned.
+     */
+    TrashPurgeTask purge(String storageId,
+                         String repositoryId)
+            throws IOException;
+
+    /**
+     * Schedules the purge of the trash of all the repositories which allow deletion.
+     */
+    List<TrashPurgeTask> purgeAll()
+            throws IOException;
+
+    /**
+     * @return the task, or {@code null} if there's no such (recent) task
+     */
+    TrashPurgeTask getTask(String taskId);
+
+    /**
+     * @return the scheduled and the running tasks, followed by the recently completed ones
+     */
+    List<TrashPurgeTask> getTasks();
+
+}
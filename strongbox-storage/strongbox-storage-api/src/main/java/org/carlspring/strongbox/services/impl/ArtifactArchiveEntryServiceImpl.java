@@ -0,0 +1,269 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.data.domain.GenericEntity;
+import org.carlspring.strongbox.data.service.CommonCrudService;
+import org.carlspring.strongbox.domain.ArtifactArchiveEntry;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactArchiveEntryService;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * DAO implementation for {@link ArtifactArchiveEntry} entities.
+ * <p>
+ * The database schema comes with the {@code strongbox-db} changesets, so the class of the archive entries and its
+ * indexes are created on startup if they're missing.
+ */
+@Service
+@Transactional
+public class ArtifactArchiveEntryServiceImpl
+        extends CommonCrudService<ArtifactArchiveEntry>
+        implements ArtifactArchiveEntryService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactArchiveEntryServiceImpl.class);
+
+    private static final String CLASS_NAME = ArtifactArchiveEntry.class.getSimpleName();
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The prefixes of the classes which are not in the root of the archive: the web applications, the Spring Boot
+     * applications and the multi-release jars.
+     */
+    private static final Pattern CLASS_PREFIX = Pattern.compile("^(WEB-INF/classes/|BOOT-INF/classes/|META-INF/versions/\\d+/)");
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    @Override
+    @PostConstruct
+    public void postConstruct()
+    {
+        super.postConstruct();
+
+        createSchema();
+    }
+
+    private void createSchema()
+    {
+        try (ODatabaseSession session = databasePool.acquire())
+        {
+            OSchema schema = session.getMetadata().getSchema();
+
+            OClass oClass = schema.getClass(CLASS_NAME);
+            if (oClass == null)
+            {
+                OClass superClass = schema.getClass(GenericEntity.class.getSimpleName());
+                oClass = superClass != null ? schema.createClass(CLASS_NAME, superClass) : schema.createClass(CLASS_NAME);
+
+                logger.info("Created the [{}] class.", CLASS_NAME);
+            }
+
+            createProperty(oClass, "uuid", OType.STRING, null);
+            createProperty(oClass, "storageId", OType.STRING, null);
+            createProperty(oClass, "repositoryId", OType.STRING, null);
+            createProperty(oClass, "name", OType.STRING, null);
+            createProperty(oClass, "fileName", OType.STRING, null);
+            createProperty(oClass, "className", OType.STRING, null);
+            createProperty(oClass, "artifactEntry", OType.LINK, schema.getClass(ArtifactEntry.class.getSimpleName()));
+
+            createIndex(oClass, "idx_artifact_archive_entry_class_name", "className");
+            createIndex(oClass, "idx_artifact_archive_entry_file_name", "fileName");
+            createIndex(oClass, "idx_artifact_archive_entry_artifact", "artifactEntry");
+        }
+    }
+
+    private void createProperty(OClass oClass,
+                                String name,
+                                OType type,
+                                OClass linkedClass)
+    {
+        if (oClass.existsProperty(name))
+        {
+            return;
+        }
+
+        if (linkedClass != null)
+        {
+            oClass.createProperty(name, type, linkedClass);
+        }
+        else
+        {
+            oClass.createProperty(name, type);
+        }
+    }
+
+    private void createIndex(OClass oClass,
+                             String name,
+                             String property)
+    {
+        if (oClass.getClassIndex(name) != null)
+        {
+            return;
+        }
+
+        oClass.createIndex(name, OClass.INDEX_TYPE.NOTUNIQUE, property);
+
+        logger.info("Created the [{}] index.", name);
+    }
+
+    @Override
+    public int index(ArtifactEntry artifactEntry,
+                     Collection<String> filenames)
+    {
+        if (artifactEntry.getObjectId() == null)
+        {
+            logger.warn("Can't index the archive of [{}] which isn't persisted.", artifactEntry.getArtifactPath());
+
+            return 0;
+        }
+
+        ORecordId artifactEntryId = new ORecordId(artifactEntry.getObjectId());
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("artifactEntry", artifactEntryId);
+        getDelegate().command(new OCommandSQL(String.format("DELETE FROM %s WHERE artifactEntry = :artifactEntry",
+                                                            CLASS_NAME)))
+                     .execute(parameterMap);
+
+        // All the entries of the archive are inserted with a single command.
+        StringBuilder insert = new StringBuilder(String.format("INSERT INTO %s (uuid, storageId, repositoryId, name, " +
+                                                               "fileName, className, artifactEntry) VALUES ",
+                                                               CLASS_NAME));
+        List<Object> parameters = new ArrayList<>();
+
+        int result = 0;
+        for (String filename : filenames)
+        {
+            if (filename.endsWith("/"))
+            {
+                continue;
+            }
+
+            insert.append(result > 0 ? ", " : "").append("(?, ?, ?, ?, ?, ?, ?)");
+            parameters.add(UUID.randomUUID().toString());
+            parameters.add(artifactEntry.getStorageId());
+            parameters.add(artifactEntry.getRepositoryId());
+            parameters.add(filename);
+            parameters.add(toFileName(filename));
+            parameters.add(toClassName(filename));
+            parameters.add(artifactEntryId);
+            result++;
+        }
+
+        if (result > 0)
+        {
+            getDelegate().command(new OCommandSQL(insert.toString())).execute(parameters.toArray());
+        }
+
+        logger.debug("Indexed [{}] archive entries of [{}].", result, artifactEntry.getArtifactPath());
+
+        return result;
+    }
+
+    @Override
+    public int deleteByArtifactEntries(Collection<ArtifactEntry> artifactEntries)
+    {
+        List<ORecordId> artifactEntryIds = artifactEntries.stream()
+                                                          .map(GenericEntity::getObjectId)
+                                                          .filter(Objects::nonNull)
+                                                          .map(ORecordId::new)
+                                                          .collect(Collectors.toList());
+        if (artifactEntryIds.isEmpty())
+        {
+            return 0;
+        }
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("artifactEntries", artifactEntryIds);
+
+        return getDelegate().command(new OCommandSQL(String.format("DELETE FROM %s WHERE artifactEntry IN :artifactEntries",
+                                                                   CLASS_NAME)))
+                            .execute(parameterMap);
+    }
+
+    @Override
+    public List<ArtifactEntry> findArtifactsByClassName(String className)
+    {
+        return findArtifacts("className", className);
+    }
+
+    @Override
+    public List<ArtifactEntry> findArtifactsByFileName(String fileName)
+    {
+        return findArtifacts("fileName", fileName);
+    }
+
+    private List<ArtifactEntry> findArtifacts(String property,
+                                              String value)
+    {
+        String sQuery = String.format("SELECT expand(artifactEntry) FROM %s WHERE %s = :value", CLASS_NAME, property);
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("value", value);
+
+        List<ArtifactEntry> artifactEntries = getDelegate().command(new OSQLSynchQuery<ArtifactEntry>(sQuery))
+                                                           .execute(parameterMap);
+
+        // The same class may be in several places of a multi-release jar.
+        Map<String, ArtifactEntry> result = new LinkedHashMap<>();
+        artifactEntries.stream()
+                       .filter(Objects::nonNull)
+                       .forEach(e -> result.putIfAbsent(e.getObjectId(), e));
+
+        return new ArrayList<>(result.values());
+    }
+
+    static String toFileName(String name)
+    {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    static String toClassName(String name)
+    {
+        if (!name.endsWith(CLASS_SUFFIX))
+        {
+            return null;
+        }
+
+        String className = CLASS_PREFIX.matcher(name).replaceFirst("");
+        if (className.startsWith("/"))
+        {
+            className = className.substring(1);
+        }
+
+        return className.substring(0, className.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    @Override
+    public Class<ArtifactArchiveEntry> getEntityClass()
+    {
+        return ArtifactArchiveEntry.class;
+    }
+
+}
@@ -1,13 +1,18 @@
 package org.carlspring.strongbox.services.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.carlspring.strongbox.artifact.coordinates.AbstractArtifactCoordinates;
+import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.data.service.CommonCrudService;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Component;
 
 import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 
@@ -23,13 +28,37 @@ public class ArtifactCoordinatesService extends CommonCrudService<AbstractArtifa
             return true;
         }
 
+        ORID objectId = findObjectId(entity.toPath());
+        if (objectId == null)
+        {
+            return false;
+        }
+
+        entity.setObjectId(objectId.toString());
+
+        return true;
+    }
+
+    /**
+     * Finds the identity of the coordinates with the given path. The identities of the stored coordinates are cached,
+     * the coordinates created within the current transaction are not, as they only get their identity on commit.
+     */
+    public ORID findObjectId(String path)
+    {
+        Cache cache = getEntityCache();
+        String cachedObjectId = cache.get(path, String.class);
+        if (cachedObjectId != null)
+        {
+            return new ORecordId(cachedObjectId);
+        }
+
         String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key = :path");
 
         OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
         oQuery.setLimit(1);
 
         HashMap<String, Object> params = new HashMap<>();
-        params.put("path", entity.toPath());
+        params.put("path", path);
 
         ORID objectId = ((List<ODocument>) getDelegate().command(oQuery)
                                                         .execute(params)).stream()
@@ -37,14 +66,36 @@ public class ArtifactCoordinatesService extends CommonCrudService<AbstractArtifa
                                                                          .map(d -> ((ODocument) d.field("rid")).getIdentity())
                                                                          .findFirst()
                                                                          .orElse(null);
-        if (objectId == null)
+        if (objectId != null && objectId.isPersistent())
         {
-            return false;
+            cache.put(path, objectId.toString());
         }
 
-        entity.setObjectId(objectId.toString());
+        return objectId;
+    }
 
-        return true;
+    /**
+     * Finds the identities of the stored coordinates with the given paths in a single index lookup.
+     */
+    public List<ORID> findObjectIds(Collection<String> paths)
+    {
+        String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key IN :paths");
+
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("paths", paths);
+
+        return ((List<ODocument>) getDelegate().command(oQuery)
+                                               .execute(params)).stream()
+                                                                .map(d -> ((ODocument) d.field("rid")).getIdentity())
+                                                                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void onEntitySaved(AbstractArtifactCoordinates entity)
+    {
+        // The cache holds the identities, which don't change when the coordinates are updated.
     }
 
     @Override
@@ -53,4 +104,16 @@ public class ArtifactCoordinatesService extends CommonCrudService<AbstractArtifa
         return AbstractArtifactCoordinates.class;
     }
 
+    @Override
+    protected String getEntityCacheName()
+    {
+        return CacheName.Artifact.ARTIFACT_COORDINATES;
+    }
+
+    @Override
+    protected Object getEntityCacheKey(AbstractArtifactCoordinates entity)
+    {
+        return entity.toPath();
+    }
+
 }
@@ -2,12 +2,15 @@ package org.carlspring.strongbox.services.impl;
 
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.services.ArtifactArchiveEntryService;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 
+import javax.inject.Inject;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -20,6 +23,7 @@ import org.apache.commons.lang3.time.DateUtils;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +39,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    @Inject
+    private ArtifactCoordinatesService artifactCoordinatesService;
+
+    @Inject
+    private ArtifactArchiveEntryService artifactArchiveEntryService;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -135,6 +145,24 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                 criteriaQueryClasuse.append(" lastUsed < :lastUsed ");
                 parameterMap.put("lastUsed", lastUsed);
             }
+            if (searchCriteria.getStorageId() != null)
+            {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
+                criteriaQueryClasuse.append(" storageId = :storageId ");
+                parameterMap.put("storageId", searchCriteria.getStorageId());
+            }
+            if (searchCriteria.getRepositoryId() != null)
+            {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
+                criteriaQueryClasuse.append(" repositoryId = :repositoryId ");
+                parameterMap.put("repositoryId", searchCriteria.getRepositoryId());
+            }
 
             sb.append(criteriaQueryClasuse);
         }
@@ -148,6 +176,30 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return getDelegate().command(oQuery).execute(parameterMap);
     }
 
+    @Override
+    public long calculateSizeInBytes(String storageId,
+                                     String repositoryId)
+    {
+        String sQuery = String.format("SELECT sum(sizeInBytes) AS size FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId",
+                                      getEntityClass().getSimpleName());
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+
+        List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
+        if (result.isEmpty())
+        {
+            return 0L;
+        }
+
+        Number size = result.iterator().next().field("size");
+
+        return size == null ? 0L : size.longValue();
+    }
+
     @Override
     public List<ArtifactEntry> findArtifactList(String storageId,
                                                 String repositoryId,
@@ -365,11 +417,59 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                          String repositoryId,
                                          String path)
     {
+        Cache cache = getEntityCache();
+        String key = toEntityCacheKey(storageId, repositoryId, path);
+
+        ArtifactEntry result = cache.get(key, ArtifactEntry.class);
+        if (result != null)
+        {
+            return result;
+        }
+
         ORID artifactEntryId = findArtifactEntryId(storageId, repositoryId, path);
-        return Optional.ofNullable(artifactEntryId)
-                       .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
-                       .map(e -> detach(e))
-                       .orElse(null);
+        result = Optional.ofNullable(artifactEntryId)
+                         .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
+                         .map(e -> detach(e))
+                         .orElse(null);
+
+        // The entries created within the current transaction only get their identity on commit.
+        if (result != null && artifactEntryId.isPersistent())
+        {
+            cache.put(key, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<ArtifactEntry> findArtifacts(String storageId,
+                                             String repositoryId,
+                                             Collection<String> paths)
+    {
+        if (paths.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        List<ORID> artifactCoordinatesIds = artifactCoordinatesService.findObjectIds(paths);
+        if (artifactCoordinatesIds.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        String sQuery = String.format("SELECT FROM %s WHERE storageId = :storageId AND repositoryId = :repositoryId " +
+                                      "AND artifactCoordinates IN :artifactCoordinatesIds",
+                                      getEntityClass().getSimpleName());
+        OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+        parameterMap.put("artifactCoordinatesIds", artifactCoordinatesIds);
+
+        List<ArtifactEntry> entries = getDelegate().command(oQuery).execute(parameterMap);
+
+        return entries.stream().map(e -> detach(e)).collect(Collectors.toList());
     }
 
     @Override
@@ -381,9 +481,22 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     @Override
     public void delete(ArtifactEntry entity)
     {
+        artifactArchiveEntryService.deleteByArtifactEntries(Collections.singletonList(entity));
+
         super.delete(entity);
     }
 
+    @Override
+    public int delete(List<ArtifactEntry> entityList)
+    {
+        if (entityList != null)
+        {
+            artifactArchiveEntryService.deleteByArtifactEntries(entityList);
+        }
+
+        return super.delete(entityList);
+    }
+
     @Override
     public void deleteAll()
     {
@@ -394,35 +507,24 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                      String repositoryId,
                                      String path)
     {
-        String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key = :path");
-
-        HashMap<String, Object> params = new HashMap<>();
-        params.put("path", path);
-
-        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
-        oQuery.setLimit(1);
-
-        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
-        ODocument result = resultList.isEmpty() ? null : resultList.iterator().next();
-
-        ORID artifactCoordinatesId = result == null ? null : ((ODocument) result.field("rid")).getIdentity();
+        ORID artifactCoordinatesId = artifactCoordinatesService.findObjectId(path);
         if (artifactCoordinatesId == null)
         {
             return null;
         }
 
-        sQuery = String.format("SELECT FROM INDEX:idx_artifact WHERE key = [:storageId, :repositoryId, :artifactCoordinatesId]");
+        String sQuery = String.format("SELECT FROM INDEX:idx_artifact WHERE key = [:storageId, :repositoryId, :artifactCoordinatesId]");
 
-        oQuery = new OSQLSynchQuery<>(sQuery);
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
         oQuery.setLimit(1);
 
-        params = new HashMap<>();
+        HashMap<String, Object> params = new HashMap<>();
         params.put("storageId", storageId);
         params.put("repositoryId", repositoryId);
         params.put("artifactCoordinatesId", artifactCoordinatesId);
 
-        resultList = getDelegate().command(oQuery).execute(params);
-        result = resultList.isEmpty() ? null : resultList.iterator().next();
+        List<ODocument> resultList = getDelegate().command(oQuery).execute(params);
+        ODocument result = resultList.isEmpty() ? null : resultList.iterator().next();
 
         return result == null ? null : ((ODocument) result.field("rid")).getIdentity();
     }
@@ -433,6 +535,30 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return ArtifactEntry.class;
     }
 
+    @Override
+    protected String getEntityCacheName()
+    {
+        return CacheName.Artifact.ARTIFACT_ENTRIES;
+    }
+
+    @Override
+    protected Object getEntityCacheKey(ArtifactEntry entity)
+    {
+        if (entity.getArtifactCoordinates() == null)
+        {
+            return null;
+        }
+
+        return toEntityCacheKey(entity.getStorageId(), entity.getRepositoryId(), entity.getArtifactPath());
+    }
+
+    private static String toEntityCacheKey(String storageId,
+                                           String repositoryId,
+                                           String path)
+    {
+        return String.format("%s/%s/%s", storageId, repositoryId, path);
+    }
+
     @Override
     protected ArtifactEntry detach(ArtifactEntry entity)
     {
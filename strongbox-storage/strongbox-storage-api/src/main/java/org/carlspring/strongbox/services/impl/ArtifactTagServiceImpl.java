@@ -46,4 +46,16 @@ public class ArtifactTagServiceImpl extends CommonCrudService<ArtifactTagEntry>
         return ArtifactTagEntry.class;
     }
 
+    @Override
+    protected String getEntityCacheName()
+    {
+        return CacheName.Artifact.TAGS;
+    }
+
+    @Override
+    protected Object getEntityCacheKey(ArtifactTagEntry entity)
+    {
+        return entity.getName();
+    }
+
 }
@@ -1,7 +1,5 @@
 package org.carlspring.strongbox.services.impl;
 
-import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
-import org.carlspring.strongbox.artifact.locator.handlers.ArtifactLocationGenerateChecksumOperation;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -10,6 +8,8 @@ import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.services.ChecksumService;
 import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerationEngine;
+import org.carlspring.strongbox.storage.checksum.ChecksumRegenerationProgress;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
@@ -38,12 +38,26 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ChecksumRegenerationEngine checksumRegenerationEngine;
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
                                    String basePath,
                                    boolean forceRegeneration)
         throws IOException
+    {
+        regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration, false);
+    }
+
+    @Override
+    public void regenerateChecksum(String storageId,
+                                   String repositoryId,
+                                   String basePath,
+                                   boolean forceRegeneration,
+                                   boolean skipUnchanged)
+        throws IOException
     {
         Storage storage = getConfiguration().getStorage(storageId);
         Repository repository = storage.getRepository(repositoryId);
@@ -60,14 +74,15 @@ public class ChecksumServiceImpl
         RepositoryPath repositoryBasePath = Optional.ofNullable(basePath)
                                                     .map(p -> repositoryPathResolver.resolve(repository, basePath))
                                                     .orElseGet(() -> repositoryPathResolver.resolve(repository));
-        
-        ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
-        operation.setBasePath(repositoryBasePath);
-        operation.setForceRegeneration(forceRegeneration);
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
-        locator.locateArtifactDirectories();
+        checksumRegenerationEngine.regenerate(repositoryBasePath, forceRegeneration, skipUnchanged);
+    }
+
+    @Override
+    public Optional<ChecksumRegenerationProgress> getRegenerationProgress(String storageId,
+                                                                          String repositoryId)
+    {
+        return checksumRegenerationEngine.getProgress(storageId, repositoryId);
     }
 
     public Configuration getConfiguration()
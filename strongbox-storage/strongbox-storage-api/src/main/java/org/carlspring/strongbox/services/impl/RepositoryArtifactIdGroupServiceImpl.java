@@ -10,10 +10,13 @@ import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 
 import javax.inject.Inject;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -52,15 +55,20 @@ public class RepositoryArtifactIdGroupServiceImpl
         artifactEntry.getTagSet().add(lastVersionTag);
         artifactGroup.putArtifactEntry(artifactEntry);
 
+        Set<ArtifactEntry> updatedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        updatedEntries.add(artifactEntry);
+
         artifactGroup.getArtifactEntries()
                      .stream()
                      .filter(e -> e.getTagSet().contains(lastVersionTag))
                      .sorted((e1,
                               e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
-                     .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag));
-
+                     .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag)
+                                           .ifPresent(updatedEntries::add));
 
-        save(artifactGroup);
+        // Only the entry and the ones which lost the tag are saved, and so evicted, the rest of the group is left as
+        // it is.
+        cascadeEntitySave(artifactGroup, e -> updatedEntries.contains(e) ? tryToCascadeEntitySave(e) : e);
     }
 
     private <S extends ArtifactEntry> Optional<S> checkAndUpdateLastVersionTagIfNeeded(S lastVersionEntry,
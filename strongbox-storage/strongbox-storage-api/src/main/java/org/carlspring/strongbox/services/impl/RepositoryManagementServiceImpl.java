@@ -23,6 +23,8 @@ import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.repository.RepositoryManagementStrategyException;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.services.TrashPurgeService;
+import org.carlspring.strongbox.services.support.TrashPurgeTask;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -59,6 +61,9 @@ public class RepositoryManagementServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private TrashPurgeService trashPurgeService;
+
 
     @Override
     public void createRepository(String storageId,
@@ -113,25 +118,11 @@ public class RepositoryManagementServiceImpl
     public void deleteTrash(String storageId, String repositoryId)
             throws IOException
     {
-        artifactOperationsValidator.checkStorageExists(storageId);
-        artifactOperationsValidator.checkRepositoryExists(storageId, repositoryId);
+        TrashPurgeTask task = trashPurgeService.purge(storageId, repositoryId);
 
         try
         {
-            final Storage storage = getStorage(storageId);
-            final Repository repository = storage.getRepository(repositoryId);
-
-            artifactOperationsValidator.checkAllowsDeletion(repository);
-
-            
-            RootRepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
-            RepositoryFiles.deleteTrash(repositoryPath);
-
-            RepositoryEvent event = new RepositoryEvent(storageId,
-                                                        repositoryId,
-                                                        RepositoryEventTypeEnum.EVENT_REPOSITORY_EMTPY_TRASH.getType());
-
-            repositoryEventListenerRegistry.dispatchEvent(event);
+            task.await();
         }
         catch (IOException e)
         {
@@ -145,24 +136,9 @@ public class RepositoryManagementServiceImpl
     {
         try
         {
-            for (Map.Entry<String, Storage> entry : getConfiguration().getStorages().entrySet())
+            for (TrashPurgeTask task : trashPurgeService.purgeAll())
             {
-                Storage storage = entry.getValue();
-
-                final Map<String, ? extends Repository> repositories = storage.getRepositories();
-                for (Repository repository : repositories.values())
-                {
-                    if (repository.allowsDeletion())
-                    {
-                        logger.debug("Emptying trash for repository {}...", repository.getId());
-
-                        deleteTrash(repository.getStorage().getId(), repository.getId());;
-                    }
-                    else
-                    {
-                        logger.warn("Repository {} does not support removal of trash.", repository.getId());
-                    }
-                }
+                task.await();
             }
 
             int type = RepositoryEventTypeEnum.EVENT_REPOSITORY_EMTPY_TRASH_FOR_ALL_REPOSITORIES.getType();
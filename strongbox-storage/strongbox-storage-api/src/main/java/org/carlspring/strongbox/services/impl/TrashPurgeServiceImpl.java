@@ -0,0 +1,393 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RootRepositoryPath;
+import org.carlspring.strongbox.services.TrashPurgeService;
+import org.carlspring.strongbox.services.support.TrashPurgeTask;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.validation.resource.ArtifactOperationsValidator;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purges the trash of the repositories one at a time, on a background thread, which hands the files over to a pool of
+ * {@code strongbox.trash.purge.workers} threads to delete them. All the deletions share a budget of
+ * {@code strongbox.trash.purge.deletesPerSecond} operations.
+ * <p>
+ * The files are deleted first, in parallel, then the directories, from the deepest ones. Whatever remains is then
+ * removed like before, with {@link RepositoryFiles#deleteTrash(org.carlspring.strongbox.providers.io.RepositoryPath)},
+ * which also recreates the trash directory.
+ */
+@Component("trashPurgeService")
+public class TrashPurgeServiceImpl
+        implements TrashPurgeService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(TrashPurgeServiceImpl.class);
+
+    private static final int MAX_COMPLETED_TASKS = 100;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactOperationsValidator artifactOperationsValidator;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
+
+    @Value("${strongbox.trash.purge.workers:4}")
+    private int workers;
+
+    @Value("${strongbox.trash.purge.deletesPerSecond:1000}")
+    private double deletesPerSecond;
+
+    /**
+     * The scheduled and the running tasks, per repository.
+     */
+    private final Map<String, TrashPurgeTask> activeTasks = new LinkedHashMap<>();
+
+    private final Deque<TrashPurgeTask> completedTasks = new LinkedList<>();
+
+    private ExecutorService coordinator;
+
+    private ExecutorService workerPool;
+
+    private RateLimiter rateLimiter;
+
+    @PostConstruct
+    public void init()
+    {
+        coordinator = Executors.newSingleThreadExecutor(daemonThreadFactory("trash-purge"));
+        workerPool = Executors.newFixedThreadPool(workers, daemonThreadFactory("trash-purge-worker-"));
+        rateLimiter = RateLimiter.create(deletesPerSecond);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        coordinator.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public TrashPurgeTask purge(String storageId,
+                                String repositoryId)
+            throws IOException
+    {
+        artifactOperationsValidator.checkStorageExists(storageId);
+        artifactOperationsValidator.checkRepositoryExists(storageId, repositoryId);
+
+        Repository repository = configurationManager.getRepository(storageId, repositoryId);
+        artifactOperationsValidator.checkAllowsDeletion(repository);
+
+        String key = storageId + ":" + repositoryId;
+
+        TrashPurgeTask task;
+        synchronized (activeTasks)
+        {
+            task = activeTasks.get(key);
+            if (task != null)
+            {
+                return task;
+            }
+
+            task = new TrashPurgeTask(storageId, repositoryId);
+            activeTasks.put(key, task);
+        }
+
+        logger.debug("Scheduled the purge of the trash of [{}] as [{}].", key, task.getId());
+
+        TrashPurgeTask scheduledTask = task;
+        coordinator.execute(() -> run(key, repository, scheduledTask));
+
+        return task;
+    }
+
+    @Override
+    public List<TrashPurgeTask> purgeAll()
+            throws IOException
+    {
+        List<TrashPurgeTask> tasks = new ArrayList<>();
+        for (Storage storage : configurationManager.getConfiguration().getStorages().values())
+        {
+            for (Repository repository : storage.getRepositories().values())
+            {
+                if (repository.allowsDeletion())
+                {
+                    tasks.add(purge(storage.getId(), repository.getId()));
+                }
+                else
+                {
+                    logger.warn("Repository {} does not support removal of trash.", repository.getId());
+                }
+            }
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public TrashPurgeTask getTask(String taskId)
+    {
+        return getTasks().stream().filter(t -> t.getId().equals(taskId)).findFirst().orElse(null);
+    }
+
+    @Override
+    public List<TrashPurgeTask> getTasks()
+    {
+        List<TrashPurgeTask> tasks;
+        synchronized (activeTasks)
+        {
+            tasks = new ArrayList<>(activeTasks.values());
+            tasks.addAll(completedTasks);
+        }
+
+        return tasks;
+    }
+
+    private void run(String key,
+                     Repository repository,
+                     TrashPurgeTask task)
+    {
+        task.start();
+
+        try
+        {
+            if (repository.isTrashEnabled())
+            {
+                RootRepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
+                Path trashPath = repositoryPath.getFileSystem().getTrashPath().getTarget();
+
+                if (Files.exists(trashPath))
+                {
+                    deleteContent(trashPath, task);
+                }
+
+                RepositoryFiles.deleteTrash(repositoryPath);
+            }
+
+            RepositoryEvent event = new RepositoryEvent(task.getStorageId(),
+                                                        task.getRepositoryId(),
+                                                        RepositoryEventTypeEnum.EVENT_REPOSITORY_EMTPY_TRASH.getType());
+
+            repositoryEventListenerRegistry.dispatchEvent(event);
+
+            logger.debug("Purged the trash of [{}]: [{}] files ([{}] bytes) and [{}] directories deleted.",
+                         key,
+                         task.getDeletedFiles(),
+                         task.getDeletedBytes(),
+                         task.getDeletedDirectories());
+
+            complete(key, task, null);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.error("Failed to purge the trash of [{}].", key, e);
+
+            complete(key, task, e);
+        }
+    }
+
+    private void complete(String key,
+                          TrashPurgeTask task,
+                          Exception e)
+    {
+        synchronized (activeTasks)
+        {
+            activeTasks.remove(key);
+
+            completedTasks.addFirst(task);
+            while (completedTasks.size() > MAX_COMPLETED_TASKS)
+            {
+                completedTasks.removeLast();
+            }
+        }
+
+        if (e == null)
+        {
+            task.complete();
+        }
+        else
+        {
+            task.fail(e);
+        }
+    }
+
+    /**
+     * Deletes the files in parallel and then the directories, keeping the trash directory itself.
+     */
+    private void deleteContent(Path trashPath,
+                               TrashPurgeTask task)
+            throws IOException
+    {
+        // Bounds the files waiting for a worker, so that a huge trash isn't loaded in memory at once.
+        Semaphore pending = new Semaphore(workers * 64);
+        Phaser inFlight = new Phaser(1);
+        List<Path> directories = new ArrayList<>();
+
+        try
+        {
+            Files.walkFileTree(trashPath, new SimpleFileVisitor<Path>()
+            {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir,
+                                                         BasicFileAttributes attrs)
+                {
+                    if (!dir.equals(trashPath))
+                    {
+                        directories.add(dir);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file,
+                                                 BasicFileAttributes attrs)
+                        throws IOException
+                {
+                    acquire(pending);
+                    inFlight.register();
+
+                    workerPool.execute(() -> {
+                        try
+                        {
+                            delete(file, attrs.size(), task);
+                        }
+                        finally
+                        {
+                            pending.release();
+                            inFlight.arriveAndDeregister();
+                        }
+                    });
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file,
+                                                       IOException e)
+                {
+                    // Deleted meanwhile, most probably by a previous run.
+                    if (!(e instanceof NoSuchFileException))
+                    {
+                        logger.warn("Failed to visit [{}].", file, e);
+                        task.failed();
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+            });
+        }
+        finally
+        {
+            inFlight.arriveAndAwaitAdvance();
+        }
+
+        // The walk is a pre-order, so walking it in reverse visits the children before their parents.
+        for (int i = directories.size() - 1; i >= 0; i--)
+        {
+            rateLimiter.acquire();
+
+            try
+            {
+                if (Files.deleteIfExists(directories.get(i)))
+                {
+                    task.directoryDeleted();
+                }
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to delete [{}].", directories.get(i), e);
+                task.failed();
+            }
+        }
+    }
+
+    private void delete(Path file,
+                        long size,
+                        TrashPurgeTask task)
+    {
+        rateLimiter.acquire();
+
+        try
+        {
+            if (Files.deleteIfExists(file))
+            {
+                task.fileDeleted(size);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to delete [{}].", file, e);
+            task.failed();
+        }
+    }
+
+    private static void acquire(Semaphore semaphore)
+            throws IOException
+    {
+        try
+        {
+            semaphore.acquire();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException("Interrupted while purging the trash.", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name)
+    {
+        AtomicInteger counter = new AtomicInteger();
+
+        return r -> {
+            Thread thread = new Thread(r, name.endsWith("-") ? name + counter.incrementAndGet() : name);
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+}
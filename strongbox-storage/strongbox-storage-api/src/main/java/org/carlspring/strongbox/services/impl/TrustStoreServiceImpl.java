@@ -45,8 +45,9 @@ public class TrustStoreServiceImpl
         trustStore = getTrustStoreResource();
     }
 
+    // The trust store is read, updated and written back, and the repositories are initialized in parallel.
     @Override
-    public void addSslCertificatesToTrustStore(String host)
+    public synchronized void addSslCertificatesToTrustStore(String host)
             throws IOException, TrustStoreCertificateOperationException
     {
         final URL url = new URL(host);
@@ -10,9 +10,13 @@ public class ArtifactEntrySearchCriteria
 
     private Long minSizeInBytes;
 
+    private String storageId;
+
+    private String repositoryId;
+
     public boolean isEmpty()
     {
-        return lastAccessedTimeInDays == null && minSizeInBytes == null;
+        return lastAccessedTimeInDays == null && minSizeInBytes == null && storageId == null && repositoryId == null;
     }
 
     public Integer getLastAccessedTimeInDays()
@@ -25,11 +29,23 @@ public class ArtifactEntrySearchCriteria
         return minSizeInBytes;
     }
 
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
     public static final class Builder
     {
 
         private Integer lastAccessedTimeInDays;
         private Long minSizeInBytes;
+        private String storageId;
+        private String repositoryId;
 
         private Builder()
         {
@@ -52,11 +68,25 @@ public class ArtifactEntrySearchCriteria
             return this;
         }
 
+        public Builder withStorageId(String storageId)
+        {
+            this.storageId = storageId;
+            return this;
+        }
+
+        public Builder withRepositoryId(String repositoryId)
+        {
+            this.repositoryId = repositoryId;
+            return this;
+        }
+
         public ArtifactEntrySearchCriteria build()
         {
             ArtifactEntrySearchCriteria artifactEntrySearchCriteria = new ArtifactEntrySearchCriteria();
             artifactEntrySearchCriteria.lastAccessedTimeInDays = this.lastAccessedTimeInDays;
             artifactEntrySearchCriteria.minSizeInBytes = this.minSizeInBytes;
+            artifactEntrySearchCriteria.storageId = this.storageId;
+            artifactEntrySearchCriteria.repositoryId = this.repositoryId;
             return artifactEntrySearchCriteria;
         }
     }
@@ -7,17 +7,33 @@ import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.services.ArtifactArchiveEntryService;
 import org.carlspring.strongbox.storage.repository.Repository;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
+ * Lists the archive of the stored artifacts once they're committed, and keeps the listing in both the
+ * {@link ArtifactEntry#getArtifactArchiveListing()} and the indexed {@link ArtifactArchiveEntryService}.
+ * <p>
+ * The archives are read by {@code strongbox.archive.listing.workers} threads of their own, so that a bulk deployment
+ * doesn't keep the shared event threads busy reading jars. Up to {@code strongbox.archive.listing.queueCapacity}
+ * archives wait for them, the ones beyond are read on the event thread, which holds back the deployment.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -30,11 +46,55 @@ public class ArtifactStoredEventListener
     @Inject
     private LayoutProviderRegistry layoutProviderRegistry;
 
+    @Inject
+    private ArtifactArchiveEntryService artifactArchiveEntryService;
+
+    @Value("${strongbox.archive.listing.workers:2}")
+    private int workers;
+
+    @Value("${strongbox.archive.listing.queueCapacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
     public ArtifactStoredEventListener()
     {
         super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED);
     }
 
+    @PostConstruct
+    public void init()
+    {
+        int threads = Math.max(1, workers);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          0L,
+                                          TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(queueCapacity),
+                                          r -> {
+                                              Thread thread = new Thread(r, "archive-listing-" +
+                                                                            threadNumber.incrementAndGet());
+                                              thread.setDaemon(true);
+
+                                              return thread;
+                                          },
+                                          new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected Executor getExecutor()
+    {
+        return executor;
+    }
+
     @Override
     protected ArtifactEntry handleEvent(RepositoryPath repositoryPath)
             throws IOException
@@ -58,6 +118,8 @@ public class ArtifactStoredEventListener
             return null;
         }
 
+        artifactArchiveEntryService.index(artifactEntry, archiveFilenames);
+
         ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
         if (artifactArchiveListing == null)
         {
@@ -0,0 +1,202 @@
+package org.carlspring.strongbox.services.support;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * The progress of the purge of the trash of a repository. It's only kept in memory, while the purge runs and then among
+ * the recently completed ones.
+ */
+public class TrashPurgeTask
+{
+
+    public enum State
+    {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+
+    private final String storageId;
+
+    private final String repositoryId;
+
+    private final Date createdOn = new Date();
+
+    private final AtomicLong deletedFiles = new AtomicLong();
+
+    private final AtomicLong deletedBytes = new AtomicLong();
+
+    private final AtomicLong deletedDirectories = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile State state = State.QUEUED;
+
+    private volatile Date startedOn;
+
+    private volatile Date completedOn;
+
+    private volatile String error;
+
+    public TrashPurgeTask(String storageId,
+                          String repositoryId)
+    {
+        this.storageId = storageId;
+        this.repositoryId = repositoryId;
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public String getStorageId()
+    {
+        return storageId;
+    }
+
+    public String getRepositoryId()
+    {
+        return repositoryId;
+    }
+
+    public State getState()
+    {
+        return state;
+    }
+
+    public Date getCreatedOn()
+    {
+        return createdOn;
+    }
+
+    public Date getStartedOn()
+    {
+        return startedOn;
+    }
+
+    public Date getCompletedOn()
+    {
+        return completedOn;
+    }
+
+    public long getDeletedFiles()
+    {
+        return deletedFiles.get();
+    }
+
+    public long getDeletedBytes()
+    {
+        return deletedBytes.get();
+    }
+
+    public long getDeletedDirectories()
+    {
+        return deletedDirectories.get();
+    }
+
+    /**
+     * @return the number of files and directories which couldn't be deleted
+     */
+    public long getFailures()
+    {
+        return failures.get();
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isDone()
+    {
+        return completion.isDone();
+    }
+
+    /**
+     * Waits for the purge to complete.
+     *
+     * @throws IOException if the purge has failed
+     */
+    public void await()
+            throws IOException
+    {
+        try
+        {
+            completion.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for the trash purge [%s].", id));
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    public void fileDeleted(long size)
+    {
+        deletedFiles.incrementAndGet();
+        deletedBytes.addAndGet(size);
+    }
+
+    public void directoryDeleted()
+    {
+        deletedDirectories.incrementAndGet();
+    }
+
+    public void failed()
+    {
+        failures.incrementAndGet();
+    }
+
+    public void start()
+    {
+        startedOn = new Date();
+        state = State.RUNNING;
+    }
+
+    public void complete()
+    {
+        completedOn = new Date();
+        state = State.COMPLETED;
+        completion.complete(null);
+    }
+
+    public void fail(Exception e)
+    {
+        completedOn = new Date();
+        error = e.getMessage();
+        state = State.FAILED;
+        completion.completeExceptionally(e);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[%s:%s][%s]", id, storageId, repositoryId, state);
+    }
+
+}
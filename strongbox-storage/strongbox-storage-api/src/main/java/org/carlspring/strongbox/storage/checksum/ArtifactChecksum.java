@@ -1,8 +1,9 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
+import java.time.Clock;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -14,13 +15,15 @@ public class ArtifactChecksum
     /**
      * Key: Algorithm Value: Checksum
      */
-    private Map<String, String> checksums = new LinkedHashMap<>();
+    private Map<String, String> checksums = new ConcurrentHashMap<>();
 
     /**
      * The last time this checksum object was accessed in any way. Used to determine when to remove entries from the
      * cache manager.
      */
-    private long lastAccessed;
+    private volatile long lastAccessed;
+
+    private final Clock clock;
 
     private AtomicInteger numberOfChecksums = new AtomicInteger(0);
 
@@ -28,10 +31,16 @@ public class ArtifactChecksum
 
     public ArtifactChecksum()
     {
+        this(Clock.systemUTC());
+    }
+
+    public ArtifactChecksum(Clock clock)
+    {
+        this.clock = clock;
         updateLastAccessedTime();
     }
 
-    public synchronized void addChecksum(String algorithm,
+    public void addChecksum(String algorithm,
                                          String checksum)
     {
         checksums.put(algorithm, checksum);
@@ -41,10 +50,10 @@ public class ArtifactChecksum
 
     private void updateLastAccessedTime()
     {
-        lastAccessed = System.currentTimeMillis();
+        lastAccessed = clock.millis();
     }
 
-    public synchronized Optional<String> removeChecksum(String algorithm)
+    public Optional<String> removeChecksum(String algorithm)
     {
         updateLastAccessedTime();
         return checksums.keySet()
@@ -62,12 +71,12 @@ public class ArtifactChecksum
         return checksums.get(algorithm);
     }
 
-    public synchronized void incrementNumberOfChecksums()
+    public void incrementNumberOfChecksums()
     {
         numberOfChecksums.incrementAndGet();
     }
 
-    public synchronized void incrementNumberOfValidatedChecksums()
+    public void incrementNumberOfValidatedChecksums()
     {
         numberOfValidatedChecksums.incrementAndGet();
     }
@@ -92,6 +101,20 @@ public class ArtifactChecksum
         this.lastAccessed = lastAccessed;
     }
 
+    /**
+     * @return the approximate number of bytes used by the checksums
+     */
+    public long getEstimatedSize()
+    {
+        long result = 0;
+        for (Map.Entry<String, String> entry : checksums.entrySet())
+        {
+            result += 2L * (entry.getKey().length() + entry.getValue().length());
+        }
+
+        return result;
+    }
+
     @Override
     public String toString()
     {
@@ -1,11 +1,24 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,19 +38,36 @@ import org.slf4j.LoggerFactory;
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
  * this, then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The checksums are kept in a {@link ConcurrentHashMap}, so that parallel uploads only contend when they're for the
+ * same artifact. Instead of scanning all of them, the expiration is driven by a timing wheel: each artifact path is
+ * placed in the slot of the tick it expires at, and on each tick only the paths of that slot are checked (the ones
+ * which have been accessed meanwhile are placed in a later slot). The cache holds at most {@code maxSize} artifacts,
+ * the ones closest to their expiration being dropped first.
+ * <p>
+ * With a {@link HazelcastInstance}, the checksums are also shared through the cluster, as the checksum of an
+ * artifact may be uploaded to a different node than the artifact itself. The node which has cached the checksums of
+ * an artifact also removes them from the cluster when they expire, or get evicted.
  *
  * @author mtodorov
  */
 public class ChecksumCacheManager
 {
 
+    /**
+     * A rough estimate of the memory used for each cached artifact, besides its path and its checksums.
+     */
+    static final long ENTRY_OVERHEAD = 128;
+
     private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
 
     /**
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ArtifactChecksum> cachedChecksums = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryUsage = new AtomicLong();
 
     /**
      * Specifies how long to keep the cached checksums.
@@ -52,14 +82,37 @@ public class ChecksumCacheManager
      */
     private long cachedChecksumExpiredCheckInterval = 60000L;
 
+    /**
+     * Specifies how many artifacts to keep the checksums of.
+     */
+    private long maxSize = 100000;
+
+    private Clock clock = Clock.systemUTC();
+
+    private volatile Set<String>[] wheel = newWheel();
+
+    private volatile long lastTick = currentTick();
+
+    private ScheduledExecutorService monitor;
+
+    private IMap<String, HashMap<String, String>> clusteredChecksums;
+
 
     public ChecksumCacheManager()
     {
+        StrongboxMetrics.registry().gauge(StrongboxMetrics.CHECKSUM_CACHE_SIZE, this, ChecksumCacheManager::getSize);
+        StrongboxMetrics.registry().gauge(StrongboxMetrics.CHECKSUM_CACHE_BYTES, this, ChecksumCacheManager::getMemoryUsage);
+    }
+
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
+    {
+        clusteredChecksums = hazelcastInstance.getMap(CacheName.Artifact.ARTIFACT_CHECKSUMS);
     }
 
     public boolean containsArtifactPath(String artifactPath)
     {
-        final boolean containsChecksum = cachedChecksums.containsKey(artifactPath);
+        final boolean containsChecksum = cachedChecksums.containsKey(artifactPath) ||
+                                         (clusteredChecksums != null && clusteredChecksums.containsKey(artifactPath));
         if (containsChecksum)
         {
             logger.debug("Cache contains artifact path '{}'.", artifactPath);
@@ -71,12 +124,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -88,7 +141,19 @@ public class ChecksumCacheManager
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        ArtifactChecksum artifactChecksum = cachedChecksums.get(artifactBasePath);
+        if (artifactChecksum != null || clusteredChecksums == null)
+        {
+            return artifactChecksum;
+        }
+
+        // The artifact may have been uploaded to another node.
+        return Optional.ofNullable(clusteredChecksums.get(artifactBasePath)).map(checksums -> {
+            ArtifactChecksum result = new ArtifactChecksum(clock);
+            checksums.forEach(result::addChecksum);
+
+            return result;
+        }).orElse(null);
     }
 
     public boolean validateChecksum(String artifactPath,
@@ -98,30 +163,45 @@ public class ChecksumCacheManager
         return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '{}' [{}] for '{}' in cache.", checksum, algorithm, artifactBasePath);
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        boolean[] added = new boolean[1];
+        cachedChecksums.compute(artifactBasePath, (k, artifactChecksum) -> {
+            if (artifactChecksum == null)
+            {
+                artifactChecksum = new ArtifactChecksum(clock);
+                memoryUsage.addAndGet(ENTRY_OVERHEAD + 2L * k.length());
+                added[0] = true;
+            }
+
+            long size = artifactChecksum.getEstimatedSize();
             artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
+            memoryUsage.addAndGet(artifactChecksum.getEstimatedSize() - size);
+
+            return artifactChecksum;
+        });
+
+        if (clusteredChecksums != null)
         {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+            clusteredChecksums.executeOnKey(artifactBasePath, new ChecksumEntryProcessor(algorithm, checksum));
+        }
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
+        if (added[0])
+        {
+            scheduleExpiration(artifactBasePath, clock.millis());
+            evictIfNeeded();
         }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
+            long size = ac.getEstimatedSize();
             logger.debug(ac.removeChecksum(algorithm)
                            .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                    artifactBasePath,
@@ -129,40 +209,164 @@ public class ChecksumCacheManager
                            .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
                                                           algorithm,
                                                           artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+            memoryUsage.addAndGet(ac.getEstimatedSize() - size);
+
+            if (!ac.getChecksums().isEmpty())
+            {
+                return ac;
+            }
+
+            memoryUsage.addAndGet(-(ENTRY_OVERHEAD + 2L * k.length()));
+
+            return null;
+        });
+
+        if (clusteredChecksums != null)
+        {
+            clusteredChecksums.executeOnKey(artifactBasePath, new ChecksumEntryProcessor(algorithm, null));
+        }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
+        Optional.ofNullable(removeLocal(artifactBasePath, false))
                 .ifPresent(ac -> logger.debug("Removed [{}] artifact checksum value [{}] from cache.",
                                               artifactBasePath, ac));
+
+        removeClustered(artifactBasePath);
     }
 
-    public synchronized void removeExpiredChecksums()
+    /**
+     * Removes the checksums of the artifacts which are due on the ticks which have passed since the last call.
+     */
+    public void removeExpiredChecksums()
     {
-        for (String checksum : getExpiredChecksums())
+        Set<String>[] slots = wheel;
+        long tick = currentTick();
+
+        for (long t = lastTick + 1; t <= tick; t++)
         {
-            removeArtifactChecksum(checksum);
+            Iterator<String> iterator = slots[(int) (t % slots.length)].iterator();
+            while (iterator.hasNext())
+            {
+                String artifactBasePath = iterator.next();
+                iterator.remove();
+
+                if (removeLocal(artifactBasePath, true) != null)
+                {
+                    removeClustered(artifactBasePath);
+                    logger.debug("Removed expired [{}] artifact checksums from cache.", artifactBasePath);
+                }
+                else
+                {
+                    // Accessed since it's been placed in this slot.
+                    Optional.ofNullable(cachedChecksums.get(artifactBasePath))
+                            .ifPresent(ac -> scheduleExpiration(artifactBasePath, ac.getLastAccessed()));
+                }
+            }
+
+            lastTick = t;
         }
     }
 
-    private Set<String> getExpiredChecksums()
+    /**
+     * @param expiredOnly whether to only remove the checksums if they have expired
+     * @return the removed checksums, if any
+     */
+    private ArtifactChecksum removeLocal(String artifactBasePath,
+                                         boolean expiredOnly)
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+        ArtifactChecksum[] removed = new ArtifactChecksum[1];
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
+            if (expiredOnly && clock.millis() - ac.getLastAccessed() <= cachedChecksumLifetime)
+            {
+                return ac;
+            }
+
+            memoryUsage.addAndGet(-(ENTRY_OVERHEAD + 2L * k.length() + ac.getEstimatedSize()));
+            removed[0] = ac;
+
+            return null;
+        });
+
+        return removed[0];
+    }
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
+    private void removeClustered(String artifactBasePath)
+    {
+        if (clusteredChecksums != null)
         {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+            clusteredChecksums.delete(artifactBasePath);
+        }
+    }
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
+    private void scheduleExpiration(String artifactBasePath,
+                                    long lastAccessed)
+    {
+        Set<String>[] slots = wheel;
+        long tick = (lastAccessed + cachedChecksumLifetime) / cachedChecksumExpiredCheckInterval + 1;
+
+        slots[(int) (tick % slots.length)].add(artifactBasePath);
+    }
+
+    /**
+     * Drops the checksums of the artifacts which are the closest to their expiration, until there are no more than
+     * {@code maxSize} of them.
+     */
+    private void evictIfNeeded()
+    {
+        Set<String>[] slots = wheel;
+        for (int i = 1; i <= slots.length && cachedChecksums.size() > maxSize; i++)
+        {
+            Iterator<String> iterator = slots[(int) ((lastTick + i) % slots.length)].iterator();
+            while (iterator.hasNext() && cachedChecksums.size() > maxSize)
             {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
+                String artifactBasePath = iterator.next();
+                iterator.remove();
+
+                if (removeLocal(artifactBasePath, false) != null)
+                {
+                    removeClustered(artifactBasePath);
+                    logger.debug("Evicted [{}] artifact checksums from cache.", artifactBasePath);
+                }
             }
         }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String>[] newWheel()
+    {
+        // Enough slots for an artifact to never be placed a whole revolution ahead.
+        int size = (int) (cachedChecksumLifetime / cachedChecksumExpiredCheckInterval) + 2;
+
+        Set<String>[] result = new Set[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = ConcurrentHashMap.newKeySet();
+        }
 
-        return expiredChecksums;
+        return result;
+    }
+
+    private long currentTick()
+    {
+        return clock.millis() / cachedChecksumExpiredCheckInterval;
+    }
+
+    /**
+     * The intervals need to be set before the cache is used, as the timing wheel is rebuilt for them.
+     */
+    private void resetWheel()
+    {
+        wheel = newWheel();
+        lastTick = currentTick();
+        cachedChecksums.keySet().forEach(k -> scheduleExpiration(k, clock.millis()));
+    }
+
+    void setClock(Clock clock)
+    {
+        this.clock = clock;
+        resetWheel();
     }
 
     public long getCachedChecksumLifetime()
@@ -173,6 +377,7 @@ public class ChecksumCacheManager
     public void setCachedChecksumLifetime(long cachedChecksumLifetime)
     {
         this.cachedChecksumLifetime = cachedChecksumLifetime;
+        resetWheel();
     }
 
     public long getCachedChecksumExpiredCheckInterval()
@@ -183,6 +388,17 @@ public class ChecksumCacheManager
     public void setCachedChecksumExpiredCheckInterval(long cachedChecksumExpiredCheckInterval)
     {
         this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
+        resetWheel();
+    }
+
+    public long getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize)
+    {
+        this.maxSize = maxSize;
     }
 
     public long getSize()
@@ -190,37 +406,92 @@ public class ChecksumCacheManager
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
+    /**
+     * @return the approximate number of bytes used by the cached checksums on this node
+     */
+    public long getMemoryUsage()
     {
-        new CachedChecksumExpirer();
+        return memoryUsage.get();
     }
 
-    private class CachedChecksumExpirer
-            extends Thread
+    public synchronized void startMonitor()
     {
+        if (monitor != null)
+        {
+            return;
+        }
+
+        monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "checksum-cache-expirer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::removeExpiredChecksumsSafely,
+                                       cachedChecksumExpiredCheckInterval,
+                                       cachedChecksumExpiredCheckInterval,
+                                       TimeUnit.MILLISECONDS);
+    }
 
-        private CachedChecksumExpirer()
+    public synchronized void stopMonitor()
+    {
+        if (monitor != null)
         {
-            start();
+            monitor.shutdownNow();
+            monitor = null;
+        }
+    }
+
+    private void removeExpiredChecksumsSafely()
+    {
+        try
+        {
+            removeExpiredChecksums();
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to remove the expired checksums.", e);
+        }
+    }
+
+    /**
+     * Adds (or removes, without a checksum) the checksum of an algorithm to the checksums shared through the cluster,
+     * on the member which owns them.
+     */
+    private static class ChecksumEntryProcessor
+            extends AbstractEntryProcessor<String, HashMap<String, String>>
+    {
+
+        private final String algorithm;
+
+        private final String checksum;
+
+        private ChecksumEntryProcessor(String algorithm,
+                                       String checksum)
+        {
+            this.algorithm = algorithm;
+            this.checksum = checksum;
         }
 
         @Override
-        public void run()
+        public Object process(Map.Entry<String, HashMap<String, String>> entry)
         {
-            try
+            HashMap<String, String> checksums = Optional.ofNullable(entry.getValue()).orElseGet(HashMap::new);
+            if (checksum != null)
             {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
+                checksums.put(algorithm, checksum);
             }
-            catch (InterruptedException e)
+            else
             {
-                logger.error(e.getMessage(), e);
+                checksums.keySet().removeIf(k -> k.replace("-", "")
+                                                  .equalsIgnoreCase(algorithm.replace("-", "")));
             }
+
+            entry.setValue(checksums.isEmpty() ? null : checksums);
+
+            return null;
         }
+
     }
 
 }
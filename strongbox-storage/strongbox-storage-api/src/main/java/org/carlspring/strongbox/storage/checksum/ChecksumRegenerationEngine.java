@@ -0,0 +1,267 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryTreeWalker;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Regenerates checksum files for a repository tree.
+ * <p>
+ * The tree is walked in parallel by a {@link RepositoryTreeWalker} with
+ * {@code strongbox.checksum.regeneration.workers} threads. Every file is read exactly once through a direct buffer
+ * of {@code strongbox.checksum.regeneration.bufferSize} bytes and all the digest algorithms of the repository layout
+ * are updated from that same buffer.
+ * <p>
+ * Every file of the tree gets its checksums, whether or not its directory holds (or is below one which holds) a
+ * metadata file. Only the Maven, PyPI and RPM layouts have metadata files, so the other layouts would otherwise never
+ * get theirs regenerated, and neither would a Maven release version directory on its own.
+ * <p>
+ * The size and modification time of every processed file are recorded in a per-repository journal under the vault
+ * directory. When {@code skipUnchanged} is set, files that match their journal record and already have all checksum
+ * files are not read again, which also makes an interrupted run resumable. Directories which start with a dot (like,
+ * for example, {@code .index}) are skipped.
+ */
+@Component
+public class ChecksumRegenerationEngine
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumRegenerationEngine.class);
+
+    private static final int PROGRESS_LOG_INTERVAL = 10000;
+
+    private static final String JOURNAL_DIRECTORY = "checksum-journal";
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Value("${strongbox.checksum.regeneration.workers:4}")
+    private int workers;
+
+    @Value("${strongbox.checksum.regeneration.bufferSize:1048576}")
+    private int bufferSize;
+
+    private final Map<String, ChecksumRegenerationProgress> progressMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param basePath          the directory (or file) to regenerate checksums for
+     * @param forceRegeneration true - to re-write existing checksum and to regenerate missing checksum,
+     *                          false - to regenerate missing checksum only
+     * @param skipUnchanged     skip files which have not changed since they were last journaled
+     */
+    public ChecksumRegenerationProgress regenerate(RepositoryPath basePath,
+                                                   boolean forceRegeneration,
+                                                   boolean skipUnchanged)
+            throws IOException
+    {
+        Repository repository = basePath.getRepository();
+        ChecksumRegenerationProgress progress = new ChecksumRegenerationProgress(repository.getStorage().getId(),
+                                                                                 repository.getId());
+        String progressKey = progressKey(progress.getStorageId(), progress.getRepositoryId());
+        if (progressMap.putIfAbsent(progressKey, progress) != null)
+        {
+            throw new IllegalStateException(String.format("Checksum regeneration is already running for [%s].",
+                                                          progressKey));
+        }
+
+        Path journalPath = Paths.get(propertiesBooter.getVaultDirectory(),
+                                     JOURNAL_DIRECTORY,
+                                     progress.getStorageId(),
+                                     progress.getRepositoryId() + ChecksumRegenerationJournal.FILE_EXTENSION);
+
+        logger.info("Regenerating checksums for [{}] with [{}] workers.", basePath, workers);
+
+        try (RepositoryTreeWalker walker = new RepositoryTreeWalker(workers);
+             ChecksumRegenerationJournal journal = new ChecksumRegenerationJournal(journalPath))
+        {
+            journal.open();
+
+            RegenerationContext context = new RegenerationContext(journal, progress, forceRegeneration, skipUnchanged);
+            walker.walk(basePath, path -> processFile(path, context), progress);
+        }
+        finally
+        {
+            progress.finish();
+            progressMap.remove(progressKey);
+        }
+
+        logger.info("Regenerated checksums for [{}]: {}", basePath, progress);
+
+        return progress;
+    }
+
+    public Optional<ChecksumRegenerationProgress> getProgress(String storageId,
+                                                              String repositoryId)
+    {
+        return Optional.ofNullable(progressMap.get(progressKey(storageId, repositoryId)));
+    }
+
+    public int getWorkers()
+    {
+        return workers;
+    }
+
+    public void setWorkers(int workers)
+    {
+        this.workers = workers;
+    }
+
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize)
+    {
+        this.bufferSize = bufferSize;
+    }
+
+    private void processFile(RepositoryPath path,
+                             RegenerationContext context)
+    {
+        ChecksumRegenerationProgress progress = context.progress;
+        try
+        {
+            if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
+            {
+                return;
+            }
+
+            StorageFileSystemProvider provider = path.getFileSystem().provider();
+            Map<String, RepositoryPath> checksumPathMap = provider.resolveChecksumPathMap(path);
+            boolean checksumsExist = checksumPathMap.values()
+                                                    .stream()
+                                                    .allMatch(Files::exists);
+
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String relativePath = RepositoryFiles.relativizePath(path);
+
+            if (checksumsExist &&
+                (!context.force || context.skipUnchanged && context.journal.matches(relativePath, size, lastModified)))
+            {
+                progress.skipped();
+                return;
+            }
+
+            Map<String, String> digestMap = calculateDigests(path,
+                                                             path.getFileSystem().getDigestAlgorithmSet(),
+                                                             context.buffer.get());
+            for (Map.Entry<String, String> e : digestMap.entrySet())
+            {
+                RepositoryPath checksumPath = checksumPathMap.get(e.getKey());
+                if (!context.force && Files.exists(checksumPath))
+                {
+                    continue;
+                }
+
+                Files.write(checksumPath, e.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+
+            context.journal.record(relativePath, size, lastModified);
+
+            if (progress.processed(size) % PROGRESS_LOG_INTERVAL == 0)
+            {
+                context.journal.flush();
+                logger.info("Checksum regeneration progress {}", progress);
+            }
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            progress.failed();
+            logger.error("Failed to regenerate checksum for [{}]", path, e);
+        }
+    }
+
+    private Map<String, String> calculateDigests(Path path,
+                                                 Set<String> algorithms,
+                                                 ByteBuffer buffer)
+            throws IOException, NoSuchAlgorithmException
+    {
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (String algorithm : algorithms)
+        {
+            digests.put(algorithm, MessageDigest.getInstance(algorithm));
+        }
+
+        buffer.clear();
+        try (SeekableByteChannel channel = Files.newByteChannel(path))
+        {
+            while (channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                for (MessageDigest digest : digests.values())
+                {
+                    buffer.rewind();
+                    digest.update(buffer);
+                }
+                buffer.clear();
+            }
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        digests.forEach((algorithm, digest) -> result.put(algorithm,
+                                                          MessageDigestUtils.convertToHexadecimalString(digest)));
+
+        return result;
+    }
+
+    private static String progressKey(String storageId,
+                                      String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+    private class RegenerationContext
+    {
+
+        private final ChecksumRegenerationJournal journal;
+
+        private final ChecksumRegenerationProgress progress;
+
+        private final boolean force;
+
+        private final boolean skipUnchanged;
+
+        private final ThreadLocal<ByteBuffer> buffer = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+
+        private RegenerationContext(ChecksumRegenerationJournal journal,
+                                    ChecksumRegenerationProgress progress,
+                                    boolean force,
+                                    boolean skipUnchanged)
+        {
+            this.journal = journal;
+            this.progress = progress;
+            this.force = force;
+            this.skipUnchanged = skipUnchanged;
+        }
+
+    }
+
+}
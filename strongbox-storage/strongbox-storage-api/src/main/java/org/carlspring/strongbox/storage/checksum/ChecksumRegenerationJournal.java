@@ -0,0 +1,152 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only record of the files whose checksums have been (re)generated, keyed by repository relative path and
+ * holding the file size and modification time observed at that moment.
+ * <p>
+ * Each line has the form {@code size<TAB>lastModified<TAB>path}; later lines win. The journal is compacted both on
+ * open and on close, so it never holds more than one line per file plus the lines appended by an interrupted run.
+ */
+class ChecksumRegenerationJournal
+        implements Closeable
+{
+
+    static final String FILE_EXTENSION = ".journal";
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumRegenerationJournal.class);
+
+    private final Path journalPath;
+
+    private final Map<String, long[]> entries = new ConcurrentHashMap<>();
+
+    private BufferedWriter writer;
+
+    ChecksumRegenerationJournal(Path journalPath)
+    {
+        this.journalPath = journalPath;
+    }
+
+    void open()
+            throws IOException
+    {
+        Files.createDirectories(journalPath.getParent());
+
+        if (Files.exists(journalPath))
+        {
+            load();
+            compact();
+        }
+
+        writer = Files.newBufferedWriter(journalPath,
+                                         StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE,
+                                         StandardOpenOption.APPEND);
+    }
+
+    boolean matches(String path,
+                    long size,
+                    long lastModified)
+    {
+        long[] entry = entries.get(path);
+
+        return entry != null && entry[0] == size && entry[1] == lastModified;
+    }
+
+    synchronized void record(String path,
+                             long size,
+                             long lastModified)
+            throws IOException
+    {
+        writer.write(formatLine(path, size, lastModified));
+        writer.newLine();
+
+        entries.put(path, new long[]{ size, lastModified });
+    }
+
+    synchronized void flush()
+            throws IOException
+    {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close()
+            throws IOException
+    {
+        if (writer == null)
+        {
+            return;
+        }
+
+        writer.close();
+        writer = null;
+
+        compact();
+    }
+
+    private void load()
+            throws IOException
+    {
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                String[] parts = line.split("\t", 3);
+                if (parts.length != 3)
+                {
+                    // Most likely a partially written line from an interrupted run.
+                    continue;
+                }
+
+                try
+                {
+                    entries.put(parts[2], new long[]{ Long.parseLong(parts[0]), Long.parseLong(parts[1]) });
+                }
+                catch (NumberFormatException e)
+                {
+                    logger.debug("Ignoring malformed journal line [{}] in [{}]", line, journalPath);
+                }
+            }
+        }
+    }
+
+    private void compact()
+            throws IOException
+    {
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8))
+        {
+            for (Map.Entry<String, long[]> e : entries.entrySet())
+            {
+                out.write(formatLine(e.getKey(), e.getValue()[0], e.getValue()[1]));
+                out.newLine();
+            }
+        }
+
+        Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String formatLine(String path,
+                                     long size,
+                                     long lastModified)
+    {
+        return size + "\t" + lastModified + "\t" + path;
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.providers.io.RepositoryTreeWalkProgress;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the state of a single {@link ChecksumRegenerationEngine} run.
+ */
+public class ChecksumRegenerationProgress
+        extends RepositoryTreeWalkProgress
+{
+
+    private final AtomicLong filesProcessed = new AtomicLong();
+
+    private final AtomicLong filesSkipped = new AtomicLong();
+
+    private final AtomicLong bytesProcessed = new AtomicLong();
+
+    public ChecksumRegenerationProgress(String storageId,
+                                        String repositoryId)
+    {
+        super(storageId, repositoryId);
+    }
+
+    public long getFilesProcessed()
+    {
+        return filesProcessed.get();
+    }
+
+    public long getFilesSkipped()
+    {
+        return filesSkipped.get();
+    }
+
+    public long getBytesProcessed()
+    {
+        return bytesProcessed.get();
+    }
+
+    @Override
+    protected long getFilesVisited()
+    {
+        return getFilesProcessed() + getFilesSkipped();
+    }
+
+    long processed(long bytes)
+    {
+        bytesProcessed.addAndGet(bytes);
+
+        return filesProcessed.incrementAndGet();
+    }
+
+    void skipped()
+    {
+        filesSkipped.incrementAndGet();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("[%s:%s] processed-[%s], skipped-[%s], failed-[%s], bytes-[%s], files/s-[%.1f]",
+                             getStorageId(),
+                             getRepositoryId(),
+                             getFilesProcessed(),
+                             getFilesSkipped(),
+                             getFilesFailed(),
+                             getBytesProcessed(),
+                             getFilesPerSecond());
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.io.DigestEngine;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared pool which hashes the digest algorithms of the uploaded artifacts in parallel, see
+ * {@link DigestEngine#enableParallelism(java.util.concurrent.Executor, int, int)}.
+ * <p>
+ * It's disabled by default ({@code strongbox.digest.parallel.enabled}), as it only pays off with several expensive
+ * algorithms and large artifacts. The pool has {@code strongbox.digest.parallel.threads} threads and a bounded queue,
+ * once the queue is full the chunks are hashed by the uploading thread itself.
+ */
+@Component
+public class DigestExecutor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestExecutor.class);
+
+    @Value("${strongbox.digest.parallel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.digest.parallel.threads:4}")
+    private int threads;
+
+    @Value("${strongbox.digest.parallel.chunkSize:65536}")
+    private int chunkSize;
+
+    @Value("${strongbox.digest.parallel.maxChunksInFlight:4}")
+    private int maxChunksInFlight;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          0L,
+                                          TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(threads * maxChunksInFlight * 4),
+                                          r -> {
+                                              Thread thread = new Thread(r, "digest-worker-" +
+                                                                            threadNumber.incrementAndGet());
+                                              thread.setDaemon(true);
+
+                                              return thread;
+                                          },
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+
+        logger.info("Parallel digest calculation enabled with [{}] threads and [{}] byte chunks.", threads, chunkSize);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Makes the {@link DigestEngine} hash its algorithms in parallel, if enabled and if it has more than one
+     * algorithm.
+     */
+    public void configure(DigestEngine digestEngine)
+    {
+        if (executor == null || digestEngine.getAlgorithms().size() < 2)
+        {
+            return;
+        }
+
+        digestEngine.enableParallelism(executor, chunkSize, maxChunksInFlight);
+    }
+
+}
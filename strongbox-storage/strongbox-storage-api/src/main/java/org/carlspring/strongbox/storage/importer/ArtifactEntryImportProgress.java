@@ -0,0 +1,97 @@
+package org.carlspring.strongbox.storage.importer;
+
+import org.carlspring.strongbox.providers.io.RepositoryTreeWalkProgress;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the state of a single {@link ArtifactEntryImporter} run.
+ */
+public class ArtifactEntryImportProgress
+        extends RepositoryTreeWalkProgress
+{
+
+    private final AtomicLong filesScanned = new AtomicLong();
+
+    private final AtomicLong bytesScanned = new AtomicLong();
+
+    private final AtomicLong artifactsCreated = new AtomicLong();
+
+    private final AtomicLong artifactsUpdated = new AtomicLong();
+
+    private final AtomicLong groupsUpdated = new AtomicLong();
+
+    public ArtifactEntryImportProgress(String storageId,
+                                       String repositoryId)
+    {
+        super(storageId, repositoryId);
+    }
+
+    public long getFilesScanned()
+    {
+        return filesScanned.get();
+    }
+
+    public long getBytesScanned()
+    {
+        return bytesScanned.get();
+    }
+
+    public long getArtifactsCreated()
+    {
+        return artifactsCreated.get();
+    }
+
+    public long getArtifactsUpdated()
+    {
+        return artifactsUpdated.get();
+    }
+
+    public long getGroupsUpdated()
+    {
+        return groupsUpdated.get();
+    }
+
+    @Override
+    protected long getFilesVisited()
+    {
+        return getFilesScanned();
+    }
+
+    void scanned(long bytes)
+    {
+        bytesScanned.addAndGet(bytes);
+        filesScanned.incrementAndGet();
+    }
+
+    void created()
+    {
+        artifactsCreated.incrementAndGet();
+    }
+
+    void updated()
+    {
+        artifactsUpdated.incrementAndGet();
+    }
+
+    void groupUpdated()
+    {
+        groupsUpdated.incrementAndGet();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("[%s:%s] scanned-[%s], created-[%s], updated-[%s], failed-[%s], groups-[%s], bytes-[%s], files/s-[%.1f]",
+                             getStorageId(),
+                             getRepositoryId(),
+                             getFilesScanned(),
+                             getArtifactsCreated(),
+                             getArtifactsUpdated(),
+                             getFilesFailed(),
+                             getGroupsUpdated(),
+                             getBytesScanned(),
+                             getFilesPerSecond());
+    }
+
+}
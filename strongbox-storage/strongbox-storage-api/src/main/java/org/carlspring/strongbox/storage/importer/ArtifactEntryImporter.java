@@ -0,0 +1,412 @@
+package org.carlspring.strongbox.storage.importer;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.io.LayoutOutputStream;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryTreeWalker;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactTagService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Brings files which are already in place under a repository (migrated from another repository manager, restored
+ * from a backup, etc.) under management, without storing them one by one.
+ * <p>
+ * The tree is walked in parallel by a {@link RepositoryTreeWalker} with {@code strongbox.artifact.import.workers}
+ * threads, which read every artifact file once to calculate all the layout digests and parse its coordinates. The resulting
+ * {@link ArtifactEntry} records are handed over to the calling thread, which creates or updates them together with
+ * their artifact groups in transactions of {@code strongbox.artifact.import.batchSize} entries, looking the existing
+ * entries of a batch up with a single query. The {@link ArtifactTagEntry#LAST_VERSION} tags are recomputed once per
+ * affected group after all the files are imported.
+ * <p>
+ * Note that, unlike a regular store, the import doesn't fire any artifact events.
+ */
+@Component
+public class ArtifactEntryImporter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryImporter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    private ArtifactTagService artifactTagService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.artifact.import.workers:4}")
+    private int workers;
+
+    @Value("${strongbox.artifact.import.batchSize:1000}")
+    private int batchSize;
+
+    private final Map<String, ArtifactEntryImportProgress> progressMap = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<ByteBuffer> buffer = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    /**
+     * @param basePath the directory (or file) to import
+     */
+    public ArtifactEntryImportProgress importArtifactEntries(RepositoryPath basePath)
+            throws IOException
+    {
+        Repository repository = basePath.getRepository();
+        ArtifactEntryImportProgress progress = new ArtifactEntryImportProgress(repository.getStorage().getId(),
+                                                                               repository.getId());
+        String progressKey = progressKey(progress.getStorageId(), progress.getRepositoryId());
+        if (progressMap.putIfAbsent(progressKey, progress) != null)
+        {
+            throw new IllegalStateException(String.format("Artifact import is already running for [%s].",
+                                                          progressKey));
+        }
+
+        logger.info("Importing artifacts from [{}] with [{}] workers.", basePath, workers);
+
+        try (RepositoryTreeWalker walker = new RepositoryTreeWalker(workers))
+        {
+            BlockingQueue<ArtifactEntry> queue = new ArrayBlockingQueue<>(batchSize * 2);
+            ImportContext context = new ImportContext(queue, progress);
+
+            ForkJoinTask<?> walk = walker.submit(basePath, path -> processFile(path, context), progress);
+
+            Set<String> groupIds = storeArtifactEntries(repository, walk, context);
+            updateLastVersionTags(repository, groupIds, progress);
+
+            waitFor(walk);
+        }
+        finally
+        {
+            progress.finish();
+            progressMap.remove(progressKey);
+        }
+
+        logger.info("Imported artifacts from [{}]: {}", basePath, progress);
+
+        return progress;
+    }
+
+    public Optional<ArtifactEntryImportProgress> getProgress(String storageId,
+                                                             String repositoryId)
+    {
+        return Optional.ofNullable(progressMap.get(progressKey(storageId, repositoryId)));
+    }
+
+    public int getWorkers()
+    {
+        return workers;
+    }
+
+    public void setWorkers(int workers)
+    {
+        this.workers = workers;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    private void processFile(RepositoryPath path,
+                             ImportContext context)
+    {
+        try
+        {
+            if (!Boolean.TRUE.equals(RepositoryFiles.isArtifact(path)))
+            {
+                return;
+            }
+
+            ArtifactEntry artifactEntry = new ArtifactEntry();
+            artifactEntry.setStorageId(context.progress.getStorageId());
+            artifactEntry.setRepositoryId(context.progress.getRepositoryId());
+            artifactEntry.setArtifactCoordinates(RepositoryFiles.readCoordinates(path));
+
+            long size = calculateDigests(path, artifactEntry.getChecksums());
+            artifactEntry.setSizeInBytes(size);
+
+            context.progress.scanned(size);
+            context.queue.put(artifactEntry);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            context.progress.failed();
+            logger.error("Failed to import [{}]", path, e);
+        }
+    }
+
+    private long calculateDigests(RepositoryPath path,
+                                  Map<String, String> checksums)
+            throws IOException
+    {
+        StorageFileSystemProvider provider = path.getFileSystem().provider();
+        if (!(provider instanceof LayoutFileSystemProvider))
+        {
+            return Files.size(path);
+        }
+
+        long size = 0;
+        ByteBuffer byteBuffer = buffer.get();
+        try (LayoutOutputStream os = ((LayoutFileSystemProvider) provider).newDigestOutputStream(path);
+             SeekableByteChannel channel = Files.newByteChannel(path))
+        {
+            int read;
+            byteBuffer.clear();
+            while ((read = channel.read(byteBuffer)) != -1)
+            {
+                os.write(byteBuffer.array(), 0, read);
+                size += read;
+                byteBuffer.clear();
+            }
+
+            checksums.putAll(os.getDigestMap());
+        }
+
+        return size;
+    }
+
+    private Set<String> storeArtifactEntries(Repository repository,
+                                             ForkJoinTask<?> walk,
+                                             ImportContext context)
+            throws IOException
+    {
+        Set<String> groupIds = ConcurrentHashMap.newKeySet();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<ArtifactEntry> batch = new ArrayList<>(batchSize);
+        while (!walk.isDone() || !context.queue.isEmpty())
+        {
+            try
+            {
+                ArtifactEntry artifactEntry = context.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (artifactEntry != null)
+                {
+                    batch.add(artifactEntry);
+                    context.queue.drainTo(batch, batchSize - batch.size());
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+
+            if (batch.size() >= batchSize || !batch.isEmpty() && walk.isDone())
+            {
+                transactionTemplate.execute(t -> storeBatch(repository, batch, groupIds, context.progress));
+                batch.clear();
+
+                logger.info("Artifact import progress {}", context.progress);
+            }
+        }
+
+        return groupIds;
+    }
+
+    private Void storeBatch(Repository repository,
+                            List<ArtifactEntry> batch,
+                            Set<String> groupIds,
+                            ArtifactEntryImportProgress progress)
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        Date now = new Date();
+
+        List<String> paths = batch.stream().map(ArtifactEntry::getArtifactPath).collect(Collectors.toList());
+        Map<String, ArtifactEntry> existingEntries = artifactEntryService.findArtifacts(storageId, repositoryId, paths)
+                                                                         .stream()
+                                                                         .collect(Collectors.toMap(ArtifactEntry::getArtifactPath,
+                                                                                                   Function.identity()));
+
+        Map<String, RepositoryArtifactIdGroupEntry> artifactGroups = new HashMap<>();
+        for (ArtifactEntry artifactEntry : batch)
+        {
+            ArtifactEntry existingEntry = existingEntries.get(artifactEntry.getArtifactPath());
+            if (existingEntry == null)
+            {
+                artifactEntry.setCreated(now);
+                artifactEntry.setLastUpdated(now);
+                artifactEntry.setLastUsed(now);
+                progress.created();
+            }
+            else
+            {
+                existingEntry.setSizeInBytes(artifactEntry.getSizeInBytes());
+                existingEntry.getChecksums().clear();
+                existingEntry.getChecksums().putAll(artifactEntry.getChecksums());
+                existingEntry.setLastUpdated(now);
+                artifactEntry = existingEntry;
+                progress.updated();
+            }
+
+            String groupId = artifactEntry.getArtifactCoordinates().getId();
+            artifactGroups.computeIfAbsent(groupId,
+                                           id -> repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                  repositoryId,
+                                                                                                  id))
+                          .putArtifactEntry(artifactEntry);
+        }
+
+        artifactGroups.values().forEach(repositoryArtifactIdGroupService::save);
+        groupIds.addAll(artifactGroups.keySet());
+
+        return null;
+    }
+
+    private void updateLastVersionTags(Repository repository,
+                                       Set<String> groupIds,
+                                       ArtifactEntryImportProgress progress)
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Iterator<String> iterator = groupIds.iterator();
+        while (iterator.hasNext())
+        {
+            List<String> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext() && batch.size() < batchSize)
+            {
+                batch.add(iterator.next());
+            }
+
+            transactionTemplate.execute(t -> {
+                ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+                for (String groupId : batch)
+                {
+                    RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOne(storageId,
+                                                                                                            repositoryId,
+                                                                                                            groupId);
+                    if (artifactGroup == null)
+                    {
+                        continue;
+                    }
+
+                    updateLastVersionTag(artifactGroup, lastVersionTag);
+                    progress.groupUpdated();
+                }
+
+                return null;
+            });
+        }
+    }
+
+    private void updateLastVersionTag(RepositoryArtifactIdGroupEntry artifactGroup,
+                                      ArtifactTag lastVersionTag)
+    {
+        Optional<ArtifactCoordinates> lastVersion = artifactGroup.getArtifactEntries()
+                                                                 .stream()
+                                                                 .map(ArtifactEntry::getArtifactCoordinates)
+                                                                 .max(ArtifactCoordinates::compareTo);
+
+        // All the files of the last version (the jar, the pom, etc.) get the tag.
+        artifactGroup.getArtifactEntries().forEach(e -> {
+            if (lastVersion.isPresent() && e.getArtifactCoordinates().compareTo(lastVersion.get()) == 0)
+            {
+                logger.debug("Set [{}] last version to [{}]",
+                             e.getArtifactPath(),
+                             e.getArtifactCoordinates().getVersion());
+                e.getTagSet().add(lastVersionTag);
+            }
+            else
+            {
+                e.getTagSet().remove(lastVersionTag);
+            }
+        });
+
+        repositoryArtifactIdGroupService.save(artifactGroup);
+    }
+
+    private void waitFor(ForkJoinTask<?> walk)
+            throws IOException
+    {
+        try
+        {
+            walk.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static String progressKey(String storageId,
+                                      String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+    private static class ImportContext
+    {
+
+        private final BlockingQueue<ArtifactEntry> queue;
+
+        private final ArtifactEntryImportProgress progress;
+
+        private ImportContext(BlockingQueue<ArtifactEntry> queue,
+                              ArtifactEntryImportProgress progress)
+        {
+            this.queue = queue;
+            this.progress = progress;
+        }
+
+    }
+
+}
@@ -21,10 +21,16 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 /**
+ * Schedules the heartbeat monitoring of the remote repositories.
+ * <p>
+ * With {@code strongbox.remote.heartbeat.spreadInitialChecks} enabled, the first checks are spread over the default
+ * interval instead of all being run at startup. Until its first check, a remote repository is considered alive.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -45,6 +51,9 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
     @Inject
     private RemoteRepositoryHeartbeatMonitorStrategyRegistry remoteRepositoryHeartbeatMonitorStrategyRegistry;
 
+    @Value("${strongbox.remote.heartbeat.spreadInitialChecks:false}")
+    private boolean spreadInitialChecks;
+
     @Override
     public void destroy()
     {
@@ -59,10 +68,19 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
 
         int defaultIntervalSeconds = getDefaultRemoteRepositoriesHeartbeatIntervalSeconds();
 
-        getRemoteRepositories().stream().forEach(rr -> scheduleRemoteRepositoryMonitoring(defaultIntervalSeconds, rr));
+        List<RemoteRepository> remoteRepositories = getRemoteRepositories();
+        for (int i = 0; i < remoteRepositories.size(); i++)
+        {
+            long initialDelayMillis = spreadInitialChecks ?
+                                      TimeUnit.SECONDS.toMillis(defaultIntervalSeconds) * i / remoteRepositories.size() :
+                                      0;
+
+            scheduleRemoteRepositoryMonitoring(defaultIntervalSeconds, initialDelayMillis, remoteRepositories.get(i));
+        }
     }
 
     private void scheduleRemoteRepositoryMonitoring(int defaultIntervalSeconds,
+                                                    long initialDelayMillis,
                                                     RemoteRepository remoteRepository)
     {
         int intervalSeconds = ObjectUtils.defaultIfNull(remoteRepository.getCheckIntervalSeconds(),
@@ -76,8 +94,8 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
                                                                                                                  determineMonitorStrategy(remoteRepository),
                                                                                                                  remoteRepository);
         executor.scheduleWithFixedDelay(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
-                                        0,
-                                        intervalSeconds, TimeUnit.SECONDS);
+                                        initialDelayMillis,
+                                        TimeUnit.SECONDS.toMillis(intervalSeconds), TimeUnit.MILLISECONDS);
 
         logger.info("Remote repository {} scheduled for monitoring with interval seconds {}",
                     remoteRepository.getUrl(), intervalSeconds);
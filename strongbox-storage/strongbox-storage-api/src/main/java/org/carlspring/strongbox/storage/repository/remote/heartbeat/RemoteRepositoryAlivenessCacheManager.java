@@ -26,11 +26,16 @@ public class RemoteRepositoryAlivenessCacheManager
     
     private final Cache cache;
 
+    private final RemoteRepositoryCircuitBreakerRegistry circuitBreakerRegistry;
+
     @Inject
-    RemoteRepositoryAlivenessCacheManager(CacheManager cacheManager)
+    RemoteRepositoryAlivenessCacheManager(CacheManager cacheManager,
+                                          RemoteRepositoryCircuitBreakerRegistry circuitBreakerRegistry)
     {
         cache = cacheManager.getCache(CacheName.Repository.REMOTE_REPOSITORY_ALIVENESS);
         Objects.requireNonNull(cache, "remoteRepositoryAliveness cache configuration was not provided");
+
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
     }
 
     public boolean isAlive(RemoteRepository remoteRepository)
@@ -40,7 +45,8 @@ public class RemoteRepositoryAlivenessCacheManager
                      remoteRepository.getUrl(),
                      aliveness);
         
-        return BooleanUtils.isNotFalse(aliveness);
+        // The circuit breaker reacts to the failing requests between two heartbeats.
+        return BooleanUtils.isNotFalse(aliveness) && circuitBreakerRegistry.isAvailable(remoteRepository.getUrl());
     }
 
     public void put(RemoteRepository remoteRepository,
@@ -0,0 +1,233 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker of a single remote repository, fed with the outcomes of the real requests.
+ * <p>
+ * While {@link State#CLOSED} the requests go through, and the outcomes of the last {@code windowSize} requests are
+ * kept. Once at least {@code minimumCalls} of them are recorded and the failure rate reaches
+ * {@code failureRateThreshold} percent, the breaker is {@link State#OPEN} and the requests are refused right away.
+ * After {@code openMillis} a single trial request is let through ({@link State#HALF_OPEN}), which closes the breaker
+ * if it succeeds or opens it again if it fails.
+ * <p>
+ * The latencies of the successful requests are kept as well, see {@link #getLatencyPercentile(int)}.
+ */
+public class RemoteRepositoryCircuitBreaker
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRepositoryCircuitBreaker.class);
+
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String url;
+
+    private final int minimumCalls;
+
+    private final int failureRateThreshold;
+
+    private final long openMillis;
+
+    private final LongSupplier clock;
+
+    private final boolean[] outcomes;
+
+    private int outcomeCount;
+
+    private int outcomeIndex;
+
+    private int failures;
+
+    private final long[] latencies;
+
+    private int latencyCount;
+
+    private int latencyIndex;
+
+    private State state = State.CLOSED;
+
+    /**
+     * The time the breaker was opened, or the time the last trial request was let through when half open.
+     */
+    private long stateChangedAt;
+
+    public RemoteRepositoryCircuitBreaker(String url,
+                                          int windowSize,
+                                          int minimumCalls,
+                                          int failureRateThreshold,
+                                          long openMillis)
+    {
+        this(url, windowSize, minimumCalls, failureRateThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    RemoteRepositoryCircuitBreaker(String url,
+                                   int windowSize,
+                                   int minimumCalls,
+                                   int failureRateThreshold,
+                                   long openMillis,
+                                   LongSupplier clock)
+    {
+        this.url = url;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+        this.outcomes = new boolean[windowSize];
+        this.latencies = new long[windowSize];
+    }
+
+    public String getUrl()
+    {
+        return url;
+    }
+
+    public synchronized State getState()
+    {
+        return state;
+    }
+
+    /**
+     * @return whether a request would be let through, without taking the trial request of a half open breaker
+     */
+    public synchronized boolean isAvailable()
+    {
+        return state == State.CLOSED || clock.getAsLong() - stateChangedAt >= openMillis;
+    }
+
+    /**
+     * Must be called before every request, which is only sent if the permission is granted. The outcome of the
+     * request is then reported with {@link #onSuccess(long)} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission()
+    {
+        if (state == State.CLOSED)
+        {
+            return true;
+        }
+
+        long now = clock.getAsLong();
+        if (now - stateChangedAt < openMillis)
+        {
+            return false;
+        }
+
+        // Also lets another trial through if the outcome of the previous one was never reported.
+        if (state == State.OPEN)
+        {
+            logger.info("Remote repository [{}] circuit breaker is half open.", url);
+        }
+        state = State.HALF_OPEN;
+        stateChangedAt = now;
+
+        return true;
+    }
+
+    /**
+     * @param latencyMillis the time it took to get the response, or a negative value if unknown
+     */
+    public synchronized void onSuccess(long latencyMillis)
+    {
+        if (latencyMillis >= 0)
+        {
+            latencies[latencyIndex] = latencyMillis;
+            latencyIndex = (latencyIndex + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+        }
+
+        if (state != State.CLOSED)
+        {
+            logger.info("Remote repository [{}] circuit breaker is closed.", url);
+
+            state = State.CLOSED;
+            resetOutcomes();
+
+            return;
+        }
+
+        recordOutcome(true);
+    }
+
+    public synchronized void onFailure()
+    {
+        if (state != State.CLOSED)
+        {
+            open();
+
+            return;
+        }
+
+        recordOutcome(false);
+
+        if (outcomeCount >= minimumCalls && failures * 100 >= failureRateThreshold * outcomeCount)
+        {
+            open();
+        }
+    }
+
+    /**
+     * @return the failure rate of the recorded requests, in percent
+     */
+    public synchronized int getFailureRate()
+    {
+        return outcomeCount > 0 ? failures * 100 / outcomeCount : 0;
+    }
+
+    /**
+     * @param percentile between 1 and 100
+     * @return the latency percentile of the last successful requests, in milliseconds, or {@code -1} if there's
+     *         no latency recorded yet
+     */
+    public synchronized long getLatencyPercentile(int percentile)
+    {
+        if (latencyCount == 0)
+        {
+            return -1;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100d * latencyCount) - 1;
+
+        return sorted[Math.max(0, Math.min(index, latencyCount - 1))];
+    }
+
+    private void open()
+    {
+        logger.warn("Remote repository [{}] circuit breaker is open, failure rate [{}%].", url, getFailureRate());
+
+        state = State.OPEN;
+        stateChangedAt = clock.getAsLong();
+        resetOutcomes();
+    }
+
+    private void recordOutcome(boolean success)
+    {
+        if (outcomeCount == outcomes.length && !outcomes[outcomeIndex])
+        {
+            failures--;
+        }
+        outcomes[outcomeIndex] = success;
+        if (!success)
+        {
+            failures++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+        outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+    }
+
+    private void resetOutcomes()
+    {
+        outcomeCount = 0;
+        outcomeIndex = 0;
+        failures = 0;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a {@link RemoteRepositoryCircuitBreaker} per remote repository URL, see
+ * {@code strongbox.remote.circuitBreaker.*}.
+ * <p>
+ * Besides refusing the requests to the failing remote repositories, the breakers adapt the timeouts of the requests
+ * to the observed latencies: the timeout is the {@code timeout.percentile} latency percentile times
+ * {@code timeout.multiplier}, kept between {@code timeout.minMillis} and {@code timeout.maxMillis}.
+ * <p>
+ * When disabled, which is the default, every request is let through with the default timeouts.
+ */
+@Component
+public class RemoteRepositoryCircuitBreakerRegistry
+{
+
+    @Value("${strongbox.remote.circuitBreaker.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.remote.circuitBreaker.windowSize:20}")
+    private int windowSize;
+
+    @Value("${strongbox.remote.circuitBreaker.minimumCalls:10}")
+    private int minimumCalls;
+
+    @Value("${strongbox.remote.circuitBreaker.failureRateThreshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${strongbox.remote.circuitBreaker.openMillis:30000}")
+    private long openMillis;
+
+    @Value("${strongbox.remote.circuitBreaker.timeout.percentile:99}")
+    private int timeoutPercentile;
+
+    @Value("${strongbox.remote.circuitBreaker.timeout.multiplier:3}")
+    private int timeoutMultiplier;
+
+    @Value("${strongbox.remote.circuitBreaker.timeout.minMillis:1000}")
+    private int minTimeoutMillis;
+
+    @Value("${strongbox.remote.circuitBreaker.timeout.maxMillis:60000}")
+    private int maxTimeoutMillis;
+
+    private final Map<String, RemoteRepositoryCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public boolean isAvailable(String url)
+    {
+        return !enabled || getCircuitBreaker(url).isAvailable();
+    }
+
+    public boolean tryAcquirePermission(String url)
+    {
+        return !enabled || getCircuitBreaker(url).tryAcquirePermission();
+    }
+
+    /**
+     * @param latencyMillis the time it took to get the response, or a negative value if unknown
+     */
+    public void onSuccess(String url,
+                          long latencyMillis)
+    {
+        if (enabled)
+        {
+            getCircuitBreaker(url).onSuccess(latencyMillis);
+        }
+    }
+
+    public void onFailure(String url)
+    {
+        if (enabled)
+        {
+            getCircuitBreaker(url).onFailure();
+        }
+    }
+
+    /**
+     * @return the connect and read timeout for the next request, or {@code 0} to use the default ones
+     */
+    public int getTimeoutMillis(String url)
+    {
+        if (!enabled)
+        {
+            return 0;
+        }
+
+        long latency = getCircuitBreaker(url).getLatencyPercentile(timeoutPercentile);
+        if (latency < 0)
+        {
+            return 0;
+        }
+
+        return (int) Math.max(minTimeoutMillis, Math.min(maxTimeoutMillis, latency * timeoutMultiplier));
+    }
+
+    public Map<String, RemoteRepositoryCircuitBreaker> getCircuitBreakers()
+    {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    private RemoteRepositoryCircuitBreaker getCircuitBreaker(String url)
+    {
+        return circuitBreakers.computeIfAbsent(url, u -> new RemoteRepositoryCircuitBreaker(u,
+                                                                                         windowSize,
+                                                                                         minimumCalls,
+                                                                                         failureRateThreshold,
+                                                                                         openMillis));
+    }
+
+}
@@ -0,0 +1,227 @@
+package org.carlspring.strongbox.booters;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.providers.layout.LayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryStatusEnum;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StorageBooterTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String LAYOUT = "Maven 2";
+
+    private static final String UNKNOWN_LAYOUT = "unknown";
+
+    private static final String GROUP = "group";
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @Mock
+    private LayoutProviderRegistry layoutProviderRegistry;
+
+    @Mock
+    private RepositoryManagementService repositoryManagementService;
+
+    @Mock
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    @Mock
+    private PropertiesBooter propertiesBooter;
+
+    @Mock
+    private HazelcastInstance hazelcastInstance;
+
+    @InjectMocks
+    private StorageBooter storageBooter;
+
+    private final Map<String, Repository> repositories = new LinkedHashMap<>();
+
+    private Storage storage;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        ILock lock = mock(ILock.class);
+        when(lock.tryLock()).thenReturn(true);
+        when(hazelcastInstance.getLock(anyString())).thenReturn(lock);
+
+        storage = mock(Storage.class);
+        when(storage.getId()).thenReturn(STORAGE_ID);
+        doReturn(repositories).when(storage).getRepositories();
+
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getStorages()).thenReturn(Collections.singletonMap(STORAGE_ID, storage));
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+
+        when(layoutProviderRegistry.getProvider(LAYOUT)).thenReturn(mock(LayoutProvider.class));
+    }
+
+    @Test
+    public void testRepositoriesAreInitializedInParallelBeforeTheGroups()
+            throws Exception
+    {
+        Repository releases = addRepository("releases", LAYOUT);
+        Repository snapshots = addRepository("snapshots", LAYOUT);
+        Repository proxy = addRepository("proxy", LAYOUT);
+        addRepository(GROUP, LAYOUT, releases, snapshots, proxy);
+
+        // The members wait for each other, which only works out if they're initialized at the same time.
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        List<String> created = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            String repositoryId = invocation.getArgument(1);
+            if (!GROUP.equals(repositoryId))
+            {
+                barrier.await(10, TimeUnit.SECONDS);
+            }
+            created.add(repositoryId);
+
+            return null;
+        }).when(repositoryManagementService).createRepository(eq(STORAGE_ID), anyString());
+
+        storageBooter.setThreads(3);
+        storageBooter.initialize();
+
+        assertThat(created).hasSize(4).endsWith(GROUP);
+        assertThat(storageBooter.isReady()).isTrue();
+        assertThat(storageBooter.getFailure()).isNull();
+        assertThat(storageBooter.getInitializedRepositories()).isEqualTo(4);
+        assertThat(storageBooter.getTotalRepositories()).isEqualTo(4);
+        verify(repositoryManagementService).putInService(STORAGE_ID, GROUP);
+    }
+
+    @Test
+    public void testRepositoriesWithAnUnknownLayoutAreCounted()
+            throws Exception
+    {
+        addRepository("releases", LAYOUT);
+        addRepository("unknown", UNKNOWN_LAYOUT);
+
+        storageBooter.setThreads(2);
+        storageBooter.initialize();
+
+        assertThat(storageBooter.isReady()).isTrue();
+        assertThat(storageBooter.getTotalRepositories()).isEqualTo(2);
+        assertThat(storageBooter.getInitializedRepositories()).isEqualTo(2);
+        verify(repositoryManagementService).createRepository(STORAGE_ID, "releases");
+        verify(repositoryManagementService, never()).createRepository(STORAGE_ID, "unknown");
+    }
+
+    @Test
+    public void testFailureIsPropagatedOnceAllTheRepositoriesAreDone()
+            throws Exception
+    {
+        Repository releases = addRepository("releases", LAYOUT);
+        Repository broken = addRepository("broken", LAYOUT);
+        Repository snapshots = addRepository("snapshots", LAYOUT);
+        addRepository(GROUP, LAYOUT, releases, broken, snapshots);
+
+        IOException error = new IOException("Broken repository.");
+        doThrow(error).when(repositoryManagementService).createRepository(STORAGE_ID, "broken");
+
+        storageBooter.setThreads(3);
+
+        assertThatThrownBy(() -> storageBooter.initialize()).isSameAs(error);
+        assertThat(storageBooter.getFailure()).isSameAs(error);
+        assertThat(storageBooter.isReady()).isFalse();
+        assertThat(storageBooter.getInitializedRepositories()).isEqualTo(2);
+        verify(repositoryManagementService).createRepository(STORAGE_ID, "releases");
+        verify(repositoryManagementService).createRepository(STORAGE_ID, "snapshots");
+        verify(repositoryManagementService, never()).createRepository(STORAGE_ID, GROUP);
+    }
+
+    @Test
+    public void testAsyncInitializationBecomesReady()
+            throws Exception
+    {
+        addRepository("releases", LAYOUT);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+
+            return null;
+        }).when(repositoryManagementService).createRepository(STORAGE_ID, "releases");
+
+        storageBooter.setAsync(true);
+        storageBooter.initialize();
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(storageBooter.isReady()).isFalse();
+        assertThat(storageBooter.getInitializedRepositories()).isZero();
+        assertThat(storageBooter.getTotalRepositories()).isEqualTo(1);
+
+        release.countDown();
+        for (int i = 0; i < 50 && !storageBooter.isReady(); i++)
+        {
+            Thread.sleep(100);
+        }
+
+        assertThat(storageBooter.isReady()).isTrue();
+        assertThat(storageBooter.getInitializedRepositories()).isEqualTo(1);
+    }
+
+    private Repository addRepository(String repositoryId,
+                                     String layout,
+                                     Repository... members)
+    {
+        Repository repository = mock(Repository.class);
+        when(repository.getId()).thenReturn(repositoryId);
+        when(repository.getStorage()).thenReturn(storage);
+        when(repository.getLayout()).thenReturn(layout);
+        when(repository.getStatus()).thenReturn(RepositoryStatusEnum.IN_SERVICE.getStatus());
+        when(repository.isGroupRepository()).thenReturn(members.length > 0);
+        if (members.length > 0)
+        {
+            when(groupRepositorySetCollector.collect(repository, true)).thenReturn(new LinkedHashSet<>(Arrays.asList(members)));
+        }
+
+        repositories.put(repositoryId, repository);
+
+        return repository;
+    }
+
+}
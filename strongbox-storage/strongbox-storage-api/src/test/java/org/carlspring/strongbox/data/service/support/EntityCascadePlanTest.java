@@ -0,0 +1,305 @@
+package org.carlspring.strongbox.data.service.support;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactTagEntry;
+
+import javax.persistence.CascadeType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EntityCascadePlanTest
+{
+
+    @Test
+    public void testCascadeMatchesTheReflectiveScan()
+    {
+        TestEntity planned = newTestEntity();
+        TestEntity reflected = newTestEntity();
+
+        List<String> plannedVisits = new ArrayList<>();
+        List<String> reflectedVisits = new ArrayList<>();
+
+        EntityCascadePlan.of(TestEntity.class).cascade(planned, persist(plannedVisits));
+        reflectiveCascade(reflected, persist(reflectedVisits));
+
+        // The same values are visited, in the same order, and replaced the same way.
+        assertThat(plannedVisits).isEqualTo(reflectedVisits)
+                                 .containsExactly("single", "new-single", "child", "new-child", "inherited");
+        assertThat(describe(planned)).isEqualTo(describe(reflected));
+
+        assertThat(planned.single.name).isEqualTo("saved-single");
+        assertThat(planned.newSingle.name).isEqualTo("saved-new-single");
+        assertThat(planned.children).extracting(c -> c.name).containsExactly("child", "saved-new-child");
+        assertThat(planned.inherited.name).isEqualTo("saved-inherited");
+        assertThat(planned.notCascaded).extracting(c -> c.name).containsExactly("new-not-cascaded");
+        assertThat(planned.removeOnly.name).isEqualTo("new-remove-only");
+    }
+
+    @Test
+    public void testUnchangedValuesAreKept()
+    {
+        TestEntity entity = newTestEntity();
+        Child single = entity.single;
+        List<Child> children = entity.children;
+        Child child = children.get(0);
+
+        EntityCascadePlan.of(TestEntity.class).cascade(entity, UnaryOperator.identity());
+
+        assertThat(entity.single).isSameAs(single);
+        assertThat(entity.children).isSameAs(children);
+        assertThat(entity.children).containsExactly(child, children.get(1));
+    }
+
+    @Test
+    public void testArtifactEntryCascadesItsCoordinatesOnly()
+    {
+        ArtifactEntry planned = newArtifactEntry();
+        ArtifactEntry reflected = newArtifactEntry();
+
+        List<Object> plannedVisits = new ArrayList<>();
+        List<Object> reflectedVisits = new ArrayList<>();
+        ArtifactCoordinates persisted = new RawArtifactCoordinates("org/carlspring/strongbox/foo-1.0.jar");
+
+        EntityCascadePlan.of(ArtifactEntry.class).cascade(planned, e -> {
+            plannedVisits.add(e.getClass());
+            return e instanceof ArtifactCoordinates ? persisted : e;
+        });
+        reflectiveCascade(reflected, e -> {
+            reflectedVisits.add(e.getClass());
+            return e instanceof ArtifactCoordinates ? persisted : e;
+        });
+
+        assertThat(plannedVisits).isEqualTo(reflectedVisits).containsExactly(RawArtifactCoordinates.class);
+        assertThat(planned.getArtifactCoordinates()).isSameAs(persisted);
+        assertThat(reflected.getArtifactCoordinates()).isSameAs(persisted);
+        assertThat(planned.getTagSet()).extracting(ArtifactTag::getName).containsExactly(ArtifactTag.LAST_VERSION);
+    }
+
+    @Test
+    public void testFinalFieldsCanOnlyBeCascadedInPlace()
+    {
+        FinalFieldEntity entity = new FinalFieldEntity();
+
+        EntityCascadePlan.of(FinalFieldEntity.class).cascade(entity, UnaryOperator.identity());
+
+        assertThat(entity.child.name).isEqualTo("final");
+        assertThatThrownBy(() -> EntityCascadePlan.of(FinalFieldEntity.class)
+                                                  .cascade(entity, c -> new Child("replaced")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testPlanIsResolvedOncePerClass()
+    {
+        assertThat(EntityCascadePlan.of(TestEntity.class)).isSameAs(EntityCascadePlan.of(TestEntity.class));
+        assertThat(EntityCascadePlan.of(TestEntity.class).isEmpty()).isFalse();
+        assertThat(EntityCascadePlan.of(Child.class).isEmpty()).isTrue();
+    }
+
+    /**
+     * Replaces the children whose name starts with {@code new} with a persisted copy, like a save would.
+     */
+    private static UnaryOperator<Object> persist(List<String> visits)
+    {
+        return e -> {
+            Child child = (Child) e;
+            visits.add(child.name);
+
+            return child.name.startsWith("new") || child.name.equals("single") || child.name.equals("inherited") ?
+                   new Child("saved-" + child.name) : child;
+        };
+    }
+
+    private static TestEntity newTestEntity()
+    {
+        TestEntity entity = new TestEntity();
+        entity.single = new Child("single");
+        entity.newSingle = new Child("new-single");
+        entity.children.add(new Child("child"));
+        entity.children.add(new Child("new-child"));
+        entity.notCascaded.add(new Child("new-not-cascaded"));
+        entity.removeOnly = new Child("new-remove-only");
+        entity.inherited = new Child("inherited");
+
+        return entity;
+    }
+
+    private static ArtifactEntry newArtifactEntry()
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId("storage0");
+        artifactEntry.setRepositoryId("releases");
+        artifactEntry.setArtifactCoordinates(new RawArtifactCoordinates("org/carlspring/strongbox/foo-1.0.jar"));
+
+        ArtifactTagEntry lastVersionTag = new ArtifactTagEntry();
+        lastVersionTag.setName(ArtifactTag.LAST_VERSION);
+        artifactEntry.getTagSet().add(lastVersionTag);
+
+        return artifactEntry;
+    }
+
+    private static List<String> describe(TestEntity entity)
+    {
+        return Arrays.asList(entity.single.name,
+                             entity.newSingle.name,
+                             entity.children.stream().map(c -> c.name).collect(Collectors.joining(",")),
+                             entity.notCascaded.stream().map(c -> c.name).collect(Collectors.joining(",")),
+                             entity.removeOnly.name,
+                             String.valueOf(entity.nullChild),
+                             entity.inherited.name);
+    }
+
+    /**
+     * The reflective field scan which {@code CommonCrudService.cascadeEntitySave()} used to run on every save.
+     */
+    @SuppressWarnings("unchecked")
+    private static void reflectiveCascade(Object entity,
+                                          UnaryOperator<Object> cascadeFunction)
+    {
+        ReflectionUtils.doWithFields(entity.getClass(), (field) -> {
+            ReflectionUtils.makeAccessible(field);
+
+            Set<CascadeType> cascadeTypeSet = Arrays.stream(field.getAnnotations())
+                                                    .map(a -> exposeCascadeType(a))
+                                                    .reduce((c1,
+                                                             c2) -> {
+                                                        c1.addAll(c2);
+                                                        return c1;
+                                                    })
+                                                    .orElse(Collections.emptySet());
+
+            if (!cascadeTypeSet.stream().anyMatch(c -> CascadeType.ALL.equals(c) || CascadeType.MERGE.equals(c)
+                    || CascadeType.PERSIST.equals(c)))
+            {
+                return;
+            }
+
+            Object fieldValue = ReflectionUtils.getField(field, entity);
+            if (fieldValue == null)
+            {
+                return;
+            }
+
+            if (Collection.class.isAssignableFrom(field.getType()))
+            {
+                Collection<Object> collection = (Collection<Object>) fieldValue;
+                List<Object> replaceCollection = new LinkedList<>();
+                collection.removeIf(a -> {
+                    Object b = cascadeFunction.apply(a);
+                    if (b != a)
+                    {
+                        replaceCollection.add(b);
+                        return true;
+                    }
+                    return false;
+                });
+                collection.addAll(replaceCollection);
+            }
+            else
+            {
+                Object newFieldValue = cascadeFunction.apply(fieldValue);
+                if (newFieldValue != fieldValue)
+                {
+                    ReflectionUtils.setField(field, entity, newFieldValue);
+                }
+            }
+        });
+    }
+
+    private static Set<CascadeType> exposeCascadeType(Annotation a)
+    {
+        Set<CascadeType> result = new HashSet<>();
+        if (a instanceof OneToMany)
+        {
+            result.addAll(Arrays.asList(((OneToMany) a).cascade()));
+        }
+        else if (a instanceof OneToOne)
+        {
+            result.addAll(Arrays.asList(((OneToOne) a).cascade()));
+        }
+        else if (a instanceof ManyToMany)
+        {
+            result.addAll(Arrays.asList(((ManyToMany) a).cascade()));
+        }
+        else if (a instanceof ManyToOne)
+        {
+            result.addAll(Arrays.asList(((ManyToOne) a).cascade()));
+        }
+        return result;
+    }
+
+    private static class Child
+    {
+
+        private final String name;
+
+        private Child(String name)
+        {
+            this.name = name;
+        }
+
+    }
+
+    private static class BaseEntity
+    {
+
+        @OneToOne(cascade = CascadeType.ALL)
+        Child inherited;
+
+    }
+
+    private static class TestEntity
+            extends BaseEntity
+    {
+
+        @ManyToOne(cascade = CascadeType.MERGE)
+        Child single;
+
+        @OneToOne(cascade = { CascadeType.DETACH, CascadeType.PERSIST })
+        Child newSingle;
+
+        @OneToMany(cascade = CascadeType.PERSIST)
+        List<Child> children = new ArrayList<>();
+
+        @ManyToMany
+        Set<Child> notCascaded = new LinkedHashSet<>();
+
+        @OneToOne(cascade = CascadeType.REMOVE)
+        Child removeOnly;
+
+        @ManyToOne(cascade = CascadeType.ALL)
+        Child nullChild;
+
+    }
+
+    private static class FinalFieldEntity
+    {
+
+        @OneToOne(cascade = CascadeType.ALL)
+        private final Child child = new Child("final");
+
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactEventBatcherTest
+{
+
+    private static final int DELETED = ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType();
+
+    private static final int STORED = ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType();
+
+    private static final int UPDATED = ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType();
+
+    private static final String LAYOUT = "test";
+
+    private final List<ArtifactEventBatch<RepositoryPath>> batches = new CopyOnWriteArrayList<>();
+
+    private ArtifactEventBatcher batcher;
+
+    @AfterEach
+    public void tearDown()
+    {
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testEventsAreCoalescedPerTypeAndRepository()
+            throws Exception
+    {
+        batcher = createBatcher(100, 1000);
+
+        RepositoryPath first = mockPath("releases", "org/foo/1.0/foo-1.0.jar");
+        RepositoryPath second = mockPath("releases", "org/foo/1.0/foo-1.0.pom");
+        RepositoryPath other = mockPath("snapshots", "org/foo/1.0/foo-1.0.jar");
+
+        batcher.handle(new ArtifactEvent<>(first, DELETED));
+        batcher.handle(new ArtifactEvent<>(second, DELETED));
+        batcher.handle(new ArtifactEvent<>(first, DELETED));
+        batcher.handle(new ArtifactEvent<>(first, STORED));
+        batcher.handle(new ArtifactEvent<>(other, DELETED));
+
+        assertThat(batches).isEmpty();
+
+        waitForBatches(3);
+
+        ArtifactEventBatch<RepositoryPath> deleted = findBatch(DELETED, "releases");
+        assertThat(deleted.getStorageId()).isEqualTo("storage0");
+        assertThat(deleted.getPaths()).containsExactly(first, second);
+
+        assertThat(findBatch(STORED, "releases").getPaths()).containsExactly(first);
+        assertThat(findBatch(DELETED, "snapshots").getPaths()).containsExactly(other);
+    }
+
+    @Test
+    public void testFullBatchIsPublishedRightAway()
+    {
+        batcher = createBatcher(TimeUnit.MINUTES.toMillis(1), 2);
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "a.jar"), DELETED));
+        assertThat(batches).isEmpty();
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "b.jar"), DELETED));
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).size()).isEqualTo(2);
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "c.jar"), DELETED));
+        batcher.flush();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1).size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOnlyTheConsumedEventsAreBatched()
+    {
+        batcher = createBatcher(0, 1000);
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "a.jar"), UPDATED));
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "a.jar", "other"), DELETED));
+
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    public void testNewerBatchIsNotFlushedByTheWindowOfAPublishedOne()
+            throws Exception
+    {
+        batcher = createBatcher(500, 2);
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "a.jar"), DELETED));
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "b.jar"), DELETED));
+        assertThat(batches).hasSize(1);
+
+        Thread.sleep(300);
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "c.jar"), DELETED));
+
+        // The window of the full batch is over, the one of the new batch isn't.
+        Thread.sleep(300);
+        assertThat(batches).hasSize(1);
+
+        waitForBatches(2);
+        assertThat(batches.get(1).size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNoWindow()
+    {
+        batcher = createBatcher(0, 1000);
+
+        batcher.handle(new ArtifactEvent<>(mockPath("releases", "a.jar"), DELETED));
+
+        assertThat(batches).hasSize(1);
+    }
+
+    private ArtifactEventBatcher createBatcher(long windowMillis,
+                                               int maxSize)
+    {
+        ArtifactEventBatchConsumer consumer = Mockito.mock(ArtifactEventBatchConsumer.class);
+        Mockito.when(consumer.getLayout()).thenReturn(LAYOUT);
+        Mockito.when(consumer.getEventTypes()).thenReturn(new HashSet<>(Arrays.asList(DELETED, STORED)));
+
+        ArtifactEventBatcher result = new ArtifactEventBatcher(e -> batches.add((ArtifactEventBatch<RepositoryPath>) e),
+                                                               Collections.singletonList(consumer),
+                                                               windowMillis,
+                                                               maxSize);
+        result.init();
+
+        return result;
+    }
+
+    private ArtifactEventBatch<RepositoryPath> findBatch(int type,
+                                                         String repositoryId)
+    {
+        return batches.stream()
+                      .filter(b -> b.getType() == type && b.getRepositoryId().equals(repositoryId))
+                      .findFirst()
+                      .orElseThrow(AssertionError::new);
+    }
+
+    private void waitForBatches(int count)
+            throws InterruptedException
+    {
+        for (int i = 0; i < 50 && batches.size() < count; i++)
+        {
+            Thread.sleep(100);
+        }
+
+        assertThat(batches).hasSize(count);
+    }
+
+    private static RepositoryPath mockPath(String repositoryId,
+                                           String path)
+    {
+        return mockPath(repositoryId, path, LAYOUT);
+    }
+
+    private static RepositoryPath mockPath(String repositoryId,
+                                           String path,
+                                           String layout)
+    {
+        Storage storage = Mockito.mock(Storage.class);
+        Mockito.when(storage.getId()).thenReturn("storage0");
+
+        Repository repository = Mockito.mock(Repository.class);
+        Mockito.when(repository.getId()).thenReturn(repositoryId);
+        Mockito.when(repository.getStorage()).thenReturn(storage);
+        Mockito.when(repository.getLayout()).thenReturn(layout);
+
+        RepositoryPath repositoryPath = Mockito.mock(RepositoryPath.class);
+        Mockito.when(repositoryPath.getRepository()).thenReturn(repository);
+        Mockito.when(repositoryPath.toString()).thenReturn(repositoryId + "/" + path);
+
+        return repositoryPath;
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.carlspring.strongbox.io;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DigestEngineTest
+{
+
+    private static final String[] ALGORITHMS = new String[]{ MessageDigestAlgorithms.MD5,
+                                                             MessageDigestAlgorithms.SHA_1,
+                                                             MessageDigestAlgorithms.SHA_256,
+                                                             MessageDigestAlgorithms.SHA_512 };
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testParallelDigestsMatchSequentialOnes()
+            throws Exception
+    {
+        byte[] data = new byte[1024 * 1024 + 123];
+        new Random(42).nextBytes(data);
+
+        DigestEngine sequential = createEngine();
+        DigestEngine parallel = createEngine();
+        parallel.enableParallelism(executor, 4096, 3);
+
+        assertThat(parallel.isParallel()).isTrue();
+
+        // Odd sized writes, so that they span several chunks.
+        int off = 0;
+        while (off < data.length)
+        {
+            int len = Math.min(7777, data.length - off);
+            sequential.update(data, off, len);
+            parallel.update(data, off, len);
+            off += len;
+        }
+        sequential.update(1);
+        parallel.update(1);
+
+        Map<String, byte[]> expected = sequential.digest();
+        Map<String, byte[]> actual = parallel.digest();
+
+        assertThat(actual.keySet()).containsExactly(ALGORITHMS);
+        for (String algorithm : ALGORITHMS)
+        {
+            assertThat(actual.get(algorithm)).isEqualTo(expected.get(algorithm));
+        }
+
+        byte[] withTrailingByte = Arrays.copyOf(data, data.length + 1);
+        withTrailingByte[data.length] = 1;
+        assertThat(actual.get(MessageDigestAlgorithms.SHA_256))
+                .isEqualTo(MessageDigest.getInstance(MessageDigestAlgorithms.SHA_256).digest(withTrailingByte));
+    }
+
+    @Test
+    public void testSmallContentIsHashedWithoutTasks()
+            throws Exception
+    {
+        byte[] data = "foo".getBytes();
+
+        DigestEngine engine = createEngine();
+        engine.enableParallelism(executor, 4096, 3);
+        engine.update(data, 0, data.length);
+
+        assertThat(engine.digest().get(MessageDigestAlgorithms.MD5))
+                .isEqualTo(MessageDigest.getInstance(MessageDigestAlgorithms.MD5).digest(data));
+    }
+
+    @Test
+    public void testDigestIsFinishedOnce()
+            throws Exception
+    {
+        DigestEngine engine = createEngine();
+        engine.update(new byte[]{ 1, 2, 3 }, 0, 3);
+
+        Map<String, byte[]> digest = engine.digest();
+
+        assertThat(engine.digest()).isSameAs(digest);
+        assertThatThrownBy(() -> engine.update(4)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> engine.addAlgorithm(MessageDigestAlgorithms.SHA_384))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private DigestEngine createEngine()
+            throws Exception
+    {
+        DigestEngine engine = new DigestEngine();
+        for (String algorithm : ALGORITHMS)
+        {
+            engine.addAlgorithm(algorithm);
+        }
+
+        return engine;
+    }
+
+}
@@ -39,7 +39,7 @@ public class RepositoryPathTest
         repositoryFileSystem = new LayoutFileSystem(propertiesBooter, new RepositoryData(repository), FileSystems.getDefault(), null)
         {
             @Override
-            public Set<String> getDigestAlgorithmSet()
+            public Set<String> getDefaultDigestAlgorithmSet()
             {
                 throw new UnsupportedOperationException();
             }
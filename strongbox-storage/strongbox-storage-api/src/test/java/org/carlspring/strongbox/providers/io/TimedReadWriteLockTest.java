@@ -0,0 +1,92 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimedReadWriteLockTest
+{
+
+    private static final Tags TAGS = StrongboxMetrics.repositoryTags("storage-lock", "releases-lock", "Maven 2");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        StrongboxMetrics.registry().add(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        StrongboxMetrics.registry().remove(meterRegistry);
+    }
+
+    @Test
+    public void testReentrantLockTimes()
+    {
+        TimedReadWriteLock readWriteLock = new TimedReadWriteLock(new ReentrantReadWriteLock(), TAGS);
+        Lock lock = readWriteLock.writeLock();
+
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+
+        assertThat(timer(StrongboxMetrics.LOCK_WAIT, "write").count()).isEqualTo(2);
+        assertThat(timer(StrongboxMetrics.LOCK_HOLD, "write").count()).isEqualTo(2);
+        assertThat(timer(StrongboxMetrics.LOCK_HOLD, "read").count()).isZero();
+    }
+
+    @Test
+    public void testFailedTryLock()
+            throws Exception
+    {
+        ReentrantReadWriteLock target = new ReentrantReadWriteLock();
+        TimedReadWriteLock readWriteLock = new TimedReadWriteLock(target, TAGS);
+
+        Thread owner = new Thread(() -> target.writeLock().lock());
+        owner.start();
+        owner.join();
+
+        assertThat(readWriteLock.readLock().tryLock()).isFalse();
+
+        assertThat(timer(StrongboxMetrics.LOCK_WAIT, "read").count()).isZero();
+        assertThat(timer(StrongboxMetrics.LOCK_HOLD, "read").count()).isZero();
+    }
+
+    @Test
+    public void testLocksOfTheSameRepositoryShareTheTimers()
+    {
+        TimedReadWriteLock.LockTimers lockTimers = new TimedReadWriteLock.LockTimers(TAGS);
+
+        for (int i = 0; i < 3; i++)
+        {
+            Lock lock = new TimedReadWriteLock(new ReentrantReadWriteLock(), lockTimers).readLock();
+            lock.lock();
+            lock.unlock();
+        }
+
+        assertThat(timer(StrongboxMetrics.LOCK_WAIT, "read").count()).isEqualTo(3);
+        assertThat(timer(StrongboxMetrics.LOCK_HOLD, "read").count()).isEqualTo(3);
+        assertThat(timer(StrongboxMetrics.LOCK_HOLD, "write").count()).isZero();
+    }
+
+    private Timer timer(String name,
+                        String mode)
+    {
+        return meterRegistry.get(name).tags(TAGS).tag("mode", mode).timer();
+    }
+
+}
@@ -92,7 +92,7 @@ class AbstractLayoutProviderTest
         repositoryFileSystem = new LayoutFileSystem(propertiesBooter, new RepositoryData(repository), FileSystems.getDefault(), storageFileSystemProvider)
         {
             @Override
-            public Set<String> getDigestAlgorithmSet()
+            public Set<String> getDefaultDigestAlgorithmSet()
             {
                 throw new UnsupportedOperationException();
             }
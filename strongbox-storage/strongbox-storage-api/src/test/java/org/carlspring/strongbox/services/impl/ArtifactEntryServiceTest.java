@@ -7,11 +7,14 @@ import org.carlspring.strongbox.artifact.coordinates.RawArtifactCoordinates;
 import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactArchiveEntryService;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 
 import javax.inject.Inject;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -65,6 +68,9 @@ public class ArtifactEntryServiceTest
     @Inject
     private  ArtifactCoordinatesService artifactCoordinatesService;
 
+    @Inject
+    private ArtifactArchiveEntryService artifactArchiveEntryService;
+
     @BeforeEach
     public void setup(TestInfo testInfo)
     {
@@ -189,6 +195,60 @@ public class ArtifactEntryServiceTest
         assertThat(artifactEntryOptional).isPresent();
     }
 
+    @Test
+    public void cachedEntryShouldFollowUpdatesAndDeletes(TestInfo testInfo)
+    {
+        final String groupId = getGroupId(GROUP_ID, testInfo);
+
+        String path = createArtifactCoordinates(groupId, ARTIFACT_ID + "123", "1.2.3", "jar").toPath();
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, path);
+        assertThat(artifactEntry).isNotNull();
+        assertThat(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, path).getUuid())
+                .isEqualTo(artifactEntry.getUuid());
+
+        artifactEntry.setDownloadCount(5);
+        save(artifactEntry);
+
+        artifactEntry = artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, path);
+        assertThat(artifactEntry.getDownloadCount()).isEqualTo(5);
+
+        artifactEntryService.delete(Collections.singletonList(artifactEntry));
+
+        assertThat(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, path)).isNull();
+    }
+
+    @Test
+    public void archiveEntriesShouldBeIndexedAndDeletedWithTheArtifact(TestInfo testInfo)
+    {
+        final String groupId = getGroupId(GROUP_ID, testInfo);
+        final String className = groupId + ".Foo";
+
+        ArtifactEntry artifactEntry = save(createArtifactEntry(groupId));
+
+        int indexed = artifactArchiveEntryService.index(artifactEntry,
+                                                        Arrays.asList("META-INF/",
+                                                                      "META-INF/plugin.xml",
+                                                                      className.replace('.', '/') + ".class"));
+        assertThat(indexed).isEqualTo(2);
+
+        assertThat(artifactArchiveEntryService.findArtifactsByClassName(className))
+                .extracting(ArtifactEntry::getObjectId)
+                .containsExactly(artifactEntry.getObjectId());
+        assertThat(artifactArchiveEntryService.findArtifactsByFileName("Foo.class"))
+                .extracting(ArtifactEntry::getObjectId)
+                .contains(artifactEntry.getObjectId());
+
+        // Indexing the archive again replaces its entries.
+        artifactArchiveEntryService.index(artifactEntry, Collections.singletonList("META-INF/plugin.xml"));
+        assertThat(artifactArchiveEntryService.findArtifactsByClassName(className)).isEmpty();
+
+        artifactEntryService.delete(Collections.singletonList(artifactEntry));
+        assertThat(artifactArchiveEntryService.findArtifactsByFileName("plugin.xml"))
+                .extracting(ArtifactEntry::getObjectId)
+                .doesNotContain(artifactEntry.getObjectId());
+    }
+
     private ArtifactEntry save(ArtifactEntry artifactEntry)
     {
         return artifactEntryService.save(artifactEntry);
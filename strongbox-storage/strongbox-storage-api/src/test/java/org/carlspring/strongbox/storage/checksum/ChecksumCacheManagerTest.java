@@ -3,13 +3,28 @@ package org.carlspring.strongbox.storage.checksum;
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
 import org.carlspring.strongbox.util.MessageDigestUtils;
 
+import org.carlspring.strongbox.data.CacheName;
+
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author mtodorov
@@ -17,6 +32,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class ChecksumCacheManagerTest
 {
 
+    private static final String ARTIFACT1 = "storage0/releases/org/carlspring/test/1.0/test-1.0.jar";
+
+    private static final String ARTIFACT2 = "storage0/releases/org/carlspring/test/1.0/test-1.0.pom";
+
+    private static final String ARTIFACT3 = "storage0/releases/org/carlspring/test/1.0/test-1.0-sources.jar";
+
+    /**
+     * A multiple of the check interval, so that the ticks of the timing wheel are predictable.
+     */
+    private static final long START = 1000000L;
+
 
     @Test
     public void testChecksumManagement()
@@ -54,6 +80,168 @@ public class ChecksumCacheManagerTest
         checkerThread.interrupt();
     }
 
+    @Test
+    public void testChecksumsExpireOnTheirTick()
+    {
+        MutableClock clock = new MutableClock(START);
+        ChecksumCacheManager manager = newChecksumCacheManager(clock);
+
+        manager.addArtifactChecksum(ARTIFACT1, "md5", "md5-1");
+
+        clock.advance(3000L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isTrue();
+
+        clock.advance(500L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isFalse();
+        assertThat(manager.getSize()).isZero();
+    }
+
+    @Test
+    public void testAccessedChecksumsAreRescheduled()
+    {
+        MutableClock clock = new MutableClock(START);
+        ChecksumCacheManager manager = newChecksumCacheManager(clock);
+
+        manager.addArtifactChecksum(ARTIFACT1, "md5", "md5-1");
+        manager.addArtifactChecksum(ARTIFACT2, "md5", "md5-2");
+
+        clock.advance(2000L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.getArtifactChecksum(ARTIFACT1, "md5")).isEqualTo("md5-1");
+
+        // The second artifact expires on its original tick, the first one is put on a later one.
+        clock.advance(1500L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isTrue();
+        assertThat(manager.containsArtifactPath(ARTIFACT2)).isFalse();
+
+        clock.advance(1500L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isTrue();
+
+        clock.advance(500L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isFalse();
+    }
+
+    @Test
+    public void testChecksumsClosestToTheirExpirationAreEvicted()
+    {
+        MutableClock clock = new MutableClock(START);
+        ChecksumCacheManager manager = newChecksumCacheManager(clock);
+        manager.setMaxSize(2);
+
+        manager.addArtifactChecksum(ARTIFACT1, "md5", "md5-1");
+
+        clock.advance(500L);
+        manager.removeExpiredChecksums();
+        manager.addArtifactChecksum(ARTIFACT2, "md5", "md5-2");
+
+        clock.advance(500L);
+        manager.removeExpiredChecksums();
+        manager.addArtifactChecksum(ARTIFACT3, "md5", "md5-3");
+
+        assertThat(manager.getSize()).isEqualTo(2);
+        assertThat(manager.containsArtifactPath(ARTIFACT1)).isFalse();
+        assertThat(manager.containsArtifactPath(ARTIFACT2)).isTrue();
+        assertThat(manager.containsArtifactPath(ARTIFACT3)).isTrue();
+        assertThat(manager.getMemoryUsage()).isEqualTo(estimatedSize(ARTIFACT2, "md5", "md5-2") +
+                                                       estimatedSize(ARTIFACT3, "md5", "md5-3"));
+    }
+
+    @Test
+    public void testMemoryUsageIsAccounted()
+    {
+        MutableClock clock = new MutableClock(START);
+        ChecksumCacheManager manager = newChecksumCacheManager(clock);
+
+        manager.addArtifactChecksum(ARTIFACT1, "md5", "md5-1");
+
+        long md5Size = estimatedSize(ARTIFACT1, "md5", "md5-1");
+        assertThat(manager.getMemoryUsage()).isEqualTo(md5Size);
+
+        manager.addArtifactChecksum(ARTIFACT1, "sha1", "sha1-1");
+
+        long sha1Size = 2L * ("sha1".length() + "sha1-1".length());
+        assertThat(manager.getMemoryUsage()).isEqualTo(md5Size + sha1Size);
+
+        // Replacing a checksum only accounts for the difference.
+        manager.addArtifactChecksum(ARTIFACT1, "sha1", "sha1-11");
+
+        assertThat(manager.getMemoryUsage()).isEqualTo(md5Size + sha1Size + 2);
+
+        manager.removeArtifactChecksum(ARTIFACT1, "md5");
+
+        assertThat(manager.getMemoryUsage()).isEqualTo(sha1Size + 2 + md5Size - 2L * ("md5".length() + "md5-1".length()));
+
+        manager.removeArtifactChecksum(ARTIFACT1, "sha1");
+
+        assertThat(manager.getSize()).isZero();
+        assertThat(manager.getMemoryUsage()).isZero();
+
+        manager.addArtifactChecksum(ARTIFACT2, "md5", "md5-2");
+        manager.removeArtifactChecksum(ARTIFACT2);
+
+        assertThat(manager.getMemoryUsage()).isZero();
+
+        manager.addArtifactChecksum(ARTIFACT3, "md5", "md5-3");
+        clock.advance(3500L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.getMemoryUsage()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClusteredChecksumsAreRemovedWithTheLocalOnes()
+    {
+        IMap<String, HashMap<String, String>> clusteredChecksums = mock(IMap.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.<String, HashMap<String, String>>getMap(CacheName.Artifact.ARTIFACT_CHECKSUMS))
+                .thenReturn(clusteredChecksums);
+
+        MutableClock clock = new MutableClock(START);
+        ChecksumCacheManager manager = newChecksumCacheManager(clock);
+        manager.setHazelcastInstance(hazelcastInstance);
+        manager.setMaxSize(1);
+
+        manager.addArtifactChecksum(ARTIFACT1, "md5", "md5-1");
+
+        verify(clusteredChecksums).executeOnKey(eq(ARTIFACT1), any());
+
+        // Evicted.
+        clock.advance(500L);
+        manager.removeExpiredChecksums();
+        manager.addArtifactChecksum(ARTIFACT2, "md5", "md5-2");
+
+        verify(clusteredChecksums).delete(ARTIFACT1);
+        verify(clusteredChecksums, never()).delete(ARTIFACT2);
+
+        // Expired.
+        clock.advance(3500L);
+        manager.removeExpiredChecksums();
+
+        verify(clusteredChecksums).delete(ARTIFACT2);
+
+        // Uploaded to another node.
+        HashMap<String, String> checksums = new HashMap<>();
+        checksums.put("md5", "md5-3");
+        when(clusteredChecksums.containsKey(ARTIFACT3)).thenReturn(true);
+        when(clusteredChecksums.get(ARTIFACT3)).thenReturn(checksums);
+
+        assertThat(manager.containsArtifactPath(ARTIFACT3)).isTrue();
+        assertThat(manager.getArtifactChecksum(ARTIFACT3, "md5")).isEqualTo("md5-3");
+        assertThat(manager.getSize()).isZero();
+    }
+
     @Test
     public void testDigests()
             throws NoSuchAlgorithmException, IOException, CloneNotSupportedException
@@ -76,6 +264,61 @@ public class ChecksumCacheManagerTest
         System.out.println("sha1: " + sha1);
     }
 
+    private ChecksumCacheManager newChecksumCacheManager(Clock clock)
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setCachedChecksumLifetime(3000L);
+        manager.setCachedChecksumExpiredCheckInterval(500L);
+        manager.setClock(clock);
+
+        return manager;
+    }
+
+    private long estimatedSize(String artifactBasePath,
+                               String algorithm,
+                               String checksum)
+    {
+        return ChecksumCacheManager.ENTRY_OVERHEAD +
+               2L * artifactBasePath.length() +
+               2L * (algorithm.length() + checksum.length());
+    }
+
+    private static class MutableClock
+            extends Clock
+    {
+
+        private volatile long millis;
+
+        private MutableClock(long millis)
+        {
+            this.millis = millis;
+        }
+
+        private void advance(long duration)
+        {
+            millis += duration;
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            return this;
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return Instant.ofEpochMilli(millis);
+        }
+
+    }
+
     private class CheckingThread extends Thread
     {
         ChecksumCacheManager manager;
@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChecksumRegenerationJournalTest
+{
+
+    @Test
+    public void testRecordsAreReloadedAndCompacted()
+            throws Exception
+    {
+        Path tempDir = Files.createTempDirectory("checksum-journal");
+        try
+        {
+            testRecordsAreReloadedAndCompacted(tempDir);
+        }
+        finally
+        {
+            FileUtils.deleteDirectory(tempDir.toFile());
+        }
+    }
+
+    private void testRecordsAreReloadedAndCompacted(Path tempDir)
+            throws Exception
+    {
+        Path journalPath = tempDir.resolve("storage0").resolve("releases.journal");
+
+        try (ChecksumRegenerationJournal journal = new ChecksumRegenerationJournal(journalPath))
+        {
+            journal.open();
+            journal.record("org/foo/foo-1.0.jar", 100L, 1000L);
+            journal.record("org/foo/foo-1.0.pom", 10L, 1000L);
+            journal.record("org/foo/foo-1.0.jar", 200L, 2000L);
+        }
+
+        // Compacted on close.
+        assertThat(Files.readAllLines(journalPath)).hasSize(2);
+
+        // Simulate a line truncated by an interrupted run.
+        Files.write(journalPath, "300\t30".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (ChecksumRegenerationJournal journal = new ChecksumRegenerationJournal(journalPath))
+        {
+            journal.open();
+
+            assertThat(journal.matches("org/foo/foo-1.0.jar", 200L, 2000L)).isTrue();
+            assertThat(journal.matches("org/foo/foo-1.0.jar", 100L, 1000L)).isFalse();
+            assertThat(journal.matches("org/foo/foo-1.0.pom", 10L, 1000L)).isTrue();
+            assertThat(journal.matches("org/foo/foo-1.0.pom", 10L, 1001L)).isFalse();
+            assertThat(journal.matches("org/foo/foo-2.0.jar", 10L, 1000L)).isFalse();
+        }
+
+        assertThat(Files.readAllLines(journalPath)).hasSize(2);
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker.State;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RemoteRepositoryCircuitBreakerTest
+{
+
+    private final AtomicLong now = new AtomicLong(1000);
+
+    private final RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker("http://localhost/",
+                                                                                                     10,
+                                                                                                     4,
+                                                                                                     50,
+                                                                                                     30000,
+                                                                                                     now::get);
+
+    @Test
+    public void testBreakerOpensOnceTheFailureRateIsReached()
+    {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Not enough calls yet.
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        circuitBreaker.onSuccess(10);
+        circuitBreaker.onSuccess(10);
+        circuitBreaker.onSuccess(10);
+        circuitBreaker.onSuccess(10);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isEqualTo(42);
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.isAvailable()).isFalse();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    public void testSingleTrialRequestWhenHalfOpen()
+    {
+        open();
+
+        now.addAndGet(30000);
+
+        assertThat(circuitBreaker.isAvailable()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.isAvailable()).isFalse();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+
+        now.addAndGet(30000);
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        circuitBreaker.onSuccess(10);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isZero();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    public void testLatencyPercentiles()
+    {
+        assertThat(circuitBreaker.getLatencyPercentile(99)).isEqualTo(-1);
+
+        for (int i = 1; i <= 10; i++)
+        {
+            circuitBreaker.onSuccess(i * 10);
+        }
+        circuitBreaker.onSuccess(-1);
+
+        assertThat(circuitBreaker.getLatencyPercentile(50)).isEqualTo(50);
+        assertThat(circuitBreaker.getLatencyPercentile(99)).isEqualTo(100);
+
+        // Only the last latencies are kept.
+        circuitBreaker.onSuccess(5);
+
+        assertThat(circuitBreaker.getLatencyPercentile(1)).isEqualTo(5);
+        assertThat(circuitBreaker.getLatencyPercentile(99)).isEqualTo(100);
+    }
+
+    private void open()
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            circuitBreaker.onFailure();
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+}
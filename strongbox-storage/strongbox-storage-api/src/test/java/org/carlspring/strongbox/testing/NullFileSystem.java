@@ -23,7 +23,7 @@ public class NullFileSystem extends LayoutFileSystem
     }
 
     @Override
-    public Set<String> getDigestAlgorithmSet()
+    public Set<String> getDefaultDigestAlgorithmSet()
     {
         return Stream.of(MessageDigestAlgorithms.MD5)
                      .collect(Collectors.toSet());
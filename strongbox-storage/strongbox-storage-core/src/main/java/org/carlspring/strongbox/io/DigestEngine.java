@@ -0,0 +1,262 @@
+package org.carlspring.strongbox.io;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Calculates several digests of the same bytes in a single pass.
+ * <p>
+ * By default all the {@link MessageDigest}s are updated one after another by the writing thread. Once
+ * {@link #enableParallelism(Executor, int, int)} is called, the bytes are copied into a ring of chunk buffers and
+ * every full chunk is hashed by all the algorithms at the same time on the provided {@link Executor}. The chunks are
+ * only read by the workers, and each algorithm processes them in order, so the digests are the same as the
+ * sequential ones. At most {@code maxChunksInFlight} chunks are pending, the writer waits for the oldest chunk to be
+ * hashed before reusing its buffer.
+ * <p>
+ * The digests are only finished once, by {@link #digest()}, and the result is kept for the later calls.
+ */
+public class DigestEngine
+{
+
+    private final Map<String, MessageDigest> digests = new LinkedHashMap<>();
+
+    private Executor executor;
+
+    private int chunkSize;
+
+    private byte[][] chunks;
+
+    private CompletableFuture<?>[] chunkFutures;
+
+    /**
+     * The last task of every algorithm, the next chunk is hashed after it.
+     */
+    private CompletableFuture<?>[] lanes;
+
+    private int chunkIndex;
+
+    private int position;
+
+    private boolean started;
+
+    private boolean submitted;
+
+    private Map<String, byte[]> result;
+
+    public void addAlgorithm(String algorithm)
+            throws NoSuchAlgorithmException
+    {
+        if (started)
+        {
+            throw new IllegalStateException(String.format("Can't add the [%s] algorithm once the digest is started.",
+                                                          algorithm));
+        }
+
+        digests.put(algorithm, MessageDigest.getInstance(algorithm));
+    }
+
+    public Set<String> getAlgorithms()
+    {
+        return Collections.unmodifiableSet(digests.keySet());
+    }
+
+    /**
+     * @param executor          the pool to hash the chunks on
+     * @param chunkSize         the number of bytes hashed by a single task
+     * @param maxChunksInFlight the number of chunks which can be pending, which bounds the memory used by the engine
+     *                          to {@code chunkSize * maxChunksInFlight} bytes
+     */
+    public void enableParallelism(Executor executor,
+                                  int chunkSize,
+                                  int maxChunksInFlight)
+    {
+        if (started)
+        {
+            throw new IllegalStateException("Can't enable the parallelism once the digest is started.");
+        }
+        if (chunkSize <= 0 || maxChunksInFlight <= 0)
+        {
+            throw new IllegalArgumentException(String.format("Invalid chunk size [%s] or chunks in flight [%s].",
+                                                             chunkSize,
+                                                             maxChunksInFlight));
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.chunks = new byte[maxChunksInFlight][];
+        this.chunkFutures = new CompletableFuture<?>[maxChunksInFlight];
+    }
+
+    public boolean isParallel()
+    {
+        return executor != null && digests.size() > 1;
+    }
+
+    public void update(int b)
+    {
+        if (isParallel())
+        {
+            update(new byte[]{ (byte) b }, 0, 1);
+
+            return;
+        }
+
+        if (result != null)
+        {
+            throw new IllegalStateException("The digest is already finished.");
+        }
+        started = true;
+
+        for (MessageDigest digest : digests.values())
+        {
+            digest.update((byte) b);
+        }
+    }
+
+    public void update(byte[] b,
+                       int off,
+                       int len)
+    {
+        if (result != null)
+        {
+            throw new IllegalStateException("The digest is already finished.");
+        }
+        started = true;
+
+        if (!isParallel())
+        {
+            for (MessageDigest digest : digests.values())
+            {
+                digest.update(b, off, len);
+            }
+
+            return;
+        }
+
+        while (len > 0)
+        {
+            byte[] chunk = currentChunk();
+
+            int n = Math.min(len, chunkSize - position);
+            System.arraycopy(b, off, chunk, position, n);
+            position += n;
+            off += n;
+            len -= n;
+
+            if (position == chunkSize)
+            {
+                submitChunk();
+            }
+        }
+    }
+
+    /**
+     * Finishes the digests, waiting for the pending chunks if needed.
+     *
+     * @return the digests by algorithm, in the order the algorithms were added
+     */
+    public Map<String, byte[]> digest()
+    {
+        if (result != null)
+        {
+            return result;
+        }
+
+        if (isParallel() && position > 0)
+        {
+            if (submitted)
+            {
+                submitChunk();
+            }
+            else
+            {
+                // Small enough to not be worth a task.
+                for (MessageDigest digest : digests.values())
+                {
+                    digest.update(chunks[chunkIndex], 0, position);
+                }
+                position = 0;
+            }
+        }
+
+        if (lanes != null)
+        {
+            join(CompletableFuture.allOf(lanes));
+        }
+
+        Map<String, byte[]> digestMap = new LinkedHashMap<>();
+        digests.forEach((algorithm, digest) -> digestMap.put(algorithm, digest.digest()));
+
+        result = Collections.unmodifiableMap(digestMap);
+
+        return result;
+    }
+
+    private byte[] currentChunk()
+    {
+        if (position == 0 && chunkFutures[chunkIndex] != null)
+        {
+            join(chunkFutures[chunkIndex]);
+            chunkFutures[chunkIndex] = null;
+        }
+        if (chunks[chunkIndex] == null)
+        {
+            chunks[chunkIndex] = new byte[chunkSize];
+        }
+
+        return chunks[chunkIndex];
+    }
+
+    private void submitChunk()
+    {
+        if (lanes == null)
+        {
+            lanes = new CompletableFuture<?>[digests.size()];
+            for (int i = 0; i < lanes.length; i++)
+            {
+                lanes[i] = CompletableFuture.completedFuture(null);
+            }
+        }
+
+        byte[] chunk = chunks[chunkIndex];
+        int length = position;
+
+        int i = 0;
+        for (MessageDigest digest : digests.values())
+        {
+            lanes[i] = lanes[i].thenRunAsync(() -> digest.update(chunk, 0, length), executor);
+            i++;
+        }
+
+        chunkFutures[chunkIndex] = CompletableFuture.allOf(lanes);
+        chunkIndex = (chunkIndex + 1) % chunks.length;
+        position = 0;
+        submitted = true;
+    }
+
+    private static void join(CompletableFuture<?> future)
+    {
+        try
+        {
+            future.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException("Failed to calculate the digest.", cause);
+        }
+    }
+
+}
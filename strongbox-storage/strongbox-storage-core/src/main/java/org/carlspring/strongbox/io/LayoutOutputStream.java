@@ -1,16 +1,19 @@
 package org.carlspring.strongbox.io;
 
-import org.carlspring.commons.io.MultipleDigestOutputStream;
+import org.carlspring.strongbox.metrics.StrongboxMetrics;
 import org.carlspring.strongbox.util.MessageDigestUtils;
 
 import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,13 +27,18 @@ import org.slf4j.LoggerFactory;
  *     ArtifactOutputStream aos = (ArtifactOutputStream) Files.newOutputStream(repositoryPath); 
  * </pre>
  * 
+ * The digests of the written bytes are calculated in the same pass by a {@link DigestEngine}, see
+ * {@link #getDigestEngine()} to hash the algorithms in parallel.
+ * 
  * @author Sergey Bespalov
  */
-public class LayoutOutputStream extends MultipleDigestOutputStream
+public class LayoutOutputStream extends FilterOutputStream
 {
 
     private static final Logger logger = LoggerFactory.getLogger(LayoutOutputStream.class);
 
+    private final DigestEngine digestEngine = new DigestEngine();
+
     private Function<byte[], String> digestStringifier = MessageDigestUtils::convertToHexadecimalString;
 
     /**
@@ -39,11 +47,30 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     private OutputStream cacheOutputStream;
     private Function<OutputStreamFunction, ?> cacheOutputStreamTemplate = this::doWithOutputStream;
     private Map<String, String> digestMap;
+
+    /**
+     * Used to record the digest throughput, see {@link #setMetricsTags(Tags)}.
+     */
+    private Tags metricsTags;
+    private int writeDepth;
+    private long writeNanos;
+    private long writtenBytes;
     
     public LayoutOutputStream(OutputStream source)
             throws NoSuchAlgorithmException
     {
-        super(new BufferedOutputStream(source), new String[]{});
+        super(new BufferedOutputStream(source));
+    }
+
+    public void addAlgorithm(String algorithm)
+            throws NoSuchAlgorithmException
+    {
+        digestEngine.addAlgorithm(algorithm);
+    }
+
+    public DigestEngine getDigestEngine()
+    {
+        return digestEngine;
     }
 
     public void setCacheOutputStreamTemplate(Function<OutputStreamFunction, ?> chahceOutputStreamTemplate)
@@ -71,16 +98,25 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
         this.digestStringifier = digestStringifier;
     }
 
+    /**
+     * Enables the {@link StrongboxMetrics#DIGEST} and {@link StrongboxMetrics#DIGEST_BYTES} metrics, which are
+     * recorded once the stream is closed. The measured time is the one of the whole write, so it includes the
+     * target stream along with the digest computation.
+     */
+    public void setMetricsTags(Tags metricsTags)
+    {
+        this.metricsTags = metricsTags;
+    }
+
     public Map<String, String> getDigestMap()
     {
         if (digestMap == null)
         {
-            digestMap = getDigests().entrySet()
-                                    .stream()
-                                    .collect(Collectors.toMap(Map.Entry::getKey,
-                                                              e -> stringifyDigest(digestStringifier,
-                                                                                   e.getValue()
-                                                                                    .digest())));
+            Map<String, String> result = new LinkedHashMap<>();
+            digestEngine.digest().forEach((algorithm, digest) -> result.put(algorithm,
+                                                                            stringifyDigest(digestStringifier,
+                                                                                            digest)));
+            digestMap = result;
         }
         
         return digestMap;
@@ -96,8 +132,17 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     public void write(int b)
         throws IOException
     {
-        super.write(b);
-        cacheOutputStreamTemplate.apply(o -> o.write(b));
+        long start = startWrite();
+        try
+        {
+            out.write(b);
+            digestEngine.update(b);
+            cacheOutputStreamTemplate.apply(o -> o.write(b));
+        }
+        finally
+        {
+            endWrite(start, 1);
+        }
     }
 
     @Override
@@ -106,16 +151,34 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
                       int len)
         throws IOException
     {
-        super.write(b, off, len);
-        cacheOutputStreamTemplate.apply(o -> o.write(b, off, len));
+        long start = startWrite();
+        try
+        {
+            out.write(b, off, len);
+            digestEngine.update(b, off, len);
+            cacheOutputStreamTemplate.apply(o -> o.write(b, off, len));
+        }
+        finally
+        {
+            endWrite(start, len);
+        }
     }
 
     @Override
     public void write(byte[] b)
             throws IOException
     {
-        super.write(b);
-        cacheOutputStreamTemplate.apply(o -> o.write(b));
+        long start = startWrite();
+        try
+        {
+            out.write(b);
+            digestEngine.update(b, 0, b.length);
+            cacheOutputStreamTemplate.apply(o -> o.write(b));
+        }
+        finally
+        {
+            endWrite(start, b.length);
+        }
     }
 
     @Override
@@ -124,6 +187,8 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     {
         super.close();
         cacheOutputStreamTemplate.apply(o -> o.close());
+
+        recordMetrics();
     }
 
     @Override
@@ -134,6 +199,45 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
         cacheOutputStreamTemplate.apply(o -> o.flush());
     }
 
+    /**
+     * The write methods can delegate to each other, so only the outermost write is measured.
+     */
+    private long startWrite()
+    {
+        return writeDepth++ == 0 && metricsTags != null ? System.nanoTime() : -1;
+    }
+
+    private void endWrite(long start,
+                          int len)
+    {
+        writeDepth--;
+        if (start < 0)
+        {
+            return;
+        }
+
+        writeNanos += System.nanoTime() - start;
+        writtenBytes += len;
+    }
+
+    private void recordMetrics()
+    {
+        if (metricsTags == null || writtenBytes == 0)
+        {
+            return;
+        }
+
+        StrongboxMetrics.registry()
+                        .timer(StrongboxMetrics.DIGEST, metricsTags)
+                        .record(writeNanos, TimeUnit.NANOSECONDS);
+        StrongboxMetrics.registry()
+                        .summary(StrongboxMetrics.DIGEST_BYTES, metricsTags)
+                        .record(writtenBytes);
+
+        writeNanos = 0;
+        writtenBytes = 0;
+    }
+
     private Object doWithOutputStream(OutputStreamFunction f)
     {
         if (cacheOutputStream == null)
@@ -0,0 +1,29 @@
+package org.carlspring.strongbox.metrics;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * The {@link StrongboxMetrics} tags of a {@link Repository}.
+ */
+public final class RepositoryMetrics
+{
+
+    private RepositoryMetrics()
+    {
+    }
+
+    public static Tags tags(Repository repository)
+    {
+        if (repository == null)
+        {
+            return StrongboxMetrics.repositoryTags(null, null, null);
+        }
+
+        return StrongboxMetrics.repositoryTags(repository.getStorage() != null ? repository.getStorage().getId() : null,
+                                               repository.getId(),
+                                               repository.getLayout());
+    }
+
+}
@@ -10,6 +10,7 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.transaction.annotation.Transactional;
 
@@ -97,4 +98,18 @@ public interface RepositoryProvider
     Path fetchPath(Path repositoryPath)
         throws IOException;
 
+    /**
+     * Creates or updates the Artifact entry of an Artifact file which has been
+     * written without the {@link #getOutputStream(Path)} stream (moved in place
+     * from the temporary directory, or copied from another repository), the
+     * same way as the stream would.
+     * 
+     * @param path
+     * @param checksums the Artifact file digests by algorithm
+     * @throws IOException
+     */
+    void storeArtifactEntry(Path path,
+                            Map<String, String> checksums)
+        throws IOException;
+
 }
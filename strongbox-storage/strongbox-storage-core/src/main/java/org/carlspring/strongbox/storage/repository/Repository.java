@@ -45,6 +45,12 @@ public interface Repository
 
     Set<String> getArtifactCoordinateValidators();
 
+    /**
+     * @return the digest algorithms to calculate for the artifacts of the repository, or an empty set to use the
+     *         ones of its layout
+     */
+    Set<String> getDigestAlgorithms();
+
     Storage getStorage();
 
     boolean isHostedRepository();
@@ -91,6 +91,8 @@ public class RepositoryData
     @JsonDeserialize(using = StringArrayToMapJsonDeserializer.class)
     private Map<String, String> artifactCoordinateValidators;
 
+    private Set<String> digestAlgorithms;
+
     @JsonIgnore
     private Storage storage;
 
@@ -133,6 +135,7 @@ public class RepositoryData
         this.groupRepositories = immuteGroupRepositories(delegate.getGroupRepositories());
         this.artifactCoordinateValidators = immuteArtifactCoordinateValidators(
                 delegate.getArtifactCoordinateValidators());
+        this.digestAlgorithms = immuteDigestAlgorithms(delegate.getDigestAlgorithms());
         this.storage = storage != null ? storage : immuteStorage(delegate.getStorage());
         this.basedir = delegate.getBasedir();
     }
@@ -176,6 +179,11 @@ public class RepositoryData
     }
 
 
+    private Set<String> immuteDigestAlgorithms(final Set<String> source)
+    {
+        return source != null ? Collections.unmodifiableSet(new LinkedHashSet<>(source)) : Collections.emptySet();
+    }
+
     private Map<String, String> immuteArtifactCoordinateValidators(final Set<String> source)
     {
         return source != null ? ImmutableMap.copyOf(source.stream().collect(toLinkedHashMap(e -> e, e -> e))) :
@@ -340,6 +348,12 @@ public class RepositoryData
         return artifactCoordinateValidators.keySet();
     }
 
+    @Override
+    public Set<String> getDigestAlgorithms()
+    {
+        return digestAlgorithms;
+    }
+
     @Override
     public Storage getStorage()
     {
@@ -74,6 +74,8 @@ public class RepositoryDto
 
     private Set<String> artifactCoordinateValidators = new LinkedHashSet<>();
 
+    private Set<String> digestAlgorithms = new LinkedHashSet<>();
+
     @JsonIgnore
     private StorageDto storage;
 
@@ -414,6 +416,16 @@ public class RepositoryDto
         this.artifactCoordinateValidators = artifactCoordinateValidators;
     }
 
+    public Set<String> getDigestAlgorithms()
+    {
+        return digestAlgorithms;
+    }
+
+    public void setDigestAlgorithms(Set<String> digestAlgorithms)
+    {
+        this.digestAlgorithms = digestAlgorithms;
+    }
+
     public boolean isEligibleForCustomConnectionPool()
     {
         return this.getHttpConnectionPool() != null &&
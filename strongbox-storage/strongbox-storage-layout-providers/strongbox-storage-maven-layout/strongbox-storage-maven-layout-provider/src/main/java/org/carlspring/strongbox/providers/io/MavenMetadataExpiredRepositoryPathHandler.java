@@ -2,6 +2,7 @@ package org.carlspring.strongbox.providers.io;
 
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
 import org.carlspring.strongbox.storage.metadata.maven.ChecksumMetadataExpirationStrategy;
+import org.carlspring.strongbox.storage.metadata.maven.MavenMetadataRevalidator;
 import org.carlspring.strongbox.storage.metadata.maven.MetadataExpirationStrategy;
 import org.carlspring.strongbox.storage.metadata.maven.RefreshMetadataExpirationStrategy;
 import org.carlspring.strongbox.storage.metadata.maven.MetadataExpirationStrategyType;
@@ -38,6 +39,9 @@ public class MavenMetadataExpiredRepositoryPathHandler
     @Inject
     private RefreshMetadataExpirationStrategy refreshMetadataStrategy;
 
+    @Inject
+    private MavenMetadataRevalidator mavenMetadataRevalidator;
+
     @Override
     public boolean supports(final RepositoryPath repositoryPath)
             throws IOException
@@ -59,6 +63,12 @@ public class MavenMetadataExpiredRepositoryPathHandler
     @Override
     public void handleExpiration(final RepositoryPath repositoryPath)
             throws IOException
+    {
+        mavenMetadataRevalidator.revalidate(repositoryPath, this::revalidate);
+    }
+
+    private void revalidate(final RepositoryPath repositoryPath)
+            throws IOException
     {
         MetadataExpirationStrategy metadataExpirationStrategy = getMetadataStrategy(repositoryPath);
         MetadataExpirationStrategy.Decision refetchMetadata = metadataExpirationStrategy.decide(repositoryPath);
@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactMetadataService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code maven-metadata.xml} files of an artifact are regenerated from its {@code groupId/artifactId} directory.
+ */
+@Component
+public class Maven2ArtifactGroupMetadataRebuilder
+        implements ArtifactGroupMetadataRebuilder
+{
+
+    @Inject
+    private ArtifactMetadataService artifactMetadataService;
+
+    @Override
+    public String getLayout()
+    {
+        return Maven2LayoutProvider.ALIAS;
+    }
+
+    @Override
+    public RepositoryPath getMetadataBasePath(RepositoryPath artifactPath)
+        throws IOException
+    {
+        MavenArtifactCoordinates coordinates = (MavenArtifactCoordinates) RepositoryFiles.readCoordinates(artifactPath);
+
+        return artifactPath.getFileSystem()
+                           .getRootDirectory()
+                           .resolve(coordinates.getGroupId().replace('.', '/'))
+                           .resolve(coordinates.getArtifactId());
+    }
+
+    @Override
+    public void rebuildMetadata(RepositoryPath metadataBasePath)
+        throws IOException
+    {
+        Repository repository = metadataBasePath.getRepository();
+
+        try
+        {
+            artifactMetadataService.rebuildMetadata(repository.getStorage().getId(),
+                                                    repository.getId(),
+                                                    RepositoryFiles.relativizePath(metadataBasePath));
+        }
+        catch (XmlPullParserException | NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyPrefetchPolicy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Once the POM of an artifact is fetched, the Maven clients request its checksum and the main artifact along with
+ * its checksum, which are configured with {@code strongbox.proxy.prefetch.maven.siblings} (the extensions which
+ * replace the {@code pom} one). The {@code jar} siblings stand for the main artifact: their extension is taken from
+ * the {@code <packaging>} of the fetched POM, and they're left out for the {@code pom} packaging, or when the POM
+ * can't be read.
+ */
+@Component
+public class Maven2ProxyPrefetchPolicy
+        implements ProxyPrefetchPolicy
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(Maven2ProxyPrefetchPolicy.class);
+
+    private static final String POM_EXTENSION = ".pom";
+
+    private static final String POM_PACKAGING = "pom";
+
+    private static final String JAR_EXTENSION = "jar";
+
+    /**
+     * The packagings whose artifact has an extension of the same name, all the others are packaged as jars.
+     */
+    private static final List<String> ARCHIVE_PACKAGINGS = Arrays.asList("war", "ear", "rar");
+
+    @Value("${strongbox.proxy.prefetch.maven.siblings:pom.sha1,jar,jar.sha1}")
+    private String[] siblings;
+
+    @Override
+    public String getLayout()
+    {
+        return Maven2LayoutProvider.ALIAS;
+    }
+
+    @Override
+    public List<RepositoryPath> getPrefetchPaths(RepositoryPath fetchedPath)
+    {
+        String fileName = fetchedPath.getFileName().toString();
+        if (!fileName.endsWith(POM_EXTENSION))
+        {
+            return Collections.emptyList();
+        }
+
+        String baseName = fileName.substring(0, fileName.length() - POM_EXTENSION.length());
+        String artifactExtension = getArtifactExtension(fetchedPath);
+
+        List<RepositoryPath> result = new ArrayList<>();
+        for (String sibling : siblings)
+        {
+            String extension = sibling.trim();
+            if (extension.startsWith(JAR_EXTENSION))
+            {
+                if (artifactExtension == null)
+                {
+                    continue;
+                }
+
+                extension = artifactExtension + extension.substring(JAR_EXTENSION.length());
+            }
+
+            result.add(fetchedPath.resolveSibling(baseName + "." + extension));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the extension of the main artifact of the POM, or {@code null} if there's none
+     */
+    private String getArtifactExtension(RepositoryPath pomPath)
+    {
+        Model model;
+        try (InputStream is = Files.newInputStream(pomPath))
+        {
+            model = new MavenXpp3Reader().read(is);
+        }
+        catch (IOException | XmlPullParserException e)
+        {
+            logger.debug("Failed to read the packaging of [{}].", pomPath, e);
+
+            return null;
+        }
+
+        String packaging = model.getPackaging();
+        if (POM_PACKAGING.equals(packaging))
+        {
+            return null;
+        }
+
+        return ARCHIVE_PACKAGINGS.contains(packaging) ? packaging : JAR_EXTENSION;
+    }
+
+}
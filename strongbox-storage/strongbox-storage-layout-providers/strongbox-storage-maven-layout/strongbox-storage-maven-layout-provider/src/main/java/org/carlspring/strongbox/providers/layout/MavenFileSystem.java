@@ -48,7 +48,7 @@ public class MavenFileSystem
     }
 
     @Override
-    public Set<String> getDigestAlgorithmSet()
+    public Set<String> getDefaultDigestAlgorithmSet()
     {
         return layoutProvider.getDigestAlgorithmSet();
     }
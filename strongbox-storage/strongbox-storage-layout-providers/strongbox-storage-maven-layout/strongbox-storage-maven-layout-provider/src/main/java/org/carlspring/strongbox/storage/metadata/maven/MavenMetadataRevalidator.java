@@ -0,0 +1,329 @@
+package org.carlspring.strongbox.storage.metadata.maven;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.util.ThrowingConsumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revalidates the expired {@code maven-metadata.xml} of the proxy repositories.
+ * <p>
+ * Unless {@code strongbox.maven.metadata.revalidation.async} is enabled, the metadata is revalidated right away, in the
+ * calling thread. Otherwise, it's served stale while it's revalidated in the background:
+ * <ul>
+ * <li>the metadata validated less than {@code refreshIntervalMillis} ago is served as is;</li>
+ * <li>the older metadata is served as is, and a revalidation is scheduled, unless one is already scheduled or running
+ * for the same path;</li>
+ * <li>the metadata validated more than {@code maxStalenessMillis} ago is revalidated before it's served.</li>
+ * </ul>
+ * The paths requested at least {@code proactive.minHits} times during a {@code refreshIntervalMillis} are revalidated
+ * at the end of it, so that the popular metadata is never much older than {@code refreshIntervalMillis}.
+ * <p>
+ * A revalidation which finds the metadata still usable doesn't touch the file, so the time of the last validation of
+ * up to {@code proactive.maxPaths} paths is kept apart from their hits, and a path which comes back after some idle
+ * time is still served as is, as long as it was validated recently enough.
+ */
+@Component
+public class MavenMetadataRevalidator
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenMetadataRevalidator.class);
+
+    @Value("${strongbox.maven.metadata.revalidation.async:false}")
+    private boolean async;
+
+    @Value("${strongbox.maven.metadata.revalidation.workers:4}")
+    private int workers;
+
+    @Value("${strongbox.maven.metadata.revalidation.refreshIntervalMillis:10000}")
+    private long refreshIntervalMillis;
+
+    @Value("${strongbox.maven.metadata.revalidation.maxStalenessMillis:300000}")
+    private long maxStalenessMillis;
+
+    @Value("${strongbox.maven.metadata.revalidation.proactive.minHits:10}")
+    private int minHits;
+
+    @Value("${strongbox.maven.metadata.revalidation.proactive.maxPaths:10000}")
+    private int maxPaths;
+
+    /**
+     * The metadata which has been requested during the current and the previous {@code refreshIntervalMillis}.
+     */
+    private final ConcurrentMap<String, TrackedMetadata> trackedMetadata = new ConcurrentHashMap<>();
+
+    /**
+     * The time of the last validation of the most recently requested metadata.
+     */
+    private final Map<String, Long> validations = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16,
+                                                                                                              0.75f,
+                                                                                                              true)
+    {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest)
+        {
+            return size() > maxPaths;
+        }
+
+    });
+
+    private final ConcurrentMap<String, CompletableFuture<Void>> revalidations = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    private ScheduledExecutorService scheduler;
+
+    public MavenMetadataRevalidator()
+    {
+    }
+
+    MavenMetadataRevalidator(long refreshIntervalMillis,
+                             long maxStalenessMillis,
+                             int minHits,
+                             int maxPaths)
+    {
+        this.async = true;
+        this.workers = 1;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.minHits = minHits;
+        this.maxPaths = maxPaths;
+    }
+
+    @PostConstruct
+    public void init()
+    {
+        if (!async)
+        {
+            return;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "maven-metadata-revalidator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "maven-metadata-revalidator");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshPopularMetadata,
+                                         refreshIntervalMillis,
+                                         refreshIntervalMillis,
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            scheduler.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    /**
+     * Revalidates the expired metadata, either right away or in the background (see above).
+     *
+     * @param revalidation refreshes the metadata from the remote repository, if needed
+     */
+    public void revalidate(RepositoryPath repositoryPath,
+                           ThrowingConsumer<RepositoryPath, IOException> revalidation)
+            throws IOException
+    {
+        if (!async)
+        {
+            revalidation.accept(repositoryPath);
+
+            return;
+        }
+
+        String key = repositoryPath.toString();
+        long now = System.currentTimeMillis();
+
+        track(key, repositoryPath, revalidation);
+        long validatedOn = Math.max(getLastModified(repositoryPath), validations.getOrDefault(key, 0L));
+        long staleness = now - validatedOn;
+
+        if (staleness > maxStalenessMillis)
+        {
+            logger.debug("Metadata [{}] was validated [{}] ms ago, revalidating it synchronously.", key, staleness);
+
+            await(key, schedule(key, repositoryPath, revalidation));
+        }
+        else if (staleness >= refreshIntervalMillis)
+        {
+            schedule(key, repositoryPath, revalidation);
+        }
+    }
+
+    /**
+     * @return the revalidation of the metadata, which is scheduled unless it's already scheduled or running
+     */
+    CompletableFuture<Void> schedule(String key,
+                                     RepositoryPath repositoryPath,
+                                     ThrowingConsumer<RepositoryPath, IOException> revalidation)
+    {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture<Void> existing = revalidations.putIfAbsent(key, result);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        try
+        {
+            executor.execute(() -> {
+                Exception failure = null;
+                try
+                {
+                    revalidation.accept(repositoryPath);
+
+                    validations.put(key, System.currentTimeMillis());
+                }
+                catch (Exception e)
+                {
+                    logger.warn("Failed to revalidate metadata [{}].", key, e);
+
+                    failure = e;
+                }
+
+                revalidations.remove(key, result);
+                if (failure == null)
+                {
+                    result.complete(null);
+                }
+                else
+                {
+                    result.completeExceptionally(failure);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            revalidations.remove(key, result);
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Schedules the revalidation of the metadata which has been requested at least {@code minHits} times since the last
+     * run, and stops tracking the metadata which hasn't been requested since.
+     */
+    void refreshPopularMetadata()
+    {
+        trackedMetadata.forEach((key, metadata) -> {
+            int hits = metadata.hits.getAndSet(0);
+            if (hits == 0)
+            {
+                trackedMetadata.remove(key, metadata);
+            }
+            else if (hits >= minHits)
+            {
+                schedule(key, metadata.repositoryPath, metadata.revalidation);
+            }
+        });
+    }
+
+    long getLastModified(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        return Files.getLastModifiedTime(repositoryPath).toMillis();
+    }
+
+    private void track(String key,
+                       RepositoryPath repositoryPath,
+                       ThrowingConsumer<RepositoryPath, IOException> revalidation)
+    {
+        TrackedMetadata metadata = trackedMetadata.get(key);
+        if (metadata == null && trackedMetadata.size() < maxPaths)
+        {
+            metadata = trackedMetadata.computeIfAbsent(key, k -> new TrackedMetadata(repositoryPath, revalidation));
+        }
+
+        if (metadata != null)
+        {
+            metadata.hits.incrementAndGet();
+        }
+    }
+
+    private void await(String key,
+                       CompletableFuture<Void> revalidation)
+            throws IOException
+    {
+        try
+        {
+            revalidation.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while revalidating metadata [%s].", key));
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static class TrackedMetadata
+    {
+
+        private final RepositoryPath repositoryPath;
+
+        private final ThrowingConsumer<RepositoryPath, IOException> revalidation;
+
+        private final AtomicInteger hits = new AtomicInteger();
+
+        private TrackedMetadata(RepositoryPath repositoryPath,
+                                ThrowingConsumer<RepositoryPath, IOException> revalidation)
+        {
+            this.repositoryPath = repositoryPath;
+            this.revalidation = revalidation;
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.carlspring.strongbox.dependency.snippet;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+public class SnippetGeneratorTest
+{
+
+    @Inject
+    private SnippetGenerator snippetGenerator;
+
+
+    @Test
+    public void testSnippetsAreRenderedOnceAndOnlyForTheRequestedFormats()
+    {
+        MavenArtifactCoordinates coordinates = new MavenArtifactCoordinates();
+        coordinates.setGroupId("org.carlspring.strongbox");
+        coordinates.setArtifactId("snippet-generator");
+        coordinates.setVersion("1.0");
+        coordinates.setExtension("jar");
+
+        List<CodeSnippet> snippets = snippetGenerator.generateSnippets(Maven2LayoutProvider.ALIAS,
+                                                                       coordinates,
+                                                                       Collections.singleton(GradleDependencyFormatter.ALIAS));
+
+        assertThat(snippets).hasSize(1);
+        assertThat(snippets.get(0).getName()).isEqualTo(GradleDependencyFormatter.ALIAS);
+        assertThat(snippets.get(0).getCode()).isEqualTo("compile \"org.carlspring.strongbox:snippet-generator:1.0\"\n");
+
+        long misses = snippetGenerator.getMissCount();
+        long hits = snippetGenerator.getHitCount();
+
+        List<CodeSnippet> allSnippets = snippetGenerator.generateSnippets(Maven2LayoutProvider.ALIAS, coordinates);
+
+        assertThat(allSnippets.get(0).getName()).isEqualTo(Maven2LayoutProvider.ALIAS);
+        assertThat(allSnippets).contains(snippets.get(0));
+        assertThat(snippetGenerator.getHitCount()).isGreaterThan(hits);
+        assertThat(snippetGenerator.getMissCount() - misses).isEqualTo(allSnippets.size() - 1);
+
+        assertThat(snippetGenerator.generateSnippets(Maven2LayoutProvider.ALIAS, coordinates)).isEqualTo(allSnippets);
+        assertThat(snippetGenerator.getMissCount() - misses).isEqualTo(allSnippets.size() - 1);
+    }
+
+}
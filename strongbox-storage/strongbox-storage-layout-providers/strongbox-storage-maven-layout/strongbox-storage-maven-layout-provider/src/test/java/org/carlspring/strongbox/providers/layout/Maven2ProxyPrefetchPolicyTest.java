@@ -0,0 +1,110 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class Maven2ProxyPrefetchPolicyTest
+{
+
+    private static final String REPOSITORY_RELEASES = "m2ppp-releases";
+
+    private static final String REPOSITORY_PACKAGING_RELEASES = "m2ppp-packaging-releases";
+
+    @Inject
+    private Maven2ProxyPrefetchPolicy maven2ProxyPrefetchPolicy;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testSiblingsOfThePomArePrefetched(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                                  Repository repository)
+            throws IOException
+    {
+        RepositoryPath pomPath = writePom(repository, "org/carlspring/prefetch/1.0/prefetch-1.0.pom", "jar");
+
+        List<RepositoryPath> prefetchPaths = maven2ProxyPrefetchPolicy.getPrefetchPaths(pomPath);
+
+        assertThat(prefetchPaths).extracting(p -> p.getFileName().toString())
+                                 .containsExactly("prefetch-1.0.pom.sha1", "prefetch-1.0.jar", "prefetch-1.0.jar.sha1");
+        assertThat(prefetchPaths).allMatch(p -> p.getParent().equals(pomPath.getParent()));
+
+        RepositoryPath jarPath = repositoryPathResolver.resolve(repository,
+                                                                "org/carlspring/prefetch/1.0/prefetch-1.0.jar");
+
+        assertThat(maven2ProxyPrefetchPolicy.getPrefetchPaths(jarPath)).isEmpty();
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testArtifactOfThePackagingIsPrefetched(@MavenRepository(repositoryId = REPOSITORY_PACKAGING_RELEASES)
+                                                       Repository repository)
+            throws IOException
+    {
+        RepositoryPath parentPomPath = writePom(repository, "org/carlspring/prefetch-parent/1.0/prefetch-parent-1.0.pom",
+                                                "pom");
+
+        assertThat(maven2ProxyPrefetchPolicy.getPrefetchPaths(parentPomPath))
+                .extracting(p -> p.getFileName().toString())
+                .containsExactly("prefetch-parent-1.0.pom.sha1");
+
+        RepositoryPath warPomPath = writePom(repository, "org/carlspring/prefetch-war/1.0/prefetch-war-1.0.pom", "war");
+
+        assertThat(maven2ProxyPrefetchPolicy.getPrefetchPaths(warPomPath))
+                .extracting(p -> p.getFileName().toString())
+                .containsExactly("prefetch-war-1.0.pom.sha1", "prefetch-war-1.0.war", "prefetch-war-1.0.war.sha1");
+
+        RepositoryPath pluginPomPath = writePom(repository,
+                                                "org/carlspring/prefetch-plugin/1.0/prefetch-plugin-1.0.pom",
+                                                "maven-plugin");
+
+        assertThat(maven2ProxyPrefetchPolicy.getPrefetchPaths(pluginPomPath))
+                .extracting(p -> p.getFileName().toString())
+                .contains("prefetch-plugin-1.0.jar");
+    }
+
+    private RepositoryPath writePom(Repository repository,
+                                    String path,
+                                    String packaging)
+            throws IOException
+    {
+        RepositoryPath pomPath = repositoryPathResolver.resolve(repository, path);
+        String pom = "<project>" +
+                     "<modelVersion>4.0.0</modelVersion>" +
+                     "<groupId>org.carlspring</groupId>" +
+                     "<artifactId>prefetch</artifactId>" +
+                     "<version>1.0</version>" +
+                     "<packaging>" + packaging + "</packaging>" +
+                     "</project>";
+
+        Files.createDirectories(pomPath.getParent());
+        Files.write(pomPath, pom.getBytes(StandardCharsets.UTF_8));
+
+        return pomPath;
+    }
+
+}
@@ -0,0 +1,281 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.client.AsyncRemoteArtifactClient;
+import org.carlspring.strongbox.client.ResponseException;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.config.hazelcast.HazelcastConfiguration;
+import org.carlspring.strongbox.config.hazelcast.HazelcastInstanceId;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.MockedRestArtifactResolverTestBase.MockedRestArtifactResolverTestConfig.TestArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Fetches the remote artifacts with a mocked {@link AsyncRemoteArtifactClient}, which writes the bytes of a local jar
+ * into the download channel.
+ */
+@ActiveProfiles({ "MockedAsyncRemoteArtifactClientTestConfig", "test" })
+@SpringBootTest
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class AsyncProxyRepositoryArtifactResolverTest
+{
+
+    private static final Resource jarArtifact = new ClassPathResource("artifacts/properties-injector-1.7.jar");
+
+    private static final String PROXY_REPOSITORY_URL = "https://repo.maven.apache.org/maven2/";
+
+    private static final String MISSING = "missing";
+
+    private static final String APRAR_FEED = "aprar-feed";
+
+    private static final String APRAR_STORED = "aprar-stored";
+
+    private static final String APRAR_MISSING = "aprar-missing";
+
+    @Inject
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testFeedIndexedArtifactIsCached(@MavenRepository(repositoryId = APRAR_FEED)
+                                                @Remote(url = PROXY_REPOSITORY_URL)
+                                                Repository proxyRepository)
+            throws Exception
+    {
+        String path = "org/carlspring/strongbox/strongbox-async-feed/1.0/strongbox-async-feed-1.0.jar";
+
+        // The entry of an artifact which is only known from the remote index, like the npm or NuGet feed ones.
+        RemoteArtifactEntry remoteArtifactEntry = indexRemoteArtifact(proxyRepository, path);
+        assertThat(RepositoryFiles.artifactDoesNotExist(repositoryPathResolver.resolve(proxyRepository, path))).isTrue();
+
+        RepositoryPath result = proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPathResolver.resolve(proxyRepository,
+                                                                                                                  path));
+
+        assertThat(result).isNotNull();
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(proxyRepository, path);
+        assertThat(RepositoryFiles.artifactDoesNotExist(repositoryPath)).isFalse();
+        assertThat(Files.readAllBytes(repositoryPath)).isEqualTo(Files.readAllBytes(jarArtifact.getFile().toPath()));
+
+        ArtifactEntry artifactEntry = findArtifactEntry(proxyRepository, path);
+        assertThat(artifactEntry).isInstanceOf(RemoteArtifactEntry.class);
+        assertThat(artifactEntry.getUuid()).isEqualTo(remoteArtifactEntry.getUuid());
+        assertThat(((RemoteArtifactEntry) artifactEntry).getIsCached()).isTrue();
+        assertThat(artifactEntry.getSizeInBytes()).isEqualTo(jarArtifact.contentLength());
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testChecksumsAreCalculatedWhileDownloading(@MavenRepository(repositoryId = APRAR_STORED)
+                                                           @Remote(url = PROXY_REPOSITORY_URL)
+                                                           Repository proxyRepository)
+            throws Exception
+    {
+        String path = "org/carlspring/strongbox/strongbox-async-stored/1.0/strongbox-async-stored-1.0.jar";
+
+        proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPathResolver.resolve(proxyRepository, path));
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(proxyRepository, path);
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+
+        ArtifactEntry artifactEntry = findArtifactEntry(proxyRepository, path);
+        assertThat(artifactEntry).isInstanceOf(RemoteArtifactEntry.class);
+        assertThat(artifactEntry.getChecksums().keySet()).isEqualTo(repositoryPath.getFileSystem()
+                                                                                  .getDigestAlgorithmSet());
+
+        for (String algorithm : repositoryPath.getFileSystem().getDigestAlgorithmSet())
+        {
+            String expected = MessageDigestUtils.calculateChecksum(jarArtifact.getFile().toPath(), algorithm);
+            RepositoryPath checksumPath = provider.getChecksumPath(repositoryPath, algorithm);
+
+            assertThat(artifactEntry.getChecksums()).containsEntry(algorithm, expected);
+            assertThat(new String(Files.readAllBytes(checksumPath), StandardCharsets.UTF_8)).isEqualTo(expected);
+        }
+
+        // The download is moved in place, rather than copied.
+        assertThat(Files.exists(RepositoryFiles.temporary(repositoryPath))).isFalse();
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testMissingRemoteArtifact(@MavenRepository(repositoryId = APRAR_MISSING)
+                                          @Remote(url = PROXY_REPOSITORY_URL)
+                                          Repository proxyRepository)
+            throws Exception
+    {
+        String path = "org/carlspring/strongbox/strongbox-async-missing/1.0/strongbox-async-" + MISSING + "-1.0.jar";
+
+        assertThatThrownBy(() -> proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPathResolver.resolve(proxyRepository,
+                                                                                                                    path)))
+                .isInstanceOf(ArtifactNotFoundException.class);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(proxyRepository, path);
+        assertThat(Files.exists(repositoryPath)).isFalse();
+        assertThat(Files.exists(RepositoryFiles.temporary(repositoryPath))).isFalse();
+        assertThat(artifactEntryService.findOneArtifact(proxyRepository.getStorage().getId(),
+                                                        proxyRepository.getId(),
+                                                        path)).isNull();
+    }
+
+    private RemoteArtifactEntry indexRemoteArtifact(Repository repository,
+                                                    String path)
+            throws IOException
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPathResolver.resolve(repository,
+                                                                                                         path));
+
+        RemoteArtifactEntry remoteArtifactEntry = new RemoteArtifactEntry();
+        remoteArtifactEntry.setStorageId(storageId);
+        remoteArtifactEntry.setRepositoryId(repositoryId);
+        remoteArtifactEntry.setArtifactCoordinates(coordinates);
+        remoteArtifactEntry.setLastUsed(new Date());
+        remoteArtifactEntry.setLastUpdated(new Date());
+        remoteArtifactEntry.setDownloadCount(0);
+
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                        repositoryId,
+                                                                                                        coordinates.getId());
+        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, remoteArtifactEntry);
+
+        return (RemoteArtifactEntry) findArtifactEntry(repository, path);
+    }
+
+    private ArtifactEntry findArtifactEntry(Repository repository,
+                                            String path)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           path);
+        assertThat(artifactEntry).isNotNull();
+
+        return artifactEntry;
+    }
+
+    /**
+     * Writes the content in chunks, alternating heap and direct buffers, as the HTTP client would.
+     */
+    private static CompletableFuture<Long> download(String url,
+                                                    WritableByteChannel target)
+            throws IOException
+    {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        if (url.contains(MISSING))
+        {
+            result.completeExceptionally(new ResponseException("Not found.", 404));
+
+            return result;
+        }
+
+        byte[] content = Files.readAllBytes(jarArtifact.getFile().toPath());
+        for (int offset = 0, chunk = 0; offset < content.length; offset += 4096, chunk++)
+        {
+            int length = Math.min(4096, content.length - offset);
+            ByteBuffer buffer = chunk % 2 == 0 ? ByteBuffer.allocate(length) : ByteBuffer.allocateDirect(length);
+            buffer.put(content, offset, length);
+            buffer.flip();
+
+            while (buffer.hasRemaining())
+            {
+                target.write(buffer);
+            }
+        }
+        result.complete((long) content.length);
+
+        return result;
+    }
+
+    @Profile("MockedAsyncRemoteArtifactClientTestConfig")
+    @Import(HazelcastConfiguration.class)
+    @Configuration
+    public static class MockedAsyncRemoteArtifactClientTestConfig
+    {
+
+        @Primary
+        @Bean
+        public HazelcastInstanceId hazelcastInstanceIdAprar()
+        {
+            return new HazelcastInstanceId("mocked-async-hazelcast-instance");
+        }
+
+        @Bean
+        @Primary
+        AsyncRemoteArtifactClient mockedAsyncRemoteArtifactClient()
+        {
+            AsyncRemoteArtifactClient asyncRemoteArtifactClient = Mockito.mock(AsyncRemoteArtifactClient.class);
+
+            Mockito.when(asyncRemoteArtifactClient.isEnabled()).thenReturn(true);
+            Mockito.when(asyncRemoteArtifactClient.download(ArgumentMatchers.anyString(),
+                                                            ArgumentMatchers.anyLong(),
+                                                            ArgumentMatchers.any(),
+                                                            ArgumentMatchers.any(),
+                                                            ArgumentMatchers.any(WritableByteChannel.class)))
+                   .then(invocation -> download(invocation.getArgument(0), invocation.getArgument(4)));
+
+            return asyncRemoteArtifactClient;
+        }
+
+        @Bean
+        @Primary
+        ArtifactEventListenerRegistry testArtifactEventListenerRegistry()
+        {
+            return new TestArtifactEventListenerRegistry();
+        }
+
+    }
+
+}
@@ -0,0 +1,246 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryQuotaEvictor;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryEvictionPolicy;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class LocalStorageProxyRepositoryQuotaEvictorTest
+{
+
+    private static final String REMOTE_URL = "https://repo1.maven.org/maven2/";
+
+    private static final String A1 = "org.carlspring.strongbox.quota:strongbox-quota";
+
+    private static final String REPOSITORY_WITHIN_QUOTA = "lspqe-within-quota";
+
+    private static final String REPOSITORY_LRU = "lspqe-lru";
+
+    private static final String REPOSITORY_LFU = "lspqe-lfu";
+
+    private static final String REPOSITORY_SIZE = "lspqe-size";
+
+    private static final String REPOSITORY_MISSING = "lspqe-missing";
+
+    @Inject
+    private LocalStorageProxyRepositoryQuotaEvictor localStorageProxyRepositoryQuotaEvictor;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testNothingIsEvictedWithinTheQuota(@Remote(url = REMOTE_URL)
+                                                   @MavenRepository(repositoryId = REPOSITORY_WITHIN_QUOTA)
+                                                   Repository repository,
+                                                   @MavenTestArtifact(repositoryId = REPOSITORY_WITHIN_QUOTA,
+                                                                      id = A1,
+                                                                      versions = { "1.0", "1.1", "1.2" })
+                                                   List<Path> artifacts)
+    {
+        List<ArtifactEntry> artifactEntries = prepareArtifactEntries(repository, i -> 100L, i -> 0, i -> i);
+
+        long evicted = evict(repository, 100L * artifactEntries.size(), ProxyRepositoryEvictionPolicy.LRU);
+
+        assertThat(evicted).isZero();
+        assertThat(findArtifactEntries(repository)).hasSameSizeAs(artifactEntries);
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testLeastRecentlyUsedAreEvictedDownToTheLowWatermark(@Remote(url = REMOTE_URL)
+                                                                     @MavenRepository(repositoryId = REPOSITORY_LRU)
+                                                                     Repository repository,
+                                                                     @MavenTestArtifact(repositoryId = REPOSITORY_LRU,
+                                                                                        id = A1,
+                                                                                        versions = { "1.0", "1.1", "1.2" })
+                                                                     List<Path> artifacts)
+            throws IOException
+    {
+        // Six entries of 100 bytes, the first one is the least recently used.
+        List<ArtifactEntry> artifactEntries = prepareArtifactEntries(repository, i -> 100L, i -> 0, i -> i);
+
+        // Quota of 450 bytes, evicted down to 50% of it: 4 entries have to go.
+        long evicted = evict(repository, 450L, ProxyRepositoryEvictionPolicy.LRU);
+
+        assertThat(evicted).isEqualTo(400L);
+        assertRetained(repository, artifactEntries.subList(4, 6));
+        assertThat(RepositoryFiles.artifactExists(repositoryPathResolver.resolve(repository)
+                                                                        .resolve(artifactEntries.get(0)))).isFalse();
+        assertThat(RepositoryFiles.artifactExists(repositoryPathResolver.resolve(repository)
+                                                                        .resolve(artifactEntries.get(5)))).isTrue();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testLeastFrequentlyUsedAreEvictedFirst(@Remote(url = REMOTE_URL)
+                                                       @MavenRepository(repositoryId = REPOSITORY_LFU)
+                                                       Repository repository,
+                                                       @MavenTestArtifact(repositoryId = REPOSITORY_LFU,
+                                                                          id = A1,
+                                                                          versions = { "1.0", "1.1", "1.2" })
+                                                       List<Path> artifacts)
+    {
+        // The most recently used entries are the least downloaded ones.
+        List<ArtifactEntry> artifactEntries = prepareArtifactEntries(repository, i -> 100L, i -> i, i -> 6 - i);
+
+        long evicted = evict(repository, 500L, ProxyRepositoryEvictionPolicy.LFU);
+
+        assertThat(evicted).isEqualTo(400L);
+        assertRetained(repository, artifactEntries.subList(4, 6));
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testLargestAreEvictedFirst(@Remote(url = REMOTE_URL)
+                                           @MavenRepository(repositoryId = REPOSITORY_SIZE)
+                                           Repository repository,
+                                           @MavenTestArtifact(repositoryId = REPOSITORY_SIZE,
+                                                              id = A1,
+                                                              versions = { "1.0", "1.1", "1.2" })
+                                           List<Path> artifacts)
+    {
+        // 10, 20, ..., 60 bytes: 210 in total.
+        List<ArtifactEntry> artifactEntries = prepareArtifactEntries(repository, i -> 10L * (i + 1), i -> 0, i -> i);
+
+        // Evicted down to 100 bytes: the 60 and the 50 bytes entries have to go.
+        long evicted = evict(repository, 200L, ProxyRepositoryEvictionPolicy.SIZE);
+
+        assertThat(evicted).isEqualTo(110L);
+        assertRetained(repository, artifactEntries.subList(0, 4));
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testEntriesOfMissingFilesAreRemoved(@Remote(url = REMOTE_URL)
+                                                    @MavenRepository(repositoryId = REPOSITORY_MISSING)
+                                                    Repository repository,
+                                                    @MavenTestArtifact(repositoryId = REPOSITORY_MISSING,
+                                                                       id = A1,
+                                                                       versions = { "1.0", "1.1", "1.2" })
+                                                    List<Path> artifacts)
+            throws IOException
+    {
+        List<ArtifactEntry> artifactEntries = prepareArtifactEntries(repository, i -> 100L, i -> 0, i -> i);
+
+        // Like a file deleted by a transaction which was rolled back afterwards.
+        File missingFile = repositoryPathResolver.resolve(repository).resolve(artifactEntries.get(0)).toFile();
+        assertThat(missingFile.delete()).isTrue();
+
+        long evicted = evict(repository, 450L, ProxyRepositoryEvictionPolicy.LRU);
+
+        assertThat(evicted).isEqualTo(400L);
+        assertRetained(repository, artifactEntries.subList(4, 6));
+        assertThat(localStorageProxyRepositoryQuotaEvictor.getFailedEvictions(repository.getStorage().getId(),
+                                                                              repository.getId())).isZero();
+    }
+
+    private long evict(Repository repository,
+                       long maxSizeInBytes,
+                       ProxyRepositoryEvictionPolicy policy)
+    {
+        return localStorageProxyRepositoryQuotaEvictor.evict(repository.getStorage().getId(),
+                                                             repository.getId(),
+                                                             maxSizeInBytes,
+                                                             50,
+                                                             policy,
+                                                             2);
+    }
+
+    /**
+     * Sets the size, the download count and the last used time of the cached entries, ordered by their path.
+     */
+    private List<ArtifactEntry> prepareArtifactEntries(Repository repository,
+                                                       IndexFunction<Long> sizeInBytes,
+                                                       IndexFunction<Integer> downloadCount,
+                                                       IndexFunction<Integer> lastUsedSeconds)
+    {
+        List<ArtifactEntry> artifactEntries = findArtifactEntries(repository);
+        assertThat(artifactEntries).hasSize(6);
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < artifactEntries.size(); i++)
+        {
+            ArtifactEntry artifactEntry = artifactEntries.get(i);
+            artifactEntry.setSizeInBytes(sizeInBytes.apply(i));
+            artifactEntry.setDownloadCount(downloadCount.apply(i));
+            artifactEntry.setLastUsed(new Date(now - 60000L + lastUsedSeconds.apply(i) * 1000L));
+
+            artifactEntries.set(i, artifactEntryService.save(artifactEntry));
+        }
+
+        return artifactEntries;
+    }
+
+    private List<ArtifactEntry> findArtifactEntries(Repository repository)
+    {
+        return artifactEntryService.findArtifactList(repository.getStorage().getId(),
+                                                     repository.getId(),
+                                                     (ArtifactCoordinates) null)
+                                   .stream()
+                                   .sorted(Comparator.comparing(ArtifactEntry::getArtifactPath))
+                                   .collect(Collectors.toList());
+    }
+
+    private void assertRetained(Repository repository,
+                                List<ArtifactEntry> expected)
+    {
+        Set<String> retained = findArtifactEntries(repository).stream()
+                                                              .map(ArtifactEntry::getArtifactPath)
+                                                              .collect(Collectors.toSet());
+
+        assertThat(retained).containsExactlyInAnyOrderElementsOf(expected.stream()
+                                                                         .map(ArtifactEntry::getArtifactPath)
+                                                                         .collect(Collectors.toList()));
+    }
+
+    @FunctionalInterface
+    private interface IndexFunction<T>
+    {
+
+        T apply(int index);
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package org.carlspring.strongbox.services;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Copies the artifacts with {@code strongbox.copy.links.enabled} set.
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@TestPropertySource(properties = "strongbox.copy.links.enabled=true")
+@Execution(CONCURRENT)
+public class ArtifactManagementServiceCopyTest
+{
+
+    private static final String TCL_SOURCE_RELEASES = "tcl-source-releases";
+
+    private static final String TCL_TARGET_RELEASES = "tcl-target-releases";
+
+    private static final String TCF_TARGET_RELEASES = "tcf-target-releases";
+
+    private static final String TCC_SOURCE_RELEASES = "tcc-source-releases";
+
+    private static final String TCC_TARGET_RELEASES = "tcc-target-releases";
+
+    private static final String TCS_SOURCE_RELEASES = "tcs-source-releases";
+
+    private static final String TCS_TARGET_RELEASES = "tcs-target-releases";
+
+    private static final String A1 = "org.carlspring.strongbox:strongbox-copy-links";
+
+    @Inject
+    private ArtifactManagementService mavenArtifactManagementService;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyHardLinksTheFiles(@MavenRepository(repositoryId = TCL_SOURCE_RELEASES)
+                                          Repository sourceRepository,
+                                          @MavenRepository(repositoryId = TCL_TARGET_RELEASES)
+                                          Repository targetRepository,
+                                          @MavenTestArtifact(repositoryId = TCL_SOURCE_RELEASES,
+                                                             id = A1,
+                                                             versions = { "1.0" })
+                                          Path artifactPath)
+            throws IOException
+    {
+        RepositoryPath srcPath = (RepositoryPath) artifactPath.normalize();
+        String path = RepositoryFiles.relativizePath(srcPath);
+        RepositoryPath destPath = repositoryPathResolver.resolve(targetRepository, path);
+
+        mavenArtifactManagementService.copy(srcPath, destPath);
+
+        assertThat(Files.isSameFile(srcPath.toFile().toPath(), destPath.toFile().toPath())).isTrue();
+        assertThat(findArtifactEntry(targetRepository, path).getChecksums()).isNotEmpty()
+                                                                            .isEqualTo(findArtifactEntry(sourceRepository,
+                                                                                                         path).getChecksums());
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyFallsBackToCopyingTheBytes(@MavenRepository(repositoryId = TCF_TARGET_RELEASES)
+                                                   Repository targetRepository)
+            throws IOException
+    {
+        RepositoryPath destPath = repositoryPathResolver.resolve(targetRepository,
+                                                                 "org/carlspring/strongbox/strongbox-copy-fallback/1.0/strongbox-copy-fallback-1.0.jar");
+        byte[] content = "strongbox-copy-fallback".getBytes(StandardCharsets.UTF_8);
+
+        // A file of another file system can't be hard linked.
+        Path zipPath = Files.createTempFile("strongbox-copy-fallback", ".zip");
+        Files.delete(zipPath);
+        try (FileSystem zipFileSystem = FileSystems.newFileSystem(URI.create("jar:" + zipPath.toUri()),
+                                                                  Collections.singletonMap("create", "true")))
+        {
+            Path source = Files.write(zipFileSystem.getPath("/strongbox-copy-fallback-1.0.jar"), content);
+
+            StorageFileSystemProvider provider = (StorageFileSystemProvider) destPath.getFileSystem().provider();
+            boolean linked = provider.copyFrom(new RepositoryPath(source, destPath.getFileSystem()), destPath, true);
+
+            assertThat(linked).isFalse();
+            assertThat(Files.readAllBytes(destPath)).isEqualTo(content);
+        }
+        finally
+        {
+            Files.deleteIfExists(zipPath);
+        }
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyRecalculatesTheMissingChecksums(@MavenRepository(repositoryId = TCC_SOURCE_RELEASES)
+                                                        Repository sourceRepository,
+                                                        @MavenRepository(repositoryId = TCC_TARGET_RELEASES)
+                                                        Repository targetRepository,
+                                                        @MavenTestArtifact(repositoryId = TCC_SOURCE_RELEASES,
+                                                                           id = A1,
+                                                                           versions = { "1.0" })
+                                                        Path artifactPath)
+            throws IOException
+    {
+        String path = RepositoryFiles.relativizePath((RepositoryPath) artifactPath.normalize());
+        RepositoryPath destPath = repositoryPathResolver.resolve(targetRepository, path);
+
+        // The source entry misses one of the checksums of the target repository.
+        ArtifactEntry srcArtifactEntry = findArtifactEntry(sourceRepository, path);
+        Map<String, String> checksums = new HashMap<>(srcArtifactEntry.getChecksums());
+        String algorithm = destPath.getFileSystem().getDigestAlgorithmSet().iterator().next();
+        assertThat(checksums).containsKey(algorithm);
+
+        srcArtifactEntry.getChecksums().remove(algorithm);
+        artifactEntryService.save(srcArtifactEntry);
+
+        mavenArtifactManagementService.copy(repositoryPathResolver.resolve(sourceRepository, path), destPath);
+
+        assertThat(findArtifactEntry(targetRepository, path).getChecksums()).isEqualTo(checksums);
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyWritesTheChecksumFiles(@MavenRepository(repositoryId = TCS_SOURCE_RELEASES)
+                                               Repository sourceRepository,
+                                               @MavenRepository(repositoryId = TCS_TARGET_RELEASES)
+                                               Repository targetRepository,
+                                               @MavenTestArtifact(repositoryId = TCS_SOURCE_RELEASES,
+                                                                  id = A1,
+                                                                  versions = { "1.0" })
+                                               Path artifactPath)
+            throws IOException
+    {
+        RepositoryPath srcPath = (RepositoryPath) artifactPath.normalize();
+        String path = RepositoryFiles.relativizePath(srcPath);
+        RepositoryPath destPath = repositoryPathResolver.resolve(targetRepository, path);
+
+        mavenArtifactManagementService.copy(srcPath, destPath);
+
+        Map<String, String> checksums = findArtifactEntry(targetRepository, path).getChecksums();
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) destPath.getFileSystem().provider();
+        for (String algorithm : destPath.getFileSystem().getDigestAlgorithmSet())
+        {
+            RepositoryPath checksumPath = provider.getChecksumPath(destPath, algorithm);
+
+            assertThat(Files.exists(checksumPath)).as(algorithm).isTrue();
+            assertThat(new String(Files.readAllBytes(checksumPath), StandardCharsets.UTF_8)).isEqualTo(checksums.get(algorithm));
+        }
+    }
+
+    private ArtifactEntry findArtifactEntry(Repository repository,
+                                            String path)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(repository.getStorage().getId(),
+                                                                           repository.getId(),
+                                                                           path);
+        assertThat(artifactEntry).isNotNull();
+
+        return artifactEntry;
+    }
+
+}
@@ -6,6 +6,7 @@ import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -49,6 +50,8 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.assertj.core.api.Assertions.fail;
@@ -91,6 +94,12 @@ public class ArtifactManagementServiceImplTest
 
     private static final String LAST_VERSION_RELEASES = "last-version-releases";
 
+    private static final String LAST_VERSION_CACHE_RELEASES = "last-version-cache-releases";
+
+    private static final String TC_SOURCE_RELEASES = "tc-source-releases";
+
+    private static final String TC_TARGET_RELEASES = "tc-target-releases";
+
     @Inject
     private ArtifactManagementService mavenArtifactManagementService;
 
@@ -109,6 +118,9 @@ public class ArtifactManagementServiceImplTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private CacheManager cacheManager;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -638,6 +650,53 @@ public class ArtifactManagementServiceImplTest
         assertThat(artifactEntryWithClassifier.getTagSet()).isEmpty();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void testLastVersionTagIsNotLeftInTheCache(@MavenRepository(repositoryId = LAST_VERSION_CACHE_RELEASES)
+                                                      Repository repository)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String artifactPathV1 = storeLastVersionArtifact(repository, "org.carlspring.strongbox:strongbox-lvc-artifact:1.0:jar");
+
+        // The entry is cached with the tag once it's read.
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV1);
+        assertThat(artifactEntry.getTagSet()).extracting(ArtifactTag::getName).containsExactly(ArtifactTag.LAST_VERSION);
+
+        Cache cache = cacheManager.getCache(CacheName.Artifact.ARTIFACT_ENTRIES);
+        String cacheKey = String.format("%s/%s/%s", storageId, repositoryId, artifactPathV1);
+        assertThat(cache.get(cacheKey, ArtifactEntry.class)).isNotNull();
+
+        storeLastVersionArtifact(repository, "org.carlspring.strongbox:strongbox-lvc-artifact:1.1:jar");
+
+        // The tag is moved to 1.1 along with the group, which evicts the cached 1.0 entry.
+        ArtifactEntry cachedArtifactEntry = cache.get(cacheKey, ArtifactEntry.class);
+        if (cachedArtifactEntry != null)
+        {
+            assertThat(cachedArtifactEntry.getTagSet()).isEmpty();
+        }
+
+        artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPathV1);
+        assertThat(artifactEntry.getTagSet()).isEmpty();
+    }
+
+    private String storeLastVersionArtifact(Repository repository,
+                                            String gavtc)
+            throws Exception
+    {
+        Artifact artifact = MavenArtifactTestUtils.getArtifactFromGAVTC(gavtc);
+        String artifactPath = MavenArtifactUtils.convertArtifactToPath(artifact);
+
+        try (InputStream is = new ByteArrayInputStream("strongbox-lvc-artifact-content".getBytes(StandardCharsets.UTF_8)))
+        {
+            mavenArtifactManagementService.validateAndStore(repositoryPathResolver.resolve(repository, artifactPath), is);
+        }
+
+        return artifactPath;
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -679,6 +738,45 @@ public class ArtifactManagementServiceImplTest
         assertThat(actualChecksums).isEqualTo(expectedChecksums);
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testCopyReusesTheSourceArtifactEntry(@MavenRepository(repositoryId = TC_SOURCE_RELEASES)
+                                                     Repository sourceRepository,
+                                                     @MavenRepository(repositoryId = TC_TARGET_RELEASES)
+                                                     Repository targetRepository,
+                                                     @MavenTestArtifact(repositoryId = TC_SOURCE_RELEASES,
+                                                                        id = "org.carlspring.strongbox:strongbox-copy",
+                                                                        versions = { "1.0" })
+                                                     Path artifactPath)
+            throws Exception
+    {
+        RepositoryPath srcPath = (RepositoryPath) artifactPath.normalize();
+        String path = RepositoryFiles.relativizePath(srcPath);
+        RepositoryPath destPath = repositoryPathResolver.resolve(targetRepository, path);
+
+        mavenArtifactManagementService.copy(srcPath, destPath);
+
+        assertThat(Files.size(destPath)).isEqualTo(Files.size(srcPath));
+
+        ArtifactEntry srcArtifactEntry = artifactEntryService.findOneArtifact(sourceRepository.getStorage().getId(),
+                                                                              sourceRepository.getId(),
+                                                                              path);
+        ArtifactEntry destArtifactEntry = artifactEntryService.findOneArtifact(targetRepository.getStorage().getId(),
+                                                                               targetRepository.getId(),
+                                                                               path);
+
+        assertThat(destArtifactEntry).isNotNull();
+        assertThat(destArtifactEntry.getSizeInBytes()).isEqualTo(Files.size(srcPath));
+        assertThat(destArtifactEntry.getChecksums()).isNotEmpty()
+                                                    .isEqualTo(srcArtifactEntry.getChecksums());
+
+        RepositoryPath metadataPath = repositoryPathResolver.resolve(targetRepository,
+                                                                     "org/carlspring/strongbox/strongbox-copy/maven-metadata.xml");
+        assertThat(Files.exists(metadataPath)).isTrue();
+        assertThat(new String(Files.readAllBytes(metadataPath), StandardCharsets.UTF_8)).contains("<version>1.0</version>");
+    }
+
 
     private Long getResult(int i,
                            CountDownLatch storedSync, 
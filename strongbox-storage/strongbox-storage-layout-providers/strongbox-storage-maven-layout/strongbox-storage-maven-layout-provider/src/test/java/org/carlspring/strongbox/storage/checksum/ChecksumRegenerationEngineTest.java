@@ -0,0 +1,150 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class ChecksumRegenerationEngineTest
+{
+
+    private static final String REPOSITORY_FORCE = "cre-force-releases";
+
+    private static final String REPOSITORY_SKIP_UNCHANGED = "cre-skip-unchanged-releases";
+
+    private static final String REPOSITORY_EXCLUDED = "cre-excluded-releases";
+
+    private static final String A1 = "org.carlspring.strongbox.checksum.engine:strongbox-checksum-engine";
+
+    private static final String INVALID_CHECKSUM = "invalid";
+
+    @Inject
+    private ChecksumRegenerationEngine checksumRegenerationEngine;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testExistingChecksumsAreOnlyRewrittenWhenForced(@MavenRepository(repositoryId = REPOSITORY_FORCE)
+                                                                Repository repository,
+                                                                @MavenTestArtifact(repositoryId = REPOSITORY_FORCE,
+                                                                                   id = A1,
+                                                                                   versions = { "1.0" })
+                                                                Path artifactPath)
+            throws IOException
+    {
+        RepositoryPath artifact = (RepositoryPath) artifactPath.normalize();
+        RepositoryPath sha1Path = artifact.resolveSibling(artifact.getFileName() + ".sha1");
+        String sha1 = readString(sha1Path);
+
+        Files.write(sha1Path, INVALID_CHECKSUM.getBytes(StandardCharsets.UTF_8));
+
+        checksumRegenerationEngine.regenerate(artifact.getParent(), false, false);
+
+        assertThat(readString(sha1Path)).isEqualTo(INVALID_CHECKSUM);
+
+        ChecksumRegenerationProgress progress = checksumRegenerationEngine.regenerate(artifact.getParent(), true, false);
+
+        assertThat(readString(sha1Path)).isEqualTo(sha1);
+        assertThat(progress.getFilesProcessed()).isPositive();
+        assertThat(progress.getFilesFailed()).isZero();
+        assertThat(progress.isFinished()).isTrue();
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testUnchangedFilesAreSkipped(@MavenRepository(repositoryId = REPOSITORY_SKIP_UNCHANGED)
+                                             Repository repository,
+                                             @MavenTestArtifact(repositoryId = REPOSITORY_SKIP_UNCHANGED,
+                                                                id = A1,
+                                                                versions = { "1.0" })
+                                             Path artifactPath)
+            throws IOException
+    {
+        RepositoryPath artifact = (RepositoryPath) artifactPath.normalize();
+        RepositoryPath sha1Path = artifact.resolveSibling(artifact.getFileName() + ".sha1");
+        String sha1 = readString(sha1Path);
+
+        long files = checksumRegenerationEngine.regenerate(artifact.getParent(), true, false).getFilesProcessed();
+
+        Files.write(sha1Path, INVALID_CHECKSUM.getBytes(StandardCharsets.UTF_8));
+
+        ChecksumRegenerationProgress progress = checksumRegenerationEngine.regenerate(artifact.getParent(), true, true);
+
+        assertThat(readString(sha1Path)).isEqualTo(INVALID_CHECKSUM);
+        assertThat(progress.getFilesProcessed()).isZero();
+        assertThat(progress.getFilesSkipped()).isEqualTo(files);
+
+        // A changed file is processed again.
+        Files.setLastModifiedTime(artifact, FileTime.fromMillis(Files.getLastModifiedTime(artifact).toMillis() - 1000));
+
+        progress = checksumRegenerationEngine.regenerate(artifact.getParent(), true, true);
+
+        assertThat(readString(sha1Path)).isEqualTo(sha1);
+        assertThat(progress.getFilesProcessed()).isEqualTo(1);
+        assertThat(progress.getFilesSkipped()).isEqualTo(files - 1);
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testDirectoriesStartingWithDotAreExcluded(@MavenRepository(repositoryId = REPOSITORY_EXCLUDED)
+                                                          Repository repository,
+                                                          @MavenTestArtifact(repositoryId = REPOSITORY_EXCLUDED,
+                                                                             id = A1,
+                                                                             versions = { "1.0" })
+                                                          Path artifactPath)
+            throws IOException
+    {
+        RepositoryPath artifact = (RepositoryPath) artifactPath.normalize();
+        RepositoryPath sha1Path = artifact.resolveSibling(artifact.getFileName() + ".sha1");
+        Files.delete(sha1Path);
+
+        RepositoryPath hiddenFile = repositoryPathResolver.resolve(repository, ".cre-hidden/nested/file.txt");
+        Files.createDirectories(hiddenFile.getParent());
+        Files.write(hiddenFile, "hidden".getBytes(StandardCharsets.UTF_8));
+
+        checksumRegenerationEngine.regenerate(repositoryPathResolver.resolve(repository), false, false);
+
+        assertThat(Files.exists(sha1Path)).isTrue();
+        try (Stream<Path> hiddenFiles = Files.list(hiddenFile.getParent()))
+        {
+            assertThat(hiddenFiles).extracting(p -> p.getFileName().toString()).containsExactly("file.txt");
+        }
+    }
+
+    private String readString(Path path)
+            throws IOException
+    {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.storage.importer;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class ArtifactEntryImporterTest
+{
+
+    private static final String REPOSITORY_RELEASES = "aei-releases";
+
+    private static final String ARTIFACT_ID = "strongbox-import";
+
+    private static final String A1 = "org.carlspring.strongbox.importer:" + ARTIFACT_ID;
+
+    @Inject
+    private ArtifactEntryImporter artifactEntryImporter;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testReImportIsIdempotentAndTagsTheLastVersion(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                                              Repository repository,
+                                                              @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                                 id = A1,
+                                                                                 versions = { "1.0", "1.1" })
+                                                              List<Path> artifacts)
+            throws IOException
+    {
+        int deployedEntries = findArtifactEntries(repository).size();
+
+        // Put the 1.2 files in place without storing them, so that they have no entries yet.
+        RepositoryPath artifact = (RepositoryPath) artifacts.get(1).normalize();
+        RepositoryPath directory = artifact.getParent().resolveSibling("1.2");
+        Files.createDirectories(directory);
+        for (String extension : new String[]{ "jar", "pom" })
+        {
+            RepositoryPath source = artifact.resolveSibling(String.format("%s-1.1.%s", ARTIFACT_ID, extension));
+            Files.write(directory.resolve(String.format("%s-1.2.%s", ARTIFACT_ID, extension)),
+                        Files.readAllBytes(source));
+        }
+
+        ArtifactEntryImportProgress progress = artifactEntryImporter.importArtifactEntries(repositoryPathResolver.resolve(repository));
+
+        assertThat(progress.isFinished()).isTrue();
+        assertThat(progress.getFilesFailed()).isZero();
+        assertThat(progress.getArtifactsCreated()).isEqualTo(2);
+        assertThat(progress.getArtifactsUpdated()).isEqualTo(deployedEntries);
+        assertLastVersion(repository, "1.2");
+
+        // Importing the same tree again only updates the existing entries.
+        progress = artifactEntryImporter.importArtifactEntries(repositoryPathResolver.resolve(repository));
+
+        assertThat(progress.getFilesFailed()).isZero();
+        assertThat(progress.getArtifactsCreated()).isZero();
+        assertThat(progress.getArtifactsUpdated()).isEqualTo(deployedEntries + 2);
+        assertThat(findArtifactEntries(repository)).hasSize(deployedEntries + 2);
+        assertLastVersion(repository, "1.2");
+    }
+
+    private void assertLastVersion(Repository repository,
+                                   String version)
+    {
+        List<ArtifactEntry> artifactEntries = findArtifactEntries(repository);
+
+        // Every file of the last version is tagged, and only those.
+        assertThat(artifactEntries).filteredOn(e -> e.getTagSet()
+                                                     .stream()
+                                                     .anyMatch(t -> ArtifactTag.LAST_VERSION.equals(t.getName())))
+                                   .extracting(e -> e.getArtifactCoordinates().getVersion())
+                                   .hasSize(2)
+                                   .containsOnly(version);
+    }
+
+    private List<ArtifactEntry> findArtifactEntries(Repository repository)
+    {
+        return artifactEntryService.findArtifactList(repository.getStorage().getId(),
+                                                     repository.getId(),
+                                                     (ArtifactCoordinates) null);
+    }
+
+}
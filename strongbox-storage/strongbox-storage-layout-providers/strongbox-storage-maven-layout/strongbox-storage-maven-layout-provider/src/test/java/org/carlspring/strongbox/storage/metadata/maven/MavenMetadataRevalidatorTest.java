@@ -0,0 +1,183 @@
+package org.carlspring.strongbox.storage.metadata.maven;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.util.ThrowingConsumer;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MavenMetadataRevalidatorTest
+{
+
+    private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static final long MAX_STALENESS = TimeUnit.MINUTES.toMillis(10);
+
+    private final AtomicInteger revalidations = new AtomicInteger();
+
+    private volatile long lastModified;
+
+    private MavenMetadataRevalidator revalidator;
+
+    @AfterEach
+    public void tearDown()
+    {
+        revalidator.shutdown();
+    }
+
+    @Test
+    public void testStaleMetadataIsRevalidatedOnceInTheBackground()
+            throws Exception
+    {
+        revalidator = createRevalidator(1000);
+        lastModified = System.currentTimeMillis() - 2 * REFRESH_INTERVAL;
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ThrowingConsumer<RepositoryPath, IOException> revalidation = p -> {
+            revalidations.incrementAndGet();
+            started.countDown();
+            await(release);
+        };
+
+        RepositoryPath repositoryPath = mockPath("maven-metadata.xml");
+
+        // None of these calls waits for the revalidation, which is blocked.
+        revalidator.revalidate(repositoryPath, revalidation);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        revalidator.revalidate(repositoryPath, revalidation);
+        revalidator.revalidate(repositoryPath, revalidation);
+
+        release.countDown();
+        revalidator.schedule(repositoryPath.toString(), repositoryPath, p -> {}).get(5, TimeUnit.SECONDS);
+
+        assertThat(revalidations.get()).isEqualTo(1);
+
+        // Validated now, so served as is.
+        revalidator.revalidate(repositoryPath, revalidation);
+        Thread.sleep(100);
+
+        assertThat(revalidations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTooStaleMetadataIsRevalidatedSynchronously()
+            throws Exception
+    {
+        revalidator = createRevalidator(1000);
+        lastModified = System.currentTimeMillis() - 2 * MAX_STALENESS;
+
+        revalidator.revalidate(mockPath("maven-metadata.xml"), p -> revalidations.incrementAndGet());
+
+        assertThat(revalidations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFreshMetadataIsNotRevalidated()
+            throws Exception
+    {
+        revalidator = createRevalidator(1000);
+        lastModified = System.currentTimeMillis();
+
+        revalidator.revalidate(mockPath("maven-metadata.xml"), p -> revalidations.incrementAndGet());
+        Thread.sleep(100);
+
+        assertThat(revalidations.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testIdleMetadataIsServedAsIsOnceItComesBack()
+            throws Exception
+    {
+        revalidator = createRevalidator(1000);
+        lastModified = System.currentTimeMillis() - 2 * REFRESH_INTERVAL;
+
+        RepositoryPath repositoryPath = mockPath("maven-metadata.xml");
+
+        // The revalidation finds the metadata usable, so the file isn't touched.
+        revalidator.revalidate(repositoryPath, p -> revalidations.incrementAndGet());
+        revalidator.schedule(repositoryPath.toString(), repositoryPath, p -> {}).get(5, TimeUnit.SECONDS);
+
+        assertThat(revalidations.get()).isEqualTo(1);
+
+        // The path isn't requested for a while, so it's no longer tracked.
+        revalidator.refreshPopularMetadata();
+        revalidator.refreshPopularMetadata();
+
+        revalidator.revalidate(repositoryPath, p -> revalidations.incrementAndGet());
+        Thread.sleep(100);
+
+        assertThat(revalidations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPopularMetadataIsRevalidatedProactively()
+            throws Exception
+    {
+        revalidator = createRevalidator(1000);
+        lastModified = System.currentTimeMillis();
+
+        RepositoryPath popular = mockPath("popular/maven-metadata.xml");
+        RepositoryPath unpopular = mockPath("unpopular/maven-metadata.xml");
+
+        AtomicInteger popularRevalidations = new AtomicInteger();
+        for (int i = 0; i < 3; i++)
+        {
+            revalidator.revalidate(popular, p -> popularRevalidations.incrementAndGet());
+        }
+        revalidator.revalidate(unpopular, p -> revalidations.incrementAndGet());
+
+        revalidator.refreshPopularMetadata();
+        revalidator.schedule(popular.toString(), popular, p -> {}).get(5, TimeUnit.SECONDS);
+
+        assertThat(popularRevalidations.get()).isEqualTo(1);
+        assertThat(revalidations.get()).isEqualTo(0);
+    }
+
+    private MavenMetadataRevalidator createRevalidator(int maxPaths)
+    {
+        MavenMetadataRevalidator result = new MavenMetadataRevalidator(REFRESH_INTERVAL, MAX_STALENESS, 3, maxPaths)
+        {
+
+            @Override
+            long getLastModified(RepositoryPath repositoryPath)
+            {
+                return lastModified;
+            }
+
+        };
+        result.init();
+
+        return result;
+    }
+
+    private static RepositoryPath mockPath(String path)
+    {
+        RepositoryPath repositoryPath = Mockito.mock(RepositoryPath.class);
+        Mockito.when(repositoryPath.toString()).thenReturn("storage0/proxy/" + path);
+
+        return repositoryPath;
+    }
+
+    private static void await(CountDownLatch latch)
+            throws IOException
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+}
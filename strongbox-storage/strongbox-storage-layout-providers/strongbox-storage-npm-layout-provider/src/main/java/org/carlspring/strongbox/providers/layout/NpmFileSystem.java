@@ -28,7 +28,7 @@ public class NpmFileSystem extends LayoutFileSystem
     }
 
     @Override
-    public Set<String> getDigestAlgorithmSet()
+    public Set<String> getDefaultDigestAlgorithmSet()
     {
         return layoutProvider.getDigestAlgorithmSet();
     }
@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyPrefetchPolicy;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Once the {@code package.json} of a package version is fetched, the npm clients request its tarball.
+ */
+@Component
+public class NpmProxyPrefetchPolicy
+        implements ProxyPrefetchPolicy
+{
+
+    private static final String PACKAGE_JSON = "package.json";
+
+    private static final String TARBALL_EXTENSION = "tgz";
+
+    @Override
+    public String getLayout()
+    {
+        return NpmLayoutProvider.ALIAS;
+    }
+
+    @Override
+    public List<RepositoryPath> getPrefetchPaths(RepositoryPath fetchedPath)
+        throws IOException
+    {
+        if (!PACKAGE_JSON.equals(fetchedPath.getFileName().toString()))
+        {
+            return Collections.emptyList();
+        }
+
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.parse(RepositoryFiles.relativizePath(fetchedPath));
+        coordinates.setExtension(TARBALL_EXTENSION);
+
+        return Collections.singletonList(fetchedPath.resolveSibling(coordinates.getArtifactFileName()));
+    }
+
+}
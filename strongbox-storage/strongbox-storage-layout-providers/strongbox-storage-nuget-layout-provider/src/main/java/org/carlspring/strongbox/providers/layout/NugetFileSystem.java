@@ -28,7 +28,7 @@ public class NugetFileSystem extends LayoutFileSystem
     }
 
     @Override
-    public Set<String> getDigestAlgorithmSet()
+    public Set<String> getDefaultDigestAlgorithmSet()
     {
         return layoutProvider.getDigestAlgorithmSet();
     }
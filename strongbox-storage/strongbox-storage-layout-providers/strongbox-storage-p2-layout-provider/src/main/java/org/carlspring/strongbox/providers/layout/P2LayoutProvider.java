@@ -4,11 +4,13 @@ package org.carlspring.strongbox.providers.layout;
 import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.p2.P2ArtifactReader;
 import org.carlspring.strongbox.repository.P2RepositoryFeatures;
 import org.carlspring.strongbox.repository.P2RepositoryManagementStrategy;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Set;
 
@@ -38,7 +40,20 @@ public class P2LayoutProvider
 
     protected P2ArtifactCoordinates getArtifactCoordinates(RepositoryPath path) throws IOException
     {
-        return P2ArtifactCoordinates.create(RepositoryFiles.relativizePath(path));
+        String bundle = RepositoryFiles.relativizePath(path);
+
+        // The coordinates are completed from the repository metadata when it's there.
+        P2ArtifactCoordinates result = null;
+        try
+        {
+            result = P2ArtifactReader.getArtifact(path.getFileSystem().getRootDirectory(), bundle);
+        }
+        catch (FileNotFoundException e)
+        {
+            logger.trace("No P2 metadata for [{}].", path);
+        }
+
+        return result != null ? result : P2ArtifactCoordinates.create(bundle);
     }
 
     public boolean isArtifactMetadata(RepositoryPath path)
@@ -2,9 +2,23 @@ package org.carlspring.strongbox.providers.layout.p2;
 
 import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,12 +26,36 @@ import org.slf4j.LoggerFactory;
 /**
  * Finds a {@link P2ArtifactCoordinates} from the provided repository base directory and artifact path.
  * The artifact path consists of {id}/{version}/{classifier}. E.g. bundle-name/1.0.0/osgi.bundle
+ * <p>
+ * The {@code artifacts} and {@code content} metadata of a repository (either the {@code .jar} or the {@code .xml}
+ * variant) is parsed once into a {@link P2RepositoryIndex}, which is kept until the metadata files change. This is
+ * also the case for the proxied repositories, whose metadata is refreshed by the proxy.
  */
 public class P2ArtifactReader
 {
 
     private static final Logger logger = LoggerFactory.getLogger(P2ArtifactReader.class);
 
+    private static final String ARTIFACTS = "artifacts";
+
+    private static final String CONTENT = "content";
+
+    private static final Map<String, P2RepositoryIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final JAXBContext JAXB_CONTEXT;
+
+    static
+    {
+        try
+        {
+            JAXB_CONTEXT = JAXBContext.newInstance(P2Repository.class);
+        }
+        catch (JAXBException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * Finds a {@link P2ArtifactCoordinates} from the provided repository base directory and artifact path.
      *
@@ -29,52 +67,166 @@ public class P2ArtifactReader
                                                     String bundle)
             throws IOException
     {
-        // TODO we are dropping GenericParser and one day we will need to support P2
-        //GenericParser<P2Repository> repositoryParser = new GenericParser<>(P2Repository.class);
-        P2Repository p2Repository = null;//repositoryParser.parse(createPath(repositoryBaseDir).toUri().toURL());
+        Path repositoryRoot = repositoryBaseDir == null || repositoryBaseDir.isEmpty() ?
+                              Paths.get("") :
+                              Paths.get(repositoryBaseDir);
+
+        return getArtifact(repositoryRoot, repositoryBaseDir, bundle);
+    }
+
+    /**
+     * Same as {@link #getArtifact(String, String)}, for a repository which may not be on the default file system.
+     */
+    public static P2ArtifactCoordinates getArtifact(Path repositoryRoot,
+                                                    String bundle)
+            throws IOException
+    {
+        return getArtifact(repositoryRoot, repositoryRoot.toString(), bundle);
+    }
+
+    private static P2ArtifactCoordinates getArtifact(Path repositoryRoot,
+                                                     String repositoryBaseDir,
+                                                     String bundle)
+            throws IOException
+    {
+        P2RepositoryIndex index = getIndex(repositoryRoot);
         final P2ArtifactCoordinates artifactToFind = P2ArtifactCoordinates.create(bundle);
-        for (P2Artifact p2Artifact : p2Repository.getArtifacts().getArtifacts())
+
+        return index.find(artifactToFind, repositoryBaseDir);
+    }
+
+    /**
+     * @return the index of the repository, which is read again if the metadata files changed since it was last read
+     * @throws FileNotFoundException if the repository has no {@code artifacts.jar} or {@code artifacts.xml}
+     */
+    public static P2RepositoryIndex getIndex(Path repositoryRoot)
+            throws IOException
+    {
+        Path artifactsPath = findMetadata(repositoryRoot, ARTIFACTS);
+        if (artifactsPath == null)
         {
-            P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
-                                                                            p2Artifact.getVersion(),
-                                                                            p2Artifact.getClassifier());
-            if (foundArtifact.equals(artifactToFind))
-            {
-                addProperties(foundArtifact, p2Artifact, repositoryBaseDir);
-                String bundleFilename = P2ArtifactRuleProcessor.getFilename(p2Repository.getMappings(),
-                                                                            foundArtifact);
-                foundArtifact.setFilename(bundleFilename);
-                return foundArtifact;
-            }
+            throw new FileNotFoundException(String.format("No P2 artifacts metadata found in [%s].", repositoryRoot));
+        }
+
+        Path contentPath = findMetadata(repositoryRoot, CONTENT);
+        String version = getVersion(artifactsPath) + ";" + getVersion(contentPath);
+
+        try
+        {
+            return INDEXES.compute(repositoryRoot.toAbsolutePath().normalize().toString(), (key, index) -> {
+                if (index != null && index.getVersion().equals(version))
+                {
+                    return index;
+                }
+
+                try
+                {
+                    P2RepositoryIndex result = new P2RepositoryIndex(version,
+                                                                     parse(artifactsPath, ARTIFACTS),
+                                                                     contentPath != null ? parse(contentPath, CONTENT) : null);
+
+                    logger.debug("Indexed [{}] artifacts and [{}] units of P2 repository [{}].",
+                                 result.getArtifactCount(),
+                                 result.getUnitCount(),
+                                 key);
+
+                    return result;
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Drops the index of the repository, so that it's read again on the next lookup.
+     */
+    public static void invalidate(Path repositoryRoot)
+    {
+        INDEXES.remove(repositoryRoot.toAbsolutePath().normalize().toString());
+    }
+
+    /**
+     * @return the compressed {@code .jar} metadata if there is one, as P2 prefers it, otherwise the {@code .xml} one
+     */
+    private static Path findMetadata(Path repositoryRoot,
+                                     String name)
+    {
+        Path jar = repositoryRoot.resolve(name + ".jar");
+        if (Files.isRegularFile(jar))
+        {
+            return jar;
+        }
+
+        Path xml = repositoryRoot.resolve(name + ".xml");
+        if (Files.isRegularFile(xml))
+        {
+            return xml;
         }
 
         return null;
     }
 
-    private static void addProperties(P2ArtifactCoordinates foundArtifact,
-                                      P2Artifact p2Artifact,
-                                      String baseDir)
+    private static String getVersion(Path path)
+            throws IOException
     {
-        foundArtifact.addProperty("repoUrl", baseDir);
-        foundArtifact.addProperty("id", p2Artifact.getId());
-        foundArtifact.addProperty("version", p2Artifact.getVersion());
-        foundArtifact.addProperty("classifier", p2Artifact.getClassifier());
-        P2Properties properties = p2Artifact.getProperties();
-        if (properties != null)
+        if (path == null)
         {
-            properties.getPropertites().forEach(
-                    property -> foundArtifact.addProperty(property.getName(), property.getValue()));
+            return "";
         }
+
+        return String.format("%s:%s:%s", path.getFileName(), Files.getLastModifiedTime(path).toMillis(), Files.size(path));
     }
 
-    private static Path createPath(String repositoryBaseDir)
+    private static P2Repository parse(Path path,
+                                      String name)
+            throws IOException
     {
-        final String artifactsFilename = "artifacts.xml";
-        if (repositoryBaseDir == null || repositoryBaseDir.isEmpty())
+        try (InputStream is = Files.newInputStream(path))
         {
-            return Paths.get(artifactsFilename);
+            if (!path.getFileName().toString().endsWith(".jar"))
+            {
+                return unmarshal(is, path);
+            }
+
+            ZipInputStream zis = new ZipInputStream(is);
+            for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry())
+            {
+                if (entry.getName().equals(name + ".xml"))
+                {
+                    return unmarshal(zis, path);
+                }
+            }
+
+            throw new IOException(String.format("No [%s.xml] in [%s].", name, path));
         }
+    }
 
-        return Paths.get(repositoryBaseDir).resolve(artifactsFilename);
+    private static P2Repository unmarshal(InputStream is,
+                                          Path path)
+            throws IOException
+    {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try
+        {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(is);
+            Unmarshaller unmarshaller = JAXB_CONTEXT.createUnmarshaller();
+
+            return unmarshaller.unmarshal(reader, P2Repository.class).getValue();
+        }
+        catch (JAXBException | XMLStreamException e)
+        {
+            throw new IOException(String.format("Failed to parse [%s].", path), e);
+        }
     }
+
 }
@@ -4,7 +4,9 @@ import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -125,11 +127,25 @@ public class P2ArtifactRuleProcessor
     public static String getFilename(P2Mappings mappings,
                                      P2ArtifactCoordinates p2artifact)
     {
-        Collection<P2ArtifactRuleProcessor> artifacts = mappings.getRules().stream().map(
+        return getFilename(compile(mappings), p2artifact);
+    }
+
+    public static List<P2ArtifactRuleProcessor> compile(P2Mappings mappings)
+    {
+        if (mappings == null)
+        {
+            return Collections.emptyList();
+        }
+
+        return mappings.getRules().stream().map(
                 rule -> new P2ArtifactRuleProcessor(rule.getOutput(), rule.getFilter())).collect(
                 Collectors.toList());
+    }
 
-        for (P2ArtifactRuleProcessor processor : artifacts)
+    public static String getFilename(Collection<P2ArtifactRuleProcessor> processors,
+                                     P2ArtifactCoordinates p2artifact)
+    {
+        for (P2ArtifactRuleProcessor processor : processors)
         {
             if (processor.matches(p2artifact.getProperties()))
             {
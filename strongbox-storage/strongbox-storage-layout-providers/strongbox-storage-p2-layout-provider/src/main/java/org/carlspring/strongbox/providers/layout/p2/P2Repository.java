@@ -11,6 +11,8 @@ public class P2Repository
 
     private P2Mappings mappings;
 
+    private P2Units units;
+
     @XmlElement(name = "artifacts")
     public P2Artifacts getArtifacts()
     {
@@ -32,4 +34,16 @@ public class P2Repository
     {
         this.mappings = mappings;
     }
+
+    @XmlElement(name = "units")
+    public P2Units getUnits()
+    {
+        return units;
+    }
+
+    public void setUnits(P2Units units)
+    {
+        this.units = units;
+    }
+
 }
@@ -0,0 +1,127 @@
+package org.carlspring.strongbox.providers.layout.p2;
+
+import org.carlspring.strongbox.artifact.coordinates.P2ArtifactCoordinates;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The artifacts and the installable units of a P2 repository, keyed by their coordinates, as read from one version
+ * of its {@code artifacts} and {@code content} metadata.
+ */
+public class P2RepositoryIndex
+{
+
+    private final String version;
+
+    private final Map<String, P2Artifact> artifacts;
+
+    private final Map<String, P2Unit> units;
+
+    private final List<P2ArtifactRuleProcessor> mappings;
+
+    public P2RepositoryIndex(String version,
+                             P2Repository artifactRepository,
+                             P2Repository metadataRepository)
+    {
+        this.version = version;
+
+        Map<String, P2Artifact> artifacts = new HashMap<>();
+        if (artifactRepository != null && artifactRepository.getArtifacts() != null)
+        {
+            for (P2Artifact artifact : artifactRepository.getArtifacts().getArtifacts())
+            {
+                artifacts.put(toKey(artifact.getClassifier(), artifact.getId(), artifact.getVersion()), artifact);
+            }
+        }
+        this.artifacts = artifacts;
+
+        Map<String, P2Unit> units = new HashMap<>();
+        if (metadataRepository != null && metadataRepository.getUnits() != null)
+        {
+            for (P2Unit unit : metadataRepository.getUnits().getUnits())
+            {
+                units.put(toKey(null, unit.getId(), unit.getVersion()), unit);
+            }
+        }
+        this.units = units;
+
+        this.mappings = artifactRepository != null ?
+                        P2ArtifactRuleProcessor.compile(artifactRepository.getMappings()) :
+                        Collections.emptyList();
+    }
+
+    /**
+     * @return the version of the metadata files this index was read from
+     */
+    public String getVersion()
+    {
+        return version;
+    }
+
+    public P2Artifact getArtifact(String classifier,
+                                  String id,
+                                  String version)
+    {
+        return artifacts.get(toKey(classifier, id, version));
+    }
+
+    public P2Unit getUnit(String id,
+                          String version)
+    {
+        return units.get(toKey(null, id, version));
+    }
+
+    public int getArtifactCount()
+    {
+        return artifacts.size();
+    }
+
+    public int getUnitCount()
+    {
+        return units.size();
+    }
+
+    /**
+     * @return the coordinates of the artifact, with its properties and its filename, or {@code null} if the artifact
+     *         isn't in the repository
+     */
+    public P2ArtifactCoordinates find(P2ArtifactCoordinates coordinates,
+                                      String repositoryBaseDir)
+    {
+        P2Artifact p2Artifact = getArtifact(coordinates.getClassifier(), coordinates.getId(), coordinates.getVersion());
+        if (p2Artifact == null)
+        {
+            return null;
+        }
+
+        P2ArtifactCoordinates foundArtifact = new P2ArtifactCoordinates(p2Artifact.getId(),
+                                                                        p2Artifact.getVersion(),
+                                                                        p2Artifact.getClassifier());
+        foundArtifact.addProperty("repoUrl", repositoryBaseDir);
+        foundArtifact.addProperty("id", p2Artifact.getId());
+        foundArtifact.addProperty("version", p2Artifact.getVersion());
+        foundArtifact.addProperty("classifier", p2Artifact.getClassifier());
+
+        P2Properties properties = p2Artifact.getProperties();
+        if (properties != null)
+        {
+            properties.getPropertites().forEach(
+                    property -> foundArtifact.addProperty(property.getName(), property.getValue()));
+        }
+
+        foundArtifact.setFilename(P2ArtifactRuleProcessor.getFilename(mappings, foundArtifact));
+
+        return foundArtifact;
+    }
+
+    private static String toKey(String classifier,
+                                String id,
+                                String version)
+    {
+        return classifier + "/" + id + "/" + version;
+    }
+
+}
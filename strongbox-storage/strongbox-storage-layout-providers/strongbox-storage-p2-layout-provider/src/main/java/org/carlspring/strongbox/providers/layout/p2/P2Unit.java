@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.providers.layout.p2;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * An installable unit of the {@code content.xml}.
+ */
+public class P2Unit
+{
+
+    private String id;
+
+    private String version;
+
+    private P2Properties properties;
+
+    @XmlAttribute
+    public String getId()
+    {
+        return id;
+    }
+
+    public void setId(String id)
+    {
+        this.id = id;
+    }
+
+    @XmlAttribute
+    public String getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(String version)
+    {
+        this.version = version;
+    }
+
+    @XmlElement(name = "properties")
+    public P2Properties getProperties()
+    {
+        return properties;
+    }
+
+    public void setProperties(P2Properties properties)
+    {
+        this.properties = properties;
+    }
+
+}
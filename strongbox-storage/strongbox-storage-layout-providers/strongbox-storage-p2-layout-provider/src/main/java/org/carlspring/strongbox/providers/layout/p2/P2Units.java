@@ -0,0 +1,37 @@
+package org.carlspring.strongbox.providers.layout.p2;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class P2Units
+{
+
+    private Integer size;
+
+    private List<P2Unit> units = new ArrayList<>();
+
+    @XmlAttribute
+    public Integer getSize()
+    {
+        return size;
+    }
+
+    public void setSize(Integer size)
+    {
+        this.size = size;
+    }
+
+    @XmlElement(name = "unit")
+    public List<P2Unit> getUnits()
+    {
+        return units;
+    }
+
+    public void setUnits(List<P2Unit> units)
+    {
+        this.units = units;
+    }
+
+}
@@ -6,8 +6,14 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -117,6 +123,41 @@ public class P2ArtifactReaderTest
         assertThat(foundArtifact.getFilename()).isEqualTo(expectedFilename);
     }
 
+    @Test
+    public void testIndexIsReusedUntilMetadataChanges()
+            throws URISyntaxException, IOException
+    {
+        Path repoDir = Files.createTempDirectory("p2-index");
+        Path artifactsXml = repoDir.resolve("artifacts.xml");
+        Files.copy(Paths.get(getClass().getResource("artifacts.xml").toURI()), artifactsXml);
+
+        P2RepositoryIndex index = P2ArtifactReader.getIndex(repoDir);
+        assertThat(index.getArtifactCount()).isEqualTo(3);
+        assertThat(P2ArtifactReader.getIndex(repoDir)).isSameAs(index);
+
+        Files.setLastModifiedTime(artifactsXml, FileTime.fromMillis(Files.getLastModifiedTime(artifactsXml).toMillis() + 1000));
+        assertThat(P2ArtifactReader.getIndex(repoDir)).isNotSameAs(index);
+    }
+
+    @Test
+    public void testCompressedMetadata()
+            throws URISyntaxException, IOException
+    {
+        Path repoDir = Files.createTempDirectory("p2-index");
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(repoDir.resolve("artifacts.jar"))))
+        {
+            zos.putNextEntry(new ZipEntry("artifacts.xml"));
+            Files.copy(Paths.get(getClass().getResource("artifacts.xml").toURI()), zos);
+            zos.closeEntry();
+        }
+
+        P2ArtifactCoordinates foundArtifact = P2ArtifactReader.getArtifact(repoDir, PATH);
+
+        assertThat(foundArtifact).isNotNull();
+        assertThat(foundArtifact.getFilename()).isEqualTo(String.format("%s/plugins/%s_%s.jar", repoDir, ID, VERSION));
+        assertThat(P2ArtifactReader.getArtifact(repoDir, "com.carlspring.missing/1.0.1/osgi.bundle")).isNull();
+    }
+
     private P2ArtifactCoordinates getArtifact()
             throws URISyntaxException, IOException
     {
@@ -27,7 +27,7 @@ public class PypiFileSystem
     }
 
     @Override
-    public Set<String> getDigestAlgorithmSet()
+    public Set<String> getDefaultDigestAlgorithmSet()
     {
         return layoutProvider.getDigestAlgorithmSet();
     }
@@ -0,0 +1,82 @@
+package org.carlspring.strongbox.config;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.storage.StorageProvider;
+import org.carlspring.strongbox.providers.storage.StorageProviderRegistry;
+import org.carlspring.strongbox.providers.io.LayoutFileSystemFactory;
+import org.carlspring.strongbox.providers.io.LayoutFileSystemProviderFactory;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.RpmFileSystem;
+import org.carlspring.strongbox.providers.layout.RpmFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.nio.file.FileSystem;
+import java.nio.file.spi.FileSystemProvider;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+
+@Configuration
+@ComponentScan({ "org.carlspring.strongbox.configuration",
+                 "org.carlspring.strongbox.repository",
+                 "org.carlspring.strongbox.providers",
+                 "org.carlspring.strongbox.services",
+                 "org.carlspring.strongbox.storage" })
+public class RpmLayoutProviderConfig
+{
+
+    public static final String FILE_SYSTEM_ALIAS = "LayoutFileSystemFactory." + RpmLayoutProvider.ALIAS;
+
+    public static final String FILE_SYSTEM_PROVIDER_ALIAS = "LayoutFileSystemProviderFactory." + RpmLayoutProvider.ALIAS;
+
+    @Inject
+    protected StorageProviderRegistry storageProviderRegistry;
+
+
+    @Bean(FILE_SYSTEM_PROVIDER_ALIAS)
+    public LayoutFileSystemProviderFactory rpmRepositoryFileSystemProviderFactory()
+    {
+        return (repository) -> {
+            StorageProvider storageProvider = storageProviderRegistry.getProvider(repository.getStorageProvider());
+            return rpmFileSystemProvider(storageProvider.getFileSystemProvider());
+        };
+
+    }
+
+    @Bean
+    @Scope("prototype")
+    public RpmFileSystemProvider rpmFileSystemProvider(FileSystemProvider provider)
+    {
+        return new RpmFileSystemProvider(provider);
+    }
+
+    @Bean(FILE_SYSTEM_ALIAS)
+    public LayoutFileSystemFactory rpmRepositoryFileSystemFactory(PropertiesBooter propertiesBooter)
+    {
+        LayoutFileSystemProviderFactory providerFactory = rpmRepositoryFileSystemProviderFactory();
+
+        return (repository) -> {
+            StorageProvider storageProvider = storageProviderRegistry.getProvider(repository.getStorageProvider());
+
+            return rpmRepositoryFileSystem(propertiesBooter,
+                                           repository,
+                                           storageProvider.getFileSystem(),
+                                           providerFactory.create(repository));
+        };
+    }
+
+    @Bean
+    @Scope("prototype")
+    public RpmFileSystem rpmRepositoryFileSystem(PropertiesBooter propertiesBooter,
+                                                  Repository repository,
+                                                  FileSystem storageFileSystem,
+                                                  LayoutFileSystemProvider provider)
+    {
+        return new RpmFileSystem(propertiesBooter, repository, storageFileSystem, provider);
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmRepodataGenerator;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the repodata of an RPM group repository, by merging the repodata of its members, when it's requested
+ * and the group doesn't have it yet. Afterwards, it's kept up to date by {@link RpmRepodataGenerator}.
+ */
+@Component
+public class RpmGroupRepositoryPathFetchEventListener
+{
+
+    @Inject
+    private RpmLayoutProvider rpmLayoutProvider;
+
+    @Inject
+    private RpmRepodataGenerator rpmRepodataGenerator;
+
+    @EventListener
+    public void handle(final GroupRepositoryPathFetchEvent event)
+            throws IOException
+    {
+        RepositoryPath repositoryPath = event.getPath();
+        Repository groupRepository = repositoryPath.getRepository();
+        if (!RpmLayoutProvider.ALIAS.equals(groupRepository.getLayout()))
+        {
+            return;
+        }
+
+        if (!rpmLayoutProvider.isMetadata(repositoryPath) || rpmRepodataGenerator.exists(groupRepository))
+        {
+            return;
+        }
+
+        rpmRepodataGenerator.regenerate(groupRepository);
+    }
+
+}
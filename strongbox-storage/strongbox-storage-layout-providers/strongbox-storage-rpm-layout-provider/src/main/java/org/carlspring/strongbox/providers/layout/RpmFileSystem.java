@@ -0,0 +1,32 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.nio.file.FileSystem;
+import java.util.Set;
+
+public class RpmFileSystem
+        extends LayoutFileSystem
+{
+
+    @Inject
+    private RpmLayoutProvider layoutProvider;
+
+    public RpmFileSystem(PropertiesBooter propertiesBooter,
+                         Repository repository,
+                         FileSystem storageFileSystem,
+                         LayoutFileSystemProvider provider)
+    {
+        super(propertiesBooter, repository, storageFileSystem, provider);
+    }
+
+    @Override
+    public Set<String> getDefaultDigestAlgorithmSet()
+    {
+        return layoutProvider.getDigestAlgorithmSet();
+    }
+
+}
@@ -0,0 +1,130 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.RpmArtifactCoordinates;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.repository.RepositoryManagementStrategy;
+import org.carlspring.strongbox.repository.RpmRepositoryFeatures;
+import org.carlspring.strongbox.repository.RpmRepositoryManagementStrategy;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmRepodataWriter;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RpmLayoutProvider
+        extends AbstractLayoutProvider<RpmArtifactCoordinates>
+{
+    private static final Logger logger = LoggerFactory.getLogger(RpmLayoutProvider.class);
+
+    public static final String ALIAS = RpmArtifactCoordinates.LAYOUT_NAME;
+
+    @Inject
+    private RpmRepositoryManagementStrategy rpmRepositoryManagementStrategy;
+
+    @Inject
+    private RpmRepositoryFeatures rpmRepositoryFeatures;
+
+
+    @PostConstruct
+    public void register()
+    {
+        logger.info("Registered layout provider '{}' with alias '{}'.",
+                    getClass().getCanonicalName(), ALIAS);
+    }
+
+    protected RpmArtifactCoordinates getArtifactCoordinates(RepositoryPath path) throws IOException
+    {
+        return RpmArtifactCoordinates.parse(RepositoryFiles.relativizePath(path));
+    }
+
+    public boolean isArtifactMetadata(RepositoryPath path)
+    {
+        return isMetadata(path);
+    }
+
+    /**
+     * @return {@code true} for the files of the {@code repodata/} directory
+     */
+    public boolean isMetadata(RepositoryPath path)
+    {
+        return RepositoryFiles.relativizePath(path).startsWith(RpmRepodataWriter.REPODATA + "/");
+    }
+
+    @Override
+    protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryPath,
+                                                                                   RepositoryFileAttributeType... attributeTypes)
+        throws IOException
+    {
+        Map<RepositoryFileAttributeType, Object> result = super.getRepositoryFileAttributes(repositoryPath,
+                                                                                            attributeTypes);
+
+        for (RepositoryFileAttributeType attributeType : attributeTypes)
+        {
+            Object value = result.get(attributeType);
+            switch (attributeType)
+            {
+                case ARTIFACT:
+                    value = (Boolean) value && !isMetadata(repositoryPath) &&
+                            repositoryPath.getFileName().toString().endsWith("." + RpmArtifactCoordinates.DEFAULT_EXTENSION);
+
+                    if (value != null)
+                    {
+                        result.put(attributeType, value);
+                    }
+
+                    break;
+                case METADATA:
+                    value = (Boolean) value || isMetadata(repositoryPath);
+
+                    if (value != null)
+                    {
+                        result.put(attributeType, value);
+                    }
+
+                    break;
+                default:
+
+                    break;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public RepositoryManagementStrategy getRepositoryManagementStrategy()
+    {
+        return rpmRepositoryManagementStrategy;
+    }
+
+    @Override
+    public Set<String> getDefaultArtifactCoordinateValidators()
+    {
+        return rpmRepositoryFeatures.getDefaultArtifactCoordinateValidators();
+    }
+
+    @Override
+    public String getAlias()
+    {
+        return ALIAS;
+    }
+
+    @Override
+    public Set<String> getDigestAlgorithmSet()
+    {
+        return Stream.of(MessageDigestAlgorithms.SHA_256).collect(Collectors.toSet());
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.storage.validation.artifact.version.GenericReleaseVersionValidator;
+import org.carlspring.strongbox.storage.validation.artifact.version.GenericSnapshotVersionValidator;
+import org.carlspring.strongbox.storage.validation.deployment.RedeploymentValidator;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RpmRepositoryFeatures
+        implements RepositoryFeatures
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RpmRepositoryFeatures.class);
+
+    @Inject
+    private RedeploymentValidator redeploymentValidator;
+
+    @Inject
+    private GenericReleaseVersionValidator genericReleaseVersionValidator;
+
+    @Inject
+    private GenericSnapshotVersionValidator genericSnapshotVersionValidator;
+
+    private Set<String> defaultArtifactCoordinateValidators;
+
+    @PostConstruct
+    public void init()
+    {
+        defaultArtifactCoordinateValidators = new LinkedHashSet<>(Arrays.asList(redeploymentValidator.getAlias(),
+                                                                                genericReleaseVersionValidator.getAlias(),
+                                                                                genericSnapshotVersionValidator.getAlias()));
+    }
+
+    @Override
+    public Set<String> getDefaultArtifactCoordinateValidators()
+    {
+        return defaultArtifactCoordinateValidators;
+    }
+
+}
@@ -0,0 +1,10 @@
+package org.carlspring.strongbox.repository;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class RpmRepositoryManagementStrategy
+        extends AbstractRepositoryManagementStrategy
+{
+
+}
@@ -0,0 +1,72 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.artifact.ArtifactEventBatch;
+import org.carlspring.strongbox.event.artifact.ArtifactEventBatchConsumer;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmRepodataGenerator;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the regeneration of the repodata of an RPM repository once packages have been deleted from it. The
+ * deletions are received in batches, so that deleting a directory schedules a single regeneration.
+ */
+@Component
+public class RpmArtifactDeletedEventListener
+        implements ArtifactEventBatchConsumer
+{
+
+    @Inject
+    private RpmLayoutProvider rpmLayoutProvider;
+
+    @Inject
+    private RpmRepodataGenerator rpmRepodataGenerator;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Override
+    public String getLayout()
+    {
+        return RpmLayoutProvider.ALIAS;
+    }
+
+    @Override
+    public Set<Integer> getEventTypes()
+    {
+        return Collections.singleton(ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType());
+    }
+
+    @EventListener
+    public void handle(final ArtifactEventBatch<RepositoryPath> batch)
+    {
+        if (batch.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        Repository repository = configurationManager.getRepository(batch.getStorageId(), batch.getRepositoryId());
+        if (repository == null || !RpmLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+
+        // The repodata itself is removed when it's regenerated.
+        if (batch.getPaths().stream().allMatch(rpmLayoutProvider::isMetadata))
+        {
+            return;
+        }
+
+        rpmRepodataGenerator.scheduleRegeneration(repository);
+    }
+
+}
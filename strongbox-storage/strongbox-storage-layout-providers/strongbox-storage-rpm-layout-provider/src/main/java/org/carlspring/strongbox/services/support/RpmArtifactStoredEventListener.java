@@ -0,0 +1,106 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmHeader;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmHeaderReader;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmPackageMetadata;
+import org.carlspring.strongbox.storage.metadata.rpm.RpmRepodataGenerator;
+
+import javax.inject.Inject;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the header of the stored RPM packages and keeps their repodata elements in the
+ * {@link ArtifactEntry#getLayoutMetadata()}, then schedules the regeneration of the repodata of the repository.
+ */
+@Component
+public class RpmArtifactStoredEventListener
+        extends AsyncArtifactEntryHandler
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RpmArtifactStoredEventListener.class);
+
+    @Inject
+    private RpmRepodataGenerator rpmRepodataGenerator;
+
+    public RpmArtifactStoredEventListener()
+    {
+        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED);
+    }
+
+    @Override
+    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath)
+            throws IOException
+    {
+        if (!RpmLayoutProvider.ALIAS.equals(repositoryPath.getRepository().getLayout()))
+        {
+            return null;
+        }
+
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            logger.warn("No [{}] for [{}].",
+                        ArtifactEntry.class.getSimpleName(),
+                        repositoryPath);
+
+            return null;
+        }
+
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        RpmHeader header;
+        long size;
+        try (CountingInputStream is = new CountingInputStream(
+                new DigestInputStream(new BufferedInputStream(Files.newInputStream(repositoryPath)), digest)))
+        {
+            header = RpmHeaderReader.read(is);
+
+            // The pkgid is the checksum of the whole package.
+            IOUtils.skip(is, Long.MAX_VALUE);
+            size = is.getByteCount();
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to read the RPM header of [{}].", repositoryPath, e);
+
+            return null;
+        }
+
+        RpmPackageMetadata packageMetadata = RpmPackageMetadata.of(header,
+                                                                   Hex.encodeHexString(digest.digest()),
+                                                                   RepositoryFiles.relativizePath(repositoryPath),
+                                                                   size,
+                                                                   Files.getLastModifiedTime(repositoryPath).toMillis() / 1000);
+        artifactEntry.getLayoutMetadata().putAll(packageMetadata.toMap());
+
+        return artifactEntry;
+    }
+
+    @Override
+    protected void afterHandleEvent(RepositoryPath repositoryPath)
+    {
+        if (RpmLayoutProvider.ALIAS.equals(repositoryPath.getRepository().getLayout()))
+        {
+            rpmRepodataGenerator.scheduleRegeneration(repositoryPath.getRepository());
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The tags of the main header of an RPM package, as read by {@link RpmHeaderReader}.
+ * <p>
+ * The values are kept with the type they have in the header: {@code int[]} for the integer types, {@code String} for
+ * the {@code STRING} type and {@code String[]} for the {@code STRING_ARRAY} and {@code I18NSTRING} types.
+ */
+public class RpmHeader
+{
+
+    public static final int NAME = 1000;
+
+    public static final int VERSION = 1001;
+
+    public static final int RELEASE = 1002;
+
+    public static final int EPOCH = 1003;
+
+    public static final int SUMMARY = 1004;
+
+    public static final int DESCRIPTION = 1005;
+
+    public static final int BUILDTIME = 1006;
+
+    public static final int BUILDHOST = 1007;
+
+    public static final int SIZE = 1009;
+
+    public static final int VENDOR = 1011;
+
+    public static final int LICENSE = 1014;
+
+    public static final int PACKAGER = 1015;
+
+    public static final int GROUP = 1016;
+
+    public static final int URL = 1020;
+
+    public static final int ARCH = 1022;
+
+    public static final int FILEMODES = 1030;
+
+    public static final int FILEFLAGS = 1037;
+
+    public static final int SOURCERPM = 1044;
+
+    public static final int ARCHIVESIZE = 1046;
+
+    public static final int PROVIDENAME = 1047;
+
+    public static final int REQUIREFLAGS = 1048;
+
+    public static final int REQUIRENAME = 1049;
+
+    public static final int REQUIREVERSION = 1050;
+
+    public static final int CONFLICTFLAGS = 1053;
+
+    public static final int CONFLICTNAME = 1054;
+
+    public static final int CONFLICTVERSION = 1055;
+
+    public static final int OBSOLETENAME = 1090;
+
+    public static final int CHANGELOGTIME = 1080;
+
+    public static final int CHANGELOGNAME = 1081;
+
+    public static final int CHANGELOGTEXT = 1082;
+
+    public static final int PROVIDEFLAGS = 1112;
+
+    public static final int PROVIDEVERSION = 1113;
+
+    public static final int OBSOLETEFLAGS = 1114;
+
+    public static final int OBSOLETEVERSION = 1115;
+
+    public static final int DIRINDEXES = 1116;
+
+    public static final int BASENAMES = 1117;
+
+    public static final int DIRNAMES = 1118;
+
+    private final Map<Integer, Object> tags = new HashMap<>();
+
+    private final long start;
+
+    private final long end;
+
+    RpmHeader(long start,
+              long end)
+    {
+        this.start = start;
+        this.end = end;
+    }
+
+    void put(int tag,
+             Object value)
+    {
+        tags.put(tag, value);
+    }
+
+    /**
+     * @return the offset of the main header in the package file
+     */
+    public long getStart()
+    {
+        return start;
+    }
+
+    /**
+     * @return the offset of the end of the main header (which is the start of the payload) in the package file
+     */
+    public long getEnd()
+    {
+        return end;
+    }
+
+    public boolean contains(int tag)
+    {
+        return tags.containsKey(tag);
+    }
+
+    public String getString(int tag)
+    {
+        Object value = tags.get(tag);
+        if (value instanceof String[])
+        {
+            String[] values = (String[]) value;
+
+            return values.length > 0 ? values[0] : null;
+        }
+
+        return (String) value;
+    }
+
+    public String[] getStringArray(int tag)
+    {
+        Object value = tags.get(tag);
+        if (value instanceof String)
+        {
+            return new String[]{ (String) value };
+        }
+
+        return value != null ? (String[]) value : new String[0];
+    }
+
+    public Integer getInt(int tag)
+    {
+        int[] values = getIntArray(tag);
+
+        return values.length > 0 ? values[0] : null;
+    }
+
+    public int[] getIntArray(int tag)
+    {
+        Object value = tags.get(tag);
+
+        return value instanceof int[] ? (int[]) value : new int[0];
+    }
+
+    public Map<Integer, Object> getTags()
+    {
+        return Collections.unmodifiableMap(tags);
+    }
+
+}
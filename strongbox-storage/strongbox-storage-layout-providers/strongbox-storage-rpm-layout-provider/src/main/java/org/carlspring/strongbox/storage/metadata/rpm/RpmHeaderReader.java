@@ -0,0 +1,209 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the main header of an RPM package. Only the lead, the signature header and the main header are read, the
+ * stream is left positioned at the start of the payload.
+ *
+ * @see <a href="https://rpm-software-management.github.io/rpm/manual/format.html">RPM file format</a>
+ */
+public class RpmHeaderReader
+{
+
+    private static final int LEAD_SIZE = 96;
+
+    private static final int LEAD_MAGIC = 0xedabeedb;
+
+    private static final int HEADER_MAGIC = 0x8eade801;
+
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    private static final int HEADER_INTRO_SIZE = 16;
+
+    private static final int MAX_INDEX_ENTRIES = 0xffff;
+
+    private static final int MAX_STORE_SIZE = 256 * 1024 * 1024;
+
+    private static final int TYPE_INT8 = 2;
+
+    private static final int TYPE_INT16 = 3;
+
+    private static final int TYPE_INT32 = 4;
+
+    private static final int TYPE_STRING = 6;
+
+    private static final int TYPE_STRING_ARRAY = 8;
+
+    private static final int TYPE_I18NSTRING = 9;
+
+    private RpmHeaderReader()
+    {
+    }
+
+    public static RpmHeader read(InputStream is)
+            throws IOException
+    {
+        DataInputStream in = new DataInputStream(is);
+
+        byte[] lead = new byte[LEAD_SIZE];
+        in.readFully(lead);
+        if (ByteBuffer.wrap(lead).getInt() != LEAD_MAGIC)
+        {
+            throw new IOException("Not an RPM package: invalid lead.");
+        }
+
+        // The signature header is padded to a multiple of 8 bytes.
+        long signatureSize = skipHeader(in);
+        int padding = (int) ((8 - signatureSize % 8) % 8);
+        in.readFully(new byte[padding]);
+
+        long start = LEAD_SIZE + signatureSize + padding;
+
+        return readHeader(in, start);
+    }
+
+    private static long skipHeader(DataInputStream in)
+            throws IOException
+    {
+        int[] intro = readIntro(in);
+        long size = (long) intro[0] * INDEX_ENTRY_SIZE + intro[1];
+        in.readFully(new byte[(int) size]);
+
+        return HEADER_INTRO_SIZE + size;
+    }
+
+    private static RpmHeader readHeader(DataInputStream in,
+                                        long start)
+            throws IOException
+    {
+        int[] intro = readIntro(in);
+        int indexCount = intro[0];
+        int storeSize = intro[1];
+
+        byte[] index = new byte[indexCount * INDEX_ENTRY_SIZE];
+        in.readFully(index);
+
+        byte[] store = new byte[storeSize];
+        in.readFully(store);
+
+        RpmHeader header = new RpmHeader(start, start + HEADER_INTRO_SIZE + index.length + storeSize);
+
+        ByteBuffer indexBuffer = ByteBuffer.wrap(index);
+        ByteBuffer storeBuffer = ByteBuffer.wrap(store);
+        for (int i = 0; i < indexCount; i++)
+        {
+            int tag = indexBuffer.getInt();
+            int type = indexBuffer.getInt();
+            int offset = indexBuffer.getInt();
+            int count = indexBuffer.getInt();
+
+            if (offset < 0 || offset > storeSize || count < 0)
+            {
+                throw new IOException(String.format("Invalid RPM header entry for tag [%s].", tag));
+            }
+
+            Object value = readValue(storeBuffer, type, offset, count);
+            if (value != null)
+            {
+                header.put(tag, value);
+            }
+        }
+
+        return header;
+    }
+
+    private static int[] readIntro(DataInputStream in)
+            throws IOException
+    {
+        if (in.readInt() != HEADER_MAGIC)
+        {
+            throw new IOException("Not an RPM package: invalid header magic.");
+        }
+        in.readInt();
+
+        int indexCount = in.readInt();
+        int storeSize = in.readInt();
+        if (indexCount < 0 || indexCount > MAX_INDEX_ENTRIES || storeSize < 0 || storeSize > MAX_STORE_SIZE)
+        {
+            throw new IOException("Not an RPM package: invalid header size.");
+        }
+
+        return new int[]{ indexCount, storeSize };
+    }
+
+    private static Object readValue(ByteBuffer store,
+                                    int type,
+                                    int offset,
+                                    int count)
+            throws IOException
+    {
+        try
+        {
+            switch (type)
+            {
+                case TYPE_INT8:
+                    int[] bytes = new int[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        bytes[i] = store.get(offset + i) & 0xff;
+                    }
+
+                    return bytes;
+                case TYPE_INT16:
+                    int[] shorts = new int[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        shorts[i] = store.getShort(offset + i * 2) & 0xffff;
+                    }
+
+                    return shorts;
+                case TYPE_INT32:
+                    int[] ints = new int[count];
+                    for (int i = 0; i < count; i++)
+                    {
+                        ints[i] = store.getInt(offset + i * 4);
+                    }
+
+                    return ints;
+                case TYPE_STRING:
+                    return readStrings(store, offset, 1)[0];
+                case TYPE_STRING_ARRAY:
+                case TYPE_I18NSTRING:
+                    return readStrings(store, offset, count);
+                default:
+                    return null;
+            }
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            throw new IOException(String.format("Invalid RPM header value at offset [%s].", offset), e);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer store,
+                                        int offset,
+                                        int count)
+    {
+        String[] result = new String[count];
+        int position = offset;
+        for (int i = 0; i < count; i++)
+        {
+            int end = position;
+            while (store.get(end) != 0)
+            {
+                end++;
+            }
+
+            result[i] = new String(store.array(), position, end - position, StandardCharsets.UTF_8);
+            position = end + 1;
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,520 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code <package/>} elements of one RPM package in the {@code primary.xml}, {@code filelists.xml} and
+ * {@code other.xml} repodata documents.
+ * <p>
+ * The elements are built once, when the package is stored, and are kept in the
+ * {@link org.carlspring.strongbox.domain.ArtifactEntry#getLayoutMetadata()} (see {@link #toMap()}), so that the
+ * repodata can be assembled again without reading the packages.
+ */
+public class RpmPackageMetadata
+{
+
+    public static final String COMMON_NAMESPACE = "http://linux.duke.edu/metadata/common";
+
+    public static final String RPM_NAMESPACE = "http://linux.duke.edu/metadata/rpm";
+
+    public static final String FILELISTS_NAMESPACE = "http://linux.duke.edu/metadata/filelists";
+
+    public static final String OTHER_NAMESPACE = "http://linux.duke.edu/metadata/other";
+
+    static final String KEY_PKGID = "rpm.pkgid";
+
+    static final String KEY_PRIMARY = "rpm.primary";
+
+    static final String KEY_FILELISTS = "rpm.filelists";
+
+    static final String KEY_OTHER = "rpm.other";
+
+    private static final String RPM_PREFIX = "rpm";
+
+    private static final int SENSE_LESS = 1 << 1;
+
+    private static final int SENSE_GREATER = 1 << 2;
+
+    private static final int SENSE_EQUAL = 1 << 3;
+
+    private static final int SENSE_SCRIPT_PRE = 1 << 9;
+
+    private static final int SENSE_SCRIPT_POST = 1 << 10;
+
+    private static final int FILE_GHOST = 1 << 6;
+
+    private static final int MODE_TYPE_MASK = 0170000;
+
+    private static final int MODE_DIRECTORY = 0040000;
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final String pkgid;
+
+    private final String primary;
+
+    private final String filelists;
+
+    private final String other;
+
+    public RpmPackageMetadata(String pkgid,
+                              String primary,
+                              String filelists,
+                              String other)
+    {
+        this.pkgid = pkgid;
+        this.primary = primary;
+        this.filelists = filelists;
+        this.other = other;
+    }
+
+    /**
+     * @param header      the main header of the package
+     * @param pkgid       the SHA-256 checksum of the package file
+     * @param location    the path of the package, relative to the repository root
+     * @param packageSize the size of the package file
+     * @param fileTime    the last modification time of the package file, in seconds
+     */
+    public static RpmPackageMetadata of(RpmHeader header,
+                                        String pkgid,
+                                        String location,
+                                        long packageSize,
+                                        long fileTime)
+            throws IOException
+    {
+        try
+        {
+            return new RpmPackageMetadata(pkgid,
+                                          writePrimary(header, pkgid, location, packageSize, fileTime),
+                                          writeFilelists(header, pkgid),
+                                          writeOther(header, pkgid));
+        }
+        catch (XMLStreamException e)
+        {
+            throw new IOException(String.format("Failed to write the repodata of [%s].", location), e);
+        }
+    }
+
+    /**
+     * @return the package metadata stored in the layout metadata of an artifact entry, or {@code null} if there is
+     *         none
+     */
+    public static RpmPackageMetadata fromMap(Map<String, String> layoutMetadata)
+    {
+        if (!layoutMetadata.containsKey(KEY_PKGID))
+        {
+            return null;
+        }
+
+        return new RpmPackageMetadata(layoutMetadata.get(KEY_PKGID),
+                                      layoutMetadata.get(KEY_PRIMARY),
+                                      layoutMetadata.get(KEY_FILELISTS),
+                                      layoutMetadata.get(KEY_OTHER));
+    }
+
+    public Map<String, String> toMap()
+    {
+        Map<String, String> result = new HashMap<>();
+        result.put(KEY_PKGID, pkgid);
+        result.put(KEY_PRIMARY, primary);
+        result.put(KEY_FILELISTS, filelists);
+        result.put(KEY_OTHER, other);
+
+        return result;
+    }
+
+    public String getPkgid()
+    {
+        return pkgid;
+    }
+
+    public String getPrimary()
+    {
+        return primary;
+    }
+
+    public String getFilelists()
+    {
+        return filelists;
+    }
+
+    public String getOther()
+    {
+        return other;
+    }
+
+    private static String writePrimary(RpmHeader header,
+                                       String pkgid,
+                                       String location,
+                                       long packageSize,
+                                       long fileTime)
+            throws XMLStreamException
+    {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter w = XML_OUTPUT_FACTORY.createXMLStreamWriter(result);
+
+        w.writeStartElement("package");
+        w.writeAttribute("type", "rpm");
+        writeElement(w, "name", header.getString(RpmHeader.NAME));
+        writeElement(w, "arch", getArch(header));
+        writeVersion(w, header);
+
+        w.writeStartElement("checksum");
+        w.writeAttribute("type", "sha256");
+        w.writeAttribute("pkgid", "YES");
+        w.writeCharacters(pkgid);
+        w.writeEndElement();
+
+        writeElement(w, "summary", header.getString(RpmHeader.SUMMARY));
+        writeElement(w, "description", header.getString(RpmHeader.DESCRIPTION));
+        writeElement(w, "packager", header.getString(RpmHeader.PACKAGER));
+        writeElement(w, "url", header.getString(RpmHeader.URL));
+
+        w.writeEmptyElement("time");
+        w.writeAttribute("file", String.valueOf(fileTime));
+        w.writeAttribute("build", toUnsigned(header.getInt(RpmHeader.BUILDTIME)));
+
+        w.writeEmptyElement("size");
+        w.writeAttribute("package", String.valueOf(packageSize));
+        w.writeAttribute("installed", toUnsigned(header.getInt(RpmHeader.SIZE)));
+        w.writeAttribute("archive", toUnsigned(header.getInt(RpmHeader.ARCHIVESIZE)));
+
+        w.writeEmptyElement("location");
+        w.writeAttribute("href", location);
+
+        w.writeStartElement("format");
+        writeRpmElement(w, "license", header.getString(RpmHeader.LICENSE));
+        writeRpmElement(w, "vendor", header.getString(RpmHeader.VENDOR));
+        writeRpmElement(w, "group", header.getString(RpmHeader.GROUP));
+        writeRpmElement(w, "buildhost", header.getString(RpmHeader.BUILDHOST));
+        writeRpmElement(w, "sourcerpm", header.getString(RpmHeader.SOURCERPM));
+
+        w.writeEmptyElement(RPM_PREFIX, "header-range", RPM_NAMESPACE);
+        w.writeAttribute("start", String.valueOf(header.getStart()));
+        w.writeAttribute("end", String.valueOf(header.getEnd()));
+
+        writeDependencies(w, "provides", header, RpmHeader.PROVIDENAME, RpmHeader.PROVIDEFLAGS, RpmHeader.PROVIDEVERSION);
+        writeDependencies(w, "requires", header, RpmHeader.REQUIRENAME, RpmHeader.REQUIREFLAGS, RpmHeader.REQUIREVERSION);
+        writeDependencies(w, "conflicts", header, RpmHeader.CONFLICTNAME, RpmHeader.CONFLICTFLAGS, RpmHeader.CONFLICTVERSION);
+        writeDependencies(w, "obsoletes", header, RpmHeader.OBSOLETENAME, RpmHeader.OBSOLETEFLAGS, RpmHeader.OBSOLETEVERSION);
+
+        // As createrepo does, only the files which are commonly depended on are listed in the primary metadata.
+        String[] files = getFiles(header);
+        int[] fileTypes = getFileTypes(header, files.length);
+        for (int i = 0; i < files.length; i++)
+        {
+            if (isPrimaryFile(files[i]))
+            {
+                writeFile(w, files[i], fileTypes[i]);
+            }
+        }
+
+        w.writeEndElement();
+        w.writeEndElement();
+        w.close();
+
+        return result.toString();
+    }
+
+    private static String writeFilelists(RpmHeader header,
+                                         String pkgid)
+            throws XMLStreamException
+    {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter w = XML_OUTPUT_FACTORY.createXMLStreamWriter(result);
+
+        writePackageStart(w, header, pkgid);
+
+        String[] files = getFiles(header);
+        int[] fileTypes = getFileTypes(header, files.length);
+        for (int i = 0; i < files.length; i++)
+        {
+            writeFile(w, files[i], fileTypes[i]);
+        }
+
+        w.writeEndElement();
+        w.close();
+
+        return result.toString();
+    }
+
+    private static String writeOther(RpmHeader header,
+                                     String pkgid)
+            throws XMLStreamException
+    {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter w = XML_OUTPUT_FACTORY.createXMLStreamWriter(result);
+
+        writePackageStart(w, header, pkgid);
+
+        int[] times = header.getIntArray(RpmHeader.CHANGELOGTIME);
+        String[] authors = header.getStringArray(RpmHeader.CHANGELOGNAME);
+        String[] texts = header.getStringArray(RpmHeader.CHANGELOGTEXT);
+        for (int i = 0; i < Math.min(times.length, Math.min(authors.length, texts.length)); i++)
+        {
+            w.writeStartElement("changelog");
+            w.writeAttribute("author", sanitize(authors[i]));
+            w.writeAttribute("date", toUnsigned(times[i]));
+            w.writeCharacters(sanitize(texts[i]));
+            w.writeEndElement();
+        }
+
+        w.writeEndElement();
+        w.close();
+
+        return result.toString();
+    }
+
+    private static void writePackageStart(XMLStreamWriter w,
+                                          RpmHeader header,
+                                          String pkgid)
+            throws XMLStreamException
+    {
+        w.writeStartElement("package");
+        w.writeAttribute("pkgid", pkgid);
+        w.writeAttribute("name", sanitize(header.getString(RpmHeader.NAME)));
+        w.writeAttribute("arch", getArch(header));
+        writeVersion(w, header);
+    }
+
+    private static void writeVersion(XMLStreamWriter w,
+                                     RpmHeader header)
+            throws XMLStreamException
+    {
+        Integer epoch = header.getInt(RpmHeader.EPOCH);
+
+        w.writeEmptyElement("version");
+        w.writeAttribute("epoch", epoch != null ? String.valueOf(epoch) : "0");
+        w.writeAttribute("ver", sanitize(header.getString(RpmHeader.VERSION)));
+        w.writeAttribute("rel", sanitize(header.getString(RpmHeader.RELEASE)));
+    }
+
+    private static void writeDependencies(XMLStreamWriter w,
+                                          String element,
+                                          RpmHeader header,
+                                          int nameTag,
+                                          int flagsTag,
+                                          int versionTag)
+            throws XMLStreamException
+    {
+        String[] names = header.getStringArray(nameTag);
+        int[] flags = header.getIntArray(flagsTag);
+        String[] versions = header.getStringArray(versionTag);
+        if (names.length == 0)
+        {
+            return;
+        }
+
+        w.writeStartElement(RPM_PREFIX, element, RPM_NAMESPACE);
+        for (int i = 0; i < names.length; i++)
+        {
+            // The rpmlib() dependencies are satisfied by rpm itself.
+            if (names[i].startsWith("rpmlib("))
+            {
+                continue;
+            }
+
+            int flag = i < flags.length ? flags[i] : 0;
+            String version = i < versions.length ? versions[i] : "";
+
+            w.writeEmptyElement(RPM_PREFIX, "entry", RPM_NAMESPACE);
+            w.writeAttribute("name", sanitize(names[i]));
+
+            String comparison = getComparison(flag);
+            if (comparison != null && !version.isEmpty())
+            {
+                String[] evr = parseEvr(version);
+
+                w.writeAttribute("flags", comparison);
+                w.writeAttribute("epoch", evr[0]);
+                w.writeAttribute("ver", sanitize(evr[1]));
+                if (evr[2] != null)
+                {
+                    w.writeAttribute("rel", sanitize(evr[2]));
+                }
+            }
+
+            if ("requires".equals(element) && (flag & (SENSE_SCRIPT_PRE | SENSE_SCRIPT_POST)) != 0)
+            {
+                w.writeAttribute("pre", "1");
+            }
+        }
+        w.writeEndElement();
+    }
+
+    private static void writeFile(XMLStreamWriter w,
+                                  String file,
+                                  int type)
+            throws XMLStreamException
+    {
+        w.writeStartElement("file");
+        if (type == MODE_DIRECTORY)
+        {
+            w.writeAttribute("type", "dir");
+        }
+        else if (type == FILE_GHOST)
+        {
+            w.writeAttribute("type", "ghost");
+        }
+        w.writeCharacters(sanitize(file));
+        w.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter w,
+                                     String element,
+                                     String value)
+            throws XMLStreamException
+    {
+        w.writeStartElement(element);
+        w.writeCharacters(sanitize(value));
+        w.writeEndElement();
+    }
+
+    private static void writeRpmElement(XMLStreamWriter w,
+                                        String element,
+                                        String value)
+            throws XMLStreamException
+    {
+        w.writeStartElement(RPM_PREFIX, element, RPM_NAMESPACE);
+        w.writeCharacters(sanitize(value));
+        w.writeEndElement();
+    }
+
+    private static String getArch(RpmHeader header)
+    {
+        // The source packages have the architecture of the build host in their header.
+        return header.contains(RpmHeader.SOURCERPM) ? sanitize(header.getString(RpmHeader.ARCH)) : "src";
+    }
+
+    static String[] getFiles(RpmHeader header)
+    {
+        String[] baseNames = header.getStringArray(RpmHeader.BASENAMES);
+        String[] dirNames = header.getStringArray(RpmHeader.DIRNAMES);
+        int[] dirIndexes = header.getIntArray(RpmHeader.DIRINDEXES);
+
+        String[] result = new String[Math.min(baseNames.length, dirIndexes.length)];
+        for (int i = 0; i < result.length; i++)
+        {
+            int dirIndex = dirIndexes[i];
+            result[i] = (dirIndex >= 0 && dirIndex < dirNames.length ? dirNames[dirIndex] : "") + baseNames[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * @return {@link #MODE_DIRECTORY} for the directories, {@link #FILE_GHOST} for the ghost files and {@code 0} for
+     *         the other files
+     */
+    private static int[] getFileTypes(RpmHeader header,
+                                      int fileCount)
+    {
+        int[] modes = header.getIntArray(RpmHeader.FILEMODES);
+        int[] flags = header.getIntArray(RpmHeader.FILEFLAGS);
+
+        int[] result = new int[fileCount];
+        for (int i = 0; i < fileCount; i++)
+        {
+            if (i < modes.length && (modes[i] & MODE_TYPE_MASK) == MODE_DIRECTORY)
+            {
+                result[i] = MODE_DIRECTORY;
+            }
+            else if (i < flags.length && (flags[i] & FILE_GHOST) != 0)
+            {
+                result[i] = FILE_GHOST;
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isPrimaryFile(String file)
+    {
+        return file.startsWith("/etc/") || file.contains("bin/") || file.equals("/usr/lib/sendmail");
+    }
+
+    private static String getComparison(int flags)
+    {
+        switch (flags & (SENSE_LESS | SENSE_GREATER | SENSE_EQUAL))
+        {
+            case SENSE_LESS:
+                return "LT";
+            case SENSE_GREATER:
+                return "GT";
+            case SENSE_EQUAL:
+                return "EQ";
+            case SENSE_LESS | SENSE_EQUAL:
+                return "LE";
+            case SENSE_GREATER | SENSE_EQUAL:
+                return "GE";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Splits an {@code [epoch:]version[-release]} string.
+     */
+    static String[] parseEvr(String evr)
+    {
+        String epoch = "0";
+        String version = evr;
+        String release = null;
+
+        int colon = version.indexOf(':');
+        if (colon > 0)
+        {
+            epoch = version.substring(0, colon);
+            version = version.substring(colon + 1);
+        }
+
+        int dash = version.lastIndexOf('-');
+        if (dash > 0)
+        {
+            release = version.substring(dash + 1);
+            version = version.substring(0, dash);
+        }
+
+        return new String[]{ epoch, version, release };
+    }
+
+    private static String toUnsigned(Integer value)
+    {
+        return value != null ? String.valueOf(Integer.toUnsignedLong(value)) : "0";
+    }
+
+    /**
+     * Removes the characters which are not allowed in XML documents.
+     */
+    private static String sanitize(String value)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+
+        StringBuilder result = null;
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            boolean allowed = c >= 0x20 || c == '\t' || c == '\n' || c == '\r';
+            if (!allowed && result == null)
+            {
+                result = new StringBuilder(value.substring(0, i));
+            }
+            else if (allowed && result != null)
+            {
+                result.append(c);
+            }
+        }
+
+        return result != null ? result.toString() : value;
+    }
+
+}
@@ -0,0 +1,504 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import org.carlspring.strongbox.artifact.coordinates.RpmArtifactCoordinates;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.configuration.ConfigurationUtils;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates the {@code repodata/} of the RPM repositories.
+ * <p>
+ * The packages are not read again: the repodata of a hosted repository is assembled from the {@code <package/>}
+ * elements which were built when the packages were stored (see {@link RpmPackageMetadata}), and the repodata of a
+ * group repository is merged from the repodata of its members (the first member which has a package wins).
+ * <p>
+ * The regenerations requested with {@link #scheduleRegeneration(Repository)} are delayed and coalesced per
+ * repository, so that a batch of uploads leads to a single regeneration. Once the repodata of a repository is
+ * regenerated, the regeneration of the groups which contain it is scheduled.
+ */
+@Component
+public class RpmRepodataGenerator
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RpmRepodataGenerator.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final String ORDER_BY = "uuid";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private static final QName PKGID = new QName("pkgid");
+
+    private static final QName TYPE = new QName("type");
+
+    private static final QName HREF = new QName("href");
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.rpm.repodata.delayMillis:1000}")
+    private long delayMillis;
+
+    private final Set<String> scheduledRegenerations = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init()
+    {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rpm-repodata-generator");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules the regeneration of the repodata of the repository, unless one is already scheduled.
+     */
+    public void scheduleRegeneration(Repository repository)
+    {
+        if (!isGenerated(repository))
+        {
+            return;
+        }
+
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        String key = storageId + ":" + repositoryId;
+
+        // The key is added before the task is scheduled, so that the task can't remove it before it is there.
+        if (!scheduledRegenerations.add(key))
+        {
+            return;
+        }
+
+        executor.schedule(() -> {
+            // Removed before regenerating: a package stored meanwhile schedules a new regeneration.
+            scheduledRegenerations.remove(key);
+            try
+            {
+                regenerate(configurationManager.getRepository(storageId, repositoryId));
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to regenerate the repodata of [{}].", key, e);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return {@code true} if the repository has a {@code repodata/repomd.xml}
+     */
+    public boolean exists(Repository repository)
+            throws IOException
+    {
+        return Files.exists(getRepodataDirectory(repository).resolve(RpmRepodataWriter.REPOMD));
+    }
+
+    /**
+     * Regenerates the repodata of the repository, in the calling thread.
+     */
+    public void regenerate(Repository repository)
+            throws IOException
+    {
+        if (repository == null || !isGenerated(repository))
+        {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        RepositoryPath repodataDirectory = getRepodataDirectory(repository);
+        Lock lock = repositoryPathLock.lock(repodataDirectory).writeLock();
+        lock.lock();
+        try (RpmRepodataWriter writer = new RpmRepodataWriter())
+        {
+            if (repository.isGroupRepository())
+            {
+                mergeMembers(repository, writer);
+            }
+            else
+            {
+                addPackages(repository, writer);
+            }
+
+            writer.write(repodataDirectory);
+
+            logger.debug("Regenerated the repodata of [{}] with [{}] packages in [{}] ms.",
+                         repodataDirectory.getRepository().getId(),
+                         writer.getPackageCount(),
+                         System.currentTimeMillis() - startTime);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        List<Repository> groupRepositories = configurationManager.getConfiguration()
+                                                                  .getGroupRepositoriesContaining(repository.getStorage().getId(),
+                                                                                                  repository.getId());
+        groupRepositories.forEach(this::scheduleRegeneration);
+    }
+
+    /**
+     * The repodata of the proxy repositories is the one of the remote repository.
+     */
+    private static boolean isGenerated(Repository repository)
+    {
+        return RpmArtifactCoordinates.LAYOUT_NAME.equals(repository.getLayout()) && !repository.isProxyRepository();
+    }
+
+    private RepositoryPath getRepodataDirectory(Repository repository)
+            throws IOException
+    {
+        return repositoryPathResolver.resolve(repository, RpmRepodataWriter.REPODATA);
+    }
+
+    /**
+     * The entries are paged in a stable order. A package which is stored or deleted while the pages are read may shift
+     * them, in which case it is either added twice (and skipped by its {@code pkgid}) or missed; either way its event
+     * schedules another regeneration, which reads the pages again.
+     */
+    private void addPackages(Repository repository,
+                             RpmRepodataWriter writer)
+    {
+        for (int skip = 0; ; skip += PAGE_SIZE)
+        {
+            int offset = skip;
+            Integer count = new TransactionTemplate(transactionManager).execute(t -> {
+                List<ArtifactEntry> entries = artifactEntryService.findArtifactList(repository.getStorage().getId(),
+                                                                                    repository.getId(),
+                                                                                    Collections.emptyMap(),
+                                                                                    Collections.emptySet(),
+                                                                                    offset,
+                                                                                    PAGE_SIZE,
+                                                                                    ORDER_BY,
+                                                                                    false);
+                for (ArtifactEntry entry : entries)
+                {
+                    RpmPackageMetadata packageMetadata = RpmPackageMetadata.fromMap(entry.getLayoutMetadata());
+                    if (packageMetadata == null)
+                    {
+                        continue;
+                    }
+
+                    try
+                    {
+                        writer.add(packageMetadata);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UndeclaredThrowableException(e);
+                    }
+                }
+
+                return entries.size();
+            });
+
+            if (count == null || count < PAGE_SIZE)
+            {
+                return;
+            }
+        }
+    }
+
+    private void mergeMembers(Repository groupRepository,
+                              RpmRepodataWriter writer)
+            throws IOException
+    {
+        for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
+        {
+            String sId = ConfigurationUtils.getStorageId(groupRepository.getStorage().getId(), storageAndRepositoryId);
+            String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+            Repository member = configurationManager.getRepository(sId, rId);
+
+            if (member == null || !member.isInService())
+            {
+                continue;
+            }
+
+            try
+            {
+                mergeMember(member, writer);
+            }
+            catch (IOException e)
+            {
+                logger.warn("Failed to merge the repodata of [{}] into [{}].",
+                            storageAndRepositoryId,
+                            groupRepository.getId(),
+                            e);
+            }
+        }
+    }
+
+    private void mergeMember(Repository member,
+                             RpmRepodataWriter writer)
+            throws IOException
+    {
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(member.getType());
+
+        Path repomd = provider.fetchPath(getRepodataDirectory(member).resolve(RpmRepodataWriter.REPOMD));
+        if (repomd == null || !Files.exists(repomd))
+        {
+            logger.debug("No repodata in [{}].", member.getId());
+
+            return;
+        }
+
+        Map<String, String> locations = readLocations(repomd);
+
+        Set<String> pkgids = new HashSet<>();
+        readPackages(provider, member, locations.get(RpmRepodataWriter.Document.PRIMARY.getType()), (pkgid, element) -> {
+            if (writer.addPrimary(pkgid, element))
+            {
+                pkgids.add(pkgid);
+            }
+        });
+        readPackages(provider, member, locations.get(RpmRepodataWriter.Document.FILELISTS.getType()), (pkgid, element) -> {
+            if (pkgids.contains(pkgid))
+            {
+                writer.addFilelists(element);
+            }
+        });
+        readPackages(provider, member, locations.get(RpmRepodataWriter.Document.OTHER.getType()), (pkgid, element) -> {
+            if (pkgids.contains(pkgid))
+            {
+                writer.addOther(element);
+            }
+        });
+    }
+
+    /**
+     * @return the {@code location/@href} of the {@code data} elements of the {@code repomd.xml}, by type
+     */
+    private Map<String, String> readLocations(Path repomd)
+            throws IOException
+    {
+        Map<String, String> result = new HashMap<>();
+        try (InputStream is = Files.newInputStream(repomd))
+        {
+            XMLEventReader reader = XML_INPUT_FACTORY.createXMLEventReader(is);
+            String type = null;
+            while (reader.hasNext())
+            {
+                XMLEvent event = reader.nextEvent();
+                if (!event.isStartElement())
+                {
+                    continue;
+                }
+
+                StartElement element = event.asStartElement();
+                if ("data".equals(element.getName().getLocalPart()))
+                {
+                    type = getAttribute(element, TYPE);
+                }
+                else if ("location".equals(element.getName().getLocalPart()) && type != null)
+                {
+                    result.put(type, getAttribute(element, HREF));
+                }
+            }
+        }
+        catch (XMLStreamException e)
+        {
+            throw new IOException(String.format("Failed to read [%s].", repomd), e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the {@code <package/>} elements of a repodata document. The {@code pkgid} is taken from the
+     * {@code pkgid} attribute of the element, or from its {@code checksum} element for the {@code primary} document.
+     */
+    private void readPackages(RepositoryProvider provider,
+                              Repository member,
+                              String location,
+                              PackageElementConsumer consumer)
+            throws IOException
+    {
+        if (location == null)
+        {
+            return;
+        }
+
+        Path path = provider.fetchPath(repositoryPathResolver.resolve(member, location));
+        if (path == null || !Files.exists(path))
+        {
+            throw new IOException(String.format("[%s] not found in [%s].", location, member.getId()));
+        }
+
+        try (InputStream is = decompress(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            XMLEventReader reader = XML_INPUT_FACTORY.createXMLEventReader(is);
+
+            int depth = 0;
+            StringWriter element = null;
+            XMLEventWriter elementWriter = null;
+            String pkgid = null;
+            StringBuilder checksum = null;
+            while (reader.hasNext())
+            {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartElement())
+                {
+                    depth++;
+
+                    StartElement startElement = event.asStartElement();
+                    String name = startElement.getName().getLocalPart();
+                    if (depth == 2 && "package".equals(name))
+                    {
+                        element = new StringWriter();
+                        elementWriter = XML_OUTPUT_FACTORY.createXMLEventWriter(element);
+                        pkgid = getAttribute(startElement, PKGID);
+                    }
+                    else if (depth == 3 && "checksum".equals(name) && "YES".equals(getAttribute(startElement, PKGID)))
+                    {
+                        checksum = new StringBuilder();
+                    }
+                }
+
+                if (elementWriter != null)
+                {
+                    elementWriter.add(event);
+                }
+
+                if (checksum != null && event.isCharacters())
+                {
+                    checksum.append(event.asCharacters().getData());
+                }
+
+                if (event.isEndElement())
+                {
+                    if (depth == 3 && checksum != null)
+                    {
+                        pkgid = checksum.toString().trim();
+                        checksum = null;
+                    }
+                    else if (depth == 2 && elementWriter != null)
+                    {
+                        elementWriter.close();
+                        if (pkgid != null)
+                        {
+                            consumer.accept(pkgid, element.toString());
+                        }
+
+                        elementWriter = null;
+                        pkgid = null;
+                    }
+
+                    depth--;
+                }
+            }
+        }
+        catch (XMLStreamException e)
+        {
+            throw new IOException(String.format("Failed to read [%s] from [%s].", location, member.getId()), e);
+        }
+    }
+
+    private static InputStream decompress(BufferedInputStream is)
+            throws IOException
+    {
+        try
+        {
+            return new CompressorStreamFactory().createCompressorInputStream(is);
+        }
+        catch (CompressorException e)
+        {
+            // Not compressed.
+            return is;
+        }
+    }
+
+    private static String getAttribute(StartElement element,
+                                       QName name)
+    {
+        Attribute attribute = element.getAttributeByName(name);
+
+        return attribute != null ? attribute.getValue() : null;
+    }
+
+    @FunctionalInterface
+    private interface PackageElementConsumer
+    {
+
+        void accept(String pkgid,
+                    String element)
+                throws IOException;
+
+    }
+
+}
@@ -0,0 +1,393 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
+
+/**
+ * Assembles the {@code primary}, {@code filelists} and {@code other} repodata documents from the
+ * {@code <package/>} elements of the packages, and publishes them with their {@code repomd.xml}.
+ * <p>
+ * The elements are spooled to temporary files as they are added, so that the packages don't have to be held in
+ * memory. The documents are published with their checksum in their name (as {@code createrepo} does by default), and
+ * the {@code repomd.xml} is replaced last, so that the clients never see a {@code repomd.xml} which refers to
+ * documents that are not there.
+ */
+public class RpmRepodataWriter
+        implements Closeable
+{
+
+    public static final String REPODATA = "repodata";
+
+    public static final String REPOMD = "repomd.xml";
+
+    private static final String REPO_NAMESPACE = "http://linux.duke.edu/metadata/repo";
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final Path workingDirectory;
+
+    private final Map<Document, Writer> bodies = new EnumMap<>(Document.class);
+
+    private final Set<String> pkgids = new HashSet<>();
+
+    public RpmRepodataWriter()
+            throws IOException
+    {
+        workingDirectory = Files.createTempDirectory(REPODATA);
+        for (Document document : Document.values())
+        {
+            bodies.put(document, Files.newBufferedWriter(workingDirectory.resolve(document.type + ".body"),
+                                                         StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return {@code false} if a package with the same {@code pkgid} was already added
+     */
+    public boolean add(RpmPackageMetadata packageMetadata)
+            throws IOException
+    {
+        if (!addPrimary(packageMetadata.getPkgid(), packageMetadata.getPrimary()))
+        {
+            return false;
+        }
+
+        add(Document.FILELISTS, packageMetadata.getFilelists());
+        add(Document.OTHER, packageMetadata.getOther());
+
+        return true;
+    }
+
+    /**
+     * @return {@code false} if a package with the same {@code pkgid} was already added
+     */
+    public boolean addPrimary(String pkgid,
+                              String packageElement)
+            throws IOException
+    {
+        if (!pkgids.add(pkgid))
+        {
+            return false;
+        }
+
+        add(Document.PRIMARY, packageElement);
+
+        return true;
+    }
+
+    public void addFilelists(String packageElement)
+            throws IOException
+    {
+        add(Document.FILELISTS, packageElement);
+    }
+
+    public void addOther(String packageElement)
+            throws IOException
+    {
+        add(Document.OTHER, packageElement);
+    }
+
+    public boolean contains(String pkgid)
+    {
+        return pkgids.contains(pkgid);
+    }
+
+    public int getPackageCount()
+    {
+        return pkgids.size();
+    }
+
+    private void add(Document document,
+                     String packageElement)
+            throws IOException
+    {
+        Writer writer = bodies.get(document);
+        writer.write(packageElement);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes the documents into the {@code repodata} directory, which is created if needed.
+     */
+    public void write(Path repodataDirectory)
+            throws IOException
+    {
+        for (Writer writer : bodies.values())
+        {
+            writer.close();
+        }
+
+        Files.createDirectories(repodataDirectory);
+
+        long timestamp = System.currentTimeMillis() / 1000;
+        Map<Document, DataFile> dataFiles = new EnumMap<>(Document.class);
+        for (Document document : Document.values())
+        {
+            dataFiles.put(document, writeDocument(document, timestamp));
+        }
+
+        Set<String> published = new HashSet<>();
+        for (DataFile dataFile : dataFiles.values())
+        {
+            published.add(publish(dataFile.plain, dataFile.openChecksum, repodataDirectory));
+            published.add(publish(dataFile.compressed, dataFile.checksum, repodataDirectory));
+        }
+
+        Path repomd = workingDirectory.resolve(REPOMD);
+        writeRepomd(repomd, dataFiles, timestamp);
+        try (InputStream is = Files.newInputStream(repomd))
+        {
+            Files.copy(is, repodataDirectory.resolve(REPOMD), StandardCopyOption.REPLACE_EXISTING);
+        }
+        published.add(REPOMD);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(repodataDirectory))
+        {
+            for (Path file : files)
+            {
+                String fileName = file.getFileName().toString();
+                // The checksum files of the previous documents are removed along with them.
+                if (Files.isRegularFile(file) && isDataFile(fileName) &&
+                    published.stream().noneMatch(fileName::startsWith))
+                {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private DataFile writeDocument(Document document,
+                                   long timestamp)
+            throws IOException
+    {
+        DataFile result = new DataFile(document, timestamp);
+
+        MessageDigest openDigest = DigestUtils.getSha256Digest();
+        MessageDigest digest = DigestUtils.getSha256Digest();
+
+        CountingOutputStream plain = new CountingOutputStream(Files.newOutputStream(result.plain));
+        CountingOutputStream compressed = new CountingOutputStream(Files.newOutputStream(result.compressed));
+        try (OutputStream os = new TeeOutputStream(new DigestOutputStream(plain, openDigest),
+                                                   new GZIPOutputStream(new DigestOutputStream(compressed, digest))))
+        {
+            os.write(String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n%s\n", document.getStartTag(getPackageCount()))
+                           .getBytes(StandardCharsets.UTF_8));
+            Files.copy(workingDirectory.resolve(document.type + ".body"), os);
+            os.write(String.format("</%s>\n", document.root).getBytes(StandardCharsets.UTF_8));
+        }
+
+        result.openChecksum = Hex.encodeHexString(openDigest.digest());
+        result.openSize = plain.getByteCount();
+        result.checksum = Hex.encodeHexString(digest.digest());
+        result.size = compressed.getByteCount();
+
+        return result;
+    }
+
+    private String publish(Path file,
+                           String checksum,
+                           Path repodataDirectory)
+            throws IOException
+    {
+        String fileName = String.format("%s-%s", checksum, file.getFileName());
+
+        Path target = repodataDirectory.resolve(fileName);
+        if (!Files.exists(target))
+        {
+            try (InputStream is = Files.newInputStream(file))
+            {
+                Files.copy(is, target);
+            }
+        }
+
+        return fileName;
+    }
+
+    private void writeRepomd(Path repomd,
+                             Map<Document, DataFile> dataFiles,
+                             long timestamp)
+            throws IOException
+    {
+        try (OutputStream os = Files.newOutputStream(repomd))
+        {
+            XMLStreamWriter w = XML_OUTPUT_FACTORY.createXMLStreamWriter(os, StandardCharsets.UTF_8.name());
+            w.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            w.writeStartElement("repomd");
+            w.writeDefaultNamespace(REPO_NAMESPACE);
+            w.writeNamespace("rpm", RpmPackageMetadata.RPM_NAMESPACE);
+
+            writeElement(w, "revision", String.valueOf(timestamp));
+            for (DataFile dataFile : dataFiles.values())
+            {
+                w.writeStartElement("data");
+                w.writeAttribute("type", dataFile.document.type);
+
+                w.writeStartElement("checksum");
+                w.writeAttribute("type", "sha256");
+                w.writeCharacters(dataFile.checksum);
+                w.writeEndElement();
+
+                w.writeStartElement("open-checksum");
+                w.writeAttribute("type", "sha256");
+                w.writeCharacters(dataFile.openChecksum);
+                w.writeEndElement();
+
+                w.writeEmptyElement("location");
+                w.writeAttribute("href", String.format("%s/%s-%s",
+                                                       REPODATA,
+                                                       dataFile.checksum,
+                                                       dataFile.compressed.getFileName()));
+
+                writeElement(w, "timestamp", String.valueOf(dataFile.timestamp));
+                writeElement(w, "size", String.valueOf(dataFile.size));
+                writeElement(w, "open-size", String.valueOf(dataFile.openSize));
+                w.writeEndElement();
+            }
+
+            w.writeEndElement();
+            w.writeEndDocument();
+            w.close();
+        }
+        catch (XMLStreamException e)
+        {
+            throw new IOException("Failed to write the repomd.xml.", e);
+        }
+    }
+
+    private static void writeElement(XMLStreamWriter w,
+                                     String element,
+                                     String value)
+            throws XMLStreamException
+    {
+        w.writeStartElement(element);
+        w.writeCharacters(value);
+        w.writeEndElement();
+    }
+
+    private static boolean isDataFile(String fileName)
+    {
+        for (Document document : Document.values())
+        {
+            if (fileName.contains("-" + document.type + ".xml"))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        for (Writer writer : bodies.values())
+        {
+            writer.close();
+        }
+
+        FileUtils.deleteDirectory(workingDirectory.toFile());
+    }
+
+    enum Document
+    {
+
+        PRIMARY("primary", "metadata", RpmPackageMetadata.COMMON_NAMESPACE),
+
+        FILELISTS("filelists", "filelists", RpmPackageMetadata.FILELISTS_NAMESPACE),
+
+        OTHER("other", "otherdata", RpmPackageMetadata.OTHER_NAMESPACE);
+
+        private final String type;
+
+        private final String root;
+
+        private final String namespace;
+
+        Document(String type,
+                 String root,
+                 String namespace)
+        {
+            this.type = type;
+            this.root = root;
+            this.namespace = namespace;
+        }
+
+        public String getType()
+        {
+            return type;
+        }
+
+        public String getRoot()
+        {
+            return root;
+        }
+
+        private String getStartTag(int packageCount)
+        {
+            if (this == PRIMARY)
+            {
+                return String.format("<%s xmlns=\"%s\" xmlns:rpm=\"%s\" packages=\"%s\">",
+                                     root, namespace, RpmPackageMetadata.RPM_NAMESPACE, packageCount);
+            }
+
+            return String.format("<%s xmlns=\"%s\" packages=\"%s\">", root, namespace, packageCount);
+        }
+
+    }
+
+    private class DataFile
+    {
+
+        private final Document document;
+
+        private final long timestamp;
+
+        private final Path plain;
+
+        private final Path compressed;
+
+        private String checksum;
+
+        private String openChecksum;
+
+        private long size;
+
+        private long openSize;
+
+        private DataFile(Document document,
+                         long timestamp)
+        {
+            this.document = document;
+            this.timestamp = timestamp;
+            this.plain = workingDirectory.resolve(document.type + ".xml");
+            this.compressed = workingDirectory.resolve(document.type + ".xml.gz");
+        }
+
+    }
+
+}
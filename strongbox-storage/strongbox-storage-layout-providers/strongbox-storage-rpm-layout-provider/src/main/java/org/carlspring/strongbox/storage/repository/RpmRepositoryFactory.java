@@ -0,0 +1,30 @@
+package org.carlspring.strongbox.storage.repository;
+
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.repository.RpmRepositoryFeatures;
+
+import javax.inject.Inject;
+import java.util.LinkedHashSet;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class RpmRepositoryFactory
+        implements RepositoryFactory
+{
+
+    @Inject
+    private RpmRepositoryFeatures rpmRepositoryFeatures;
+
+
+    @Override
+    public RepositoryDto createRepository(String repositoryId)
+    {
+        RepositoryDto repository = new RepositoryDto(repositoryId);
+        repository.setLayout(RpmLayoutProvider.ALIAS);
+        repository.setArtifactCoordinateValidators(new LinkedHashSet<>(rpmRepositoryFeatures.getDefaultArtifactCoordinateValidators()));
+
+        return repository;
+    }
+
+}
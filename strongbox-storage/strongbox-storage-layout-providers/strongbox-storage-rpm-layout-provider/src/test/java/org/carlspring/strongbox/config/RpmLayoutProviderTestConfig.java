@@ -0,0 +1,19 @@
+package org.carlspring.strongbox.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@Import({ RpmLayoutProviderConfig.class,
+          EventsConfig.class,
+          StorageCoreConfig.class,
+          StorageApiConfig.class,
+          CommonConfig.class,
+          ClientConfig.class,
+          DataServiceConfig.class,
+          TestingCoreConfig.class
+        })
+public class RpmLayoutProviderTestConfig
+{
+
+}
@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RpmHeaderReaderTest
+{
+
+    @Test
+    void shouldReadMainHeader()
+            throws IOException
+    {
+        byte[] rpm = RpmTestPackages.createPackage();
+
+        InputStream is = new ByteArrayInputStream(rpm);
+        RpmHeader header = RpmHeaderReader.read(is);
+
+        assertThat(header.getString(RpmHeader.NAME)).isEqualTo("strongbox-test");
+        assertThat(header.getString(RpmHeader.VERSION)).isEqualTo("1.0");
+        assertThat(header.getString(RpmHeader.RELEASE)).isEqualTo("1.el8");
+        assertThat(header.getString(RpmHeader.ARCH)).isEqualTo("x86_64");
+        assertThat(header.getInt(RpmHeader.EPOCH)).isNull();
+        assertThat(header.getIntArray(RpmHeader.DIRINDEXES)).containsExactly(0, 1);
+        assertThat(RpmPackageMetadata.getFiles(header)).containsExactly("/usr/bin/strongbox-test",
+                                                                          "/usr/share/doc/README");
+
+        // The lead and the signature header (16 bytes, already aligned) come first, the payload follows the header.
+        assertThat(header.getStart()).isEqualTo(96 + 16);
+        assertThat(header.getEnd()).isEqualTo(rpm.length - RpmTestPackages.PAYLOAD.length());
+        assertThat(is.available()).isEqualTo(RpmTestPackages.PAYLOAD.length());
+    }
+
+    @Test
+    void shouldBuildRepodataElements()
+            throws IOException
+    {
+        RpmHeader header = RpmHeaderReader.read(new ByteArrayInputStream(RpmTestPackages.createPackage()));
+
+        RpmPackageMetadata packageMetadata = RpmPackageMetadata.of(header,
+                                                                   "0123456789abcdef",
+                                                                   "el8/strongbox-test-1.0-1.el8.x86_64.rpm",
+                                                                   1024,
+                                                                   1500000000);
+
+        assertThat(packageMetadata.getPrimary()).contains("<name>strongbox-test</name>")
+                                                .contains("<arch>x86_64</arch>")
+                                                .contains("<version epoch=\"0\" ver=\"1.0\" rel=\"1.el8\"")
+                                                .contains("<checksum type=\"sha256\" pkgid=\"YES\">0123456789abcdef</checksum>")
+                                                .contains("<location href=\"el8/strongbox-test-1.0-1.el8.x86_64.rpm\"")
+                                                .contains("<rpm:entry name=\"strongbox-test\" flags=\"EQ\" epoch=\"0\" ver=\"1.0\" rel=\"1.el8\"")
+                                                .contains("<rpm:entry name=\"glibc\"")
+                                                .contains("<file>/usr/bin/strongbox-test</file>")
+                                                .doesNotContain("rpmlib(")
+                                                .doesNotContain("/usr/share/doc/README");
+        assertThat(packageMetadata.getFilelists()).contains("pkgid=\"0123456789abcdef\"")
+                                                  .contains("<file>/usr/share/doc/README</file>");
+        assertThat(RpmPackageMetadata.fromMap(packageMetadata.toMap()).getOther()).isEqualTo(packageMetadata.getOther());
+    }
+
+    @Test
+    void shouldRejectOtherFiles()
+    {
+        byte[] content = new byte[128];
+
+        assertThatThrownBy(() -> RpmHeaderReader.read(new ByteArrayInputStream(content))).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldSplitEpochVersionRelease()
+    {
+        assertThat(RpmPackageMetadata.parseEvr("2:1.0-3")).containsExactly("2", "1.0", "3");
+        assertThat(RpmPackageMetadata.parseEvr("1.0")).containsExactly("0", "1.0", null);
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.config.RpmLayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.RpmLayoutProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Group;
+
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = RpmLayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class RpmRepodataGeneratorTest
+{
+
+    private static final String STORAGE = "rrgt-storage-rpm";
+
+    private static final String REPOSITORY_HOSTED = "rrgt-hosted-releases";
+
+    private static final String REPOSITORY_MEMBER_1 = "rrgt-member-releases-1";
+
+    private static final String REPOSITORY_MEMBER_2 = "rrgt-member-releases-2";
+
+    private static final String REPOSITORY_GROUP = "rrgt-group";
+
+    @Inject
+    private RpmRepodataGenerator rpmRepodataGenerator;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testHostedRepodataIsGeneratedFromTheStoredPackages(@TestRepository(layout = RpmLayoutProvider.ALIAS,
+                                                                                   storageId = STORAGE,
+                                                                                   repositoryId = REPOSITORY_HOSTED)
+                                                                   Repository repository)
+            throws IOException
+    {
+        store(repository, "strongbox-a", "1.0");
+        store(repository, "strongbox-a", "1.1");
+        store(repository, "strongbox-b", "2.0");
+
+        rpmRepodataGenerator.regenerate(repository);
+
+        assertThat(rpmRepodataGenerator.exists(repository)).isTrue();
+
+        RepositoryPath repodataDirectory = repositoryPathResolver.resolve(repository, RpmRepodataWriter.REPODATA);
+        assertThat(RpmTestRepodata.readDocument(repodataDirectory, "primary"))
+                .contains("packages=\"3\"")
+                .contains("<location href=\"el8/strongbox-a-1.0-1.el8.x86_64.rpm\"")
+                .contains("<location href=\"el8/strongbox-a-1.1-1.el8.x86_64.rpm\"")
+                .contains("<location href=\"el8/strongbox-b-2.0-1.el8.x86_64.rpm\"");
+        assertThat(RpmTestRepodata.readDocument(repodataDirectory, "filelists")).contains("packages=\"3\"");
+        assertThat(RpmTestRepodata.readDocument(repodataDirectory, "other")).contains("packages=\"3\"");
+    }
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testGroupRepodataIsMergedByPkgid(@TestRepository(layout = RpmLayoutProvider.ALIAS,
+                                                                 storageId = STORAGE,
+                                                                 repositoryId = REPOSITORY_MEMBER_1)
+                                                 Repository member1,
+                                                 @TestRepository(layout = RpmLayoutProvider.ALIAS,
+                                                                 storageId = STORAGE,
+                                                                 repositoryId = REPOSITORY_MEMBER_2)
+                                                 Repository member2,
+                                                 @Group(repositories = { REPOSITORY_MEMBER_1,
+                                                                         REPOSITORY_MEMBER_2 })
+                                                 @TestRepository(layout = RpmLayoutProvider.ALIAS,
+                                                                 storageId = STORAGE,
+                                                                 repositoryId = REPOSITORY_GROUP)
+                                                 Repository group)
+            throws IOException
+    {
+        // The same package in both members, so with the same pkgid.
+        store(member1, "strongbox-a", "1.0");
+        store(member2, "strongbox-a", "1.0");
+        store(member2, "strongbox-b", "2.0");
+
+        rpmRepodataGenerator.regenerate(member1);
+        rpmRepodataGenerator.regenerate(member2);
+        rpmRepodataGenerator.regenerate(group);
+
+        RepositoryPath repodataDirectory = repositoryPathResolver.resolve(group, RpmRepodataWriter.REPODATA);
+        String primary = RpmTestRepodata.readDocument(repodataDirectory, "primary");
+        assertThat(primary).contains("packages=\"2\"")
+                           .contains("<name>strongbox-a</name>")
+                           .contains("<name>strongbox-b</name>");
+        assertThat(primary.split("<package ", -1)).hasSize(3);
+
+        // The filelists and other elements follow the packages which were kept.
+        for (String type : new String[]{ "filelists", "other" })
+        {
+            String document = RpmTestRepodata.readDocument(repodataDirectory, type);
+            assertThat(document).contains("packages=\"2\"");
+            assertThat(document.split("<package ", -1)).hasSize(3);
+        }
+    }
+
+    private void store(Repository repository,
+                       String name,
+                       String version)
+            throws IOException
+    {
+        String path = String.format("el8/%s-%s-1.el8.x86_64.rpm", name, version);
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, path);
+
+        long packages = countPackages(repository);
+        artifactManagementService.validateAndStore(repositoryPath,
+                                                   new ByteArrayInputStream(RpmTestPackages.createPackage(name,
+                                                                                                          version,
+                                                                                                          "1.el8")));
+
+        // The repodata elements are added to the artifact entry by an async event listener.
+        await().atMost(10, TimeUnit.SECONDS).until(() -> countPackages(repository) == packages + 1);
+    }
+
+    private long countPackages(Repository repository)
+    {
+        return artifactEntryService.findArtifactList(repository.getStorage().getId(),
+                                                     repository.getId(),
+                                                     (ArtifactCoordinates) null)
+                                   .stream()
+                                   .filter(e -> RpmPackageMetadata.fromMap(e.getLayoutMetadata()) != null)
+                                   .count();
+    }
+
+}
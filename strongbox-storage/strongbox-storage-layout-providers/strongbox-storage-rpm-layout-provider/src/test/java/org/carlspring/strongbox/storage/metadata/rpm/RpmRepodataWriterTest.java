@@ -0,0 +1,146 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RpmRepodataWriterTest
+{
+
+    private Path repodataDirectory;
+
+    @BeforeEach
+    void setUp()
+            throws IOException
+    {
+        repodataDirectory = Files.createTempDirectory("rpm-repodata-writer").resolve(RpmRepodataWriter.REPODATA);
+    }
+
+    @AfterEach
+    void tearDown()
+            throws IOException
+    {
+        FileUtils.deleteDirectory(repodataDirectory.getParent().toFile());
+    }
+
+    @Test
+    void shouldWriteDocumentsWithTheirChecksums()
+            throws IOException
+    {
+        try (RpmRepodataWriter writer = new RpmRepodataWriter())
+        {
+            assertThat(writer.add(createPackageMetadata("strongbox-a", "1.0"))).isTrue();
+            assertThat(writer.add(createPackageMetadata("strongbox-b", "1.0"))).isTrue();
+            // The same package again, it's skipped by its pkgid.
+            assertThat(writer.add(createPackageMetadata("strongbox-a", "1.0"))).isFalse();
+
+            writer.write(repodataDirectory);
+        }
+
+        Map<String, RpmTestRepodata.Data> repomd = RpmTestRepodata.readRepomd(repodataDirectory);
+        assertThat(repomd).containsOnlyKeys("primary", "filelists", "other");
+
+        for (Map.Entry<String, RpmTestRepodata.Data> entry : repomd.entrySet())
+        {
+            RpmTestRepodata.Data data = entry.getValue();
+
+            Path compressed = repodataDirectory.getParent().resolve(data.href);
+            assertThat(compressed.getFileName().toString()).isEqualTo(String.format("%s-%s.xml.gz",
+                                                                                      data.checksum,
+                                                                                      entry.getKey()));
+            assertThat(Files.size(compressed)).isEqualTo(data.size);
+            assertThat(sha256(Files.readAllBytes(compressed))).isEqualTo(data.checksum);
+
+            byte[] plain = gunzip(compressed);
+            assertThat((long) plain.length).isEqualTo(data.openSize);
+            assertThat(sha256(plain)).isEqualTo(data.openChecksum);
+
+            // The uncompressed document is published along with the compressed one.
+            Path plainPath = repodataDirectory.resolve(String.format("%s-%s.xml", data.openChecksum, entry.getKey()));
+            assertThat(Files.readAllBytes(plainPath)).isEqualTo(plain);
+            assertThat(new String(plain, StandardCharsets.UTF_8)).contains("packages=\"2\"");
+        }
+
+        assertThat(RpmTestRepodata.readDocument(repodataDirectory, "primary")).contains("<name>strongbox-a</name>")
+                                                                              .contains("<name>strongbox-b</name>");
+    }
+
+    @Test
+    void shouldRemoveThePreviousDocuments()
+            throws IOException
+    {
+        try (RpmRepodataWriter writer = new RpmRepodataWriter())
+        {
+            writer.add(createPackageMetadata("strongbox-a", "1.0"));
+            writer.write(repodataDirectory);
+        }
+
+        Files.write(repodataDirectory.resolve("comps.xml"), "<comps/>".getBytes(StandardCharsets.UTF_8));
+
+        try (RpmRepodataWriter writer = new RpmRepodataWriter())
+        {
+            writer.add(createPackageMetadata("strongbox-a", "1.0"));
+            writer.add(createPackageMetadata("strongbox-a", "1.1"));
+            writer.write(repodataDirectory);
+        }
+
+        // The documents of the current repomd.xml, uncompressed and compressed, and the files which are not ours.
+        Set<String> expected = new HashSet<>(Arrays.asList(RpmRepodataWriter.REPOMD, "comps.xml"));
+        RpmTestRepodata.readRepomd(repodataDirectory).forEach((type, data) -> {
+            expected.add(String.format("%s-%s.xml", data.openChecksum, type));
+            expected.add(String.format("%s-%s.xml.gz", data.checksum, type));
+        });
+        try (Stream<Path> files = Files.list(repodataDirectory))
+        {
+            assertThat(files.map(p -> p.getFileName().toString())).containsExactlyInAnyOrderElementsOf(expected);
+        }
+
+        assertThat(RpmTestRepodata.readDocument(repodataDirectory, "other")).contains("packages=\"2\"");
+    }
+
+    private static RpmPackageMetadata createPackageMetadata(String name,
+                                                            String version)
+            throws IOException
+    {
+        byte[] rpm = RpmTestPackages.createPackage(name, version, "1.el8");
+        RpmHeader header = RpmHeaderReader.read(new ByteArrayInputStream(rpm));
+
+        return RpmPackageMetadata.of(header,
+                                     sha256(rpm),
+                                     String.format("el8/%s-%s-1.el8.x86_64.rpm", name, version),
+                                     rpm.length,
+                                     1500000000);
+    }
+
+    private static byte[] gunzip(Path path)
+            throws IOException
+    {
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(path)))
+        {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private static String sha256(byte[] bytes)
+    {
+        return DigestUtils.sha256Hex(bytes);
+    }
+
+}
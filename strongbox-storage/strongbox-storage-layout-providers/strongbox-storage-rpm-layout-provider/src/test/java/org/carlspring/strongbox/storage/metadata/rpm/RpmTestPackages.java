@@ -0,0 +1,122 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds minimal RPM packages: a lead, an empty signature header, a main header with the tags needed for the
+ * repodata, and a plain text payload.
+ */
+final class RpmTestPackages
+{
+
+    static final String PAYLOAD = "payload";
+
+    private static final int TYPE_INT32 = 4;
+
+    private static final int TYPE_STRING = 6;
+
+    private static final int TYPE_STRING_ARRAY = 8;
+
+    private RpmTestPackages()
+    {
+    }
+
+    static byte[] createPackage()
+            throws IOException
+    {
+        return createPackage("strongbox-test", "1.0", "1.el8");
+    }
+
+    static byte[] createPackage(String name,
+                                String version,
+                                String release)
+            throws IOException
+    {
+        Map<Integer, Object[]> tags = new LinkedHashMap<>();
+        tags.put(RpmHeader.NAME, new Object[]{ TYPE_STRING, name });
+        tags.put(RpmHeader.VERSION, new Object[]{ TYPE_STRING, version });
+        tags.put(RpmHeader.RELEASE, new Object[]{ TYPE_STRING, release });
+        tags.put(RpmHeader.ARCH, new Object[]{ TYPE_STRING, "x86_64" });
+        tags.put(RpmHeader.SOURCERPM, new Object[]{ TYPE_STRING, String.format("%s-%s-%s.src.rpm", name, version, release) });
+        tags.put(RpmHeader.PROVIDENAME, new Object[]{ TYPE_STRING_ARRAY, name });
+        tags.put(RpmHeader.PROVIDEFLAGS, new Object[]{ TYPE_INT32, 8 });
+        tags.put(RpmHeader.PROVIDEVERSION, new Object[]{ TYPE_STRING_ARRAY, version + "-" + release });
+        tags.put(RpmHeader.REQUIRENAME, new Object[]{ TYPE_STRING_ARRAY, "glibc", "rpmlib(CompressedFileNames)" });
+        tags.put(RpmHeader.REQUIREFLAGS, new Object[]{ TYPE_INT32, 0, 16777226 });
+        tags.put(RpmHeader.REQUIREVERSION, new Object[]{ TYPE_STRING_ARRAY, "", "3.0.4-1" });
+        tags.put(RpmHeader.DIRINDEXES, new Object[]{ TYPE_INT32, 0, 1 });
+        tags.put(RpmHeader.BASENAMES, new Object[]{ TYPE_STRING_ARRAY, name, "README" });
+        tags.put(RpmHeader.DIRNAMES, new Object[]{ TYPE_STRING_ARRAY, "/usr/bin/", "/usr/share/doc/" });
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(result);
+
+        byte[] lead = new byte[96];
+        lead[0] = (byte) 0xed;
+        lead[1] = (byte) 0xab;
+        lead[2] = (byte) 0xee;
+        lead[3] = (byte) 0xdb;
+        out.write(lead);
+
+        writeHeader(out, new LinkedHashMap<>());
+        writeHeader(out, tags);
+        out.write(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        return result.toByteArray();
+    }
+
+    private static void writeHeader(DataOutputStream out,
+                                    Map<Integer, Object[]> tags)
+            throws IOException
+    {
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        ByteArrayOutputStream store = new ByteArrayOutputStream();
+        DataOutputStream storeOut = new DataOutputStream(store);
+
+        for (Map.Entry<Integer, Object[]> tag : tags.entrySet())
+        {
+            int type = (Integer) tag.getValue()[0];
+            int count = tag.getValue().length - 1;
+            if (type == TYPE_INT32)
+            {
+                while (storeOut.size() % 4 != 0)
+                {
+                    storeOut.write(0);
+                }
+            }
+
+            indexOut.writeInt(tag.getKey());
+            indexOut.writeInt(type);
+            indexOut.writeInt(storeOut.size());
+            indexOut.writeInt(count);
+
+            for (int i = 1; i <= count; i++)
+            {
+                Object value = tag.getValue()[i];
+                if (type == TYPE_INT32)
+                {
+                    storeOut.writeInt((Integer) value);
+                }
+                else
+                {
+                    storeOut.write(((String) value).getBytes(StandardCharsets.UTF_8));
+                    storeOut.write(0);
+                }
+            }
+        }
+
+        out.writeInt(0x8eade801);
+        out.writeInt(0);
+        out.writeInt(tags.size());
+        out.writeInt(store.size());
+        out.write(index.toByteArray());
+        out.write(store.toByteArray());
+    }
+
+}
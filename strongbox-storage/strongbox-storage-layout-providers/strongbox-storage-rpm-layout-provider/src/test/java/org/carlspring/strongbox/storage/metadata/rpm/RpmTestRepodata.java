@@ -0,0 +1,102 @@
+package org.carlspring.strongbox.storage.metadata.rpm;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads the {@code repomd.xml} and the documents of a written {@code repodata} directory.
+ */
+final class RpmTestRepodata
+{
+
+    private RpmTestRepodata()
+    {
+    }
+
+    /**
+     * @return the {@code data} elements of the {@code repomd.xml}, by type
+     */
+    static Map<String, Data> readRepomd(Path repodataDirectory)
+            throws IOException
+    {
+        Map<String, Data> result = new HashMap<>();
+        try (InputStream is = Files.newInputStream(repodataDirectory.resolve(RpmRepodataWriter.REPOMD)))
+        {
+            NodeList elements = DocumentBuilderFactory.newInstance()
+                                                      .newDocumentBuilder()
+                                                      .parse(is)
+                                                      .getDocumentElement()
+                                                      .getElementsByTagName("data");
+            for (int i = 0; i < elements.getLength(); i++)
+            {
+                Element element = (Element) elements.item(i);
+
+                Data data = new Data();
+                data.checksum = getText(element, "checksum");
+                data.openChecksum = getText(element, "open-checksum");
+                data.size = Long.parseLong(getText(element, "size"));
+                data.openSize = Long.parseLong(getText(element, "open-size"));
+                data.href = ((Element) element.getElementsByTagName("location").item(0)).getAttribute("href");
+
+                result.put(element.getAttribute("type"), data);
+            }
+        }
+        catch (ParserConfigurationException | SAXException e)
+        {
+            throw new IOException(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the uncompressed content of the document of the given type
+     */
+    static String readDocument(Path repodataDirectory,
+                               String type)
+            throws IOException
+    {
+        Data data = readRepomd(repodataDirectory).get(type);
+        Path document = repodataDirectory.getParent().resolve(data.href);
+
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(document)))
+        {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String getText(Element element,
+                                  String name)
+    {
+        return element.getElementsByTagName(name).item(0).getTextContent().trim();
+    }
+
+    static class Data
+    {
+
+        String checksum;
+
+        String openChecksum;
+
+        long size;
+
+        long openSize;
+
+        String href;
+
+    }
+
+}
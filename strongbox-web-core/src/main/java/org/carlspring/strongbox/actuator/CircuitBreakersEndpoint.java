@@ -0,0 +1,50 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
+
+import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shows the state of the circuit breakers of the remote repositories, see
+ * {@link RemoteRepositoryCircuitBreakerRegistry}.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakersEndpoint
+{
+
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry circuitBreakerRegistry;
+
+    @ReadOperation
+    public Map<String, Object> circuitBreakers()
+    {
+        Map<String, Object> remoteRepositories = new TreeMap<>();
+        for (RemoteRepositoryCircuitBreaker circuitBreaker : circuitBreakerRegistry.getCircuitBreakers().values())
+        {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", circuitBreaker.getState());
+            details.put("failureRate", circuitBreaker.getFailureRate());
+            details.put("latencyP50", circuitBreaker.getLatencyPercentile(50));
+            details.put("latencyP99", circuitBreaker.getLatencyPercentile(99));
+            details.put("timeoutMillis", circuitBreakerRegistry.getTimeoutMillis(circuitBreaker.getUrl()));
+
+            remoteRepositories.put(circuitBreaker.getUrl(), details);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", circuitBreakerRegistry.isEnabled());
+        body.put("remoteRepositories", remoteRepositories);
+
+        return body;
+    }
+
+}
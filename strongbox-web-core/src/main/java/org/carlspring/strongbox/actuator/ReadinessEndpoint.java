@@ -0,0 +1,44 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.booters.StorageBooter;
+
+import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells whether the instance is ready to serve traffic, which is the case once its repositories are initialized,
+ * whereas the {@code health} endpoint tells whether it's alive.
+ */
+@Component
+@Endpoint(id = "readiness")
+public class ReadinessEndpoint
+{
+
+    @Inject
+    private StorageBooter storageBooter;
+
+    @ReadOperation
+    public WebEndpointResponse<Map<String, Object>> readiness()
+    {
+        boolean ready = storageBooter.isReady();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", ready ? "UP" : "OUT_OF_SERVICE");
+        body.put("initializedRepositories", storageBooter.getInitializedRepositories());
+        body.put("totalRepositories", storageBooter.getTotalRepositories());
+        if (storageBooter.getFailure() != null)
+        {
+            body.put("error", storageBooter.getFailure().getMessage());
+        }
+
+        return new WebEndpointResponse<>(body,
+                                         ready ? WebEndpointResponse.STATUS_OK : WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+    }
+
+}
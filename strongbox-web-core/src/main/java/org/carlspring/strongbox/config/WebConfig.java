@@ -20,6 +20,7 @@ import org.carlspring.strongbox.mapper.WebObjectMapperSubtypes;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.DirectoryListingService;
 import org.carlspring.strongbox.services.DirectoryListingServiceImpl;
+import org.carlspring.strongbox.services.support.DirectoryListingCache;
 import org.carlspring.strongbox.utils.CustomAntPathMatcher;
 import org.carlspring.strongbox.web.CustomRequestMappingHandlerMapping;
 import org.carlspring.strongbox.web.DirectoryTraversalFilter;
@@ -105,6 +106,9 @@ public class WebConfig
     @Inject
     private ConfigurationManager configurationManager;
 
+    @Inject
+    private DirectoryListingCache directoryListingCache;
+
     WebConfig()
     {
         logger.debug("Initialized web configuration.");
@@ -206,17 +210,23 @@ public class WebConfig
     }
 
     private DirectoryListingService createDirectoryListingServiceForTemplate(String template)
+    {
+        return createDirectoryListingServiceForTemplate(template, null);
+    }
+
+    private DirectoryListingService createDirectoryListingServiceForTemplate(String template,
+                                                                             DirectoryListingCache directoryListingCache)
     {
         String baseUrl = StringUtils.chomp(configurationManager.getConfiguration().getBaseUrl(), "/");
         String finalUrl = String.format(template, baseUrl);
-        return new DirectoryListingServiceImpl(finalUrl);
+        return new DirectoryListingServiceImpl(finalUrl, directoryListingCache);
     }
 
     @Bean
     @Qualifier("browseRepositoryDirectoryListingService")
     public DirectoryListingService getBrowseRepositoryDirectoryListingService()
     {
-        return createDirectoryListingServiceForTemplate("%s/api/browse");
+        return createDirectoryListingServiceForTemplate("%s/api/browse", directoryListingCache);
     }
 
     @Override
@@ -3,12 +3,20 @@ package org.carlspring.strongbox.controllers;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
+import org.carlspring.strongbox.utils.ArtifactDownloadWriteListener;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +29,18 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Value("${strongbox.download.async.enabled:false}")
+    private boolean asyncDownloadEnabled;
+
+    @Value("${strongbox.download.async.minSize:1048576}")
+    private long asyncDownloadMinSize;
+
+    @Value("${strongbox.download.async.bufferSize:65536}")
+    private int asyncDownloadBufferSize;
+
+    @Value("${strongbox.download.async.timeoutMillis:0}")
+    private long asyncDownloadTimeoutMillis;
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -38,7 +58,13 @@ public abstract class BaseArtifactController
             return true;
         }
 
-        
+        if (isAsyncDownload(request, httpHeaders, repositoryPath))
+        {
+            provideAsyncArtifactDownloadResponse(request, response, repositoryPath);
+
+            return true;
+        }
+
         try (InputStream is = artifactResolutionService.getInputStream(repositoryPath))
         {
             if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
@@ -56,6 +82,55 @@ public abstract class BaseArtifactController
         return true;
     }
 
+    private boolean isAsyncDownload(HttpServletRequest request,
+                                    HttpHeaders httpHeaders,
+                                    RepositoryPath repositoryPath)
+            throws IOException
+    {
+        return asyncDownloadEnabled &&
+               request.isAsyncSupported() &&
+               !ArtifactControllerHelper.isRangedRequest(httpHeaders) &&
+               Files.size(repositoryPath) >= asyncDownloadMinSize;
+    }
+
+    /**
+     * The path lock is owned by the request thread, so the repository stream is only used here to read the
+     * beginning of the artifact (which also fires the download events) and to open a channel to it, while it's locked.
+     * The rest of the artifact is then written from the channel with the non-blocking I/O, which keeps reading the
+     * opened file even if it's replaced meanwhile.
+     */
+    private void provideAsyncArtifactDownloadResponse(HttpServletRequest request,
+                                                      HttpServletResponse response,
+                                                      RepositoryPath repositoryPath)
+            throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(asyncDownloadBufferSize);
+        SeekableByteChannel channel;
+        long length;
+
+        try (InputStream is = artifactResolutionService.getInputStream(repositoryPath))
+        {
+            length = Files.size(repositoryPath);
+            buffer.limit(IOUtils.read(is, buffer.array(), 0, (int) Math.min(buffer.capacity(), length)));
+
+            channel = Files.newByteChannel(repositoryPath, StandardOpenOption.READ);
+        }
+
+        try
+        {
+            channel.position(buffer.limit());
+
+            logger.debug("Writing [{}] bytes of [{}] asynchronously.", length, repositoryPath);
+
+            ArtifactDownloadWriteListener.start(request, response, buffer, channel, length, asyncDownloadTimeoutMillis);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
     public ResponseEntity<String> checkRepositoryAccess()
     {
         return new ResponseEntity<>("success", HttpStatus.OK);
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.controllers;
 
 import org.carlspring.strongbox.domain.DirectoryListing;
+import org.carlspring.strongbox.domain.DirectoryListingSort;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.DirectoryListingService;
@@ -135,8 +136,11 @@ public class BrowseController
         }
     }
 
-    @ApiOperation(value = "List the contents for a repository.")
+    @ApiOperation(value = "List the contents for a repository.",
+                  notes = "The directories come first, then the files. The listing is paged if any of the paging " +
+                          "or sorting parameters is set, in which case the total number of entries is returned too.")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "The list was returned."),
+                            @ApiResponse(code = 400, message = "The paging or sorting parameters are not valid."),
                             @ApiResponse(code = 404, message = "The requested storage, repository, or path was not found."),
                             @ApiResponse(code = 500, message = "An error occurred.") })
     @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
@@ -146,6 +150,14 @@ public class BrowseController
                              MediaType.APPLICATION_JSON_VALUE })
     public Object repositoryContent(@RepositoryMapping Repository repository,
                                     @PathVariable("path") String rawPath,
+                                    @ApiParam(value = "The number of entries to skip")
+                                    @RequestParam(name = "skip", required = false) Integer skip,
+                                    @ApiParam(value = "The maximum number of entries to return")
+                                    @RequestParam(name = "limit", required = false) Integer limit,
+                                    @ApiParam(value = "The sort of the entries", allowableValues = "name, size, lastModified")
+                                    @RequestParam(name = "sort", required = false) String sort,
+                                    @ApiParam(value = "The order of the entries", allowableValues = "asc, desc")
+                                    @RequestParam(name = "order", required = false) String order,
                                     HttpServletRequest request,
                                     ModelMap model,
                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String acceptHeader)
@@ -172,7 +184,35 @@ public class BrowseController
                 return getNotFoundResponseEntity("Requested repository doesn't allow browsing.", acceptHeader);
             }
 
-            DirectoryListing directoryListing = directoryListingService.fromRepositoryPath(repositoryPath);
+            DirectoryListing directoryListing;
+            if (skip == null && limit == null && sort == null && order == null)
+            {
+                directoryListing = directoryListingService.fromRepositoryPath(repositoryPath);
+            }
+            else
+            {
+                DirectoryListingSort directoryListingSort;
+                try
+                {
+                    directoryListingSort = DirectoryListingSort.of(sort);
+                }
+                catch (IllegalArgumentException e)
+                {
+                    return getBadRequestResponseEntity(e.getMessage(), acceptHeader);
+                }
+
+                if ((skip != null && skip < 0) || (limit != null && limit < 0) ||
+                    (order != null && !"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)))
+                {
+                    return getBadRequestResponseEntity("Invalid paging parameters.", acceptHeader);
+                }
+
+                directoryListing = directoryListingService.fromRepositoryPath(repositoryPath,
+                                                                              skip != null ? skip : 0,
+                                                                              limit != null ? limit : -1,
+                                                                              directoryListingSort,
+                                                                              "desc".equalsIgnoreCase(order));
+            }
 
             if (acceptHeader != null && acceptHeader.contains(MediaType.APPLICATION_JSON_VALUE))
             {
@@ -3,13 +3,17 @@ package org.carlspring.strongbox.controllers;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.services.TrashPurgeService;
+import org.carlspring.strongbox.services.support.TrashPurgeTask;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.web.RepositoryMapping;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
+import java.util.List;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -34,12 +38,19 @@ public class TrashController
         extends BaseController
 {
 
+    static final String TASKS_PATH = "/api/trash/tasks";
+
     @Inject
     private RepositoryManagementService repositoryManagementService;
 
+    @Inject
+    private TrashPurgeService trashPurgeService;
+
     @ApiOperation(value = "Used to delete the trash for a specified repository.")
     @ApiResponses(value = { @ApiResponse(code = 200,
                                          message = "The trash for ${storageId}:${repositoryId}' was removed successfully."),
+                            @ApiResponse(code = 202,
+                                         message = "The purge of the trash for ${storageId}:${repositoryId}' was scheduled."),
                             @ApiResponse(code = 400,
                                          message = "Could not delete the trash for a specified storageId/repositoryId."),
                             @ApiResponse(code = 404,
@@ -49,6 +60,7 @@ public class TrashController
                    produces = { MediaType.TEXT_PLAIN_VALUE,
                                 MediaType.APPLICATION_JSON_VALUE })
     public ResponseEntity delete(@RepositoryMapping Repository repository,
+                                 @RequestParam(name = "async", defaultValue = "false") boolean async,
                                  @RequestHeader(HttpHeaders.ACCEPT) String accept)
             throws IOException
     {
@@ -57,6 +69,17 @@ public class TrashController
 
         try
         {
+            if (async)
+            {
+                TrashPurgeTask task = trashPurgeService.purge(storageId, repositoryId);
+
+                String message = "The purge of the trash for '" + storageId + ":" + repositoryId + "' was scheduled as [" +
+                                 task.getId() + "].";
+                return ResponseEntity.accepted()
+                                     .location(URI.create(TASKS_PATH + "/" + task.getId()))
+                                     .body(getResponseEntityBody(message, accept));
+            }
+
             repositoryManagementService.deleteTrash(storageId, repositoryId);
 
             logger.debug("Deleted trash for repository {}.", repositoryId);
@@ -77,16 +100,30 @@ public class TrashController
     @ApiOperation(value = "Used to delete the trash for all repositories.")
     @ApiResponses(value = { @ApiResponse(code = 200,
                                          message = "The trash for all repositories was successfully removed."),
+                            @ApiResponse(code = 202,
+                                         message = "The purge of the trash for all repositories was scheduled."),
                             @ApiResponse(code = 400,
                                          message = "Could not delete the trash for all repositories.") })
     @PreAuthorize("hasAuthority('MANAGEMENT_DELETE_ALL_TRASHES')")
     @DeleteMapping(produces = { MediaType.TEXT_PLAIN_VALUE,
                                 MediaType.APPLICATION_JSON_VALUE })
-    public ResponseEntity delete(@RequestHeader(HttpHeaders.ACCEPT) String accept)
+    public ResponseEntity delete(@RequestParam(name = "async", defaultValue = "false") boolean async,
+                                 @RequestHeader(HttpHeaders.ACCEPT) String accept)
             throws IOException
     {
         try
         {
+            if (async)
+            {
+                List<TrashPurgeTask> tasks = trashPurgeService.purgeAll();
+
+                String message = "The purge of the trash for all repositories was scheduled as [" + tasks.size() +
+                                 "] tasks.";
+                return ResponseEntity.accepted()
+                                     .location(URI.create(TASKS_PATH))
+                                     .body(getResponseEntityBody(message, accept));
+            }
+
             repositoryManagementService.deleteTrash();
 
             logger.debug("Deleted trash for all repositories.");
@@ -104,6 +141,36 @@ public class TrashController
         return ResponseEntity.ok(getResponseEntityBody(message, accept));
     }
 
+    @ApiOperation(value = "Used to get the scheduled, running and recently completed purges of the trash.")
+    @PreAuthorize("hasAuthority('MANAGEMENT_DELETE_TRASH')")
+    @GetMapping(value = "tasks",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TrashPurgeTask>> getTasks()
+    {
+        return ResponseEntity.ok(trashPurgeService.getTasks());
+    }
+
+    @ApiOperation(value = "Used to get the progress of a purge of the trash.")
+    @ApiResponses(value = { @ApiResponse(code = 200,
+                                         message = "The progress of the purge."),
+                            @ApiResponse(code = 404,
+                                         message = "The specified purge does not exist!") })
+    @PreAuthorize("hasAuthority('MANAGEMENT_DELETE_TRASH')")
+    @GetMapping(value = "tasks/{taskId}",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity getTask(@PathVariable String taskId)
+    {
+        TrashPurgeTask task = trashPurgeService.getTask(taskId);
+        if (task == null)
+        {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                 .body(getResponseEntityBody("The specified purge does not exist!",
+                                                             MediaType.APPLICATION_JSON_VALUE));
+        }
+
+        return ResponseEntity.ok(task);
+    }
+
     @ApiOperation(value = "Used to undelete the trash for a path under a specified repository.")
     @ApiResponses(value = { @ApiResponse(code = 200,
                                          message = "The trash for '${storageId}:${repositoryId}' was restored successfully."),
@@ -1,18 +1,21 @@
 package org.carlspring.strongbox.controllers.aql;
 
-import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.controllers.BaseController;
-import org.carlspring.strongbox.data.criteria.Selector;
-import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.AqlSearchService;
+import org.carlspring.strongbox.services.support.AqlQueryPlan;
+import org.carlspring.strongbox.services.support.AqlQueryPlanCache;
 import org.carlspring.strongbox.storage.search.SearchResults;
 
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.swagger.annotations.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,22 +32,75 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class AqlController extends BaseController
 {
 
+    static final String SEARCH_FAILED_MESSAGE = "Failed to fetch all of the search results.";
+
     @Inject
     private AqlSearchService aqlSearchService;
 
+    @Inject
+    private AqlQueryPlanCache aqlQueryPlanCache;
+
     @ApiOperation(value = "Used to search for artifacts.", response = SearchResults.class)
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK, unless the body has an 'error' field, which means the results are incomplete.") })
     @PreAuthorize("hasAuthority('SEARCH_ARTIFACTS')")
     @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE })
-    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query)
+    public void search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query,
+                       @ApiParam(value = "The dependency snippet formats to include, 'all' (or 'true') for all of them, none by default") @RequestParam(name = "snippets", required = false) Set<String> snippets,
+                       HttpServletResponse response)
         throws IOException
     {
-        AqlQueryParser parser = new AqlQueryParser(query);
-        Selector<ArtifactEntry> selector = parser.parseQuery();
+        AqlQueryPlan plan = aqlQueryPlanCache.get(query);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        // The results are written as soon as they are fetched, instead of collecting them into SearchResults first.
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream()))
+        {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("artifact");
+
+            try
+            {
+                // Every result is serialized on its own first, so that a failure never leaves half of one written.
+                aqlSearchService.search(plan,
+                                        toSnippetFormats(snippets),
+                                        r -> generator.writeRawValue(objectMapper.writeValueAsString(r)));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                // The status has been sent with the first results already, so the body has to tell they're incomplete.
+                logger.error("Failed to search for [{}].", query, e);
 
-        SearchResults result = aqlSearchService.search(selector);
+                generator.writeEndArray();
+                generator.writeStringField("error", SEARCH_FAILED_MESSAGE);
+                generator.writeEndObject();
+
+                return;
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * The snippets are rendered only when requested, as every result has one snippet per compatible format.
+     *
+     * @return the requested formats, {@code null} for all of them
+     */
+    private static Set<String> toSnippetFormats(Set<String> snippets)
+    {
+        if (snippets == null || snippets.isEmpty() || snippets.contains("false"))
+        {
+            return Collections.emptySet();
+        }
+        if (snippets.contains("all") || snippets.contains("true"))
+        {
+            return null;
+        }
 
-        return ResponseEntity.ok(result);
+        return snippets;
     }
 
 }
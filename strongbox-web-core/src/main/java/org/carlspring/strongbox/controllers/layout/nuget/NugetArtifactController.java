@@ -507,10 +507,10 @@ public class NugetArtifactController
         String path = String.format("%s/%s/%s", packageId, packageVersion, fileName);
 
         RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, path);
-        if (provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath))
-        {
-            response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", fileName));
-        }
+
+        // The headers need to be set before the content is written, as the response is committed by then.
+        response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", fileName));
+        provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
     }
 
 
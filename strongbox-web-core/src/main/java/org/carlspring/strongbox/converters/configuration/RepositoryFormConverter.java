@@ -62,6 +62,10 @@ public enum RepositoryFormConverter
         {
             result.setArtifactCoordinateValidators(source.getArtifactCoordinateValidators());
         }
+        if (source.getDigestAlgorithms() != null)
+        {
+            result.setDigestAlgorithms(source.getDigestAlgorithms());
+        }
         result.setBasedir(source.getBasedir());
         return result;
     }
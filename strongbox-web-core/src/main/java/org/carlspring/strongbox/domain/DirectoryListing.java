@@ -3,6 +3,8 @@ package org.carlspring.strongbox.domain;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class DirectoryListing
 {
 
@@ -10,6 +12,8 @@ public class DirectoryListing
 
     private List<FileContent> files;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer total;
 
     public List<FileContent> getDirectories()
     {
@@ -41,4 +45,17 @@ public class DirectoryListing
         this.files = files;
     }
 
+    /**
+     * @return the number of directories and files in the listed directory, if only a page of them is listed
+     */
+    public Integer getTotal()
+    {
+        return total;
+    }
+
+    public void setTotal(Integer total)
+    {
+        this.total = total;
+    }
+
 }
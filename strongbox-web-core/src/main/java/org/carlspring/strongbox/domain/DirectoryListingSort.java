@@ -0,0 +1,57 @@
+package org.carlspring.strongbox.domain;
+
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * The orders in which the content of a directory listing can be sorted. Entries without the property (the size of a
+ * directory, for example) come first.
+ */
+public enum DirectoryListingSort
+{
+
+    NAME(Comparator.comparing(FileContent::getName)),
+
+    SIZE(Comparator.comparing(FileContent::getSize, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+                   .thenComparing(FileContent::getName)),
+
+    LAST_MODIFIED(Comparator.comparing(FileContent::getLastModified, Comparator.nullsFirst(Comparator.<Date>naturalOrder()))
+                            .thenComparing(FileContent::getName));
+
+    private final Comparator<FileContent> comparator;
+
+    DirectoryListingSort(Comparator<FileContent> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public Comparator<FileContent> getComparator()
+    {
+        return comparator;
+    }
+
+    /**
+     * @return the sort with the given name, e.g. {@code lastModified} or {@code last_modified}, or {@link #NAME}
+     *         if it's empty
+     * @throws IllegalArgumentException if there is no such sort
+     */
+    public static DirectoryListingSort of(String name)
+    {
+        if (name == null || name.trim().isEmpty())
+        {
+            return NAME;
+        }
+
+        String normalized = name.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+        for (DirectoryListingSort sort : values())
+        {
+            if (sort.name().equals(normalized))
+            {
+                return sort;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Unsupported sort [%s].", name));
+    }
+
+}
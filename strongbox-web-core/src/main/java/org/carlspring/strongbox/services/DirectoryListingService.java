@@ -5,6 +5,7 @@ import java.nio.file.Path;
 import java.util.Map;
 
 import org.carlspring.strongbox.domain.DirectoryListing;
+import org.carlspring.strongbox.domain.DirectoryListingSort;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -18,6 +19,20 @@ public interface DirectoryListingService
 
     DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException;
+
+    /**
+     * Lists one page of the content of a repository directory. The directories come first, then the files, each of
+     * them sorted as requested.
+     *
+     * @param skip  the number of entries to skip
+     * @param limit the maximum number of entries to return, or a negative number for all of them
+     */
+    DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                        int skip,
+                                        int limit,
+                                        DirectoryListingSort sort,
+                                        boolean descending)
+        throws IOException;
     
     DirectoryListing fromPath(Path root, Path path)
             throws IOException;
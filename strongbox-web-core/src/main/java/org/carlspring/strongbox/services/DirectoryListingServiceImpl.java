@@ -16,9 +16,12 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.carlspring.strongbox.domain.DirectoryListing;
+import org.carlspring.strongbox.domain.DirectoryListingSort;
 import org.carlspring.strongbox.domain.FileContent;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.support.DirectoryListingCache;
+import org.carlspring.strongbox.services.support.RepositoryDirectoryListing;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
@@ -31,10 +34,23 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
 
     private String baseUrl;
 
+    private DirectoryListingCache directoryListingCache;
+
     public DirectoryListingServiceImpl(String baseUrl)
+    {
+        this(baseUrl, null);
+    }
+
+    /**
+     * @param directoryListingCache the cache of the repository directory listings, or {@code null} to read them on
+     *                              every request
+     */
+    public DirectoryListingServiceImpl(String baseUrl,
+                                       DirectoryListingCache directoryListingCache)
     {
         super();
         this.baseUrl = StringUtils.chomp(baseUrl.toString(), "/");
+        this.directoryListingCache = directoryListingCache;
     }
 
     @Override
@@ -79,7 +95,88 @@ public class DirectoryListingServiceImpl implements DirectoryListingService
     public DirectoryListing fromRepositoryPath(RepositoryPath path)
         throws IOException
     {
-        return fromPath(path);
+        return fromRepositoryDirectoryListing(getRepositoryDirectoryListing(path), 0, -1, DirectoryListingSort.NAME,
+                                              false);
+    }
+
+    @Override
+    public DirectoryListing fromRepositoryPath(RepositoryPath path,
+                                               int skip,
+                                               int limit,
+                                               DirectoryListingSort sort,
+                                               boolean descending)
+        throws IOException
+    {
+        RepositoryDirectoryListing repositoryDirectoryListing = getRepositoryDirectoryListing(path);
+
+        DirectoryListing directoryListing = fromRepositoryDirectoryListing(repositoryDirectoryListing, skip, limit,
+                                                                           sort, descending);
+        directoryListing.setTotal(repositoryDirectoryListing.getDirectories(sort).size() +
+                                  repositoryDirectoryListing.getFiles(sort).size());
+
+        return directoryListing;
+    }
+
+    private RepositoryDirectoryListing getRepositoryDirectoryListing(RepositoryPath path)
+        throws IOException
+    {
+        RepositoryPath directory = path.normalize();
+
+        return directoryListingCache != null ? directoryListingCache.get(directory) :
+               RepositoryDirectoryListing.read(directory);
+    }
+
+    private DirectoryListing fromRepositoryDirectoryListing(RepositoryDirectoryListing repositoryDirectoryListing,
+                                                            int skip,
+                                                            int limit,
+                                                            DirectoryListingSort sort,
+                                                            boolean descending)
+        throws MalformedURLException
+    {
+        List<FileContent> directories = repositoryDirectoryListing.getDirectories(sort);
+        List<FileContent> files = repositoryDirectoryListing.getFiles(sort);
+
+        int total = directories.size() + files.size();
+        int from = Math.min(Math.max(skip, 0), total);
+        int to = limit < 0 ? total : (int) Math.min((long) from + limit, total);
+
+        DirectoryListing directoryListing = new DirectoryListing();
+        for (int i = from; i < to; i++)
+        {
+            if (i < directories.size())
+            {
+                FileContent directory = copy(get(directories, i, descending));
+                directory.setUrl(calculateDirectoryUrl(directory));
+
+                directoryListing.getDirectories().add(directory);
+            }
+            else
+            {
+                directoryListing.getFiles().add(copy(get(files, i - directories.size(), descending)));
+            }
+        }
+
+        return directoryListing;
+    }
+
+    private static FileContent get(List<FileContent> content,
+                                   int index,
+                                   boolean descending)
+    {
+        return content.get(descending ? content.size() - 1 - index : index);
+    }
+
+    private static FileContent copy(FileContent source)
+    {
+        FileContent result = new FileContent(source.getName());
+        result.setStorageId(source.getStorageId());
+        result.setRepositoryId(source.getRepositoryId());
+        result.setArtifactPath(source.getArtifactPath());
+        result.setUrl(source.getUrl());
+        result.setLastModified(source.getLastModified());
+        result.setSize(source.getSize());
+
+        return result;
     }
 
     private DirectoryListing fromPath(Path path)
@@ -0,0 +1,252 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the {@link RepositoryDirectoryListing}s of the browsed repository directories. The least recently used
+ * listings are evicted once {@code strongbox.browse.listingCache.maxSize} is reached.
+ * <p>
+ * A listing is dropped, together with the listings of the directories above it, whenever an artifact event which
+ * changes the storage (see {@link #MUTATING_EVENT_TYPES}) occurs for a path in it. As a safety net for changes made
+ * behind the back of the storage, a listing is also read again when the last modification time of its directory has
+ * changed.
+ * <p>
+ * The cached listings are indexed by the directories above them, so that an invalidation only looks up the keys of
+ * the affected directories, instead of scanning all the listings.
+ */
+@Component
+public class DirectoryListingCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryListingCache.class);
+
+    /**
+     * The events which change the content of the directories; the read events (downloads) don't.
+     */
+    static final Set<Integer> MUTATING_EVENT_TYPES = Stream.of(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED,
+                                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED,
+                                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED,
+                                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED,
+                                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_MOVED,
+                                                               ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_COPIED)
+                                                           .map(ArtifactEventTypeEnum::getType)
+                                                           .collect(Collectors.toSet());
+
+    private final int maxSize;
+
+    private final Map<String, RepositoryDirectoryListing> listings;
+
+    /**
+     * The keys of the cached listings by the keys of the directories above them.
+     */
+    private final Map<String, Set<String>> descendants = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public DirectoryListingCache(@Value("${strongbox.browse.listingCache.maxSize:1000}") int maxSize)
+    {
+        this.maxSize = maxSize;
+        this.listings = new LinkedHashMap<String, RepositoryDirectoryListing>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RepositoryDirectoryListing> eldest)
+            {
+                if (size() <= DirectoryListingCache.this.maxSize)
+                {
+                    return false;
+                }
+                unindex(eldest.getKey());
+
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the listing of the directory, reading it on a cache miss.
+     */
+    public RepositoryDirectoryListing get(RepositoryPath directory)
+        throws IOException
+    {
+        String key = toKey(directory);
+        FileTime lastModified = Files.getLastModifiedTime(directory);
+
+        RepositoryDirectoryListing listing;
+        synchronized (listings)
+        {
+            listing = listings.get(key);
+        }
+        if (listing != null && listing.getLastModified().equals(lastModified))
+        {
+            hits.incrementAndGet();
+
+            return listing;
+        }
+
+        misses.incrementAndGet();
+        listing = RepositoryDirectoryListing.read(directory);
+
+        logger.debug("Read the listing of [{}].", key);
+
+        synchronized (listings)
+        {
+            if (listings.put(key, listing) == null)
+            {
+                index(key);
+            }
+        }
+
+        return listing;
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (!MUTATING_EVENT_TYPES.contains(event.getType()))
+        {
+            return;
+        }
+
+        Optional.ofNullable(event.getPath()).ifPresent(this::invalidate);
+        Optional.ofNullable(event.getTargetPath()).ifPresent(this::invalidate);
+    }
+
+    /**
+     * Drops the listings of the path, of the directories under it and of the directories above it.
+     */
+    public void invalidate(RepositoryPath path)
+    {
+        String key;
+        try
+        {
+            key = toKey(path);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to resolve [{}], dropping all the listings.", path, e);
+            clear();
+
+            return;
+        }
+
+        synchronized (listings)
+        {
+            if (listings.isEmpty())
+            {
+                return;
+            }
+
+            Set<String> keysUnder = descendants.get(key);
+            if (keysUnder != null)
+            {
+                new ArrayList<>(keysUnder).forEach(this::remove);
+            }
+            for (String k = key; k != null; k = getParentKey(k))
+            {
+                remove(k);
+            }
+        }
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    public int size()
+    {
+        synchronized (listings)
+        {
+            return listings.size();
+        }
+    }
+
+    public void clear()
+    {
+        synchronized (listings)
+        {
+            listings.clear();
+            descendants.clear();
+        }
+    }
+
+    private void remove(String key)
+    {
+        if (listings.remove(key) != null)
+        {
+            unindex(key);
+        }
+    }
+
+    private void index(String key)
+    {
+        for (String parentKey = getParentKey(key); parentKey != null; parentKey = getParentKey(parentKey))
+        {
+            descendants.computeIfAbsent(parentKey, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(String key)
+    {
+        for (String parentKey = getParentKey(key); parentKey != null; parentKey = getParentKey(parentKey))
+        {
+            Set<String> keysUnder = descendants.get(parentKey);
+            if (keysUnder != null && keysUnder.remove(key) && keysUnder.isEmpty())
+            {
+                descendants.remove(parentKey);
+            }
+        }
+    }
+
+    private static String getParentKey(String key)
+    {
+        int i = key.lastIndexOf('/');
+
+        return i > 0 ? key.substring(0, i) : null;
+    }
+
+    private static String toKey(RepositoryPath path)
+        throws IOException
+    {
+        // The URIs of the directories end with a slash.
+        String relativePath = StringUtils.removeEnd(RepositoryFiles.relativizePath(path), "/");
+
+        return String.format("%s/%s%s%s",
+                             path.getRepository().getStorage().getId(),
+                             path.getRepository().getId(),
+                             relativePath.isEmpty() ? "" : "/",
+                             relativePath);
+    }
+
+}
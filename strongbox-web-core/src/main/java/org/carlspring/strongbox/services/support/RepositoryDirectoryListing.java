@@ -0,0 +1,127 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.domain.DirectoryListingSort;
+import org.carlspring.strongbox.domain.FileContent;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The content of a repository directory, as read at a point in time.
+ * <p>
+ * Only the basic file attributes and the values derived from the paths are read, as this is all a listing shows, so
+ * the content is read with a single directory stream and without resolving the repository attributes (coordinates,
+ * artifact entries) of every entry. The entries are immutable once read; the URLs of the directories depend on the
+ * listing service, so they're left for it to set.
+ *
+ * @see DirectoryListingCache
+ */
+public class RepositoryDirectoryListing
+{
+
+    private final FileTime lastModified;
+
+    private final List<FileContent> directories;
+
+    private final List<FileContent> files;
+
+    private final Map<DirectoryListingSort, List<FileContent>> sortedDirectories = new ConcurrentHashMap<>();
+
+    private final Map<DirectoryListingSort, List<FileContent>> sortedFiles = new ConcurrentHashMap<>();
+
+    private RepositoryDirectoryListing(FileTime lastModified,
+                                       List<FileContent> directories,
+                                       List<FileContent> files)
+    {
+        this.lastModified = lastModified;
+        this.directories = directories;
+        this.files = files;
+    }
+
+    public static RepositoryDirectoryListing read(RepositoryPath directory)
+        throws IOException
+    {
+        FileTime lastModified = Files.getLastModifiedTime(directory);
+
+        List<FileContent> directories = new ArrayList<>();
+        List<FileContent> files = new ArrayList<>();
+
+        String storageId = directory.getRepository().getStorage().getId();
+        String repositoryId = directory.getRepository().getId();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory))
+        {
+            for (Path path : directoryStream)
+            {
+                RepositoryPath contentPath = (RepositoryPath) path;
+                String name = contentPath.getFileName().toString();
+                if (name.startsWith(".") || Files.isHidden(contentPath))
+                {
+                    continue;
+                }
+
+                BasicFileAttributes attributes = Files.readAttributes(contentPath, BasicFileAttributes.class);
+
+                FileContent file = new FileContent(name);
+                file.setStorageId(storageId);
+                file.setRepositoryId(repositoryId);
+                file.setArtifactPath(RepositoryFiles.relativizePath(contentPath));
+
+                if (attributes.isDirectory())
+                {
+                    directories.add(file);
+
+                    continue;
+                }
+
+                file.setUrl(RepositoryFiles.readResourceUrl(contentPath));
+                file.setLastModified(new Date(attributes.lastModifiedTime().toMillis()));
+                file.setSize(attributes.size());
+
+                files.add(file);
+            }
+        }
+
+        return new RepositoryDirectoryListing(lastModified, directories, files);
+    }
+
+    /**
+     * @return the last modification time of the directory when its content was read
+     */
+    public FileTime getLastModified()
+    {
+        return lastModified;
+    }
+
+    public List<FileContent> getDirectories(DirectoryListingSort sort)
+    {
+        return sortedDirectories.computeIfAbsent(sort, s -> sort(directories, s));
+    }
+
+    public List<FileContent> getFiles(DirectoryListingSort sort)
+    {
+        return sortedFiles.computeIfAbsent(sort, s -> sort(files, s));
+    }
+
+    private static List<FileContent> sort(List<FileContent> content,
+                                          DirectoryListingSort sort)
+    {
+        List<FileContent> result = new ArrayList<>(content);
+        result.sort(sort.getComparator());
+
+        return Collections.unmodifiableList(result);
+    }
+
+}
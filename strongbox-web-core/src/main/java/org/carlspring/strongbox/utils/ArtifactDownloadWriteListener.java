@@ -0,0 +1,176 @@
+package org.carlspring.strongbox.utils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the content of an artifact to the response with the Servlet 3.1 non-blocking I/O, so that a container thread
+ * is only used while the client is able to accept data, instead of for the whole download.
+ * <p>
+ * The content is read from a {@link SeekableByteChannel}, starting with what's left in the provided buffer, and
+ * exactly {@code length} bytes are written, as the {@code Content-Length} has already been sent. If the channel ends
+ * early (the artifact was overwritten meanwhile), the response is completed short, so that the client fails the
+ * download instead of getting a corrupted artifact.
+ */
+public class ArtifactDownloadWriteListener
+        implements WriteListener, AsyncListener
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadWriteListener.class);
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream outputStream;
+
+    private final SeekableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final long length;
+
+    private long written;
+
+    private ArtifactDownloadWriteListener(AsyncContext asyncContext,
+                                          ServletOutputStream outputStream,
+                                          SeekableByteChannel channel,
+                                          ByteBuffer buffer,
+                                          long length)
+    {
+        this.asyncContext = asyncContext;
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * Puts the request in asynchronous mode and starts writing the artifact. The channel is closed once the response
+     * is complete, or if it fails.
+     *
+     * @param buffer        the buffer to use, containing the beginning of the artifact between its position and limit
+     * @param channel       the content of the artifact, positioned right after the content in the buffer
+     * @param length        the total length of the artifact, including the content in the buffer
+     * @param timeoutMillis the timeout of the asynchronous request, {@code 0} to only rely on the idle timeout of the
+     *                      connection
+     */
+    public static void start(HttpServletRequest request,
+                             HttpServletResponse response,
+                             ByteBuffer buffer,
+                             SeekableByteChannel channel,
+                             long length,
+                             long timeoutMillis)
+            throws IOException
+    {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        ArtifactDownloadWriteListener listener = new ArtifactDownloadWriteListener(asyncContext,
+                                                                                   outputStream,
+                                                                                   channel,
+                                                                                   buffer,
+                                                                                   length);
+        asyncContext.addListener(listener);
+        outputStream.setWriteListener(listener);
+    }
+
+    @Override
+    public void onWritePossible()
+            throws IOException
+    {
+        // A write only returns once the data has been handed over to the container, so the response may only be
+        // completed once the output stream is ready again after the last one.
+        while (outputStream.isReady())
+        {
+            if (written >= length)
+            {
+                asyncContext.complete();
+                return;
+            }
+
+            if (!buffer.hasRemaining())
+            {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), length - written));
+
+                if (channel.read(buffer) < 0)
+                {
+                    logger.warn("The artifact ended after [{}] out of [{}] bytes, it was probably changed during the download.",
+                                written,
+                                length);
+
+                    asyncContext.complete();
+                    return;
+                }
+
+                buffer.flip();
+            }
+
+            int remaining = buffer.remaining();
+            outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), remaining);
+            buffer.position(buffer.limit());
+
+            written += remaining;
+        }
+    }
+
+    @Override
+    public void onError(Throwable t)
+    {
+        logger.debug("Failed to write the artifact after [{}] out of [{}] bytes.", written, length, t);
+
+        closeChannel();
+        asyncContext.complete();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event)
+    {
+        closeChannel();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event)
+    {
+        logger.debug("Timed out writing the artifact after [{}] out of [{}] bytes.", written, length);
+
+        closeChannel();
+        asyncContext.complete();
+    }
+
+    @Override
+    public void onError(AsyncEvent event)
+    {
+        closeChannel();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event)
+    {
+        // Not restarted.
+    }
+
+    private void closeChannel()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            logger.warn("Failed to close the artifact channel.", e);
+        }
+    }
+
+}
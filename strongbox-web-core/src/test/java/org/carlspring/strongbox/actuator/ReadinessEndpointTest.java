@@ -0,0 +1,71 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.booters.StorageBooter;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class ReadinessEndpointTest
+{
+
+    @Mock
+    private StorageBooter storageBooter;
+
+    @InjectMocks
+    private ReadinessEndpoint readinessEndpoint;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(storageBooter.getTotalRepositories()).thenReturn(3);
+    }
+
+    @Test
+    public void testUnavailableUntilTheRepositoriesAreInitialized()
+    {
+        when(storageBooter.isReady()).thenReturn(false);
+        when(storageBooter.getInitializedRepositories()).thenReturn(1);
+
+        WebEndpointResponse<Map<String, Object>> response = readinessEndpoint.readiness();
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).containsEntry("status", "OUT_OF_SERVICE")
+                                       .containsEntry("initializedRepositories", 1)
+                                       .containsEntry("totalRepositories", 3)
+                                       .doesNotContainKey("error");
+
+        when(storageBooter.isReady()).thenReturn(true);
+        when(storageBooter.getInitializedRepositories()).thenReturn(3);
+
+        response = readinessEndpoint.readiness();
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(response.getBody()).containsEntry("status", "UP")
+                                       .containsEntry("initializedRepositories", 3)
+                                       .containsEntry("totalRepositories", 3);
+    }
+
+    @Test
+    public void testFailureIsReported()
+    {
+        when(storageBooter.isReady()).thenReturn(false);
+        when(storageBooter.getFailure()).thenReturn(new IOException("Broken repository."));
+
+        WebEndpointResponse<Map<String, Object>> response = readinessEndpoint.readiness();
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).containsEntry("error", "Broken repository.");
+    }
+
+}
@@ -87,6 +87,8 @@ public class ActuatorEndpointControllerTest
     @ValueSource(strings = { "/",
                              "/health",
                              "/health/db",
+                             "/readiness",
+                             "/circuitbreakers",
                              "/info",
                              "/beans",
                              "/metrics",
@@ -111,6 +113,8 @@ public class ActuatorEndpointControllerTest
     @ValueSource(strings = { "/",
                              "/health",
                              "/health/db",
+                             "/readiness",
+                             "/circuitbreakers",
                              "/info",
                              "/beans",
                              "/metrics",
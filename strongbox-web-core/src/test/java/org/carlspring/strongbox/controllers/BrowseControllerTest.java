@@ -40,6 +40,7 @@ public class BrowseControllerTest
 
     private static final String REPOSITORY_1 = "browsing-test-repository-1";
     private static final String REPOSITORY_2 = "browsing-test-repository-2";
+    private static final String REPOSITORY_3 = "browsing-test-repository-3";
 
     @Override
     @BeforeEach
@@ -196,6 +197,48 @@ public class BrowseControllerTest
         assertThat(htmlResponse.contains(link)).as("Expected to have found [ " + link + " ] in the response html").isTrue();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testRepositoryContentsPaged(@MavenRepository(repositoryId = REPOSITORY_3)
+                                            Repository repository,
+                                            @MavenTestArtifact(repositoryId = REPOSITORY_3,
+                                                               id = "org.carlspring.strongbox.browsing:test-paging",
+                                                               versions = { "1.1" })
+                                            Path artifactPath)
+            throws IOException
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String url = getContextBaseUrl() + "/{storageId}/{repositoryId}/{artifactPath}";
+
+        RepositoryPath artifactParentPath = ((RepositoryPath) artifactPath.normalize()).getParent();
+        String artifactParentPathStr = RepositoryFiles.relativizePath(artifactParentPath);
+
+        DirectoryListing returned = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                           .queryParam("skip", 1)
+                                           .queryParam("limit", 2)
+                                           .queryParam("order", "desc")
+                                           .when()
+                                           .get(url, storageId, repositoryId, artifactParentPathStr)
+                                           .prettyPeek()
+                                           .as(DirectoryListing.class);
+
+        assertThat(returned.getTotal()).isEqualTo(6);
+        assertThat(returned.getDirectories()).isEmpty();
+        assertThat(returned.getFiles()).extracting(FileContent::getName)
+                                       .containsExactly("test-paging-1.1.pom.md5", "test-paging-1.1.pom");
+
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("sort", "owner")
+               .when()
+               .get(url, storageId, repositoryId, artifactParentPathStr)
+               .prettyPeek()
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     public void testRepositoryContentsWithRepositoryNotFound()
     {
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
@@ -44,6 +45,8 @@ public class TrashControllerTest
 
     private static final String REPOSITORY_WITH_TRASH_3 = "tct-releases-with-trash-3";
 
+    private static final String REPOSITORY_WITH_TRASH_4 = "tct-releases-with-trash-4";
+
     private static final String REPOSITORY_WITH_FORCE_DELETE_1 = "tct-releases-with-force-delete-1";
 
     private static final String REPOSITORY_WITH_FORCE_DELETE_2 = "tct-releases-with-force-delete-2";
@@ -204,6 +207,70 @@ public class TrashControllerTest
                 .isFalse();
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    void testEmptyTrashForRepositoryAsynchronously(@MavenRepository(repositoryId = REPOSITORY_WITH_TRASH_4)
+                                                   @RepositoryAttributes(trashEnabled = true)
+                                                   Repository repository,
+                                                   @MavenTestArtifact(repositoryId = REPOSITORY_WITH_TRASH_4,
+                                                                      id = "org.carlspring.strongbox:test-artifact-to-trash",
+                                                                      versions = "1.0")
+                                                   Path artifactPath)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        final RepositoryPath artifactRepositoryPath = (RepositoryPath) artifactPath.normalize();
+        client.delete(storageId, repositoryId, RepositoryFiles.relativizePath(artifactRepositoryPath), false);
+
+        final Path artifactFileInTrash = RepositoryFiles.trash(artifactRepositoryPath);
+        assertThat(Files.exists(artifactFileInTrash)).isTrue();
+
+        String url = getContextBaseUrl() + "/{storageId}/{repositoryId}?async=true";
+
+        String location = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                 .when()
+                                 .delete(url, storageId, repositoryId)
+                                 .peek()
+                                 .then()
+                                 .statusCode(HttpStatus.ACCEPTED.value())
+                                 .extract()
+                                 .header(HttpHeaders.LOCATION);
+
+        String state = null;
+        for (int i = 0; i < 50 && !"COMPLETED".equals(state); i++)
+        {
+            state = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                           .when()
+                           .get(location)
+                           .then()
+                           .statusCode(HttpStatus.OK.value())
+                           .body("repositoryId", equalTo(repositoryId))
+                           .extract()
+                           .path("state");
+
+            Thread.sleep(100);
+        }
+
+        assertThat(state).isEqualTo("COMPLETED");
+        assertThat(Files.exists(artifactFileInTrash))
+                .as("Failed to empty trash for repository '" + repositoryId + "'!")
+                .isFalse();
+        assertThat(Files.exists(repositoryPathResolver.resolve(repository).getFileSystem().getTrashPath())).isTrue();
+    }
+
+    @Test
+    void testUnknownPurgeTask()
+    {
+        mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/tasks/{taskId}", "unknown")
+               .then()
+               .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     private void validateResponseBody(ValidatableMockMvcResponse response,
                                       String acceptHeader,
                                       String message)
@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.controllers.aql;
+
+import org.carlspring.strongbox.services.AqlSearchService;
+import org.carlspring.strongbox.services.AqlSearchService.SearchResultHandler;
+import org.carlspring.strongbox.services.support.AqlQueryPlanCache;
+import org.carlspring.strongbox.storage.search.SearchResult;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+public class AqlControllerStreamingTest
+{
+
+    private static final String QUERY = "storage:storage0 layout:maven";
+
+    @Mock
+    private AqlSearchService aqlSearchService;
+
+    @Mock
+    private AqlQueryPlanCache aqlQueryPlanCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AqlController aqlController;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testResultsAreWrittenAsTheyCome()
+            throws Exception
+    {
+        doAnswer(invocation -> {
+            SearchResultHandler handler = invocation.getArgument(2);
+            handler.handle(new TestSearchResult("http://localhost/foo-1.0.jar"));
+            handler.handle(new TestSearchResult("http://localhost/foo-1.1.jar"));
+
+            return null;
+        }).when(aqlSearchService).search(any(), any(Set.class), any());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        aqlController.search(QUERY, null, response);
+
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(body.get("artifact")).hasSize(2);
+        assertThat(body.has("error")).isFalse();
+    }
+
+    @Test
+    public void testFailureAfterTheFirstResultsIsReportedInTheBody()
+            throws Exception
+    {
+        doAnswer(invocation -> {
+            SearchResultHandler handler = invocation.getArgument(2);
+            handler.handle(new TestSearchResult("http://localhost/foo-1.0.jar"));
+
+            throw new IllegalStateException("Connection lost.");
+        }).when(aqlSearchService).search(any(), any(Set.class), any());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        aqlController.search(QUERY, null, response);
+
+        // Still a well formed document, with the results which were sent and the marker of the failure.
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertThat(body.get("artifact")).hasSize(1);
+        assertThat(body.get("artifact").get(0).get("url").asText()).isEqualTo("http://localhost/foo-1.0.jar");
+        assertThat(body.get("error").asText()).isEqualTo(AqlController.SEARCH_FAILED_MESSAGE);
+    }
+
+    /**
+     * The results of the test have no coordinates, which {@link SearchResult#getPath()} would need.
+     */
+    private static class TestSearchResult
+            extends SearchResult
+    {
+
+        private TestSearchResult(String url)
+        {
+            super("storage0", "releases", null, url);
+        }
+
+        @Override
+        public String getPath()
+        {
+            return getUrl();
+        }
+
+    }
+
+}
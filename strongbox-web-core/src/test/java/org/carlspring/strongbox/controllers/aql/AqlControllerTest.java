@@ -2,19 +2,31 @@ package org.carlspring.strongbox.controllers.aql;
 
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
+import org.carlspring.strongbox.services.impl.AqlSearchServiceImpl;
+import org.carlspring.strongbox.services.support.AqlQueryPlanCache;
+import org.carlspring.strongbox.storage.search.SearchResults;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
 import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
 import org.carlspring.strongbox.testing.repository.MavenRepository;
 import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
 
+import javax.inject.Inject;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -39,6 +51,17 @@ public class AqlControllerTest
 
     private static final String REPOSITORY_RELEASES = "sc-releases-search";
 
+    private static final String REPOSITORY_RELEASES_CHUNKS = "sc-releases-search-chunks";
+
+    @Inject
+    private AqlSearchServiceImpl aqlSearchService;
+
+    @Inject
+    private AqlQueryPlanCache aqlQueryPlanCache;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
     @Override
     @BeforeEach
     public void init()
@@ -138,6 +161,70 @@ public class AqlControllerTest
                .body("artifact", hasSize(6));
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testSearchResultsAreStreamedInChunks(@MavenRepository(storageId = STORAGE_SC_TEST,
+                                                                      repositoryId = REPOSITORY_RELEASES_CHUNKS)
+                                                     Repository repository,
+                                                     @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                                        repositoryId = REPOSITORY_RELEASES_CHUNKS,
+                                                                        resource = A1)
+                                                     Path artifact1,
+                                                     @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                                        repositoryId = REPOSITORY_RELEASES_CHUNKS,
+                                                                        resource = A2)
+                                                     Path artifact2,
+                                                     @MavenTestArtifact(storageId = STORAGE_SC_TEST,
+                                                                        repositoryId = REPOSITORY_RELEASES_CHUNKS,
+                                                                        resource = A3)
+                                                     Path artifact3)
+            throws Exception
+    {
+        String query = String.format("storage:%s+repository:%s+layout:maven+groupId:org.carlspring.strongbox.*",
+                                     repository.getStorage().getId(),
+                                     repository.getId());
+
+        // The results collected into SearchResults at once are the reference for both the content and the shape.
+        SearchResults searchResults = new SearchResults();
+        aqlSearchService.search(aqlQueryPlanCache.get(query.replace('+', ' ')),
+                                Collections.emptySet(),
+                                r -> searchResults.getResults().add(r));
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(searchResults));
+        assertThat(expected.get("artifact")).hasSize(6);
+
+        int fetchSize = aqlSearchService.getFetchSize();
+        try
+        {
+            // 6 results: chunks which end exactly with the results and which don't.
+            for (int chunkSize : new int[]{ 1, 3, 4 })
+            {
+                aqlSearchService.setFetchSize(chunkSize);
+
+                String body = mockMvc.accept(MediaType.APPLICATION_JSON_VALUE)
+                                     .queryParam("query", query)
+                                     .when()
+                                     .get(getContextBaseUrl())
+                                     .then()
+                                     .statusCode(HttpStatus.OK.value())
+                                     .extract()
+                                     .asString();
+
+                JsonNode actual = objectMapper.readTree(body);
+                List<String> urls = StreamSupport.stream(actual.get("artifact").spliterator(), false)
+                                                 .map(r -> r.get("url").asText())
+                                                 .collect(Collectors.toList());
+
+                assertThat(urls).doesNotHaveDuplicates();
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+        finally
+        {
+            aqlSearchService.setFetchSize(fetchSize);
+        }
+    }
+
     @Test
     public void testSearchInvalidMavenCoordinates()
     {
@@ -0,0 +1,195 @@
+package org.carlspring.strongbox.controllers.layout.maven;
+
+import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.utils.ArtifactDownloadWriteListener;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Downloads with {@code strongbox.download.async.enabled}. The mock response doesn't support the non-blocking I/O, so
+ * a filter hands the controller an output stream which calls the {@link WriteListener} back the way the container
+ * does, and which is only ready again after each write has been called back.
+ */
+@IntegrationTest
+@TestPropertySource(properties = { "strongbox.download.async.enabled=true",
+                                   "strongbox.download.async.minSize=1024",
+                                   "strongbox.download.async.bufferSize=4096" })
+public class MavenArtifactControllerAsyncDownloadTest
+        extends MavenRestAssuredBaseTest
+{
+
+    private static final String REPOSITORY_RELEASES = "macadt-releases";
+
+    private final AtomicInteger writeListeners = new AtomicInteger();
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void testDownloadAboveTheMinSizeIsWrittenAsynchronously(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                                                   Repository repository,
+                                                                   @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                                      id = "org.carlspring.strongbox.async:strongbox-async-download",
+                                                                                      versions = { "1.0" })
+                                                                   Path artifactPath)
+            throws Exception
+    {
+        RepositoryPath artifact = (RepositoryPath) artifactPath.normalize();
+        byte[] content = Files.readAllBytes(artifact);
+        assertThat(content.length).isGreaterThan(4096);
+
+        MockMvc asyncMockMvc = MockMvcBuilders.webAppContextSetup(context)
+                                              .addFilters(new NonBlockingOutputFilter())
+                                              .build();
+
+        String url = String.format("/storages/%s/%s/%s",
+                                   repository.getStorage().getId(),
+                                   repository.getId(),
+                                   RepositoryFiles.relativizePath(artifact));
+        MvcResult result = asyncMockMvc.perform(get(url).header(HttpHeaders.USER_AGENT, "Maven/*"))
+                                       .andReturn();
+
+        assertThat(writeListeners.get()).isEqualTo(1);
+        assertThat(result.getResponse().getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo(String.valueOf(content.length));
+
+        byte[] downloaded = result.getResponse().getContentAsByteArray();
+        assertThat(downloaded).isEqualTo(content);
+
+        String sha1 = new String(Files.readAllBytes(artifact.resolveSibling(artifact.getFileName() + ".sha1")),
+                                 StandardCharsets.UTF_8);
+        assertThat(DigestUtils.sha1Hex(downloaded)).isEqualTo(sha1.trim());
+    }
+
+    private class NonBlockingOutputFilter
+            implements Filter
+    {
+
+        @Override
+        public void doFilter(ServletRequest request,
+                             ServletResponse response,
+                             FilterChain chain)
+                throws IOException, ServletException
+        {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            chain.doFilter(request, new HttpServletResponseWrapper(httpResponse)
+            {
+
+                private final ServletOutputStream outputStream = new NonBlockingOutputStream(httpResponse.getOutputStream());
+
+                @Override
+                public ServletOutputStream getOutputStream()
+                {
+                    return outputStream;
+                }
+
+            });
+        }
+
+        @Override
+        public void init(FilterConfig filterConfig)
+        {
+        }
+
+        @Override
+        public void destroy()
+        {
+        }
+
+    }
+
+    private class NonBlockingOutputStream
+            extends ServletOutputStream
+    {
+
+        private final ServletOutputStream target;
+
+        private boolean ready = true;
+
+        private NonBlockingOutputStream(ServletOutputStream target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public boolean isReady()
+        {
+            return ready;
+        }
+
+        /**
+         * {@link ArtifactDownloadWriteListener} returns each time the stream isn't ready, and is called back until it
+         * completes the response.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener)
+        {
+            writeListeners.incrementAndGet();
+            try
+            {
+                do
+                {
+                    ready = true;
+                    writeListener.onWritePossible();
+                }
+                while (!ready);
+            }
+            catch (IOException e)
+            {
+                writeListener.onError(e);
+            }
+        }
+
+        @Override
+        public void write(int b)
+                throws IOException
+        {
+            target.write(b);
+            ready = false;
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len)
+                throws IOException
+        {
+            target.write(b, off, len);
+            ready = false;
+        }
+
+    }
+
+}
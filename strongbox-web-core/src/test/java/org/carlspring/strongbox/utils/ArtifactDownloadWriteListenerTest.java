@@ -0,0 +1,262 @@
+package org.carlspring.strongbox.utils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArtifactDownloadWriteListenerTest
+{
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private Path artifact;
+
+    private byte[] content;
+
+    private AsyncContext asyncContext;
+
+    private HttpServletRequest request;
+
+    private HttpServletResponse response;
+
+    private AlternatingServletOutputStream outputStream;
+
+    @BeforeEach
+    void setUp()
+            throws IOException
+    {
+        content = new byte[10 * BUFFER_SIZE + 123];
+        new Random(42).nextBytes(content);
+
+        artifact = Files.createTempFile("artifact-download-write-listener", ".jar");
+        Files.write(artifact, content);
+
+        asyncContext = Mockito.mock(AsyncContext.class);
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        outputStream = new AlternatingServletOutputStream();
+
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+        when(response.getOutputStream()).thenReturn(outputStream);
+    }
+
+    @AfterEach
+    void tearDown()
+            throws IOException
+    {
+        Files.deleteIfExists(artifact);
+    }
+
+    @Test
+    void shouldWriteTheBufferFirstThenTheChannel()
+            throws IOException
+    {
+        SeekableByteChannel channel = openChannel(BUFFER_SIZE / 2);
+
+        ArtifactDownloadWriteListener listener = start(readBuffer(BUFFER_SIZE / 2), channel, content.length);
+        writeUntilComplete(listener);
+
+        assertThat(outputStream.toByteArray()).isEqualTo(content);
+        // One write for the buffer handed over, then one per buffer read from the channel.
+        assertThat(outputStream.writes).isEqualTo(1 + (int) Math.ceil((content.length - BUFFER_SIZE / 2.0) / BUFFER_SIZE));
+        verify(asyncContext).setTimeout(TIMEOUT_MILLIS);
+        verify(asyncContext, times(1)).complete();
+
+        listener.onComplete(new AsyncEvent(asyncContext));
+
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    void shouldWriteExactlyTheContentLength()
+            throws IOException
+    {
+        // The artifact grew after its length was sent.
+        int length = content.length - 100;
+        SeekableByteChannel channel = openChannel(BUFFER_SIZE);
+
+        writeUntilComplete(start(readBuffer(BUFFER_SIZE), channel, length));
+
+        assertThat(outputStream.toByteArray()).isEqualTo(Arrays.copyOf(content, length));
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    void shouldCompleteShortWhenTheChannelEndsEarly()
+            throws IOException
+    {
+        // The artifact was truncated after its length was sent.
+        int length = content.length + 100;
+        SeekableByteChannel channel = openChannel(BUFFER_SIZE);
+
+        writeUntilComplete(start(readBuffer(BUFFER_SIZE), channel, length));
+
+        assertThat(outputStream.toByteArray()).isEqualTo(content);
+        assertThat(outputStream.toByteArray().length).isLessThan(length);
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    void shouldCloseTheChannelOnTimeout()
+            throws IOException
+    {
+        SeekableByteChannel channel = openChannel(BUFFER_SIZE);
+
+        ArtifactDownloadWriteListener listener = start(readBuffer(BUFFER_SIZE), channel, content.length);
+        listener.onWritePossible();
+        listener.onTimeout(new AsyncEvent(asyncContext));
+
+        assertThat(channel.isOpen()).isFalse();
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    void shouldCloseTheChannelOnError()
+            throws IOException
+    {
+        SeekableByteChannel channel = openChannel(BUFFER_SIZE);
+
+        ArtifactDownloadWriteListener listener = start(readBuffer(BUFFER_SIZE), channel, content.length);
+        listener.onWritePossible();
+        listener.onError(new IOException("Connection reset by peer"));
+
+        assertThat(channel.isOpen()).isFalse();
+        verify(asyncContext, times(1)).complete();
+
+        // The error of the async request itself only closes the channel.
+        channel = openChannel(BUFFER_SIZE);
+        listener = start(readBuffer(BUFFER_SIZE), channel, content.length);
+        listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+
+        assertThat(channel.isOpen()).isFalse();
+        verify(asyncContext, times(1)).complete();
+    }
+
+    /**
+     * The beginning of the artifact, as the controller reads it before going asynchronous.
+     */
+    private ByteBuffer readBuffer(int size)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.put(content, 0, size);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private SeekableByteChannel openChannel(long position)
+            throws IOException
+    {
+        return Files.newByteChannel(artifact, StandardOpenOption.READ).position(position);
+    }
+
+    private ArtifactDownloadWriteListener start(ByteBuffer buffer,
+                                                SeekableByteChannel channel,
+                                                long length)
+            throws IOException
+    {
+        ArtifactDownloadWriteListener.start(request, response, buffer, channel, length, TIMEOUT_MILLIS);
+
+        ArgumentCaptor<ArtifactDownloadWriteListener> listener = ArgumentCaptor.forClass(ArtifactDownloadWriteListener.class);
+        verify(asyncContext, Mockito.atLeastOnce()).addListener(listener.capture());
+        assertThat(outputStream.writeListener).isSameAs(listener.getValue());
+
+        return listener.getValue();
+    }
+
+    /**
+     * Calls the listener back each time the output stream is ready again, as the container does.
+     */
+    private void writeUntilComplete(ArtifactDownloadWriteListener listener)
+            throws IOException
+    {
+        Mockito.doAnswer(invocation -> outputStream.completed = true).when(asyncContext).complete();
+
+        for (int i = 0; !outputStream.completed; i++)
+        {
+            assertThat(i).as("The response was not completed.").isLessThan(1000);
+
+            listener.onWritePossible();
+            outputStream.ready = true;
+        }
+    }
+
+    /**
+     * An output stream which is not ready anymore after each write, until the container marks it ready again.
+     */
+    private static class AlternatingServletOutputStream
+            extends ServletOutputStream
+    {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private WriteListener writeListener;
+
+        private boolean ready = true;
+
+        private boolean completed;
+
+        private int writes;
+
+        @Override
+        public boolean isReady()
+        {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener)
+        {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b)
+        {
+            write(new byte[]{ (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len)
+        {
+            assertThat(ready).as("Written while not ready.").isTrue();
+
+            bytes.write(b, off, len);
+            writes++;
+            ready = false;
+        }
+
+        private byte[] toByteArray()
+        {
+            return bytes.toByteArray();
+        }
+
+    }
+
+}
@@ -82,6 +82,8 @@ public class RepositoryForm
 
     private Set<String> artifactCoordinateValidators;
 
+    private Set<String> digestAlgorithms;
+
     public String getId()
     {
         return id;
@@ -303,4 +305,15 @@ public class RepositoryForm
         this.artifactCoordinateValidators = artifactCoordinateValidators;
     }
 
+    public Set<String> getDigestAlgorithms()
+    {
+        return digestAlgorithms;
+    }
+
+    @JsonDeserialize(as=LinkedHashSet.class)
+    public void setDigestAlgorithms(final Set<String> digestAlgorithms)
+    {
+        this.digestAlgorithms = digestAlgorithms;
+    }
+
 }